@@ -0,0 +1,1546 @@
+//
+//  Copyright 2022 The Vert.x Community.
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+package io.vertx.mongo.client;
+
+import static io.vertx.mongo.impl.Utils.await;
+import static java.util.Objects.requireNonNull;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.mongo.BlockingMongoResult;
+import io.vertx.mongo.MongoPage;
+import io.vertx.mongo.Pipeline;
+import io.vertx.mongo.bulk.BulkWriteResult;
+import io.vertx.mongo.client.model.BulkWriteOptions;
+import io.vertx.mongo.client.model.CountOptions;
+import io.vertx.mongo.client.model.CreateIndexOptions;
+import io.vertx.mongo.client.model.DeleteOptions;
+import io.vertx.mongo.client.model.DropIndexOptions;
+import io.vertx.mongo.client.model.EstimatedDocumentCountOptions;
+import io.vertx.mongo.client.model.FindOneAndDeleteOptions;
+import io.vertx.mongo.client.model.FindOneAndReplaceOptions;
+import io.vertx.mongo.client.model.FindOneAndUpdateOptions;
+import io.vertx.mongo.client.model.IndexModel;
+import io.vertx.mongo.client.model.IndexOptions;
+import io.vertx.mongo.client.model.InsertManyOptions;
+import io.vertx.mongo.client.model.InsertOneOptions;
+import io.vertx.mongo.client.model.RenameCollectionOptions;
+import io.vertx.mongo.client.model.ReplaceOptions;
+import io.vertx.mongo.client.model.UpdateOptions;
+import io.vertx.mongo.client.model.WriteModel;
+import io.vertx.mongo.client.model.changestream.ChangeStreamDocument;
+import io.vertx.mongo.client.result.DeleteResult;
+import io.vertx.mongo.client.result.InsertManyResult;
+import io.vertx.mongo.client.result.InsertOneResult;
+import io.vertx.mongo.client.result.UpdateResult;
+import java.lang.Class;
+import java.lang.Long;
+import java.lang.String;
+import java.util.List;
+import org.bson.codecs.configuration.CodecRegistry;
+
+/**
+ * Blocking facade of {@link MongoCollection}: methods park the calling thread until the operation completes.
+ * <p>It is intended to be used from virtual threads and must not be used from Vert.x threads.</p>
+ */
+public class BlockingMongoCollection<TDocument> {
+  private final MongoCollection<TDocument> delegate;
+
+  public BlockingMongoCollection(MongoCollection<TDocument> delegate) {
+    this.delegate = requireNonNull(delegate, "delegate is null");
+  }
+
+  /**
+   * @return the asynchronous MongoCollection
+   */
+  public MongoCollection<TDocument> getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#getNamespace}
+   * @return the result of the operation
+   */
+  public MongoNamespace getNamespace() {
+    return delegate.getNamespace();
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#getDocumentClass}
+   * @return the result of the operation
+   */
+  public Class<TDocument> getDocumentClass() {
+    return delegate.getDocumentClass();
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#getCodecRegistry}
+   * @return the result of the operation
+   */
+  public CodecRegistry getCodecRegistry() {
+    return delegate.getCodecRegistry();
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#getReadPreference}
+   * @return the result of the operation
+   */
+  public ReadPreference getReadPreference() {
+    return delegate.getReadPreference();
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#getWriteConcern}
+   * @return the result of the operation
+   */
+  public WriteConcern getWriteConcern() {
+    return delegate.getWriteConcern();
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#getReadConcern}
+   * @return the result of the operation
+   */
+  public ReadConcern getReadConcern() {
+    return delegate.getReadConcern();
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#withDocumentClass}
+   * @param clazz          the default class to cast any documents returned from the database into.
+   * @param <NewTDocument> The type that the new collection will encode documents from and decode documents to
+   * @return the blocking facade of the result
+   */
+  public <NewTDocument> BlockingMongoCollection<NewTDocument> withDocumentClass(Class<NewTDocument> clazz) {
+    return new BlockingMongoCollection<>(delegate.withDocumentClass(clazz));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#withCodecRegistry}
+   * @param codecRegistry the new {@link org.bson.codecs.configuration.CodecRegistry} for the collection
+   * @return the blocking facade of the result
+   */
+  public BlockingMongoCollection<TDocument> withCodecRegistry(CodecRegistry codecRegistry) {
+    return new BlockingMongoCollection<>(delegate.withCodecRegistry(codecRegistry));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#withReadPreference}
+   * @param readPreference the new {@link com.mongodb.ReadPreference} for the collection
+   * @return the blocking facade of the result
+   */
+  public BlockingMongoCollection<TDocument> withReadPreference(ReadPreference readPreference) {
+    return new BlockingMongoCollection<>(delegate.withReadPreference(readPreference));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#withWriteConcern}
+   * @param writeConcern the new {@link com.mongodb.WriteConcern} for the collection
+   * @return the blocking facade of the result
+   */
+  public BlockingMongoCollection<TDocument> withWriteConcern(WriteConcern writeConcern) {
+    return new BlockingMongoCollection<>(delegate.withWriteConcern(writeConcern));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#withReadConcern}
+   * @param readConcern the new {@link ReadConcern} for the collection
+   * @return the blocking facade of the result
+   */
+  public BlockingMongoCollection<TDocument> withReadConcern(ReadConcern readConcern) {
+    return new BlockingMongoCollection<>(delegate.withReadConcern(readConcern));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#estimatedDocumentCount}
+   * @return the result of the operation
+   */
+  public Long estimatedDocumentCount() {
+    return await(delegate.estimatedDocumentCount());
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#estimatedDocumentCount}
+   * @param options the options describing the count
+   * @return the result of the operation
+   */
+  public Long estimatedDocumentCount(EstimatedDocumentCountOptions options) {
+    return await(delegate.estimatedDocumentCount(options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#countDocuments}
+   * @return the result of the operation
+   */
+  public Long countDocuments() {
+    return await(delegate.countDocuments());
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#countDocuments}
+   * @param filter the query filter
+   * @return the result of the operation
+   */
+  public Long countDocuments(JsonObject filter) {
+    return await(delegate.countDocuments(filter));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#countDocuments}
+   * @param filter  the query filter
+   * @param options the options describing the count
+   * @return the result of the operation
+   */
+  public Long countDocuments(JsonObject filter, CountOptions options) {
+    return await(delegate.countDocuments(filter, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#countDocuments}
+   * @param clientSession the client session with which to associate this operation
+   * @return the result of the operation
+   */
+  public Long countDocuments(ClientSession clientSession) {
+    return await(delegate.countDocuments(clientSession));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#countDocuments}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter the query filter
+   * @return the result of the operation
+   */
+  public Long countDocuments(ClientSession clientSession, JsonObject filter) {
+    return await(delegate.countDocuments(clientSession, filter));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#countDocuments}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter  the query filter
+   * @param options the options describing the count
+   * @return the result of the operation
+   */
+  public Long countDocuments(ClientSession clientSession, JsonObject filter, CountOptions options) {
+    return await(delegate.countDocuments(clientSession, filter, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#find}
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> find() {
+    return new BlockingMongoResult<>(delegate.find());
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#find}
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> find(FindOptions options) {
+    return new BlockingMongoResult<>(delegate.find(options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#find}
+   * @param filter the query filter
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> find(JsonObject filter) {
+    return new BlockingMongoResult<>(delegate.find(filter));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#find}
+   * @param filter the query filter
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> find(JsonObject filter, FindOptions options) {
+    return new BlockingMongoResult<>(delegate.find(filter, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#find}
+   * @param clientSession the client session with which to associate this operation
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> find(ClientSession clientSession) {
+    return new BlockingMongoResult<>(delegate.find(clientSession));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#find}
+   * @param clientSession the client session with which to associate this operation
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> find(ClientSession clientSession, FindOptions options) {
+    return new BlockingMongoResult<>(delegate.find(clientSession, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#find}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter the query filter
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> find(ClientSession clientSession, JsonObject filter) {
+    return new BlockingMongoResult<>(delegate.find(clientSession, filter));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#find}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter the query filter
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> find(ClientSession clientSession, JsonObject filter,
+      FindOptions options) {
+    return new BlockingMongoResult<>(delegate.find(clientSession, filter, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#aggregate}
+   * @param pipeline the aggregate pipeline
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> aggregate(JsonArray pipeline) {
+    return new BlockingMongoResult<>(delegate.aggregate(pipeline));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#aggregate}
+   * @param pipeline the aggregate pipeline
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> aggregate(JsonArray pipeline, AggregateOptions options) {
+    return new BlockingMongoResult<>(delegate.aggregate(pipeline, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#aggregate}
+   * @param clientSession the client session with which to associate this operation
+   * @param pipeline the aggregate pipeline
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> aggregate(ClientSession clientSession, JsonArray pipeline) {
+    return new BlockingMongoResult<>(delegate.aggregate(clientSession, pipeline));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#aggregate}
+   * @param clientSession the client session with which to associate this operation
+   * @param pipeline the aggregate pipeline
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> aggregate(ClientSession clientSession, JsonArray pipeline,
+      AggregateOptions options) {
+    return new BlockingMongoResult<>(delegate.aggregate(clientSession, pipeline, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#watch}
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch() {
+    return new BlockingMongoResult<>(delegate.watch());
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#watch}
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(ChangeStreamOptions options) {
+    return new BlockingMongoResult<>(delegate.watch(options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#watch}
+   * @param pipeline the aggregation pipeline to apply to the change stream
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(JsonArray pipeline) {
+    return new BlockingMongoResult<>(delegate.watch(pipeline));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#watch}
+   * @param pipeline the aggregation pipeline to apply to the change stream
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(JsonArray pipeline,
+      ChangeStreamOptions options) {
+    return new BlockingMongoResult<>(delegate.watch(pipeline, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#watch}
+   * @param clientSession the client session with which to associate this operation
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(ClientSession clientSession) {
+    return new BlockingMongoResult<>(delegate.watch(clientSession));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#watch}
+   * @param clientSession the client session with which to associate this operation
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(ClientSession clientSession,
+      ChangeStreamOptions options) {
+    return new BlockingMongoResult<>(delegate.watch(clientSession, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#watch}
+   * @param clientSession the client session with which to associate this operation
+   * @param pipeline the aggregation pipeline to apply to the change stream
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(ClientSession clientSession,
+      JsonArray pipeline) {
+    return new BlockingMongoResult<>(delegate.watch(clientSession, pipeline));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#watch}
+   * @param clientSession the client session with which to associate this operation
+   * @param pipeline the aggregation pipeline to apply to the change stream
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(ClientSession clientSession,
+      JsonArray pipeline, ChangeStreamOptions options) {
+    return new BlockingMongoResult<>(delegate.watch(clientSession, pipeline, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#mapReduce}
+   * @param mapFunction    A JavaScript function that associates or "maps" a value with a key and emits the key and value pair.
+   * @param reduceFunction A JavaScript function that "reduces" to a single object all the values associated with a particular key.
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> mapReduce(String mapFunction, String reduceFunction) {
+    return new BlockingMongoResult<>(delegate.mapReduce(mapFunction, reduceFunction));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#mapReduce}
+   * @param mapFunction    A JavaScript function that associates or "maps" a value with a key and emits the key and value pair.
+   * @param reduceFunction A JavaScript function that "reduces" to a single object all the values associated with a particular key.
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> mapReduce(String mapFunction, String reduceFunction,
+      MapReduceOptions options) {
+    return new BlockingMongoResult<>(delegate.mapReduce(mapFunction, reduceFunction, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#mapReduce}
+   * @param clientSession the client session with which to associate this operation
+   * @param mapFunction    A JavaScript function that associates or "maps" a value with a key and emits the key and value pair.
+   * @param reduceFunction A JavaScript function that "reduces" to a single object all the values associated with a particular key.
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> mapReduce(ClientSession clientSession, String mapFunction,
+      String reduceFunction) {
+    return new BlockingMongoResult<>(delegate.mapReduce(clientSession, mapFunction, reduceFunction));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#mapReduce}
+   * @param clientSession the client session with which to associate this operation
+   * @param mapFunction    A JavaScript function that associates or "maps" a value with a key and emits the key and value pair.
+   * @param reduceFunction A JavaScript function that "reduces" to a single object all the values associated with a particular key.
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> mapReduce(ClientSession clientSession, String mapFunction,
+      String reduceFunction, MapReduceOptions options) {
+    return new BlockingMongoResult<>(delegate.mapReduce(clientSession, mapFunction, reduceFunction, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#bulkWrite}
+   * @param requests the writes to execute
+   * @return the result of the operation
+   */
+  public BulkWriteResult bulkWrite(List<? extends WriteModel<? extends TDocument>> requests) {
+    return await(delegate.bulkWrite(requests));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#bulkWrite}
+   * @param requests the writes to execute
+   * @param options  the options to apply to the bulk write operation
+   * @return the result of the operation
+   */
+  public BulkWriteResult bulkWrite(List<? extends WriteModel<? extends TDocument>> requests,
+      BulkWriteOptions options) {
+    return await(delegate.bulkWrite(requests, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#bulkWrite}
+   * @param clientSession the client session with which to associate this operation
+   * @param requests the writes to execute
+   * @return the result of the operation
+   */
+  public BulkWriteResult bulkWrite(ClientSession clientSession,
+      List<? extends WriteModel<? extends TDocument>> requests) {
+    return await(delegate.bulkWrite(clientSession, requests));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#bulkWrite}
+   * @param clientSession the client session with which to associate this operation
+   * @param requests the writes to execute
+   * @param options  the options to apply to the bulk write operation
+   * @return the result of the operation
+   */
+  public BulkWriteResult bulkWrite(ClientSession clientSession,
+      List<? extends WriteModel<? extends TDocument>> requests, BulkWriteOptions options) {
+    return await(delegate.bulkWrite(clientSession, requests, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#insertOne}
+   * @param document the document to insert
+   * @return the result of the operation
+   */
+  public InsertOneResult insertOne(TDocument document) {
+    return await(delegate.insertOne(document));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#insertOne}
+   * @param document the document to insert
+   * @param options  the options to apply to the operation
+   * @return the result of the operation
+   */
+  public InsertOneResult insertOne(TDocument document, InsertOneOptions options) {
+    return await(delegate.insertOne(document, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#insertOne}
+   * @param clientSession the client session with which to associate this operation
+   * @param document the document to insert
+   * @return the result of the operation
+   */
+  public InsertOneResult insertOne(ClientSession clientSession, TDocument document) {
+    return await(delegate.insertOne(clientSession, document));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#insertOne}
+   * @param clientSession the client session with which to associate this operation
+   * @param document the document to insert
+   * @param options  the options to apply to the operation
+   * @return the result of the operation
+   */
+  public InsertOneResult insertOne(ClientSession clientSession, TDocument document,
+      InsertOneOptions options) {
+    return await(delegate.insertOne(clientSession, document, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#insertMany}
+   * @param documents the documents to insert
+   * @return the result of the operation
+   */
+  public InsertManyResult insertMany(List<? extends TDocument> documents) {
+    return await(delegate.insertMany(documents));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#insertMany}
+   * @param documents the documents to insert
+   * @param options   the options to apply to the operation
+   * @return the result of the operation
+   */
+  public InsertManyResult insertMany(List<? extends TDocument> documents,
+      InsertManyOptions options) {
+    return await(delegate.insertMany(documents, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#insertMany}
+   * @param clientSession the client session with which to associate this operation
+   * @param documents the documents to insert
+   * @return the result of the operation
+   */
+  public InsertManyResult insertMany(ClientSession clientSession,
+      List<? extends TDocument> documents) {
+    return await(delegate.insertMany(clientSession, documents));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#insertMany}
+   * @param clientSession the client session with which to associate this operation
+   * @param documents the documents to insert
+   * @param options   the options to apply to the operation
+   * @return the result of the operation
+   */
+  public InsertManyResult insertMany(ClientSession clientSession,
+      List<? extends TDocument> documents, InsertManyOptions options) {
+    return await(delegate.insertMany(clientSession, documents, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#deleteOne}
+   * @param filter the query filter to apply the the delete operation
+   * @return the result of the operation
+   */
+  public DeleteResult deleteOne(JsonObject filter) {
+    return await(delegate.deleteOne(filter));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#deleteOne}
+   * @param filter the query filter to apply the the delete operation
+   * @param options the options to apply to the delete operation
+   * @return the result of the operation
+   */
+  public DeleteResult deleteOne(JsonObject filter, DeleteOptions options) {
+    return await(delegate.deleteOne(filter, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#deleteOne}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter the query filter to apply the the delete operation
+   * @return the result of the operation
+   */
+  public DeleteResult deleteOne(ClientSession clientSession, JsonObject filter) {
+    return await(delegate.deleteOne(clientSession, filter));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#deleteOne}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter the query filter to apply the the delete operation
+   * @param options the options to apply to the delete operation
+   * @return the result of the operation
+   */
+  public DeleteResult deleteOne(ClientSession clientSession, JsonObject filter,
+      DeleteOptions options) {
+    return await(delegate.deleteOne(clientSession, filter, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#deleteMany}
+   * @param filter the query filter to apply the the delete operation
+   * @return the result of the operation
+   */
+  public DeleteResult deleteMany(JsonObject filter) {
+    return await(delegate.deleteMany(filter));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#deleteMany}
+   * @param filter the query filter to apply the the delete operation
+   * @param options the options to apply to the delete operation
+   * @return the result of the operation
+   */
+  public DeleteResult deleteMany(JsonObject filter, DeleteOptions options) {
+    return await(delegate.deleteMany(filter, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#deleteMany}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter the query filter to apply the the delete operation
+   * @return the result of the operation
+   */
+  public DeleteResult deleteMany(ClientSession clientSession, JsonObject filter) {
+    return await(delegate.deleteMany(clientSession, filter));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#deleteMany}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter the query filter to apply the the delete operation
+   * @param options the options to apply to the delete operation
+   * @return the result of the operation
+   */
+  public DeleteResult deleteMany(ClientSession clientSession, JsonObject filter,
+      DeleteOptions options) {
+    return await(delegate.deleteMany(clientSession, filter, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#replaceOne}
+   * @param filter      the query filter to apply the the replace operation
+   * @param replacement the replacement document
+   * @return the result of the operation
+   */
+  public UpdateResult replaceOne(JsonObject filter, TDocument replacement) {
+    return await(delegate.replaceOne(filter, replacement));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#replaceOne}
+   * @param replacement the replacement document
+   * @return the result of the operation
+   */
+  public UpdateResult replaceOne(TDocument replacement) {
+    return await(delegate.replaceOne(replacement));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#replaceOne}
+   * @param filter      the query filter to apply the the replace operation
+   * @param replacement the replacement document
+   * @param options     the options to apply to the replace operation
+   * @return the result of the operation
+   */
+  public UpdateResult replaceOne(JsonObject filter, TDocument replacement, ReplaceOptions options) {
+    return await(delegate.replaceOne(filter, replacement, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#replaceOne}
+   * @param replacement the replacement document
+   * @param options     the options to apply to the replace operation
+   * @return the result of the operation
+   */
+  public UpdateResult replaceOne(TDocument replacement, ReplaceOptions options) {
+    return await(delegate.replaceOne(replacement, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#replaceOne}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter      the query filter to apply the the replace operation
+   * @param replacement the replacement document
+   * @return the result of the operation
+   */
+  public UpdateResult replaceOne(ClientSession clientSession, JsonObject filter,
+      TDocument replacement) {
+    return await(delegate.replaceOne(clientSession, filter, replacement));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#replaceOne}
+   * @param clientSession the client session with which to associate this operation
+   * @param replacement the replacement document
+   * @return the result of the operation
+   */
+  public UpdateResult replaceOne(ClientSession clientSession, TDocument replacement) {
+    return await(delegate.replaceOne(clientSession, replacement));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#replaceOne}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter      the query filter to apply the the replace operation
+   * @param replacement the replacement document
+   * @param options     the options to apply to the replace operation
+   * @return the result of the operation
+   */
+  public UpdateResult replaceOne(ClientSession clientSession, JsonObject filter,
+      TDocument replacement, ReplaceOptions options) {
+    return await(delegate.replaceOne(clientSession, filter, replacement, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#replaceOne}
+   * @param clientSession the client session with which to associate this operation
+   * @param replacement the replacement document
+   * @param options     the options to apply to the replace operation
+   * @return the result of the operation
+   */
+  public UpdateResult replaceOne(ClientSession clientSession, TDocument replacement,
+      ReplaceOptions options) {
+    return await(delegate.replaceOne(clientSession, replacement, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateOne}
+   * @param filter a document describing the query filter, which may not be null.
+   * @param update a document describing the update, which may not be null. The update to apply must include only update operators.
+   * @return the result of the operation
+   */
+  public UpdateResult updateOne(JsonObject filter, JsonObject update) {
+    return await(delegate.updateOne(filter, update));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateOne}
+   * @param filter  a document describing the query filter, which may not be null.
+   * @param update  a document describing the update, which may not be null. The update to apply must include only update operators.
+   * @param options the options to apply to the update operation
+   * @return the result of the operation
+   */
+  public UpdateResult updateOne(JsonObject filter, JsonObject update, UpdateOptions options) {
+    return await(delegate.updateOne(filter, update, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateOne}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter a document describing the query filter, which may not be null.
+   * @param update a document describing the update, which may not be null. The update to apply must include only update operators.
+   * @return the result of the operation
+   */
+  public UpdateResult updateOne(ClientSession clientSession, JsonObject filter, JsonObject update) {
+    return await(delegate.updateOne(clientSession, filter, update));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateOne}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter  a document describing the query filter, which may not be null.
+   * @param update  a document describing the update, which may not be null. The update to apply must include only update operators.
+   * @param options the options to apply to the update operation
+   * @return the result of the operation
+   */
+  public UpdateResult updateOne(ClientSession clientSession, JsonObject filter, JsonObject update,
+      UpdateOptions options) {
+    return await(delegate.updateOne(clientSession, filter, update, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateOne}
+   * @param filter a document describing the query filter, which may not be null.
+   * @param update a pipeline describing the update, which may not be null.
+   * @return the result of the operation
+   */
+  public UpdateResult updateOne(JsonObject filter, JsonArray update) {
+    return await(delegate.updateOne(filter, update));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateOne}
+   * @param filter        a document describing the query filter, which may not be null.
+   * @param update        a pipeline describing the update, which may not be null.
+   * @param options the options to apply to the update operation
+   * @return the result of the operation
+   */
+  public UpdateResult updateOne(JsonObject filter, JsonArray update, UpdateOptions options) {
+    return await(delegate.updateOne(filter, update, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateOne}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter a document describing the query filter, which may not be null.
+   * @param update a pipeline describing the update, which may not be null.
+   * @return the result of the operation
+   */
+  public UpdateResult updateOne(ClientSession clientSession, JsonObject filter, JsonArray update) {
+    return await(delegate.updateOne(clientSession, filter, update));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateOne}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter        a document describing the query filter, which may not be null.
+   * @param update        a pipeline describing the update, which may not be null.
+   * @param options the options to apply to the update operation
+   * @return the result of the operation
+   */
+  public UpdateResult updateOne(ClientSession clientSession, JsonObject filter, JsonArray update,
+      UpdateOptions options) {
+    return await(delegate.updateOne(clientSession, filter, update, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateMany}
+   * @param filter a document describing the query filter, which may not be null.
+   * @param update a document describing the update, which may not be null. The update to apply must include only update operators.
+   * @return the result of the operation
+   */
+  public UpdateResult updateMany(JsonObject filter, JsonObject update) {
+    return await(delegate.updateMany(filter, update));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateMany}
+   * @param filter  a document describing the query filter, which may not be null.
+   * @param update  a document describing the update, which may not be null. The update to apply must include only update operators.
+   * @param options the options to apply to the update operation
+   * @return the result of the operation
+   */
+  public UpdateResult updateMany(JsonObject filter, JsonObject update, UpdateOptions options) {
+    return await(delegate.updateMany(filter, update, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateMany}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter a document describing the query filter, which may not be null.
+   * @param update a document describing the update, which may not be null. The update to apply must include only update operators.
+   * @return the result of the operation
+   */
+  public UpdateResult updateMany(ClientSession clientSession, JsonObject filter,
+      JsonObject update) {
+    return await(delegate.updateMany(clientSession, filter, update));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateMany}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter  a document describing the query filter, which may not be null.
+   * @param update  a document describing the update, which may not be null. The update to apply must include only update operators.
+   * @param options the options to apply to the update operation
+   * @return the result of the operation
+   */
+  public UpdateResult updateMany(ClientSession clientSession, JsonObject filter, JsonObject update,
+      UpdateOptions options) {
+    return await(delegate.updateMany(clientSession, filter, update, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateMany}
+   * @param filter a document describing the query filter, which may not be null.
+   * @param update a pipeline describing the update, which may not be null.
+   * @return the result of the operation
+   */
+  public UpdateResult updateMany(JsonObject filter, JsonArray update) {
+    return await(delegate.updateMany(filter, update));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateMany}
+   * @param filter        a document describing the query filter, which may not be null.
+   * @param update        a pipeline describing the update, which may not be null.
+   * @param options the options to apply to the update operation
+   * @return the result of the operation
+   */
+  public UpdateResult updateMany(JsonObject filter, JsonArray update, UpdateOptions options) {
+    return await(delegate.updateMany(filter, update, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateMany}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter a document describing the query filter, which may not be null.
+   * @param update a pipeline describing the update, which may not be null.
+   * @return the result of the operation
+   */
+  public UpdateResult updateMany(ClientSession clientSession, JsonObject filter, JsonArray update) {
+    return await(delegate.updateMany(clientSession, filter, update));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#updateMany}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter        a document describing the query filter, which may not be null.
+   * @param update        a pipeline describing the update, which may not be null.
+   * @param options the options to apply to the update operation
+   * @return the result of the operation
+   */
+  public UpdateResult updateMany(ClientSession clientSession, JsonObject filter, JsonArray update,
+      UpdateOptions options) {
+    return await(delegate.updateMany(clientSession, filter, update, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndDelete}
+   * @param filter the query filter to find the document with
+   * @return the result of the operation
+   */
+  public TDocument findOneAndDelete(JsonObject filter) {
+    return await(delegate.findOneAndDelete(filter));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndDelete}
+   * @param filter  the query filter to find the document with
+   * @param options the options to apply to the operation
+   * @return the result of the operation
+   */
+  public TDocument findOneAndDelete(JsonObject filter, FindOneAndDeleteOptions options) {
+    return await(delegate.findOneAndDelete(filter, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndDelete}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter the query filter to find the document with
+   * @return the result of the operation
+   */
+  public TDocument findOneAndDelete(ClientSession clientSession, JsonObject filter) {
+    return await(delegate.findOneAndDelete(clientSession, filter));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndDelete}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter  the query filter to find the document with
+   * @param options the options to apply to the operation
+   * @return the result of the operation
+   */
+  public TDocument findOneAndDelete(ClientSession clientSession, JsonObject filter,
+      FindOneAndDeleteOptions options) {
+    return await(delegate.findOneAndDelete(clientSession, filter, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndReplace}
+   * @param filter      the query filter to apply the the replace operation
+   * @param replacement the replacement document
+   * @return the result of the operation
+   */
+  public TDocument findOneAndReplace(JsonObject filter, TDocument replacement) {
+    return await(delegate.findOneAndReplace(filter, replacement));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndReplace}
+   * @param filter      the query filter to apply the the replace operation
+   * @param replacement the replacement document
+   * @param options     the options to apply to the operation
+   * @return the result of the operation
+   */
+  public TDocument findOneAndReplace(JsonObject filter, TDocument replacement,
+      FindOneAndReplaceOptions options) {
+    return await(delegate.findOneAndReplace(filter, replacement, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndReplace}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter      the query filter to apply the the replace operation
+   * @param replacement the replacement document
+   * @return the result of the operation
+   */
+  public TDocument findOneAndReplace(ClientSession clientSession, JsonObject filter,
+      TDocument replacement) {
+    return await(delegate.findOneAndReplace(clientSession, filter, replacement));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndReplace}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter      the query filter to apply the the replace operation
+   * @param replacement the replacement document
+   * @param options     the options to apply to the operation
+   * @return the result of the operation
+   */
+  public TDocument findOneAndReplace(ClientSession clientSession, JsonObject filter,
+      TDocument replacement, FindOneAndReplaceOptions options) {
+    return await(delegate.findOneAndReplace(clientSession, filter, replacement, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndUpdate}
+   * @param filter a document describing the query filter, which may not be null.
+   * @param update a document describing the update, which may not be null. The update to apply must include only update operators.
+   * @return the result of the operation
+   */
+  public TDocument findOneAndUpdate(JsonObject filter, JsonObject update) {
+    return await(delegate.findOneAndUpdate(filter, update));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndUpdate}
+   * @param filter  a document describing the query filter, which may not be null.
+   * @param update  a document describing the update, which may not be null. The update to apply must include only update operators.
+   * @param options the options to apply to the operation
+   * @return the result of the operation
+   */
+  public TDocument findOneAndUpdate(JsonObject filter, JsonObject update,
+      FindOneAndUpdateOptions options) {
+    return await(delegate.findOneAndUpdate(filter, update, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndUpdate}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter a document describing the query filter, which may not be null.
+   * @param update a document describing the update, which may not be null. The update to apply must include only update operators.
+   * @return the result of the operation
+   */
+  public TDocument findOneAndUpdate(ClientSession clientSession, JsonObject filter,
+      JsonObject update) {
+    return await(delegate.findOneAndUpdate(clientSession, filter, update));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndUpdate}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter  a document describing the query filter, which may not be null.
+   * @param update  a document describing the update, which may not be null. The update to apply must include only update operators.
+   * @param options the options to apply to the operation
+   * @return the result of the operation
+   */
+  public TDocument findOneAndUpdate(ClientSession clientSession, JsonObject filter,
+      JsonObject update, FindOneAndUpdateOptions options) {
+    return await(delegate.findOneAndUpdate(clientSession, filter, update, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndUpdate}
+   * @param filter a document describing the query filter, which may not be null.
+   * @param update a pipeline describing the update, which may not be null.
+   * @return the result of the operation
+   */
+  public TDocument findOneAndUpdate(JsonObject filter, JsonArray update) {
+    return await(delegate.findOneAndUpdate(filter, update));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndUpdate}
+   * @param filter  a document describing the query filter, which may not be null.
+   * @param update  a pipeline describing the update, which may not be null.
+   * @param options the options to apply to the operation
+   * @return the result of the operation
+   */
+  public TDocument findOneAndUpdate(JsonObject filter, JsonArray update,
+      FindOneAndUpdateOptions options) {
+    return await(delegate.findOneAndUpdate(filter, update, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndUpdate}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter a document describing the query filter, which may not be null.
+   * @param update a pipeline describing the update, which may not be null.
+   * @return the result of the operation
+   */
+  public TDocument findOneAndUpdate(ClientSession clientSession, JsonObject filter,
+      JsonArray update) {
+    return await(delegate.findOneAndUpdate(clientSession, filter, update));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#findOneAndUpdate}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter  a document describing the query filter, which may not be null.
+   * @param update  a pipeline describing the update, which may not be null.
+   * @param options the options to apply to the operation
+   * @return the result of the operation
+   */
+  public TDocument findOneAndUpdate(ClientSession clientSession, JsonObject filter,
+      JsonArray update, FindOneAndUpdateOptions options) {
+    return await(delegate.findOneAndUpdate(clientSession, filter, update, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#drop}
+   */
+  public void drop() {
+    await(delegate.drop());
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#drop}
+   * @param clientSession the client session with which to associate this operation
+   */
+  public void drop(ClientSession clientSession) {
+    await(delegate.drop(clientSession));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#createIndex}
+   * @param key an object describing the index key(s), which may not be null.
+   * @return the result of the operation
+   */
+  public String createIndex(JsonObject key) {
+    return await(delegate.createIndex(key));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#createIndex}
+   * @param key     an object describing the index key(s), which may not be null.
+   * @param options the options for the index
+   * @return the result of the operation
+   */
+  public String createIndex(JsonObject key, IndexOptions options) {
+    return await(delegate.createIndex(key, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#createIndex}
+   * @param clientSession the client session with which to associate this operation
+   * @param key an object describing the index key(s), which may not be null.
+   * @return the result of the operation
+   */
+  public String createIndex(ClientSession clientSession, JsonObject key) {
+    return await(delegate.createIndex(clientSession, key));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#createIndex}
+   * @param clientSession the client session with which to associate this operation
+   * @param key     an object describing the index key(s), which may not be null.
+   * @param options the options for the index
+   * @return the result of the operation
+   */
+  public String createIndex(ClientSession clientSession, JsonObject key, IndexOptions options) {
+    return await(delegate.createIndex(clientSession, key, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#createIndexes}
+   * @param indexes the list of indexes
+   * @return the result of the operation
+   */
+  public String createIndexes(List<IndexModel> indexes) {
+    return await(delegate.createIndexes(indexes));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#createIndexes}
+   * @param indexes the list of indexes
+   * @param createIndexOptions options to use when creating indexes
+   * @return the result of the operation
+   */
+  public String createIndexes(List<IndexModel> indexes, CreateIndexOptions createIndexOptions) {
+    return await(delegate.createIndexes(indexes, createIndexOptions));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#createIndexes}
+   * @param clientSession the client session with which to associate this operation
+   * @param indexes the list of indexes
+   * @return the result of the operation
+   */
+  public String createIndexes(ClientSession clientSession, List<IndexModel> indexes) {
+    return await(delegate.createIndexes(clientSession, indexes));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#createIndexes}
+   * @param clientSession the client session with which to associate this operation
+   * @param indexes the list of indexes
+   * @param createIndexOptions options to use when creating indexes
+   * @return the result of the operation
+   */
+  public String createIndexes(ClientSession clientSession, List<IndexModel> indexes,
+      CreateIndexOptions createIndexOptions) {
+    return await(delegate.createIndexes(clientSession, indexes, createIndexOptions));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#listIndexes}
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<JsonObject> listIndexes() {
+    return new BlockingMongoResult<>(delegate.listIndexes());
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#listIndexes}
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<JsonObject> listIndexes(ListIndexesOptions options) {
+    return new BlockingMongoResult<>(delegate.listIndexes(options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#listIndexes}
+   * @param clientSession the client session with which to associate this operation
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<JsonObject> listIndexes(ClientSession clientSession) {
+    return new BlockingMongoResult<>(delegate.listIndexes(clientSession));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#listIndexes}
+   * @param clientSession the client session with which to associate this operation
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<JsonObject> listIndexes(ClientSession clientSession,
+      ListIndexesOptions options) {
+    return new BlockingMongoResult<>(delegate.listIndexes(clientSession, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#dropIndex}
+   * @param indexName the name of the index to remove
+   */
+  public void dropIndex(String indexName) {
+    await(delegate.dropIndex(indexName));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#dropIndex}
+   * @param keys the keys of the index to remove
+   */
+  public void dropIndex(JsonObject keys) {
+    await(delegate.dropIndex(keys));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#dropIndex}
+   * @param indexName the name of the index to remove
+   * @param dropIndexOptions options to use when dropping indexes
+   */
+  public void dropIndex(String indexName, DropIndexOptions dropIndexOptions) {
+    await(delegate.dropIndex(indexName, dropIndexOptions));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#dropIndex}
+   * @param keys the keys of the index to remove
+   * @param dropIndexOptions options to use when dropping indexes
+   */
+  public void dropIndex(JsonObject keys, DropIndexOptions dropIndexOptions) {
+    await(delegate.dropIndex(keys, dropIndexOptions));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#dropIndex}
+   * @param clientSession the client session with which to associate this operation
+   * @param indexName the name of the index to remove
+   */
+  public void dropIndex(ClientSession clientSession, String indexName) {
+    await(delegate.dropIndex(clientSession, indexName));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#dropIndex}
+   * @param clientSession the client session with which to associate this operation
+   * @param keys the keys of the index to remove
+   */
+  public void dropIndex(ClientSession clientSession, JsonObject keys) {
+    await(delegate.dropIndex(clientSession, keys));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#dropIndex}
+   * @param clientSession the client session with which to associate this operation
+   * @param indexName the name of the index to remove
+   * @param dropIndexOptions options to use when dropping indexes
+   */
+  public void dropIndex(ClientSession clientSession, String indexName,
+      DropIndexOptions dropIndexOptions) {
+    await(delegate.dropIndex(clientSession, indexName, dropIndexOptions));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#dropIndex}
+   * @param clientSession the client session with which to associate this operation
+   * @param keys the keys of the index to remove
+   * @param dropIndexOptions options to use when dropping indexes
+   */
+  public void dropIndex(ClientSession clientSession, JsonObject keys,
+      DropIndexOptions dropIndexOptions) {
+    await(delegate.dropIndex(clientSession, keys, dropIndexOptions));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#dropIndexes}
+   */
+  public void dropIndexes() {
+    await(delegate.dropIndexes());
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#dropIndexes}
+   * @param dropIndexOptions options to use when dropping indexes
+   */
+  public void dropIndexes(DropIndexOptions dropIndexOptions) {
+    await(delegate.dropIndexes(dropIndexOptions));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#dropIndexes}
+   * @param clientSession the client session with which to associate this operation
+   */
+  public void dropIndexes(ClientSession clientSession) {
+    await(delegate.dropIndexes(clientSession));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#dropIndexes}
+   * @param clientSession the client session with which to associate this operation
+   * @param dropIndexOptions options to use when dropping indexes
+   */
+  public void dropIndexes(ClientSession clientSession, DropIndexOptions dropIndexOptions) {
+    await(delegate.dropIndexes(clientSession, dropIndexOptions));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#renameCollection}
+   * @param newCollectionNamespace the namespace the collection will be renamed to
+   */
+  public void renameCollection(MongoNamespace newCollectionNamespace) {
+    await(delegate.renameCollection(newCollectionNamespace));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#renameCollection}
+   * @param newCollectionNamespace the name the collection will be renamed to
+   * @param options                the options for renaming a collection
+   */
+  public void renameCollection(MongoNamespace newCollectionNamespace,
+      RenameCollectionOptions options) {
+    await(delegate.renameCollection(newCollectionNamespace, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#renameCollection}
+   * @param clientSession the client session with which to associate this operation
+   * @param newCollectionNamespace the namespace the collection will be renamed to
+   */
+  public void renameCollection(ClientSession clientSession, MongoNamespace newCollectionNamespace) {
+    await(delegate.renameCollection(clientSession, newCollectionNamespace));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#renameCollection}
+   * @param clientSession the client session with which to associate this operation
+   * @param newCollectionNamespace the name the collection will be renamed to
+   * @param options                the options for renaming a collection
+   */
+  public void renameCollection(ClientSession clientSession, MongoNamespace newCollectionNamespace,
+      RenameCollectionOptions options) {
+    await(delegate.renameCollection(clientSession, newCollectionNamespace, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#paginate}
+   * @param filter the query filter
+   * @param sort the sort criteria
+   * @param pageSize the maximum number of documents of the page
+   * @return the result of the operation
+   */
+  public MongoPage<TDocument> paginate(JsonObject filter, JsonObject sort, int pageSize) {
+    return await(delegate.paginate(filter, sort, pageSize));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#paginate}
+   * @param filter the query filter
+   * @param sort the sort criteria, must be the same as for the first page
+   * @param pageSize the maximum number of documents of the page
+   * @param continuationToken the continuation token of the previous page
+   * @return the result of the operation
+   */
+  public MongoPage<TDocument> paginate(JsonObject filter, JsonObject sort, int pageSize,
+      String continuationToken) {
+    return await(delegate.paginate(filter, sort, pageSize, continuationToken));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#withHedgedReads}
+   * @param options the hedge options
+   * @return the blocking facade of the result
+   */
+  public BlockingMongoCollection<TDocument> withHedgedReads(HedgeOptions options) {
+    return new BlockingMongoCollection<>(delegate.withHedgedReads(options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#withConcurrencyLimit}
+   * @param options the concurrency limit options
+   * @return the blocking facade of the result
+   */
+  public BlockingMongoCollection<TDocument> withConcurrencyLimit(ConcurrencyLimitOptions options) {
+    return new BlockingMongoCollection<>(delegate.withConcurrencyLimit(options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#getConcurrencyLimitStats}
+   * @return the result of the operation
+   */
+  public ConcurrencyLimitStats getConcurrencyLimitStats() {
+    return delegate.getConcurrencyLimitStats();
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#exportTo}
+   * @param output the output stream
+   * @param options the export options
+   * @return the result of the operation
+   */
+  public Long exportTo(WriteStream<Buffer> output, ExportOptions options) {
+    return await(delegate.exportTo(output, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#importFrom}
+   * @param input the input stream
+   * @param options the import options
+   * @return the result of the operation
+   */
+  public ImportResult importFrom(ReadStream<Buffer> input, ImportOptions options) {
+    return await(delegate.importFrom(input, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#adviseIndexes}
+   * @return the result of the operation
+   */
+  public List<IndexAdvice> adviseIndexes() {
+    return await(delegate.adviseIndexes());
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#suggestIndexes}
+   * @return the result of the operation
+   */
+  public List<IndexModel> suggestIndexes() {
+    return await(delegate.suggestIndexes());
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#aggregate}
+   * @param pipeline the aggregation pipeline
+   * @param params the values of the placeholders of the pipeline
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> aggregate(Pipeline pipeline, JsonObject params) {
+    return new BlockingMongoResult<>(delegate.aggregate(pipeline, params));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#aggregate}
+   * @param pipeline the aggregation pipeline
+   * @param params the values of the placeholders of the pipeline
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<TDocument> aggregate(Pipeline pipeline, JsonObject params,
+      AggregateOptions options) {
+    return new BlockingMongoResult<>(delegate.aggregate(pipeline, params, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoCollection#prepare}
+   * @param filterTemplate the query filter, with placeholders
+   * @param options the options of the find, whose projection and sort may have placeholders
+   * @return the result of the operation
+   */
+  public PreparedFind<TDocument> prepare(JsonObject filterTemplate, FindOptions options) {
+    return delegate.prepare(filterTemplate, options);
+  }
+}
@@ -0,0 +1,464 @@
+//
+//  Copyright 2022 The Vert.x Community.
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+package io.vertx.mongo.client;
+
+import static io.vertx.mongo.impl.Utils.await;
+import static java.util.Objects.requireNonNull;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.BlockingMongoResult;
+import io.vertx.mongo.client.model.CreateCollectionOptions;
+import io.vertx.mongo.client.model.CreateViewOptions;
+import io.vertx.mongo.client.model.changestream.ChangeStreamDocument;
+import java.lang.Class;
+import java.lang.String;
+import org.bson.codecs.configuration.CodecRegistry;
+
+/**
+ * Blocking facade of {@link MongoDatabase}: methods park the calling thread until the operation completes.
+ * <p>It is intended to be used from virtual threads and must not be used from Vert.x threads.</p>
+ */
+public class BlockingMongoDatabase {
+  private final MongoDatabase delegate;
+
+  public BlockingMongoDatabase(MongoDatabase delegate) {
+    this.delegate = requireNonNull(delegate, "delegate is null");
+  }
+
+  /**
+   * @return the asynchronous MongoDatabase
+   */
+  public MongoDatabase getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#getName}
+   * @return the result of the operation
+   */
+  public String getName() {
+    return delegate.getName();
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#getCodecRegistry}
+   * @return the result of the operation
+   */
+  public CodecRegistry getCodecRegistry() {
+    return delegate.getCodecRegistry();
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#getReadPreference}
+   * @return the result of the operation
+   */
+  public ReadPreference getReadPreference() {
+    return delegate.getReadPreference();
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#getWriteConcern}
+   * @return the result of the operation
+   */
+  public WriteConcern getWriteConcern() {
+    return delegate.getWriteConcern();
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#getReadConcern}
+   * @return the result of the operation
+   */
+  public ReadConcern getReadConcern() {
+    return delegate.getReadConcern();
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#withCodecRegistry}
+   * @param codecRegistry the new {@link org.bson.codecs.configuration.CodecRegistry} for the collection
+   * @return the blocking facade of the result
+   */
+  public BlockingMongoDatabase withCodecRegistry(CodecRegistry codecRegistry) {
+    return new BlockingMongoDatabase(delegate.withCodecRegistry(codecRegistry));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#withReadPreference}
+   * @param readPreference the new {@link com.mongodb.ReadPreference} for the collection
+   * @return the blocking facade of the result
+   */
+  public BlockingMongoDatabase withReadPreference(ReadPreference readPreference) {
+    return new BlockingMongoDatabase(delegate.withReadPreference(readPreference));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#withWriteConcern}
+   * @param writeConcern the new {@link com.mongodb.WriteConcern} for the collection
+   * @return the blocking facade of the result
+   */
+  public BlockingMongoDatabase withWriteConcern(WriteConcern writeConcern) {
+    return new BlockingMongoDatabase(delegate.withWriteConcern(writeConcern));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#withReadConcern}
+   * @param readConcern the new {@link ReadConcern} for the collection
+   * @return the blocking facade of the result
+   */
+  public BlockingMongoDatabase withReadConcern(ReadConcern readConcern) {
+    return new BlockingMongoDatabase(delegate.withReadConcern(readConcern));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#getCollection}
+   * @param collectionName the name of the collection to return
+   * @return the blocking facade of the result
+   */
+  public BlockingMongoCollection<JsonObject> getCollection(String collectionName) {
+    return new BlockingMongoCollection<>(delegate.getCollection(collectionName));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#getCollection}
+   * @param collectionName the name of the collection to return
+   * @param clazz          the default class to cast any documents returned from the database into.
+   * @param <TDocument>    the type of the class to use instead of {@code Document}.
+   * @return the blocking facade of the result
+   */
+  public <TDocument> BlockingMongoCollection<TDocument> getCollection(String collectionName,
+      Class<TDocument> clazz) {
+    return new BlockingMongoCollection<>(delegate.getCollection(collectionName, clazz));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#runCommand}
+   * @param command the command to be run
+   * @return the result of the operation
+   */
+  public JsonObject runCommand(JsonObject command) {
+    return await(delegate.runCommand(command));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#runCommand}
+   * @param command        the command to be run
+   * @param readPreference the {@link com.mongodb.ReadPreference} to be used when executing the command
+   * @return the result of the operation
+   */
+  public JsonObject runCommand(JsonObject command, ReadPreference readPreference) {
+    return await(delegate.runCommand(command, readPreference));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#runCommand}
+   * @param clientSession the client session with which to associate this operation
+   * @param command the command to be run
+   * @return the result of the operation
+   */
+  public JsonObject runCommand(ClientSession clientSession, JsonObject command) {
+    return await(delegate.runCommand(clientSession, command));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#runCommand}
+   * @param clientSession the client session with which to associate this operation
+   * @param command        the command to be run
+   * @param readPreference the {@link com.mongodb.ReadPreference} to be used when executing the command
+   * @return the result of the operation
+   */
+  public JsonObject runCommand(ClientSession clientSession, JsonObject command,
+      ReadPreference readPreference) {
+    return await(delegate.runCommand(clientSession, command, readPreference));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#drop}
+   */
+  public void drop() {
+    await(delegate.drop());
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#drop}
+   * @param clientSession the client session with which to associate this operation
+   */
+  public void drop(ClientSession clientSession) {
+    await(delegate.drop(clientSession));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#listCollectionNames}
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<String> listCollectionNames() {
+    return new BlockingMongoResult<>(delegate.listCollectionNames());
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#listCollectionNames}
+   * @param clientSession the client session with which to associate this operation
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<String> listCollectionNames(ClientSession clientSession) {
+    return new BlockingMongoResult<>(delegate.listCollectionNames(clientSession));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#listCollections}
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<JsonObject> listCollections() {
+    return new BlockingMongoResult<>(delegate.listCollections());
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#listCollections}
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<JsonObject> listCollections(ListCollectionsOptions options) {
+    return new BlockingMongoResult<>(delegate.listCollections(options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#listCollections}
+   * @param clientSession the client session with which to associate this operation
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<JsonObject> listCollections(ClientSession clientSession) {
+    return new BlockingMongoResult<>(delegate.listCollections(clientSession));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#listCollections}
+   * @param clientSession the client session with which to associate this operation
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<JsonObject> listCollections(ClientSession clientSession,
+      ListCollectionsOptions options) {
+    return new BlockingMongoResult<>(delegate.listCollections(clientSession, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#createCollection}
+   * @param collectionName the name for the new collection to create
+   */
+  public void createCollection(String collectionName) {
+    await(delegate.createCollection(collectionName));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#createCollection}
+   * @param collectionName the name for the new collection to create
+   * @param options        various options for creating the collection
+   */
+  public void createCollection(String collectionName, CreateCollectionOptions options) {
+    await(delegate.createCollection(collectionName, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#createCollection}
+   * @param clientSession the client session with which to associate this operation
+   * @param collectionName the name for the new collection to create
+   */
+  public void createCollection(ClientSession clientSession, String collectionName) {
+    await(delegate.createCollection(clientSession, collectionName));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#createCollection}
+   * @param clientSession the client session with which to associate this operation
+   * @param collectionName the name for the new collection to create
+   * @param options        various options for creating the collection
+   */
+  public void createCollection(ClientSession clientSession, String collectionName,
+      CreateCollectionOptions options) {
+    await(delegate.createCollection(clientSession, collectionName, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#createView}
+   * @param viewName the name of the view to create
+   * @param viewOn   the backing collection/view for the view
+   * @param pipeline the pipeline that defines the view
+   */
+  public void createView(String viewName, String viewOn, JsonArray pipeline) {
+    await(delegate.createView(viewName, viewOn, pipeline));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#createView}
+   * @param viewName the name of the view to create
+   * @param viewOn   the backing collection/view for the view
+   * @param pipeline the pipeline that defines the view
+   * @param createViewOptions various options for creating the view
+   */
+  public void createView(String viewName, String viewOn, JsonArray pipeline,
+      CreateViewOptions createViewOptions) {
+    await(delegate.createView(viewName, viewOn, pipeline, createViewOptions));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#createView}
+   * @param clientSession the client session with which to associate this operation
+   * @param viewName the name of the view to create
+   * @param viewOn   the backing collection/view for the view
+   * @param pipeline the pipeline that defines the view
+   */
+  public void createView(ClientSession clientSession, String viewName, String viewOn,
+      JsonArray pipeline) {
+    await(delegate.createView(clientSession, viewName, viewOn, pipeline));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#createView}
+   * @param clientSession the client session with which to associate this operation
+   * @param viewName the name of the view to create
+   * @param viewOn   the backing collection/view for the view
+   * @param pipeline the pipeline that defines the view
+   * @param createViewOptions various options for creating the view
+   */
+  public void createView(ClientSession clientSession, String viewName, String viewOn,
+      JsonArray pipeline, CreateViewOptions createViewOptions) {
+    await(delegate.createView(clientSession, viewName, viewOn, pipeline, createViewOptions));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#watch}
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch() {
+    return new BlockingMongoResult<>(delegate.watch());
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#watch}
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(ChangeStreamOptions options) {
+    return new BlockingMongoResult<>(delegate.watch(options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#watch}
+   * @param pipeline the aggregation pipeline to apply to the change stream.
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(JsonArray pipeline) {
+    return new BlockingMongoResult<>(delegate.watch(pipeline));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#watch}
+   * @param pipeline the aggregation pipeline to apply to the change stream.
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(JsonArray pipeline,
+      ChangeStreamOptions options) {
+    return new BlockingMongoResult<>(delegate.watch(pipeline, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#watch}
+   * @param clientSession the client session with which to associate this operation
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(ClientSession clientSession) {
+    return new BlockingMongoResult<>(delegate.watch(clientSession));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#watch}
+   * @param clientSession the client session with which to associate this operation
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(ClientSession clientSession,
+      ChangeStreamOptions options) {
+    return new BlockingMongoResult<>(delegate.watch(clientSession, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#watch}
+   * @param clientSession the client session with which to associate this operation
+   * @param pipeline the aggregation pipeline to apply to the change stream.
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(ClientSession clientSession,
+      JsonArray pipeline) {
+    return new BlockingMongoResult<>(delegate.watch(clientSession, pipeline));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#watch}
+   * @param clientSession the client session with which to associate this operation
+   * @param pipeline the aggregation pipeline to apply to the change stream.
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<ChangeStreamDocument<JsonObject>> watch(ClientSession clientSession,
+      JsonArray pipeline, ChangeStreamOptions options) {
+    return new BlockingMongoResult<>(delegate.watch(clientSession, pipeline, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#aggregate}
+   * @param pipeline the aggregation pipeline
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<JsonObject> aggregate(JsonArray pipeline) {
+    return new BlockingMongoResult<>(delegate.aggregate(pipeline));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#aggregate}
+   * @param pipeline the aggregation pipeline
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<JsonObject> aggregate(JsonArray pipeline, AggregateOptions options) {
+    return new BlockingMongoResult<>(delegate.aggregate(pipeline, options));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#aggregate}
+   * @param clientSession the client session with which to associate this operation
+   * @param pipeline the aggregation pipeline
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<JsonObject> aggregate(ClientSession clientSession,
+      JsonArray pipeline) {
+    return new BlockingMongoResult<>(delegate.aggregate(clientSession, pipeline));
+  }
+
+  /**
+   * Blocking variant of {@link MongoDatabase#aggregate}
+   * @param clientSession the client session with which to associate this operation
+   * @param pipeline the aggregation pipeline
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<JsonObject> aggregate(ClientSession clientSession, JsonArray pipeline,
+      AggregateOptions options) {
+    return new BlockingMongoResult<>(delegate.aggregate(clientSession, pipeline, options));
+  }
+}
@@ -25,12 +25,15 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.mongo.ClientSessionOptions;
 import io.vertx.mongo.MongoResult;
+import io.vertx.mongo.TransactionOptions;
 import io.vertx.mongo.client.impl.MongoClientImpl;
 import io.vertx.mongo.client.model.changestream.ChangeStreamDocument;
 import io.vertx.mongo.impl.MongoClientContext;
 import java.lang.String;
 import java.lang.Void;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  *  A client-side representation of a MongoDB cluster.  Instances can represent either a standalone MongoDB instance, a replica set,
@@ -99,6 +102,66 @@ public interface MongoClient extends Closeable {
    */
   void close(Handler<AsyncResult<Void>> handler);
 
+  /**
+   * Runs the body in a transaction, using a session of the client session pool.
+   * <p>The whole transaction is retried when it fails with a {@code TransientTransactionError}, and the commit is retried
+   * when it fails with an {@code UnknownTransactionCommitResult}, with a jittered exponential backoff, for at most 2 minutes.
+   * The body must not commit the transaction, and can be called several times.</p>
+   *
+   * @param body the body of the transaction
+   * @param <T> the type of the result of the body
+   * @return a future of the result of the body
+   */
+  <T> Future<T> withTransaction(Function<ClientSession, Future<T>> body);
+
+  /**
+   * Runs the body in a transaction, using a session of the client session pool.
+   * <p>The whole transaction is retried when it fails with a {@code TransientTransactionError}, and the commit is retried
+   * when it fails with an {@code UnknownTransactionCommitResult}, with a jittered exponential backoff, for at most 2 minutes.
+   * The body must not commit the transaction, and can be called several times.</p>
+   *
+   * @param body the body of the transaction
+   * @param resultHandler the handler called with the result of the body
+   * @param <T> the type of the result of the body
+   */
+  <T> void withTransaction(Function<ClientSession, Future<T>> body,
+      Handler<AsyncResult<T>> resultHandler);
+
+  /**
+   * Runs the body in a transaction, using a session of the client session pool.
+   * <p>The whole transaction is retried when it fails with a {@code TransientTransactionError}, and the commit is retried
+   * when it fails with an {@code UnknownTransactionCommitResult}, with a jittered exponential backoff, for at most 2 minutes.
+   * The body must not commit the transaction, and can be called several times.</p>
+   *
+   * @param body the body of the transaction
+   * @param options the options of the transaction
+   * @param <T> the type of the result of the body
+   * @return a future of the result of the body
+   */
+  <T> Future<T> withTransaction(Function<ClientSession, Future<T>> body,
+      TransactionOptions options);
+
+  /**
+   * Runs the body in a transaction, using a session of the client session pool.
+   * <p>The whole transaction is retried when it fails with a {@code TransientTransactionError}, and the commit is retried
+   * when it fails with an {@code UnknownTransactionCommitResult}, with a jittered exponential backoff, for at most 2 minutes.
+   * The body must not commit the transaction, and can be called several times.</p>
+   *
+   * @param body the body of the transaction
+   * @param options the options of the transaction
+   * @param resultHandler the handler called with the result of the body
+   * @param <T> the type of the result of the body
+   */
+  <T> void withTransaction(Function<ClientSession, Future<T>> body, TransactionOptions options,
+      Handler<AsyncResult<T>> resultHandler);
+
+  /**
+   * Returns the compressed and uncompressed sizes of the messages, per operation type, collected since the creation
+   * of the client when {@link ClientConfig#setCompressionStatsEnabled} is set.
+   * @return the statistics by command name, empty when statistics are not enabled
+   */
+  Map<String, CompressionStats> getCompressionStats();
+
   /**
    *  Gets the database with the given name.
    *
@@ -22,10 +22,15 @@ import com.mongodb.WriteConcern;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.mongo.MongoCollectionResult;
+import io.vertx.mongo.MongoPage;
 import io.vertx.mongo.MongoResult;
+import io.vertx.mongo.Pipeline;
 import io.vertx.mongo.bulk.BulkWriteResult;
 import io.vertx.mongo.client.model.BulkWriteOptions;
 import io.vertx.mongo.client.model.CountOptions;
@@ -2712,6 +2717,175 @@ public interface MongoCollection<TDocument> {
   void renameCollection(ClientSession clientSession, MongoNamespace newCollectionNamespace,
       RenameCollectionOptions options, Handler<AsyncResult<Void>> resultHandler);
 
+  /**
+   * Finds the first page of documents matching the filter using keyset pagination: next pages are requested
+   * with the continuation token of the page, and cost the same as the first page.
+   * <p>{@code _id} is appended to the sort, in the direction of its last field, to make it unique. The first call
+   * fails if no index supports the sort, appended {@code _id} included.</p>
+   * @param filter the query filter
+   * @param sort the sort criteria
+   * @param pageSize the maximum number of documents of the page
+   * @return a future of the page
+   */
+  Future<MongoPage<TDocument>> paginate(JsonObject filter, JsonObject sort, int pageSize);
+
+  /**
+   * Finds the first page of documents matching the filter using keyset pagination: next pages are requested
+   * with the continuation token of the page, and cost the same as the first page.
+   * <p>{@code _id} is appended to the sort, in the direction of its last field, to make it unique. The first call
+   * fails if no index supports the sort, appended {@code _id} included.</p>
+   * @param filter the query filter
+   * @param sort the sort criteria
+   * @param pageSize the maximum number of documents of the page
+   * @param resultHandler the handler called with the page
+   */
+  void paginate(JsonObject filter, JsonObject sort, int pageSize,
+      Handler<AsyncResult<MongoPage<TDocument>>> resultHandler);
+
+  /**
+   * Finds the next page of documents matching the filter using keyset pagination.
+   * @param filter the query filter
+   * @param sort the sort criteria, must be the same as for the first page
+   * @param pageSize the maximum number of documents of the page
+   * @param continuationToken the continuation token of the previous page
+   * @return a future of the page
+   */
+  Future<MongoPage<TDocument>> paginate(JsonObject filter, JsonObject sort, int pageSize,
+      String continuationToken);
+
+  /**
+   * Finds the next page of documents matching the filter using keyset pagination.
+   * @param filter the query filter
+   * @param sort the sort criteria, must be the same as for the first page
+   * @param pageSize the maximum number of documents of the page
+   * @param continuationToken the continuation token of the previous page
+   * @param resultHandler the handler called with the page
+   */
+  void paginate(JsonObject filter, JsonObject sort, int pageSize, String continuationToken,
+      Handler<AsyncResult<MongoPage<TDocument>>> resultHandler);
+
+  /**
+   * Create a new MongoCollection instance hedging its reads: a {@code find}, {@code aggregate} or {@code countDocuments}
+   * read that has not answered after a percentile of the latencies of the recent reads is sent again, and the first
+   * answer wins.
+   * <p>Reads of a session and aggregations ending with an output stage are not hedged. The latencies are those of the
+   * returned instance: it should be kept rather than created for each read.</p>
+   * @param options the hedge options
+   * @return a new MongoCollection instance hedging its reads
+   */
+  MongoCollection<TDocument> withHedgedReads(HedgeOptions options);
+
+  /**
+   * Create a new MongoCollection instance limiting its concurrent operations: operations above the limits are queued,
+   * and fail with a {@link ConcurrencyLimitExceededException} when the queue is full.
+   * <p>Instances derived from the returned instance share its limits. Change streams are not limited.</p>
+   * @param options the concurrency limit options
+   * @return a new MongoCollection instance limiting its concurrent operations
+   */
+  MongoCollection<TDocument> withConcurrencyLimit(ConcurrencyLimitOptions options);
+
+  /**
+   * @return the statistics of the concurrency limit of the collection, null when it has no concurrency limit
+   */
+  ConcurrencyLimitStats getConcurrencyLimitStats();
+
+  /**
+   * Exports the documents of the collection as NDJSON or CSV text, and ends the output. Documents are read as raw BSON
+   * and encoded in batches on worker threads: the query is paused while the write queue of the output is full.
+   * @param output the output stream
+   * @param options the export options
+   * @return a future of the number of exported documents
+   */
+  Future<Long> exportTo(WriteStream<Buffer> output, ExportOptions options);
+
+  /**
+   * Exports the documents of the collection as NDJSON or CSV text, and ends the output. Documents are read as raw BSON
+   * and encoded in batches on worker threads: the query is paused while the write queue of the output is full.
+   * @param output the output stream
+   * @param options the export options
+   * @param resultHandler the handler called with the number of exported documents
+   */
+  void exportTo(WriteStream<Buffer> output, ExportOptions options,
+      Handler<AsyncResult<Long>> resultHandler);
+
+  /**
+   * Imports NDJSON or CSV text into the collection. Records are parsed in batches on worker threads, and each batch is
+   * written with one unordered {@code insertMany} or {@code bulkWrite}: the input is paused while too many batches are
+   * in progress. A failed batch fails the import, documents of the other batches may have been written.
+   * @param input the input stream
+   * @param options the import options
+   * @return a future of the result of the import
+   */
+  Future<ImportResult> importFrom(ReadStream<Buffer> input, ImportOptions options);
+
+  /**
+   * Imports NDJSON or CSV text into the collection. Records are parsed in batches on worker threads, and each batch is
+   * written with one unordered {@code insertMany} or {@code bulkWrite}: the input is paused while too many batches are
+   * in progress. A failed batch fails the import, documents of the other batches may have been written.
+   * @param input the input stream
+   * @param options the import options
+   * @param resultHandler the handler called with the result of the import
+   */
+  void importFrom(ReadStream<Buffer> input, ImportOptions options,
+      Handler<AsyncResult<ImportResult>> resultHandler);
+
+  /**
+   * Compares the query shapes of the collection recorded by the index advisor of the client to the indexes of the
+   * collection. It fails with an {@link IllegalStateException} when the client has no index advisor.
+   * @return a future of the shapes that no index supports, by decreasing cumulated latency
+   */
+  Future<List<IndexAdvice>> adviseIndexes();
+
+  /**
+   * Compares the query shapes of the collection recorded by the index advisor of the client to the indexes of the
+   * collection. It fails with an {@link IllegalStateException} when the client has no index advisor.
+   * @param resultHandler the handler called with the shapes that no index supports, by decreasing cumulated latency
+   */
+  void adviseIndexes(Handler<AsyncResult<List<IndexAdvice>>> resultHandler);
+
+  /**
+   * Suggests the indexes supporting the query shapes of {@link #adviseIndexes()}, without the indexes whose keys are a
+   * prefix of the keys of another suggested index: they can be created with {@code createIndexes}.
+   * @return a future of the suggested indexes
+   */
+  Future<List<IndexModel>> suggestIndexes();
+
+  /**
+   * Suggests the indexes supporting the query shapes of {@link #adviseIndexes()}, without the indexes whose keys are a
+   * prefix of the keys of another suggested index: they can be created with {@code createIndexes}.
+   * @param resultHandler the handler called with the suggested indexes
+   */
+  void suggestIndexes(Handler<AsyncResult<List<IndexModel>>> resultHandler);
+
+  /**
+   * Aggregates documents according to a pipeline whose stages are encoded once: only the parameters are encoded by
+   * this call, and substituted to the placeholders of the stages.
+   * @param pipeline the aggregation pipeline
+   * @param params the values of the placeholders of the pipeline
+   * @return a result containing the result of the aggregation operation
+   */
+  MongoCollectionResult<TDocument> aggregate(Pipeline pipeline, JsonObject params);
+
+  /**
+   * Aggregates documents according to a pipeline whose stages are encoded once: only the parameters are encoded by
+   * this call, and substituted to the placeholders of the stages.
+   * @param pipeline the aggregation pipeline
+   * @param params the values of the placeholders of the pipeline
+   * @param options options
+   * @return a result containing the result of the aggregation operation
+   */
+  MongoCollectionResult<TDocument> aggregate(Pipeline pipeline, JsonObject params,
+      AggregateOptions options);
+
+  /**
+   * Prepares a find whose filter, projection and sort are encoded once: executions only encode the values of
+   * their placeholders.
+   * @param filterTemplate the query filter, with placeholders
+   * @param options the options of the find, whose projection and sort may have placeholders
+   * @return the prepared find
+   */
+  PreparedFind<TDocument> prepare(JsonObject filterTemplate, FindOptions options);
+
   /**
    * @return mongo object
    * @hidden
@@ -0,0 +1,515 @@
+//
+//  Copyright 2022 The Vert.x Community.
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+package io.vertx.mongo.client.gridfs;
+
+import static io.vertx.mongo.impl.Utils.await;
+import static java.util.Objects.requireNonNull;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.mongo.BlockingMongoResult;
+import io.vertx.mongo.ObjectId;
+import io.vertx.mongo.client.ClientSession;
+import io.vertx.mongo.client.gridfs.model.GridFSDownloadOptions;
+import io.vertx.mongo.client.gridfs.model.GridFSFile;
+import io.vertx.mongo.client.gridfs.model.GridFSUploadOptions;
+import java.lang.Object;
+import java.lang.String;
+
+/**
+ * Blocking facade of {@link GridFSBucket}: methods park the calling thread until the operation completes.
+ * <p>It is intended to be used from virtual threads and must not be used from Vert.x threads.</p>
+ */
+public class BlockingGridFSBucket {
+  private final GridFSBucket delegate;
+
+  public BlockingGridFSBucket(GridFSBucket delegate) {
+    this.delegate = requireNonNull(delegate, "delegate is null");
+  }
+
+  /**
+   * @return the asynchronous GridFSBucket
+   */
+  public GridFSBucket getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#getBucketName}
+   * @return the result of the operation
+   */
+  public String getBucketName() {
+    return delegate.getBucketName();
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#getChunkSizeBytes}
+   * @return the result of the operation
+   */
+  public int getChunkSizeBytes() {
+    return delegate.getChunkSizeBytes();
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#getWriteConcern}
+   * @return the result of the operation
+   */
+  public WriteConcern getWriteConcern() {
+    return delegate.getWriteConcern();
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#getReadPreference}
+   * @return the result of the operation
+   */
+  public ReadPreference getReadPreference() {
+    return delegate.getReadPreference();
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#getReadConcern}
+   * @return the result of the operation
+   */
+  public ReadConcern getReadConcern() {
+    return delegate.getReadConcern();
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#withChunkSizeBytes}
+   * @param chunkSizeBytes the new chunk size in bytes.
+   * @return the blocking facade of the result
+   */
+  public BlockingGridFSBucket withChunkSizeBytes(int chunkSizeBytes) {
+    return new BlockingGridFSBucket(delegate.withChunkSizeBytes(chunkSizeBytes));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#withReadPreference}
+   * @param readPreference the new {@link ReadPreference} for the database
+   * @return the blocking facade of the result
+   */
+  public BlockingGridFSBucket withReadPreference(ReadPreference readPreference) {
+    return new BlockingGridFSBucket(delegate.withReadPreference(readPreference));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#withWriteConcern}
+   * @param writeConcern the new {@link WriteConcern} for the database
+   * @return the blocking facade of the result
+   */
+  public BlockingGridFSBucket withWriteConcern(WriteConcern writeConcern) {
+    return new BlockingGridFSBucket(delegate.withWriteConcern(writeConcern));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#withReadConcern}
+   * @param readConcern the new {@link ReadConcern} for the database
+   * @return the blocking facade of the result
+   */
+  public BlockingGridFSBucket withReadConcern(ReadConcern readConcern) {
+    return new BlockingGridFSBucket(delegate.withReadConcern(readConcern));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#uploadStream}
+   * @param filename the filename
+   * @param source   the stream providing the file data
+   * @return the result of the operation
+   */
+  public ObjectId uploadStream(String filename, ReadStream<Buffer> source) {
+    return await(delegate.uploadStream(filename, source));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#uploadFile}
+   * @param filename the filename providing the file data
+   * @return the result of the operation
+   */
+  public ObjectId uploadFile(String filename) {
+    return await(delegate.uploadFile(filename));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#uploadStream}
+   * @param filename the filename
+   * @param source   the stream providing the file data
+   * @param options  the GridFSUploadOptions
+   * @return the result of the operation
+   */
+  public ObjectId uploadStream(String filename, ReadStream<Buffer> source,
+      GridFSUploadOptions options) {
+    return await(delegate.uploadStream(filename, source, options));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#uploadFile}
+   * @param filename the filename providing the file data
+   * @param options  the GridFSUploadOptions
+   * @return the result of the operation
+   */
+  public ObjectId uploadFile(String filename, GridFSUploadOptions options) {
+    return await(delegate.uploadFile(filename, options));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#uploadStream}
+   * @param clientSession the client session with which to associate this operation
+   * @param filename the filename
+   * @param source   the stream providing the file data
+   * @return the result of the operation
+   */
+  public ObjectId uploadStream(ClientSession clientSession, String filename,
+      ReadStream<Buffer> source) {
+    return await(delegate.uploadStream(clientSession, filename, source));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#uploadFile}
+   * @param clientSession the client session with which to associate this operation
+   * @param filename the filename providing the file data
+   * @return the result of the operation
+   */
+  public ObjectId uploadFile(ClientSession clientSession, String filename) {
+    return await(delegate.uploadFile(clientSession, filename));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#uploadStream}
+   * @param clientSession the client session with which to associate this operation
+   * @param filename the filename
+   * @param source   the stream providing the file data
+   * @param options  the GridFSUploadOptions
+   * @return the result of the operation
+   */
+  public ObjectId uploadStream(ClientSession clientSession, String filename,
+      ReadStream<Buffer> source, GridFSUploadOptions options) {
+    return await(delegate.uploadStream(clientSession, filename, source, options));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#uploadFile}
+   * @param clientSession the client session with which to associate this operation
+   * @param filename the filename providing the file data
+   * @param options  the GridFSUploadOptions
+   * @return the result of the operation
+   */
+  public ObjectId uploadFile(ClientSession clientSession, String filename,
+      GridFSUploadOptions options) {
+    return await(delegate.uploadFile(clientSession, filename, options));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#downloadByObjectId}
+   * @param id          the ObjectId of the file to be written to the destination Publisher
+   * @return the content of the file
+   */
+  public BlockingMongoResult<Buffer> downloadByObjectId(ObjectId id) {
+    return new BlockingMongoResult<>(delegate.downloadByObjectId(id));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#downloadByObjectId}
+   * @param id          the ObjectId of the file to be written to the destination Publisher
+   * @param controlOptions options
+   * @return the content of the file
+   */
+  public BlockingMongoResult<Buffer> downloadByObjectId(ObjectId id,
+      GridFSDownloadControlOptions controlOptions) {
+    return new BlockingMongoResult<>(delegate.downloadByObjectId(id, controlOptions));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#downloadByFilename}
+   * @param filename    the name of the file to be downloaded
+   * @return the content of the file
+   */
+  public BlockingMongoResult<Buffer> downloadByFilename(String filename) {
+    return new BlockingMongoResult<>(delegate.downloadByFilename(filename));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#downloadByFilename}
+   * @param filename    the name of the file to be downloaded
+   * @param controlOptions options
+   * @return the content of the file
+   */
+  public BlockingMongoResult<Buffer> downloadByFilename(String filename,
+      GridFSDownloadControlOptions controlOptions) {
+    return new BlockingMongoResult<>(delegate.downloadByFilename(filename, controlOptions));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#downloadByFilename}
+   * @param filename    the name of the file to be downloaded
+   * @param options     the download options
+   * @return the content of the file
+   */
+  public BlockingMongoResult<Buffer> downloadByFilename(String filename,
+      GridFSDownloadOptions options) {
+    return new BlockingMongoResult<>(delegate.downloadByFilename(filename, options));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#downloadByFilename}
+   * @param filename    the name of the file to be downloaded
+   * @param options     the download options
+   * @param controlOptions options
+   * @return the content of the file
+   */
+  public BlockingMongoResult<Buffer> downloadByFilename(String filename,
+      GridFSDownloadOptions options, GridFSDownloadControlOptions controlOptions) {
+    return new BlockingMongoResult<>(delegate.downloadByFilename(filename, options, controlOptions));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#downloadByObjectId}
+   * @param clientSession the client session with which to associate this operation
+   * @param id          the ObjectId of the file to be written to the destination Publisher
+   * @return the content of the file
+   */
+  public BlockingMongoResult<Buffer> downloadByObjectId(ClientSession clientSession, ObjectId id) {
+    return new BlockingMongoResult<>(delegate.downloadByObjectId(clientSession, id));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#downloadByObjectId}
+   * @param clientSession the client session with which to associate this operation
+   * @param id          the ObjectId of the file to be written to the destination Publisher
+   * @param controlOptions options
+   * @return the content of the file
+   */
+  public BlockingMongoResult<Buffer> downloadByObjectId(ClientSession clientSession, ObjectId id,
+      GridFSDownloadControlOptions controlOptions) {
+    return new BlockingMongoResult<>(delegate.downloadByObjectId(clientSession, id, controlOptions));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#downloadByFilename}
+   * @param clientSession the client session with which to associate this operation
+   * @param filename    the name of the file to be downloaded
+   * @return the content of the file
+   */
+  public BlockingMongoResult<Buffer> downloadByFilename(ClientSession clientSession,
+      String filename) {
+    return new BlockingMongoResult<>(delegate.downloadByFilename(clientSession, filename));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#downloadByFilename}
+   * @param clientSession the client session with which to associate this operation
+   * @param filename    the name of the file to be downloaded
+   * @param controlOptions options
+   * @return the content of the file
+   */
+  public BlockingMongoResult<Buffer> downloadByFilename(ClientSession clientSession,
+      String filename, GridFSDownloadControlOptions controlOptions) {
+    return new BlockingMongoResult<>(delegate.downloadByFilename(clientSession, filename, controlOptions));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#downloadByFilename}
+   * @param clientSession the client session with which to associate this operation
+   * @param filename    the name of the file to be downloaded
+   * @param options     the download options
+   * @return the content of the file
+   */
+  public BlockingMongoResult<Buffer> downloadByFilename(ClientSession clientSession,
+      String filename, GridFSDownloadOptions options) {
+    return new BlockingMongoResult<>(delegate.downloadByFilename(clientSession, filename, options));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#downloadByFilename}
+   * @param clientSession the client session with which to associate this operation
+   * @param filename    the name of the file to be downloaded
+   * @param options     the download options
+   * @param controlOptions options
+   * @return the content of the file
+   */
+  public BlockingMongoResult<Buffer> downloadByFilename(ClientSession clientSession,
+      String filename, GridFSDownloadOptions options, GridFSDownloadControlOptions controlOptions) {
+    return new BlockingMongoResult<>(delegate.downloadByFilename(clientSession, filename, options, controlOptions));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#find}
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<GridFSFile> find() {
+    return new BlockingMongoResult<>(delegate.find());
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#find}
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<GridFSFile> find(GridFSFindOptions options) {
+    return new BlockingMongoResult<>(delegate.find(options));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#find}
+   * @param filter the query filter
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<GridFSFile> find(JsonObject filter) {
+    return new BlockingMongoResult<>(delegate.find(filter));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#find}
+   * @param filter the query filter
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<GridFSFile> find(JsonObject filter, GridFSFindOptions options) {
+    return new BlockingMongoResult<>(delegate.find(filter, options));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#find}
+   * @param clientSession the client session with which to associate this operation
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<GridFSFile> find(ClientSession clientSession) {
+    return new BlockingMongoResult<>(delegate.find(clientSession));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#find}
+   * @param clientSession the client session with which to associate this operation
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<GridFSFile> find(ClientSession clientSession,
+      GridFSFindOptions options) {
+    return new BlockingMongoResult<>(delegate.find(clientSession, options));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#find}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter the query filter
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<GridFSFile> find(ClientSession clientSession, JsonObject filter) {
+    return new BlockingMongoResult<>(delegate.find(clientSession, filter));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#find}
+   * @param clientSession the client session with which to associate this operation
+   * @param filter the query filter
+   * @param options options
+   * @return the result of the operation
+   */
+  public BlockingMongoResult<GridFSFile> find(ClientSession clientSession, JsonObject filter,
+      GridFSFindOptions options) {
+    return new BlockingMongoResult<>(delegate.find(clientSession, filter, options));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#delete}
+   * @param id       the ObjectId of the file to be deleted
+   */
+  public void delete(ObjectId id) {
+    await(delegate.delete(id));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#delete}
+   * @param id       the ObjectId of the file to be deleted
+   */
+  public void delete(Object id) {
+    await(delegate.delete(id));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#delete}
+   * @param clientSession the client session with which to associate this operation
+   * @param id       the ObjectId of the file to be deleted
+   */
+  public void delete(ClientSession clientSession, ObjectId id) {
+    await(delegate.delete(clientSession, id));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#delete}
+   * @param clientSession the client session with which to associate this operation
+   * @param id       the ObjectId of the file to be deleted
+   */
+  public void delete(ClientSession clientSession, Object id) {
+    await(delegate.delete(clientSession, id));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#rename}
+   * @param id          the id of the file in the files collection to rename
+   * @param newFilename the new filename for the file
+   */
+  public void rename(ObjectId id, String newFilename) {
+    await(delegate.rename(id, newFilename));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#rename}
+   * @param id          the id of the file in the files collection to rename
+   * @param newFilename the new filename for the file
+   */
+  public void rename(Object id, String newFilename) {
+    await(delegate.rename(id, newFilename));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#rename}
+   * @param clientSession the client session with which to associate this operation
+   * @param id          the id of the file in the files collection to rename
+   * @param newFilename the new filename for the file
+   */
+  public void rename(ClientSession clientSession, ObjectId id, String newFilename) {
+    await(delegate.rename(clientSession, id, newFilename));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#rename}
+   * @param clientSession the client session with which to associate this operation
+   * @param id          the id of the file in the files collection to rename
+   * @param newFilename the new filename for the file
+   */
+  public void rename(ClientSession clientSession, Object id, String newFilename) {
+    await(delegate.rename(clientSession, id, newFilename));
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#drop}
+   */
+  public void drop() {
+    await(delegate.drop());
+  }
+
+  /**
+   * Blocking variant of {@link GridFSBucket#drop}
+   * @param clientSession the client session with which to associate this operation
+   */
+  public void drop(ClientSession clientSession) {
+    await(delegate.drop(clientSession));
+  }
+}
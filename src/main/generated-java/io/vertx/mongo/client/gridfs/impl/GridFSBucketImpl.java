@@ -41,7 +41,7 @@ import io.vertx.mongo.client.gridfs.GridFSFindOptions;
 import io.vertx.mongo.client.gridfs.model.GridFSDownloadOptions;
 import io.vertx.mongo.client.gridfs.model.GridFSFile;
 import io.vertx.mongo.client.gridfs.model.GridFSUploadOptions;
-import io.vertx.mongo.impl.MappingPublisher;
+import io.vertx.mongo.impl.GridFSFindMappingPublisher;
 import io.vertx.mongo.impl.MongoClientContext;
 import io.vertx.mongo.impl.MongoResultImpl;
 import io.vertx.mongo.impl.SingleResultSubscriber;
@@ -375,14 +375,14 @@ public class GridFSBucketImpl extends GridFSBucketBase {
   @Override
   public MongoResult<GridFSFile> find() {
     GridFSFindPublisher __publisher = wrapped.find();
-    MappingPublisher<com.mongodb.client.gridfs.model.GridFSFile, GridFSFile> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
+    GridFSFindMappingPublisher<GridFSFile> __mappingPublisher = new GridFSFindMappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
   @Override
   public MongoResult<GridFSFile> find(GridFSFindOptions options) {
     GridFSFindPublisher __publisher = wrapped.find();
-    MappingPublisher<com.mongodb.client.gridfs.model.GridFSFile, GridFSFile> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
+    GridFSFindMappingPublisher<GridFSFile> __mappingPublisher = new GridFSFindMappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -397,7 +397,7 @@ public class GridFSBucketImpl extends GridFSBucketBase {
     requireNonNull(filter, "filter is null");
     Bson __filter = clientContext.getMapper().toBson(filter);
     GridFSFindPublisher __publisher = wrapped.find(__filter);
-    MappingPublisher<com.mongodb.client.gridfs.model.GridFSFile, GridFSFile> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
+    GridFSFindMappingPublisher<GridFSFile> __mappingPublisher = new GridFSFindMappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
@@ -406,7 +406,7 @@ public class GridFSBucketImpl extends GridFSBucketBase {
     requireNonNull(filter, "filter is null");
     Bson __filter = clientContext.getMapper().toBson(filter);
     GridFSFindPublisher __publisher = wrapped.find(__filter);
-    MappingPublisher<com.mongodb.client.gridfs.model.GridFSFile, GridFSFile> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
+    GridFSFindMappingPublisher<GridFSFile> __mappingPublisher = new GridFSFindMappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -421,7 +421,7 @@ public class GridFSBucketImpl extends GridFSBucketBase {
     requireNonNull(clientSession, "clientSession is null");
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     GridFSFindPublisher __publisher = wrapped.find(__clientSession);
-    MappingPublisher<com.mongodb.client.gridfs.model.GridFSFile, GridFSFile> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
+    GridFSFindMappingPublisher<GridFSFile> __mappingPublisher = new GridFSFindMappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
@@ -430,7 +430,7 @@ public class GridFSBucketImpl extends GridFSBucketBase {
     requireNonNull(clientSession, "clientSession is null");
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     GridFSFindPublisher __publisher = wrapped.find(__clientSession);
-    MappingPublisher<com.mongodb.client.gridfs.model.GridFSFile, GridFSFile> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
+    GridFSFindMappingPublisher<GridFSFile> __mappingPublisher = new GridFSFindMappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -447,7 +447,7 @@ public class GridFSBucketImpl extends GridFSBucketBase {
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     Bson __filter = clientContext.getMapper().toBson(filter);
     GridFSFindPublisher __publisher = wrapped.find(__clientSession, __filter);
-    MappingPublisher<com.mongodb.client.gridfs.model.GridFSFile, GridFSFile> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
+    GridFSFindMappingPublisher<GridFSFile> __mappingPublisher = new GridFSFindMappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
@@ -459,7 +459,7 @@ public class GridFSBucketImpl extends GridFSBucketBase {
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     Bson __filter = clientContext.getMapper().toBson(filter);
     GridFSFindPublisher __publisher = wrapped.find(__clientSession, __filter);
-    MappingPublisher<com.mongodb.client.gridfs.model.GridFSFile, GridFSFile> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
+    GridFSFindMappingPublisher<GridFSFile> __mappingPublisher = new GridFSFindMappingPublisher<>(__publisher, _item -> GridFSFile.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
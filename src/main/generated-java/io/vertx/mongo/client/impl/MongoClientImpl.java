@@ -38,7 +38,7 @@ import io.vertx.mongo.client.ClientSession;
 import io.vertx.mongo.client.ListDatabasesOptions;
 import io.vertx.mongo.client.MongoDatabase;
 import io.vertx.mongo.client.model.changestream.ChangeStreamDocument;
-import io.vertx.mongo.impl.MappingPublisher;
+import io.vertx.mongo.impl.ChangeStreamMappingPublisher;
 import io.vertx.mongo.impl.MongoClientContext;
 import io.vertx.mongo.impl.MongoResultImpl;
 import io.vertx.mongo.impl.SingleResultSubscriber;
@@ -65,8 +65,7 @@ public class MongoClientImpl extends MongoClientBase implements Closeable {
   @Override
   public MongoDatabase getDatabase(String name) {
     requireNonNull(name, "name is null");
-    com.mongodb.reactivestreams.client.MongoDatabase __result = wrapped.getDatabase(name);
-    return new MongoDatabaseImpl(clientContext, __result);
+    return getCachedDatabase(name);
   }
 
   @Override
@@ -127,14 +126,14 @@ public class MongoClientImpl extends MongoClientBase implements Closeable {
   @Override
   public MongoResult<ChangeStreamDocument<JsonObject>> watch() {
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
   @Override
   public MongoResult<ChangeStreamDocument<JsonObject>> watch(ChangeStreamOptions options) {
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -149,7 +148,7 @@ public class MongoClientImpl extends MongoClientBase implements Closeable {
     requireNonNull(pipeline, "pipeline is null");
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__pipeline, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
@@ -159,7 +158,7 @@ public class MongoClientImpl extends MongoClientBase implements Closeable {
     requireNonNull(pipeline, "pipeline is null");
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__pipeline, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -174,7 +173,7 @@ public class MongoClientImpl extends MongoClientBase implements Closeable {
     requireNonNull(clientSession, "clientSession is null");
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__clientSession, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
@@ -184,7 +183,7 @@ public class MongoClientImpl extends MongoClientBase implements Closeable {
     requireNonNull(clientSession, "clientSession is null");
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__clientSession, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -202,7 +201,7 @@ public class MongoClientImpl extends MongoClientBase implements Closeable {
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__clientSession, __pipeline, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
@@ -214,7 +213,7 @@ public class MongoClientImpl extends MongoClientBase implements Closeable {
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__clientSession, __pipeline, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -44,6 +44,7 @@ import io.vertx.mongo.client.ClientSession;
 import io.vertx.mongo.client.FindOptions;
 import io.vertx.mongo.client.ListIndexesOptions;
 import io.vertx.mongo.client.MapReduceOptions;
+import io.vertx.mongo.client.OperationClass;
 import io.vertx.mongo.client.model.BulkWriteOptions;
 import io.vertx.mongo.client.model.CountOptions;
 import io.vertx.mongo.client.model.CreateIndexOptions;
@@ -66,8 +67,8 @@ import io.vertx.mongo.client.result.DeleteResult;
 import io.vertx.mongo.client.result.InsertManyResult;
 import io.vertx.mongo.client.result.InsertOneResult;
 import io.vertx.mongo.client.result.UpdateResult;
+import io.vertx.mongo.impl.ChangeStreamMappingPublisher;
 import io.vertx.mongo.impl.CollectionsConversionUtils;
-import io.vertx.mongo.impl.MappingPublisher;
 import io.vertx.mongo.impl.MongoClientContext;
 import io.vertx.mongo.impl.MongoCollectionResultImpl;
 import io.vertx.mongo.impl.MongoResultImpl;
@@ -104,7 +105,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     this.clazz = clazz;
     this.inputMapper = clientContext.getConfig().getInputDocumentMapper(clazz);
     this.outputMapper = clientContext.getConfig().getOutputDocumentMapper(clazz);
-    this.idProvider = clientContext.getConfig().getDocumentIdProvider(clazz);
+    this.idProvider = clientContext.getConfig().getDocumentIdProvider(clazz, wrapped.getCodecRegistry());
   }
 
   @Override
@@ -141,46 +142,41 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
   public <NewTDocument> io.vertx.mongo.client.MongoCollection<NewTDocument> withDocumentClass(
       Class<NewTDocument> clazz) {
     requireNonNull(clazz, "clazz is null");
-    MongoCollection<NewTDocument> __result = wrapped.withDocumentClass(clazz);
-    return new MongoCollectionImpl<>(clientContext, __result, clazz);
+    return getCachedCollectionWithDocumentClass(clazz);
   }
 
   @Override
   public io.vertx.mongo.client.MongoCollection<TDocument> withCodecRegistry(
       CodecRegistry codecRegistry) {
     requireNonNull(codecRegistry, "codecRegistry is null");
-    MongoCollection<TDocument> __result = wrapped.withCodecRegistry(codecRegistry);
-    return new MongoCollectionImpl<>(clientContext, __result, clazz);
+    return getCachedDerivedCollection(codecRegistry);
   }
 
   @Override
   public io.vertx.mongo.client.MongoCollection<TDocument> withReadPreference(
       ReadPreference readPreference) {
     requireNonNull(readPreference, "readPreference is null");
-    MongoCollection<TDocument> __result = wrapped.withReadPreference(readPreference);
-    return new MongoCollectionImpl<>(clientContext, __result, clazz);
+    return getCachedDerivedCollection(readPreference);
   }
 
   @Override
   public io.vertx.mongo.client.MongoCollection<TDocument> withWriteConcern(
       WriteConcern writeConcern) {
     requireNonNull(writeConcern, "writeConcern is null");
-    MongoCollection<TDocument> __result = wrapped.withWriteConcern(writeConcern);
-    return new MongoCollectionImpl<>(clientContext, __result, clazz);
+    return getCachedDerivedCollection(writeConcern);
   }
 
   @Override
   public io.vertx.mongo.client.MongoCollection<TDocument> withReadConcern(ReadConcern readConcern) {
     requireNonNull(readConcern, "readConcern is null");
-    MongoCollection<TDocument> __result = wrapped.withReadConcern(readConcern);
-    return new MongoCollectionImpl<>(clientContext, __result, clazz);
+    return getCachedDerivedCollection(readConcern);
   }
 
   @Override
   public Future<Long> estimatedDocumentCount() {
     Publisher<Long> __publisher = wrapped.estimatedDocumentCount();
     Promise<Long> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.READ, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -196,7 +192,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.EstimatedDocumentCountOptions __options = options.toDriverClass(clientContext);
     Publisher<Long> __publisher = wrapped.estimatedDocumentCount(__options);
     Promise<Long> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.READ, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -211,7 +207,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
   public Future<Long> countDocuments() {
     Publisher<Long> __publisher = wrapped.countDocuments();
     Promise<Long> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.READ, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -227,7 +223,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __filter = clientContext.getMapper().toBson(filter);
     Publisher<Long> __publisher = wrapped.countDocuments(__filter);
     Promise<Long> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.READ, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -245,7 +241,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.CountOptions __options = options.toDriverClass(clientContext);
     Publisher<Long> __publisher = wrapped.countDocuments(__filter, __options);
     Promise<Long> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.READ, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -262,7 +258,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     Publisher<Long> __publisher = wrapped.countDocuments(__clientSession);
     Promise<Long> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.READ, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -281,7 +277,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __filter = clientContext.getMapper().toBson(filter);
     Publisher<Long> __publisher = wrapped.countDocuments(__clientSession, __filter);
     Promise<Long> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.READ, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -303,7 +299,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.CountOptions __options = options.toDriverClass(clientContext);
     Publisher<Long> __publisher = wrapped.countDocuments(__clientSession, __filter, __options);
     Promise<Long> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.READ, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -317,7 +313,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
   @Override
   public MongoResult<TDocument> find() {
     FindPublisher<TDocument> __publisher = wrapped.find();
-    return new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first);
+    return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first).withRawPublisher(() -> getRawWrapped().find()));
   }
 
   @Override
@@ -326,9 +322,9 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
-      return new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first, __batchSize);
+      return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first, __batchSize).withRawPublisher(() -> raw(getRawWrapped().find(), options)));
     } else {
-      return new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first);
+      return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first).withRawPublisher(() -> raw(getRawWrapped().find(), options)));
     }
   }
 
@@ -337,7 +333,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     requireNonNull(filter, "filter is null");
     Bson __filter = clientContext.getMapper().toBson(filter);
     FindPublisher<TDocument> __publisher = wrapped.find(__filter);
-    return new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first);
+    return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first).withRawPublisher(() -> getRawWrapped().find(__filter)));
   }
 
   @Override
@@ -348,9 +344,9 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
-      return new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first, __batchSize);
+      return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first, __batchSize).withRawPublisher(() -> raw(getRawWrapped().find(__filter), options)));
     } else {
-      return new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first);
+      return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first).withRawPublisher(() -> raw(getRawWrapped().find(__filter), options)));
     }
   }
 
@@ -359,7 +355,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     requireNonNull(clientSession, "clientSession is null");
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     FindPublisher<TDocument> __publisher = wrapped.find(__clientSession);
-    return new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first);
+    return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first).withRawPublisher(() -> getRawWrapped().find(__clientSession)));
   }
 
   @Override
@@ -370,9 +366,9 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
-      return new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first, __batchSize);
+      return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first, __batchSize).withRawPublisher(() -> raw(getRawWrapped().find(__clientSession), options)));
     } else {
-      return new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first);
+      return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first).withRawPublisher(() -> raw(getRawWrapped().find(__clientSession), options)));
     }
   }
 
@@ -383,7 +379,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     Bson __filter = clientContext.getMapper().toBson(filter);
     FindPublisher<TDocument> __publisher = wrapped.find(__clientSession, __filter);
-    return new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first);
+    return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first).withRawPublisher(() -> getRawWrapped().find(__clientSession, __filter)));
   }
 
   @Override
@@ -397,9 +393,9 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
-      return new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first, __batchSize);
+      return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first, __batchSize).withRawPublisher(() -> raw(getRawWrapped().find(__clientSession, __filter), options)));
     } else {
-      return new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first);
+      return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first).withRawPublisher(() -> raw(getRawWrapped().find(__clientSession, __filter), options)));
     }
   }
 
@@ -408,7 +404,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     requireNonNull(pipeline, "pipeline is null");
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     AggregatePublisher<TDocument> __publisher = wrapped.aggregate(__pipeline);
-    return new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first);
+    return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first).withRawPublisher(() -> getRawWrapped().aggregate(__pipeline)));
   }
 
   @Override
@@ -419,9 +415,9 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
-      return new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first, __batchSize);
+      return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first, __batchSize).withRawPublisher(() -> raw(getRawWrapped().aggregate(__pipeline), options)));
     } else {
-      return new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first);
+      return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first).withRawPublisher(() -> raw(getRawWrapped().aggregate(__pipeline), options)));
     }
   }
 
@@ -433,7 +429,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     AggregatePublisher<TDocument> __publisher = wrapped.aggregate(__clientSession, __pipeline);
-    return new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first);
+    return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first).withRawPublisher(() -> getRawWrapped().aggregate(__clientSession, __pipeline)));
   }
 
   @Override
@@ -447,23 +443,23 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
-      return new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first, __batchSize);
+      return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first, __batchSize).withRawPublisher(() -> raw(getRawWrapped().aggregate(__clientSession, __pipeline), options)));
     } else {
-      return new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first);
+      return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first).withRawPublisher(() -> raw(getRawWrapped().aggregate(__clientSession, __pipeline), options)));
     }
   }
 
   @Override
   public MongoResult<ChangeStreamDocument<JsonObject>> watch() {
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
   @Override
   public MongoResult<ChangeStreamDocument<JsonObject>> watch(ChangeStreamOptions options) {
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -478,7 +474,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     requireNonNull(pipeline, "pipeline is null");
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__pipeline, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
@@ -488,7 +484,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     requireNonNull(pipeline, "pipeline is null");
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__pipeline, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -503,7 +499,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     requireNonNull(clientSession, "clientSession is null");
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__clientSession, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
@@ -513,7 +509,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     requireNonNull(clientSession, "clientSession is null");
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__clientSession, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -531,7 +527,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__clientSession, __pipeline, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
@@ -543,7 +539,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__clientSession, __pipeline, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -558,7 +554,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     requireNonNull(mapFunction, "mapFunction is null");
     requireNonNull(reduceFunction, "reduceFunction is null");
     MapReducePublisher<TDocument> __publisher = wrapped.mapReduce(mapFunction, reduceFunction);
-    return new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first);
+    return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first));
   }
 
   @Override
@@ -570,9 +566,9 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
-      return new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first, __batchSize);
+      return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first, __batchSize));
     } else {
-      return new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first);
+      return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first));
     }
   }
 
@@ -584,7 +580,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     requireNonNull(reduceFunction, "reduceFunction is null");
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     MapReducePublisher<TDocument> __publisher = wrapped.mapReduce(__clientSession, mapFunction, reduceFunction);
-    return new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first);
+    return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first));
   }
 
   @Override
@@ -598,9 +594,9 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
-      return new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first, __batchSize);
+      return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first, __batchSize));
     } else {
-      return new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first);
+      return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, clientContext, __publisher, outputMapper, __publisher::first));
     }
   }
 
@@ -611,7 +607,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     List<? extends com.mongodb.client.model.WriteModel<? extends TDocument>> __requests = CollectionsConversionUtils.mapItems(((List<? extends WriteModel<TDocument>>)requests), _item -> _item.toDriverClass(clientContext, inputMapper));
     Publisher<com.mongodb.bulk.BulkWriteResult> __publisher = wrapped.bulkWrite(__requests);
     Promise<com.mongodb.bulk.BulkWriteResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> BulkWriteResult.fromDriverClass(clientContext, _item));
   }
 
@@ -631,7 +627,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.BulkWriteOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.bulk.BulkWriteResult> __publisher = wrapped.bulkWrite(__requests, __options);
     Promise<com.mongodb.bulk.BulkWriteResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> BulkWriteResult.fromDriverClass(clientContext, _item));
   }
 
@@ -651,7 +647,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     List<? extends com.mongodb.client.model.WriteModel<? extends TDocument>> __requests = CollectionsConversionUtils.mapItems(((List<? extends WriteModel<TDocument>>)requests), _item -> _item.toDriverClass(clientContext, inputMapper));
     Publisher<com.mongodb.bulk.BulkWriteResult> __publisher = wrapped.bulkWrite(__clientSession, __requests);
     Promise<com.mongodb.bulk.BulkWriteResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> BulkWriteResult.fromDriverClass(clientContext, _item));
   }
 
@@ -674,7 +670,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.BulkWriteOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.bulk.BulkWriteResult> __publisher = wrapped.bulkWrite(__clientSession, __requests, __options);
     Promise<com.mongodb.bulk.BulkWriteResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> BulkWriteResult.fromDriverClass(clientContext, _item));
   }
 
@@ -692,7 +688,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     document = mapDoc(document, inputMapper);
     Publisher<com.mongodb.client.result.InsertOneResult> __publisher = wrapped.insertOne(document);
     Promise<com.mongodb.client.result.InsertOneResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> InsertOneResult.fromDriverClass(clientContext, _item));
   }
 
@@ -710,7 +706,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.InsertOneOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.InsertOneResult> __publisher = wrapped.insertOne(document, __options);
     Promise<com.mongodb.client.result.InsertOneResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> InsertOneResult.fromDriverClass(clientContext, _item));
   }
 
@@ -729,7 +725,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     document = mapDoc(document, inputMapper);
     Publisher<com.mongodb.client.result.InsertOneResult> __publisher = wrapped.insertOne(__clientSession, document);
     Promise<com.mongodb.client.result.InsertOneResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> InsertOneResult.fromDriverClass(clientContext, _item));
   }
 
@@ -751,7 +747,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.InsertOneOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.InsertOneResult> __publisher = wrapped.insertOne(__clientSession, document, __options);
     Promise<com.mongodb.client.result.InsertOneResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> InsertOneResult.fromDriverClass(clientContext, _item));
   }
 
@@ -768,7 +764,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     documents = mapDocList(documents, inputMapper);
     Publisher<com.mongodb.client.result.InsertManyResult> __publisher = wrapped.insertMany(documents);
     Promise<com.mongodb.client.result.InsertManyResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> InsertManyResult.fromDriverClass(clientContext, _item));
   }
 
@@ -788,7 +784,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.InsertManyOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.InsertManyResult> __publisher = wrapped.insertMany(documents, __options);
     Promise<com.mongodb.client.result.InsertManyResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> InsertManyResult.fromDriverClass(clientContext, _item));
   }
 
@@ -808,7 +804,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     documents = mapDocList(documents, inputMapper);
     Publisher<com.mongodb.client.result.InsertManyResult> __publisher = wrapped.insertMany(__clientSession, documents);
     Promise<com.mongodb.client.result.InsertManyResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> InsertManyResult.fromDriverClass(clientContext, _item));
   }
 
@@ -830,7 +826,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.InsertManyOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.InsertManyResult> __publisher = wrapped.insertMany(__clientSession, documents, __options);
     Promise<com.mongodb.client.result.InsertManyResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> InsertManyResult.fromDriverClass(clientContext, _item));
   }
 
@@ -847,7 +843,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __filter = clientContext.getMapper().toBson(filter);
     Publisher<com.mongodb.client.result.DeleteResult> __publisher = wrapped.deleteOne(__filter);
     Promise<com.mongodb.client.result.DeleteResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> DeleteResult.fromDriverClass(clientContext, _item));
   }
 
@@ -865,7 +861,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.DeleteOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.DeleteResult> __publisher = wrapped.deleteOne(__filter, __options);
     Promise<com.mongodb.client.result.DeleteResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> DeleteResult.fromDriverClass(clientContext, _item));
   }
 
@@ -884,7 +880,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __filter = clientContext.getMapper().toBson(filter);
     Publisher<com.mongodb.client.result.DeleteResult> __publisher = wrapped.deleteOne(__clientSession, __filter);
     Promise<com.mongodb.client.result.DeleteResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> DeleteResult.fromDriverClass(clientContext, _item));
   }
 
@@ -906,7 +902,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.DeleteOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.DeleteResult> __publisher = wrapped.deleteOne(__clientSession, __filter, __options);
     Promise<com.mongodb.client.result.DeleteResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> DeleteResult.fromDriverClass(clientContext, _item));
   }
 
@@ -923,7 +919,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __filter = clientContext.getMapper().toBson(filter);
     Publisher<com.mongodb.client.result.DeleteResult> __publisher = wrapped.deleteMany(__filter);
     Promise<com.mongodb.client.result.DeleteResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> DeleteResult.fromDriverClass(clientContext, _item));
   }
 
@@ -941,7 +937,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.DeleteOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.DeleteResult> __publisher = wrapped.deleteMany(__filter, __options);
     Promise<com.mongodb.client.result.DeleteResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> DeleteResult.fromDriverClass(clientContext, _item));
   }
 
@@ -960,7 +956,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __filter = clientContext.getMapper().toBson(filter);
     Publisher<com.mongodb.client.result.DeleteResult> __publisher = wrapped.deleteMany(__clientSession, __filter);
     Promise<com.mongodb.client.result.DeleteResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> DeleteResult.fromDriverClass(clientContext, _item));
   }
 
@@ -982,7 +978,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.DeleteOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.DeleteResult> __publisher = wrapped.deleteMany(__clientSession, __filter, __options);
     Promise<com.mongodb.client.result.DeleteResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> DeleteResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1001,7 +997,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     replacement = mapDoc(replacement, inputMapper);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.replaceOne(__filter, replacement);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1019,7 +1015,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     replacement = mapDoc(replacement, inputMapper);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.replaceOne(__filter, replacement);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1040,7 +1036,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.ReplaceOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.replaceOne(__filter, replacement, __options);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1060,7 +1056,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.ReplaceOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.replaceOne(__filter, replacement, __options);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1082,7 +1078,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     replacement = mapDoc(replacement, inputMapper);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.replaceOne(__clientSession, __filter, replacement);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1102,7 +1098,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     replacement = mapDoc(replacement, inputMapper);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.replaceOne(__clientSession, __filter, replacement);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1126,7 +1122,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.ReplaceOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.replaceOne(__clientSession, __filter, replacement, __options);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1149,7 +1145,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.ReplaceOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.replaceOne(__clientSession, __filter, replacement, __options);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1168,7 +1164,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __update = clientContext.getMapper().toBson(update);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateOne(__filter, __update);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1190,7 +1186,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.UpdateOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateOne(__filter, __update, __options);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1212,7 +1208,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __update = clientContext.getMapper().toBson(update);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateOne(__clientSession, __filter, __update);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1236,7 +1232,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.UpdateOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateOne(__clientSession, __filter, __update, __options);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1255,7 +1251,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     List<? extends Bson> __update = clientContext.getMapper().toBsonList(update);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateOne(__filter, __update);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1277,7 +1273,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.UpdateOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateOne(__filter, __update, __options);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1299,7 +1295,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     List<? extends Bson> __update = clientContext.getMapper().toBsonList(update);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateOne(__clientSession, __filter, __update);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1323,7 +1319,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.UpdateOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateOne(__clientSession, __filter, __update, __options);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1342,7 +1338,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __update = clientContext.getMapper().toBson(update);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateMany(__filter, __update);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1364,7 +1360,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.UpdateOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateMany(__filter, __update, __options);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1386,7 +1382,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __update = clientContext.getMapper().toBson(update);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateMany(__clientSession, __filter, __update);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1410,7 +1406,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.UpdateOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateMany(__clientSession, __filter, __update, __options);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1429,7 +1425,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     List<? extends Bson> __update = clientContext.getMapper().toBsonList(update);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateMany(__filter, __update);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1451,7 +1447,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.UpdateOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateMany(__filter, __update, __options);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1473,7 +1469,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     List<? extends Bson> __update = clientContext.getMapper().toBsonList(update);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateMany(__clientSession, __filter, __update);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1497,7 +1493,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.UpdateOptions __options = options.toDriverClass(clientContext);
     Publisher<com.mongodb.client.result.UpdateResult> __publisher = wrapped.updateMany(__clientSession, __filter, __update, __options);
     Promise<com.mongodb.client.result.UpdateResult> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future().map(_item -> UpdateResult.fromDriverClass(clientContext, _item));
   }
 
@@ -1514,7 +1510,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __filter = clientContext.getMapper().toBson(filter);
     Publisher<TDocument> __publisher = wrapped.findOneAndDelete(__filter);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1536,7 +1532,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.FindOneAndDeleteOptions __options = options.toDriverClass(clientContext);
     Publisher<TDocument> __publisher = wrapped.findOneAndDelete(__filter, __options);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1559,7 +1555,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __filter = clientContext.getMapper().toBson(filter);
     Publisher<TDocument> __publisher = wrapped.findOneAndDelete(__clientSession, __filter);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1585,7 +1581,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.FindOneAndDeleteOptions __options = options.toDriverClass(clientContext);
     Publisher<TDocument> __publisher = wrapped.findOneAndDelete(__clientSession, __filter, __options);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1608,7 +1604,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     replacement = mapDoc(replacement, inputMapper);
     Publisher<TDocument> __publisher = wrapped.findOneAndReplace(__filter, replacement);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1634,7 +1630,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.FindOneAndReplaceOptions __options = options.toDriverClass(clientContext);
     Publisher<TDocument> __publisher = wrapped.findOneAndReplace(__filter, replacement, __options);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1660,7 +1656,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     replacement = mapDoc(replacement, inputMapper);
     Publisher<TDocument> __publisher = wrapped.findOneAndReplace(__clientSession, __filter, replacement);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1688,7 +1684,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.FindOneAndReplaceOptions __options = options.toDriverClass(clientContext);
     Publisher<TDocument> __publisher = wrapped.findOneAndReplace(__clientSession, __filter, replacement, __options);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1712,7 +1708,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __update = clientContext.getMapper().toBson(update);
     Publisher<TDocument> __publisher = wrapped.findOneAndUpdate(__filter, __update);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1738,7 +1734,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.FindOneAndUpdateOptions __options = options.toDriverClass(clientContext);
     Publisher<TDocument> __publisher = wrapped.findOneAndUpdate(__filter, __update, __options);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1764,7 +1760,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __update = clientContext.getMapper().toBson(update);
     Publisher<TDocument> __publisher = wrapped.findOneAndUpdate(__clientSession, __filter, __update);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1792,7 +1788,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.FindOneAndUpdateOptions __options = options.toDriverClass(clientContext);
     Publisher<TDocument> __publisher = wrapped.findOneAndUpdate(__clientSession, __filter, __update, __options);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1815,7 +1811,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     List<? extends Bson> __update = clientContext.getMapper().toBsonList(update);
     Publisher<TDocument> __publisher = wrapped.findOneAndUpdate(__filter, __update);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1841,7 +1837,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.FindOneAndUpdateOptions __options = options.toDriverClass(clientContext);
     Publisher<TDocument> __publisher = wrapped.findOneAndUpdate(__filter, __update, __options);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1867,7 +1863,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     List<? extends Bson> __update = clientContext.getMapper().toBsonList(update);
     Publisher<TDocument> __publisher = wrapped.findOneAndUpdate(__clientSession, __filter, __update);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1895,7 +1891,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.FindOneAndUpdateOptions __options = options.toDriverClass(clientContext);
     Publisher<TDocument> __publisher = wrapped.findOneAndUpdate(__clientSession, __filter, __update, __options);
     Promise<TDocument> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.WRITE, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     if (outputMapper == null) {
       return __promise.future();
     } else {
@@ -1914,7 +1910,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
   public Future<Void> drop() {
     Publisher<Void> __publisher = wrapped.drop();
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -1930,7 +1926,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     Publisher<Void> __publisher = wrapped.drop(__clientSession);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -1946,7 +1942,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __key = clientContext.getMapper().toBson(key);
     Publisher<String> __publisher = wrapped.createIndex(__key);
     Promise<String> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -1964,7 +1960,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.IndexOptions __options = options.toDriverClass(clientContext);
     Publisher<String> __publisher = wrapped.createIndex(__key, __options);
     Promise<String> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -1983,7 +1979,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __key = clientContext.getMapper().toBson(key);
     Publisher<String> __publisher = wrapped.createIndex(__clientSession, __key);
     Promise<String> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2005,7 +2001,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.IndexOptions __options = options.toDriverClass(clientContext);
     Publisher<String> __publisher = wrapped.createIndex(__clientSession, __key, __options);
     Promise<String> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2022,7 +2018,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     List<com.mongodb.client.model.IndexModel> __indexes = CollectionsConversionUtils.mapItems(indexes, _item -> _item.toDriverClass(clientContext));
     Publisher<String> __publisher = wrapped.createIndexes(__indexes);
     Promise<String> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2041,7 +2037,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.CreateIndexOptions __createIndexOptions = createIndexOptions.toDriverClass(clientContext);
     Publisher<String> __publisher = wrapped.createIndexes(__indexes, __createIndexOptions);
     Promise<String> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2060,7 +2056,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     List<com.mongodb.client.model.IndexModel> __indexes = CollectionsConversionUtils.mapItems(indexes, _item -> _item.toDriverClass(clientContext));
     Publisher<String> __publisher = wrapped.createIndexes(__clientSession, __indexes);
     Promise<String> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2082,7 +2078,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.CreateIndexOptions __createIndexOptions = createIndexOptions.toDriverClass(clientContext);
     Publisher<String> __publisher = wrapped.createIndexes(__clientSession, __indexes, __createIndexOptions);
     Promise<String> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2096,7 +2092,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
   @Override
   public MongoResult<JsonObject> listIndexes() {
     ListIndexesPublisher<JsonObject> __publisher = wrapped.listIndexes(JsonObject.class);
-    return new MongoResultImpl<>(clientContext, __publisher, clientContext.getConfig().getOutputMapper(), __publisher::first);
+    return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, clientContext.getConfig().getOutputMapper(), __publisher::first));
   }
 
   @Override
@@ -2105,9 +2101,9 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
-      return new MongoResultImpl<>(clientContext, __publisher, clientContext.getConfig().getOutputMapper(), __publisher::first, __batchSize);
+      return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, clientContext.getConfig().getOutputMapper(), __publisher::first, __batchSize));
     } else {
-      return new MongoResultImpl<>(clientContext, __publisher, clientContext.getConfig().getOutputMapper(), __publisher::first);
+      return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, clientContext.getConfig().getOutputMapper(), __publisher::first));
     }
   }
 
@@ -2116,7 +2112,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     requireNonNull(clientSession, "clientSession is null");
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     ListIndexesPublisher<JsonObject> __publisher = wrapped.listIndexes(__clientSession, JsonObject.class);
-    return new MongoResultImpl<>(clientContext, __publisher, clientContext.getConfig().getOutputMapper(), __publisher::first);
+    return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, clientContext.getConfig().getOutputMapper(), __publisher::first));
   }
 
   @Override
@@ -2128,9 +2124,9 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
-      return new MongoResultImpl<>(clientContext, __publisher, clientContext.getConfig().getOutputMapper(), __publisher::first, __batchSize);
+      return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, clientContext.getConfig().getOutputMapper(), __publisher::first, __batchSize));
     } else {
-      return new MongoResultImpl<>(clientContext, __publisher, clientContext.getConfig().getOutputMapper(), __publisher::first);
+      return limit(OperationClass.READ, new MongoResultImpl<>(clientContext, __publisher, clientContext.getConfig().getOutputMapper(), __publisher::first));
     }
   }
 
@@ -2139,7 +2135,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     requireNonNull(indexName, "indexName is null");
     Publisher<Void> __publisher = wrapped.dropIndex(indexName);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2155,7 +2151,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __keys = clientContext.getMapper().toBson(keys);
     Publisher<Void> __publisher = wrapped.dropIndex(__keys);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2172,7 +2168,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.DropIndexOptions __dropIndexOptions = dropIndexOptions.toDriverClass(clientContext);
     Publisher<Void> __publisher = wrapped.dropIndex(indexName, __dropIndexOptions);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2191,7 +2187,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.DropIndexOptions __dropIndexOptions = dropIndexOptions.toDriverClass(clientContext);
     Publisher<Void> __publisher = wrapped.dropIndex(__keys, __dropIndexOptions);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2209,7 +2205,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     Publisher<Void> __publisher = wrapped.dropIndex(__clientSession, indexName);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2228,7 +2224,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     Bson __keys = clientContext.getMapper().toBson(keys);
     Publisher<Void> __publisher = wrapped.dropIndex(__clientSession, __keys);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2249,7 +2245,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.DropIndexOptions __dropIndexOptions = dropIndexOptions.toDriverClass(clientContext);
     Publisher<Void> __publisher = wrapped.dropIndex(__clientSession, indexName, __dropIndexOptions);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2271,7 +2267,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.DropIndexOptions __dropIndexOptions = dropIndexOptions.toDriverClass(clientContext);
     Publisher<Void> __publisher = wrapped.dropIndex(__clientSession, __keys, __dropIndexOptions);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2286,7 +2282,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
   public Future<Void> dropIndexes() {
     Publisher<Void> __publisher = wrapped.dropIndexes();
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2302,7 +2298,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.DropIndexOptions __dropIndexOptions = dropIndexOptions.toDriverClass(clientContext);
     Publisher<Void> __publisher = wrapped.dropIndexes(__dropIndexOptions);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2319,7 +2315,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     Publisher<Void> __publisher = wrapped.dropIndexes(__clientSession);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2337,7 +2333,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.DropIndexOptions __dropIndexOptions = dropIndexOptions.toDriverClass(clientContext);
     Publisher<Void> __publisher = wrapped.dropIndexes(__clientSession, __dropIndexOptions);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2353,7 +2349,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     requireNonNull(newCollectionNamespace, "newCollectionNamespace is null");
     Publisher<Void> __publisher = wrapped.renameCollection(newCollectionNamespace);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2372,7 +2368,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.RenameCollectionOptions __options = options.toDriverClass(clientContext);
     Publisher<Void> __publisher = wrapped.renameCollection(newCollectionNamespace, __options);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2391,7 +2387,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     Publisher<Void> __publisher = wrapped.renameCollection(__clientSession, newCollectionNamespace);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -2412,7 +2408,7 @@ public class MongoCollectionImpl<TDocument> extends MongoCollectionBase<TDocumen
     com.mongodb.client.model.RenameCollectionOptions __options = options.toDriverClass(clientContext);
     Publisher<Void> __publisher = wrapped.renameCollection(__clientSession, newCollectionNamespace, __options);
     Promise<Void> __promise = clientContext.getVertx().promise();
-    __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+    limit(OperationClass.ADMIN, __publisher).subscribe(new SingleResultSubscriber<>(clientContext, __promise));
     return __promise.future();
   }
 
@@ -41,7 +41,7 @@ import io.vertx.mongo.client.MongoCollection;
 import io.vertx.mongo.client.model.CreateCollectionOptions;
 import io.vertx.mongo.client.model.CreateViewOptions;
 import io.vertx.mongo.client.model.changestream.ChangeStreamDocument;
-import io.vertx.mongo.impl.MappingPublisher;
+import io.vertx.mongo.impl.ChangeStreamMappingPublisher;
 import io.vertx.mongo.impl.MongoClientContext;
 import io.vertx.mongo.impl.MongoCollectionResultImpl;
 import io.vertx.mongo.impl.MongoResultImpl;
@@ -93,36 +93,31 @@ public class MongoDatabaseImpl extends MongoDatabaseBase {
   @Override
   public io.vertx.mongo.client.MongoDatabase withCodecRegistry(CodecRegistry codecRegistry) {
     requireNonNull(codecRegistry, "codecRegistry is null");
-    MongoDatabase __result = wrapped.withCodecRegistry(codecRegistry);
-    return new MongoDatabaseImpl(clientContext, __result);
+    return getCachedDerivedDatabase(codecRegistry);
   }
 
   @Override
   public io.vertx.mongo.client.MongoDatabase withReadPreference(ReadPreference readPreference) {
     requireNonNull(readPreference, "readPreference is null");
-    MongoDatabase __result = wrapped.withReadPreference(readPreference);
-    return new MongoDatabaseImpl(clientContext, __result);
+    return getCachedDerivedDatabase(readPreference);
   }
 
   @Override
   public io.vertx.mongo.client.MongoDatabase withWriteConcern(WriteConcern writeConcern) {
     requireNonNull(writeConcern, "writeConcern is null");
-    MongoDatabase __result = wrapped.withWriteConcern(writeConcern);
-    return new MongoDatabaseImpl(clientContext, __result);
+    return getCachedDerivedDatabase(writeConcern);
   }
 
   @Override
   public io.vertx.mongo.client.MongoDatabase withReadConcern(ReadConcern readConcern) {
     requireNonNull(readConcern, "readConcern is null");
-    MongoDatabase __result = wrapped.withReadConcern(readConcern);
-    return new MongoDatabaseImpl(clientContext, __result);
+    return getCachedDerivedDatabase(readConcern);
   }
 
   @Override
   public MongoCollection<JsonObject> getCollection(String collectionName) {
     requireNonNull(collectionName, "collectionName is null");
-    com.mongodb.reactivestreams.client.MongoCollection<JsonObject> __wrapped = wrapped.getCollection(collectionName, JsonObject.class);
-    return new MongoCollectionImpl<>(this.clientContext, __wrapped, JsonObject.class);
+    return getCachedCollection(collectionName, JsonObject.class);
   }
 
   @Override
@@ -130,8 +125,7 @@ public class MongoDatabaseImpl extends MongoDatabaseBase {
       Class<TDocument> clazz) {
     requireNonNull(collectionName, "collectionName is null");
     requireNonNull(clazz, "clazz is null");
-    com.mongodb.reactivestreams.client.MongoCollection<TDocument> __result = wrapped.getCollection(collectionName, clazz);
-    return new MongoCollectionImpl<>(clientContext, __result, clazz);
+    return getCachedCollection(collectionName, clazz);
   }
 
   @Override
@@ -472,14 +466,14 @@ public class MongoDatabaseImpl extends MongoDatabaseBase {
   @Override
   public MongoResult<ChangeStreamDocument<JsonObject>> watch() {
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
   @Override
   public MongoResult<ChangeStreamDocument<JsonObject>> watch(ChangeStreamOptions options) {
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -494,7 +488,7 @@ public class MongoDatabaseImpl extends MongoDatabaseBase {
     requireNonNull(pipeline, "pipeline is null");
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__pipeline, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
@@ -504,7 +498,7 @@ public class MongoDatabaseImpl extends MongoDatabaseBase {
     requireNonNull(pipeline, "pipeline is null");
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__pipeline, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -519,7 +513,7 @@ public class MongoDatabaseImpl extends MongoDatabaseBase {
     requireNonNull(clientSession, "clientSession is null");
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__clientSession, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
@@ -529,7 +523,7 @@ public class MongoDatabaseImpl extends MongoDatabaseBase {
     requireNonNull(clientSession, "clientSession is null");
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__clientSession, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
@@ -547,7 +541,7 @@ public class MongoDatabaseImpl extends MongoDatabaseBase {
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__clientSession, __pipeline, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     return new MongoResultImpl<>(clientContext, __mappingPublisher, __mappingPublisher::first);
   }
 
@@ -559,7 +553,7 @@ public class MongoDatabaseImpl extends MongoDatabaseBase {
     com.mongodb.reactivestreams.client.ClientSession __clientSession = clientSession.toDriverClass(clientContext);
     List<? extends Bson> __pipeline = clientContext.getMapper().toBsonList(pipeline);
     ChangeStreamPublisher<JsonObject> __publisher = wrapped.watch(__clientSession, __pipeline, JsonObject.class);
-    MappingPublisher<com.mongodb.client.model.changestream.ChangeStreamDocument<JsonObject>, ChangeStreamDocument<JsonObject>> __mappingPublisher = new MappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
+    ChangeStreamMappingPublisher<JsonObject, ChangeStreamDocument<JsonObject>> __mappingPublisher = new ChangeStreamMappingPublisher<>(__publisher, _item -> ChangeStreamDocument.fromDriverClass(clientContext, _item));
     options.initializePublisher(clientContext, __publisher);
     Integer __batchSize = options.getBatchSize();
     if (__batchSize != null) {
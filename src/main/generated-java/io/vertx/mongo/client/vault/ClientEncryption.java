@@ -18,11 +18,14 @@ package io.vertx.mongo.client.vault;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
 import io.vertx.mongo.client.model.vault.DataKeyOptions;
 import io.vertx.mongo.client.model.vault.EncryptOptions;
 import io.vertx.mongo.impl.MongoClientContext;
 import java.lang.Object;
 import java.lang.String;
+import java.util.List;
+import java.util.Map;
 
 /**
  *  The Key vault.
@@ -117,6 +120,49 @@ public interface ClientEncryption {
 
   void close();
 
+  /**
+   * Explicitly encrypts values, with a bounded number of concurrent driver calls.
+   * <p>With the deterministic algorithm, each distinct value is encrypted once and the results are kept in a bounded
+   * cache for one minute.</p>
+   * @param values the values to encrypt
+   * @param options the options for data encryption
+   * @return a future of the encrypted values, in the order of the values
+   */
+  Future<List<byte[]>> encryptMany(List<Object> values, EncryptOptions options);
+
+  /**
+   * Explicitly encrypts values, with a bounded number of concurrent driver calls.
+   * <p>With the deterministic algorithm, each distinct value is encrypted once and the results are kept in a bounded
+   * cache for one minute.</p>
+   * @param values the values to encrypt
+   * @param options the options for data encryption
+   * @param resultHandler the handler called with the encrypted values, in the order of the values
+   */
+  void encryptMany(List<Object> values, EncryptOptions options,
+      Handler<AsyncResult<List<byte[]>>> resultHandler);
+
+  /**
+   * Explicitly encrypts the given fields of the documents, typically before inserting them with {@code insertMany}.
+   * <p>Each field is encrypted in one batch like {@link #encryptMany}. Fields can be nested using dots,
+   * missing and null fields are left as is. The documents are copied.</p>
+   * @param documents the documents
+   * @param fields the options for data encryption of each field
+   * @return a future of the documents with encrypted fields
+   */
+  Future<List<JsonObject>> encryptFields(List<JsonObject> documents,
+      Map<String, EncryptOptions> fields);
+
+  /**
+   * Explicitly encrypts the given fields of the documents, typically before inserting them with {@code insertMany}.
+   * <p>Each field is encrypted in one batch like {@link #encryptMany}. Fields can be nested using dots,
+   * missing and null fields are left as is. The documents are copied.</p>
+   * @param documents the documents
+   * @param fields the options for data encryption of each field
+   * @param resultHandler the handler called with the documents with encrypted fields
+   */
+  void encryptFields(List<JsonObject> documents, Map<String, EncryptOptions> fields,
+      Handler<AsyncResult<List<JsonObject>>> resultHandler);
+
   /**
    * @return mongo object
    * @hidden
@@ -81,7 +81,7 @@ public class ClientEncryptionImpl extends ClientEncryptionBase {
   public Future<byte[]> encrypt(Object value, EncryptOptions options) {
     requireNonNull(value, "value is null");
     requireNonNull(options, "options is null");
-    BsonValue __value = clientContext.getMapper().toBsonValue(value);
+    BsonValue __value = toEncryptableValue(value);
     com.mongodb.client.model.vault.EncryptOptions __options = options.toDriverClass(clientContext);
     Publisher<BsonBinary> __publisher = wrapped.encrypt(__value, __options);
     Promise<BsonBinary> __promise = clientContext.getVertx().promise();
@@ -103,7 +103,7 @@ public class ClientEncryptionImpl extends ClientEncryptionBase {
     Publisher<BsonValue> __publisher = wrapped.decrypt(__value);
     Promise<BsonValue> __promise = clientContext.getVertx().promise();
     __publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
-    return __promise.future().map(clientContext.getMapper()::toObject);
+    return __promise.future().map(this::toDecryptedValue);
   }
 
   @Override
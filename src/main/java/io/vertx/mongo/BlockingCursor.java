@@ -0,0 +1,18 @@
+package io.vertx.mongo;
+
+import java.util.Iterator;
+
+/**
+ * Blocking iterator over the items of a result, fetching a bounded number of items ahead.
+ * Closing the cursor before it is exhausted cancels the underlying subscription.
+ * @param <TDocument> type of the items
+ */
+public interface BlockingCursor<TDocument> extends Iterator<TDocument>, AutoCloseable {
+
+    /**
+     * Cancels the underlying subscription
+     */
+    @Override
+    void close();
+
+}
@@ -0,0 +1,81 @@
+package io.vertx.mongo;
+
+import io.vertx.mongo.impl.MongoResultImpl;
+
+import java.util.List;
+import java.util.Objects;
+
+import static io.vertx.mongo.impl.Utils.await;
+
+/**
+ * Blocking facade of a {@link MongoResult}, to be used from threads allowed to block (typically virtual threads).
+ * Calling its methods from a Vert.x thread throws an {@link IllegalStateException}.
+ * @param <TDocument> type of the items
+ */
+public class BlockingMongoResult<TDocument> implements Iterable<TDocument> {
+
+    /**
+     * Default number of items fetched ahead by {@link #iterator()}
+     */
+    public static final int DEFAULT_PREFETCH = 16;
+
+    private final MongoResult<TDocument> delegate;
+
+    public BlockingMongoResult(MongoResult<TDocument> delegate) {
+        Objects.requireNonNull(delegate, "delegate is null");
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return the asynchronous result
+     */
+    public MongoResult<TDocument> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the first item of the result
+     * @return the first item of the result
+     */
+    public TDocument first() {
+        return await(delegate.first());
+    }
+
+    /**
+     * Returns a list containing all items of the result
+     * @return a list containing all items of the result
+     */
+    public List<TDocument> all() {
+        return await(delegate.all());
+    }
+
+    /**
+     * Returns a list containing some items of the result
+     * @param maxItems maximum number of items
+     * @return a list containing some items of the result
+     */
+    public List<TDocument> some(int maxItems) {
+        return await(delegate.some(maxItems));
+    }
+
+    /**
+     * Returns a cursor over the items of the result, fetching {@link #DEFAULT_PREFETCH} items ahead
+     * @return cursor over the items of the result
+     */
+    @Override
+    public BlockingCursor<TDocument> iterator() {
+        return iterator(DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Returns a cursor over the items of the result
+     * @param prefetch maximum number of items fetched ahead
+     * @return cursor over the items of the result
+     */
+    public BlockingCursor<TDocument> iterator(int prefetch) {
+        if (!(delegate instanceof MongoResultImpl))
+            throw new IllegalStateException("unsupported result implementation: " + delegate.getClass().getName());
+        return ((MongoResultImpl<TDocument>) delegate).blockingCursor(prefetch);
+    }
+
+}
@@ -0,0 +1,61 @@
+package io.vertx.mongo;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+
+import java.util.List;
+
+import static io.vertx.mongo.impl.Utils.setHandler;
+
+/**
+ * Pull-based cursor over the items of a result.
+ * <p>Items are fetched ahead in a buffer bounded by the prefetch size of the cursor, so that processing
+ * a batch overlaps with the fetching of the next one while memory stays constant.</p>
+ * <p>Only one call to {@link #next()} or {@link #nextBatch()} can be pending at a time.</p>
+ * @param <TDocument> type of the items
+ */
+public interface MongoCursor<TDocument> {
+
+    /**
+     * Handler called with the next item of the cursor, or null if the cursor is exhausted
+     * @param resultHandler handler
+     */
+    default void next(Handler<AsyncResult<TDocument>> resultHandler) {
+        Future<TDocument> future = this.next();
+        setHandler(future, resultHandler);
+    }
+
+    /**
+     * Returns a future of the next item of the cursor
+     * @return a future of the next item of the cursor, or of null if the cursor is exhausted
+     */
+    Future<TDocument> next();
+
+    /**
+     * Handler called with the next items of the cursor, or an empty list if the cursor is exhausted
+     * @param resultHandler handler
+     */
+    default void nextBatch(Handler<AsyncResult<List<TDocument>>> resultHandler) {
+        Future<List<TDocument>> future = this.nextBatch();
+        setHandler(future, resultHandler);
+    }
+
+    /**
+     * Returns a future of the items already fetched by the cursor (at most the prefetch size), waiting for at least one item
+     * @return a future of the next items of the cursor, or of an empty list if the cursor is exhausted
+     */
+    Future<List<TDocument>> nextBatch();
+
+    /**
+     * Returns whether all items have been returned by the cursor
+     * @return true if all items have been returned by the cursor
+     */
+    boolean isExhausted();
+
+    /**
+     * Cancels the underlying subscription and discards the items fetched ahead
+     */
+    void close();
+
+}
@@ -0,0 +1,41 @@
+package io.vertx.mongo;
+
+import java.util.List;
+
+/**
+ * Page of a keyset pagination
+ * @param <TDocument> type of the items
+ */
+public class MongoPage<TDocument> {
+
+    private final List<TDocument> items;
+    private final String continuationToken;
+
+    public MongoPage(List<TDocument> items, String continuationToken) {
+        this.items = items;
+        this.continuationToken = continuationToken;
+    }
+
+    /**
+     * @return the items of the page
+     */
+    public List<TDocument> getItems() {
+        return items;
+    }
+
+    /**
+     * Returns the opaque token to pass to get the next page
+     * @return the token of the next page, or null if this page is the last one
+     */
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    /**
+     * @return true if there is a next page
+     */
+    public boolean hasNext() {
+        return continuationToken != null;
+    }
+
+}
@@ -3,6 +3,7 @@ package io.vertx.mongo;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.streams.ReadStream;
 
 import java.util.List;
@@ -72,4 +73,26 @@ public interface MongoResult<TDocument> {
      */
     ReadStream<TDocument> stream(int batchSize);
 
+    /**
+     * Returns the result as a read stream of the raw BSON bytes of its items, one buffer per item. Results of
+     * {@code find} and {@code aggregate} read the documents as they come from the server, without decoding them:
+     * other results encode their items.
+     * @return read stream of BSON documents
+     */
+    ReadStream<Buffer> rawStream();
+
+    /**
+     * Returns the result as a read stream of the raw BSON bytes of its items, one buffer per item
+     * @param batchSize batch size
+     * @return read stream of BSON documents
+     */
+    ReadStream<Buffer> rawStream(int batchSize);
+
+    /**
+     * Returns the result as a pull-based cursor
+     * @param prefetch maximum number of items fetched ahead
+     * @return cursor over the items
+     */
+    MongoCursor<TDocument> cursor(int prefetch);
+
 }
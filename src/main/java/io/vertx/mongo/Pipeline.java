@@ -0,0 +1,243 @@
+package io.vertx.mongo;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.impl.MongoClientContext;
+import io.vertx.mongo.impl.BsonTemplate;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable aggregation pipeline whose stages are encoded to BSON once, on first use. Values that change from one
+ * call to the other are placeholders ({@link #param(String)}), substituted in the encoded stages by
+ * {@link io.vertx.mongo.client.MongoCollection#aggregate(Pipeline, JsonObject)}.
+ * <pre>
+ * Pipeline pipeline = Pipeline.builder()
+ *   .match(new JsonObject().put("status", Pipeline.param("status")))
+ *   .sort(new JsonObject().put("date", -1))
+ *   .limit(10)
+ *   .build();
+ * collection.aggregate(pipeline, new JsonObject().put("status", "active"));
+ * </pre>
+ * <p>A placeholder replaces a whole value: it can not be a field name, nor a part of a string.</p>
+ */
+public final class Pipeline {
+
+    private final List<JsonObject> stages;
+    private final Set<String> parameters;
+    // compiled on first use, compiled again if the pipeline is used by a client with another mapper
+    private volatile BsonTemplate template;
+
+    private Pipeline(List<JsonObject> stages) {
+        this.stages = stages;
+        this.parameters = BsonTemplate.parameters(stages);
+    }
+
+    /**
+     * @return a new pipeline builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param name the name of the parameter
+     * @return a placeholder for the value of the parameter
+     */
+    public static JsonObject param(String name) {
+        return BsonTemplate.param(name);
+    }
+
+    /**
+     * @return the names of the parameters of the pipeline
+     */
+    public Set<String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return the stages of the pipeline, with their placeholders
+     */
+    public JsonArray toJson() {
+        JsonArray result = new JsonArray();
+        for (JsonObject stage : stages)
+            result.add(stage.copy());
+        return result;
+    }
+
+    /**
+     * @hidden
+     * @param clientContext the client context
+     * @param params the values of the placeholders
+     * @return the stages of the pipeline
+     */
+    public List<Bson> toBsonList(MongoClientContext clientContext, JsonObject params) {
+        BsonTemplate template = this.template;
+        if (template == null || template.getMapper() != clientContext.getMapper()) {
+            template = new BsonTemplate(clientContext.getMapper(), stages);
+            this.template = template;
+        }
+        return template.bind(params == null ? new JsonObject() : params);
+    }
+
+    @Override
+    public String toString() {
+        return toJson().encode();
+    }
+
+    /**
+     * Builder of a pipeline. Stages are copied when added.
+     */
+    public static final class Builder {
+
+        private final List<JsonObject> stages = new ArrayList<>();
+
+        private Builder() {}
+
+        private Builder add(String name, Object value) {
+            stages.add(new JsonObject().put(name, value));
+            return this;
+        }
+
+        /**
+         * @param filter the filter of the {@code $match} stage
+         * @return this
+         */
+        public Builder match(JsonObject filter) {
+            Objects.requireNonNull(filter, "filter is null");
+            return add("$match", filter.copy());
+        }
+
+        /**
+         * @param projection the specification of the {@code $project} stage
+         * @return this
+         */
+        public Builder project(JsonObject projection) {
+            Objects.requireNonNull(projection, "projection is null");
+            return add("$project", projection.copy());
+        }
+
+        /**
+         * @param group the specification of the {@code $group} stage, with its {@code _id}
+         * @return this
+         */
+        public Builder group(JsonObject group) {
+            Objects.requireNonNull(group, "group is null");
+            return add("$group", group.copy());
+        }
+
+        /**
+         * @param sort the sort of the {@code $sort} stage
+         * @return this
+         */
+        public Builder sort(JsonObject sort) {
+            Objects.requireNonNull(sort, "sort is null");
+            return add("$sort", sort.copy());
+        }
+
+        /**
+         * @param limit the limit of the {@code $limit} stage
+         * @return this
+         */
+        public Builder limit(int limit) {
+            if (limit < 1)
+                throw new IllegalArgumentException("limit must be positive");
+            return add("$limit", limit);
+        }
+
+        /**
+         * @param name the parameter holding the limit of the {@code $limit} stage
+         * @return this
+         */
+        public Builder limit(String name) {
+            return add("$limit", param(name));
+        }
+
+        /**
+         * @param skip the number of documents skipped by the {@code $skip} stage
+         * @return this
+         */
+        public Builder skip(int skip) {
+            if (skip < 0)
+                throw new IllegalArgumentException("skip must not be negative");
+            return add("$skip", skip);
+        }
+
+        /**
+         * @param name the parameter holding the number of documents skipped by the {@code $skip} stage
+         * @return this
+         */
+        public Builder skip(String name) {
+            return add("$skip", param(name));
+        }
+
+        /**
+         * @param path the path of the array field unwound by the {@code $unwind} stage, with or without {@code $}
+         * @return this
+         */
+        public Builder unwind(String path) {
+            Objects.requireNonNull(path, "path is null");
+            return add("$unwind", path.startsWith("$") ? path : "$" + path);
+        }
+
+        /**
+         * @param from the collection joined by the {@code $lookup} stage
+         * @param localField the field of the input documents
+         * @param foreignField the field of the documents of the joined collection
+         * @param as the array field of the output documents
+         * @return this
+         */
+        public Builder lookup(String from, String localField, String foreignField, String as) {
+            Objects.requireNonNull(from, "from is null");
+            Objects.requireNonNull(localField, "localField is null");
+            Objects.requireNonNull(foreignField, "foreignField is null");
+            Objects.requireNonNull(as, "as is null");
+            return add("$lookup", new JsonObject()
+                    .put("from", from)
+                    .put("localField", localField)
+                    .put("foreignField", foreignField)
+                    .put("as", as));
+        }
+
+        /**
+         * @param fields the fields added by the {@code $addFields} stage
+         * @return this
+         */
+        public Builder addFields(JsonObject fields) {
+            Objects.requireNonNull(fields, "fields is null");
+            return add("$addFields", fields.copy());
+        }
+
+        /**
+         * @param field the field of the document output by the {@code $count} stage
+         * @return this
+         */
+        public Builder count(String field) {
+            Objects.requireNonNull(field, "field is null");
+            return add("$count", field);
+        }
+
+        /**
+         * @param stage any stage, a document with a single field
+         * @return this
+         */
+        public Builder stage(JsonObject stage) {
+            Objects.requireNonNull(stage, "stage is null");
+            if (stage.size() != 1)
+                throw new IllegalArgumentException("a stage must have a single field");
+            stages.add(stage.copy());
+            return this;
+        }
+
+        /**
+         * @return the pipeline
+         */
+        public Pipeline build() {
+            return new Pipeline(new ArrayList<>(stages));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.vertx.mongo.client;
+
+import com.mongodb.MongoClientException;
+
+/**
+ * Failure of an operation rejected without being sent: the circuit of its collection is open, or is half-open and
+ * already probing.
+ */
+public class CircuitBreakerOpenException extends MongoClientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String circuit;
+    private final CircuitState state;
+
+    public CircuitBreakerOpenException(String circuit, CircuitState state) {
+        super(String.format("circuit of %s is %s", circuit, state));
+        this.circuit = circuit;
+        this.state = state;
+    }
+
+    /**
+     * @return the name of the circuit: the namespace of the collection
+     */
+    public String getCircuit() {
+        return circuit;
+    }
+
+    /**
+     * @return the state of the circuit when the operation was rejected
+     */
+    public CircuitState getState() {
+        return state;
+    }
+}
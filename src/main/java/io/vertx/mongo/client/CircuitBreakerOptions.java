@@ -0,0 +1,204 @@
+package io.vertx.mongo.client;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Circuit breaker of a client. The client keeps a circuit per collection and a circuit per server, fed by the outcome
+ * and the latency of the last operations (collections) or commands (servers).
+ * <p>A circuit opens when the failure rate or the slow call rate of its window exceeds its threshold. Operations of a
+ * collection whose circuit is open fail fast with a {@link CircuitBreakerOpenException}, servers whose circuit is open
+ * are not selected as long as other servers are eligible. After the open duration, the circuit is half-open: a few
+ * probes close it when they succeed, or open it again.</p>
+ * <p>Failures are driver errors denoting an unhealthy server or network (timeouts, socket errors, node recovering,
+ * not primary), not application errors such as duplicate keys. State changes are published on the event bus.</p>
+ */
+@DataObject(
+        generateConverter = true
+)
+public class CircuitBreakerOptions {
+
+    public static final String DEFAULT_NOTIFICATION_ADDRESS = "vertx.mongo.circuit-breaker";
+    public static final int DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+    public static final int DEFAULT_SLOW_CALL_RATE_THRESHOLD = 80;
+    public static final long DEFAULT_SLOW_CALL_DURATION = 2000;
+    public static final int DEFAULT_MINIMUM_CALLS = 20;
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+    public static final long DEFAULT_OPEN_DURATION = 10000;
+    public static final int DEFAULT_HALF_OPEN_PROBES = 3;
+
+    private int failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+    private int slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+    private long slowCallDuration = DEFAULT_SLOW_CALL_DURATION;
+    private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private long openDuration = DEFAULT_OPEN_DURATION;
+    private int halfOpenProbes = DEFAULT_HALF_OPEN_PROBES;
+    private String notificationAddress = DEFAULT_NOTIFICATION_ADDRESS;
+
+    public CircuitBreakerOptions() {}
+
+    public CircuitBreakerOptions(CircuitBreakerOptions other) {
+        this.failureRateThreshold = other.failureRateThreshold;
+        this.slowCallRateThreshold = other.slowCallRateThreshold;
+        this.slowCallDuration = other.slowCallDuration;
+        this.minimumCalls = other.minimumCalls;
+        this.windowSize = other.windowSize;
+        this.openDuration = other.openDuration;
+        this.halfOpenProbes = other.halfOpenProbes;
+        this.notificationAddress = other.notificationAddress;
+    }
+
+    public CircuitBreakerOptions(JsonObject json) {
+        CircuitBreakerOptionsConverter.fromJson(json, this);
+    }
+
+    public JsonObject toJson() {
+        JsonObject result = new JsonObject();
+        CircuitBreakerOptionsConverter.toJson(this, result);
+        return result;
+    }
+
+    private static int checkRate(int rate, String name) {
+        if (rate < 1 || rate > 100)
+            throw new IllegalArgumentException(name + " must be between 1 and 100");
+        return rate;
+    }
+
+    private static long checkPositive(long value, String name) {
+        if (value < 1)
+            throw new IllegalArgumentException(name + " must be positive");
+        return value;
+    }
+
+    /**
+     * @return the percentage of failed calls of the window opening the circuit
+     */
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * @param failureRateThreshold the percentage of failed calls of the window opening the circuit
+     * @return this
+     */
+    public CircuitBreakerOptions setFailureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = checkRate(failureRateThreshold, "failureRateThreshold");
+        return this;
+    }
+
+    /**
+     * @return the percentage of slow calls of the window opening the circuit
+     */
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    /**
+     * @param slowCallRateThreshold the percentage of slow calls of the window opening the circuit
+     * @return this
+     */
+    public CircuitBreakerOptions setSlowCallRateThreshold(int slowCallRateThreshold) {
+        this.slowCallRateThreshold = checkRate(slowCallRateThreshold, "slowCallRateThreshold");
+        return this;
+    }
+
+    /**
+     * @return the duration above which a call is slow, in milliseconds
+     */
+    public long getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    /**
+     * @param slowCallDuration the duration above which a call is slow, in milliseconds
+     * @return this
+     */
+    public CircuitBreakerOptions setSlowCallDuration(long slowCallDuration) {
+        this.slowCallDuration = checkPositive(slowCallDuration, "slowCallDuration");
+        return this;
+    }
+
+    /**
+     * @return the minimum number of calls of the window before the rates are evaluated
+     */
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * @param minimumCalls the minimum number of calls of the window before the rates are evaluated
+     * @return this
+     */
+    public CircuitBreakerOptions setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = (int) checkPositive(minimumCalls, "minimumCalls");
+        return this;
+    }
+
+    /**
+     * @return the number of last calls giving the rates
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * @param windowSize the number of last calls giving the rates
+     * @return this
+     */
+    public CircuitBreakerOptions setWindowSize(int windowSize) {
+        this.windowSize = (int) checkPositive(windowSize, "windowSize");
+        return this;
+    }
+
+    /**
+     * @return the time a circuit stays open before probing, in milliseconds
+     */
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * @param openDuration the time a circuit stays open before probing, in milliseconds
+     * @return this
+     */
+    public CircuitBreakerOptions setOpenDuration(long openDuration) {
+        this.openDuration = checkPositive(openDuration, "openDuration");
+        return this;
+    }
+
+    /**
+     * @return the number of successful probes closing a half-open circuit, which is also the maximum number of
+     * concurrent probes
+     */
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    /**
+     * @param halfOpenProbes the number of successful probes closing a half-open circuit, which is also the maximum
+     *                       number of concurrent probes
+     * @return this
+     */
+    public CircuitBreakerOptions setHalfOpenProbes(int halfOpenProbes) {
+        this.halfOpenProbes = (int) checkPositive(halfOpenProbes, "halfOpenProbes");
+        return this;
+    }
+
+    /**
+     * @return the event bus address where state changes are published, null to disable notifications
+     */
+    public String getNotificationAddress() {
+        return notificationAddress;
+    }
+
+    /**
+     * @param notificationAddress the event bus address where state changes are published, null to disable
+     *                            notifications
+     * @return this
+     */
+    public CircuitBreakerOptions setNotificationAddress(String notificationAddress) {
+        this.notificationAddress = notificationAddress;
+        return this;
+    }
+}
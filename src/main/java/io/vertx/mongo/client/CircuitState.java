@@ -0,0 +1,19 @@
+package io.vertx.mongo.client;
+
+/**
+ * State of a circuit of the client circuit breaker
+ */
+public enum CircuitState {
+    /**
+     * operations are sent
+     */
+    CLOSED,
+    /**
+     * operations fail fast with a {@link CircuitBreakerOpenException}, servers are not selected
+     */
+    OPEN,
+    /**
+     * a few probe operations are sent: the circuit closes when they succeed and opens again when one of them fails
+     */
+    HALF_OPEN
+}
@@ -7,12 +7,20 @@ import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.core.json.JsonObject;
 import io.vertx.mongo.MongoClientSettingsInitializer;
 import io.vertx.mongo.client.impl.JsonObjectIdProvider;
+import io.vertx.mongo.codec.ObjectCodecProvider;
 import io.vertx.mongo.impl.ConversionUtilsImpl;
 import io.vertx.mongo.impl.ObjectIdInputMapper;
 import io.vertx.mongo.impl.ObjectIdOutputMapper;
 import org.bson.BsonValue;
+import org.bson.codecs.Codec;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
 
 /**
@@ -23,15 +31,28 @@ import java.util.function.Function;
 )
 public class ClientConfig {
 
+    /**
+     * Default maximum number of idle sessions kept by a client for {@code withTransaction}
+     */
+    public static final int DEFAULT_SESSION_POOL_SIZE = 16;
+
     private String connectionString;
     private ConnectionString mongoConnectionString;
     private MongoClientSettings mongoSettings;
     private boolean useObjectIds = false;
+    private int sessionPoolSize = DEFAULT_SESSION_POOL_SIZE;
+    private CompressionPolicy compressionPolicy;
+    private boolean compressionStatsEnabled = false;
+    private int maxConcurrentOperations;
+    private CircuitBreakerOptions circuitBreakerOptions;
+    private IndexAdvisorOptions indexAdvisorOptions;
     private io.vertx.mongo.MongoClientSettings settings;
     private final MongoClientSettingsInitializer initializer = new MongoClientSettingsInitializer();
     private Function<JsonObject, JsonObject> inputMapper;
     private Function<JsonObject, JsonObject> outputMapper;
     private Function<JsonObject, BsonValue> jsonObjectIdProvider;
+    private final List<ObjectCodecProvider> objectCodecProviders = new ArrayList<>();
+    private Function<MongoClientSettings, com.mongodb.reactivestreams.client.MongoClient> driverClientFactory;
 
     public ClientConfig() {}
 
@@ -105,6 +126,159 @@ public class ClientConfig {
         return this;
     }
 
+    /**
+     * @return the maximum number of idle sessions kept by a client for {@code withTransaction}
+     */
+    public int getSessionPoolSize() {
+        return sessionPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of idle sessions kept by a client for {@code withTransaction}: 0 disables the pool
+     * @param sessionPoolSize maximum number of idle sessions
+     * @return this
+     */
+    public ClientConfig setSessionPoolSize(int sessionPoolSize) {
+        if (sessionPoolSize < 0)
+            throw new IllegalArgumentException("sessionPoolSize must be non-negative");
+        this.sessionPoolSize = sessionPoolSize;
+        return this;
+    }
+
+    /**
+     * @return the compression policy, null to use the compressors of the connection string or the settings
+     */
+    public CompressionPolicy getCompressionPolicy() {
+        return compressionPolicy;
+    }
+
+    /**
+     * Sets the compressors offered by the client, overriding the ones of the connection string or the settings
+     * @param compressionPolicy compression policy
+     * @return this
+     */
+    public ClientConfig setCompressionPolicy(CompressionPolicy compressionPolicy) {
+        this.compressionPolicy = compressionPolicy;
+        return this;
+    }
+
+    /**
+     * @return true if the client collects compression statistics
+     */
+    public boolean isCompressionStatsEnabled() {
+        return compressionStatsEnabled;
+    }
+
+    /**
+     * Enables the collection of compressed and uncompressed message sizes per operation, available from
+     * {@code MongoClient.getCompressionStats()}
+     * @param compressionStatsEnabled true to collect compression statistics
+     * @return this
+     */
+    public ClientConfig setCompressionStatsEnabled(boolean compressionStatsEnabled) {
+        this.compressionStatsEnabled = compressionStatsEnabled;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of running operations of the collections with a concurrency limit, 0 for the
+     * maximum size of the connection pool
+     */
+    public int getMaxConcurrentOperations() {
+        return maxConcurrentOperations;
+    }
+
+    /**
+     * Sets the budget shared by the collections with a concurrency limit, see
+     * {@code MongoCollection.withConcurrencyLimit}: collections waiting for the budget share it in proportion of
+     * their weights
+     * @param maxConcurrentOperations maximum number of running operations, 0 for the maximum size of the connection pool
+     * @return this
+     */
+    public ClientConfig setMaxConcurrentOperations(int maxConcurrentOperations) {
+        if (maxConcurrentOperations < 0)
+            throw new IllegalArgumentException("maxConcurrentOperations must be non-negative");
+        this.maxConcurrentOperations = maxConcurrentOperations;
+        return this;
+    }
+
+    /**
+     * @return the circuit breaker options, null when the client has no circuit breaker
+     */
+    public CircuitBreakerOptions getCircuitBreakerOptions() {
+        return circuitBreakerOptions;
+    }
+
+    /**
+     * Enables the circuit breaker of the client: collections fail fast with a {@link CircuitBreakerOpenException}
+     * and servers are no longer selected while their circuit is open
+     * @param circuitBreakerOptions circuit breaker options, null to disable the circuit breaker
+     * @return this
+     */
+    public ClientConfig setCircuitBreakerOptions(CircuitBreakerOptions circuitBreakerOptions) {
+        this.circuitBreakerOptions = circuitBreakerOptions;
+        return this;
+    }
+
+    /**
+     * @return the index advisor options, null when the client has no index advisor
+     */
+    public IndexAdvisorOptions getIndexAdvisorOptions() {
+        return indexAdvisorOptions;
+    }
+
+    /**
+     * Enables the index advisor of the client: the shapes of the queries are recorded, and compared to the indexes of
+     * a collection by {@code MongoCollection.adviseIndexes}
+     * @param indexAdvisorOptions index advisor options, null to disable the index advisor
+     * @return this
+     */
+    public ClientConfig setIndexAdvisorOptions(IndexAdvisorOptions indexAdvisorOptions) {
+        this.indexAdvisorOptions = indexAdvisorOptions;
+        return this;
+    }
+
+    /**
+     * @return the object codec providers added to the ones declared as services
+     */
+    @GenIgnore
+    public List<ObjectCodecProvider> getObjectCodecProviders() {
+        return objectCodecProviders;
+    }
+
+    /**
+     * Adds an object codec provider to the ones declared in {@code META-INF/services/io.vertx.mongo.codec.ObjectCodecProvider}
+     * @param provider object codec provider
+     * @return this
+     */
+    @GenIgnore
+    public ClientConfig addObjectCodecProvider(ObjectCodecProvider provider) {
+        Objects.requireNonNull(provider, "provider is null");
+        objectCodecProviders.add(provider);
+        return this;
+    }
+
+    /**
+     * @return the factory of the driver client, null for {@code MongoClients.create}
+     */
+    @GenIgnore
+    public Function<MongoClientSettings, com.mongodb.reactivestreams.client.MongoClient> getDriverClientFactory() {
+        return driverClientFactory;
+    }
+
+    /**
+     * Replaces the driver client wrapped by the client, for instance by an in-process stand-in of the server in tests
+     * and benchmarks. The factory is called with the settings resulting from the configuration, codec registry
+     * included.
+     * @param driverClientFactory the factory of the driver client, null for {@code MongoClients.create}
+     * @return this
+     */
+    @GenIgnore
+    public ClientConfig setDriverClientFactory(Function<MongoClientSettings, com.mongodb.reactivestreams.client.MongoClient> driverClientFactory) {
+        this.driverClientFactory = driverClientFactory;
+        return this;
+    }
+
     @GenIgnore
     public MongoClientSettings getMongoSettings() {
         return mongoSettings;
@@ -152,11 +326,16 @@ public class ClientConfig {
     }
 
     public Function<JsonObject, JsonObject> getInputMapper() {
-        return useObjectIds ? null : new ObjectIdInputMapper();
+        // the mappers are stateless: the ones created by initializeMappers are shared by all the collections
+        if (useObjectIds)
+            return null;
+        return inputMapper != null ? inputMapper : new ObjectIdInputMapper();
     }
 
     public Function<JsonObject, JsonObject> getOutputMapper() {
-        return useObjectIds ? null : new ObjectIdOutputMapper();
+        if (useObjectIds)
+            return null;
+        return outputMapper != null ? outputMapper : new ObjectIdOutputMapper();
     }
 
     public <TDocument> Function<TDocument,TDocument> getInputDocumentMapper(Class<TDocument> clazz) {
@@ -187,4 +366,25 @@ public class ClientConfig {
             return (Function<TDocument, BsonValue>) this.jsonObjectIdProvider;
         return null;
     }
+
+    /**
+     * Returns the id provider of the documents of a class, using the id of the codec of the class for other classes than JsonObject
+     * @param clazz class of the documents
+     * @param codecRegistry codec registry of the collection
+     * @param <TDocument> type of the documents
+     * @return the id provider, or null if the documents of the class have no id
+     */
+    public <TDocument> Function<TDocument, BsonValue> getDocumentIdProvider(Class<TDocument> clazz, CodecRegistry codecRegistry) {
+        if (clazz.equals(JsonObject.class))
+            return getDocumentIdProvider(clazz);
+        Codec<TDocument> codec;
+        try {
+            codec = codecRegistry.get(clazz);
+        } catch (CodecConfigurationException e) {
+            return null;
+        }
+        if (codec instanceof CollectibleCodec)
+            return ((CollectibleCodec<TDocument>) codec)::getDocumentId;
+        return null;
+    }
 }
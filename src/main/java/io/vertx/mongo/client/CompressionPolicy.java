@@ -0,0 +1,117 @@
+package io.vertx.mongo.client;
+
+import com.mongodb.MongoCompressor;
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compressors offered by a client to the servers, in order of preference.
+ * <p>The server picks the first compressor of the list it supports: an empty list disables compression.
+ * The {@code snappy} and {@code zstd} compressors require {@code org.xerial.snappy:snappy-java} and
+ * {@code com.github.luben:zstd-jni} on the classpath.</p>
+ */
+@DataObject(
+        generateConverter = true
+)
+public class CompressionPolicy {
+
+    public static final String SNAPPY = "snappy";
+    public static final String ZLIB = "zlib";
+    public static final String ZSTD = "zstd";
+
+    private List<String> compressors = new ArrayList<>();
+    private Integer zlibLevel;
+
+    public CompressionPolicy() {}
+
+    public CompressionPolicy(JsonObject json) {
+        CompressionPolicyConverter.fromJson(json, this);
+    }
+
+    public JsonObject toJson() {
+        JsonObject result = new JsonObject();
+        CompressionPolicyConverter.toJson(this, result);
+        return result;
+    }
+
+    /**
+     * @param compressors compressors in order of preference
+     * @return a policy offering the compressors
+     */
+    public static CompressionPolicy of(String... compressors) {
+        return new CompressionPolicy().setCompressors(Arrays.asList(compressors));
+    }
+
+    /**
+     * @return a policy disabling compression
+     */
+    public static CompressionPolicy none() {
+        return new CompressionPolicy();
+    }
+
+    /**
+     * @return the compressors in order of preference
+     */
+    public List<String> getCompressors() {
+        return compressors;
+    }
+
+    /**
+     * @param compressors the compressors in order of preference, among {@code snappy}, {@code zlib} and {@code zstd}
+     * @return this
+     */
+    public CompressionPolicy setCompressors(List<String> compressors) {
+        Objects.requireNonNull(compressors, "compressors is null");
+        for (String compressor : compressors) {
+            if (!SNAPPY.equals(compressor) && !ZLIB.equals(compressor) && !ZSTD.equals(compressor))
+                throw new IllegalArgumentException("unsupported compressor: " + compressor);
+        }
+        this.compressors = new ArrayList<>(compressors);
+        return this;
+    }
+
+    /**
+     * @return the zlib compression level, null for the default level
+     */
+    public Integer getZlibLevel() {
+        return zlibLevel;
+    }
+
+    /**
+     * @param zlibLevel the zlib compression level, from -1 (default) to 9
+     * @return this
+     */
+    public CompressionPolicy setZlibLevel(Integer zlibLevel) {
+        if (zlibLevel != null && (zlibLevel < -1 || zlibLevel > 9))
+            throw new IllegalArgumentException("zlibLevel must be between -1 and 9");
+        this.zlibLevel = zlibLevel;
+        return this;
+    }
+
+    /**
+     * @return the compressors of the driver
+     * @hidden
+     */
+    public List<MongoCompressor> toDriverCompressors() {
+        List<MongoCompressor> result = new ArrayList<>(compressors.size());
+        for (String compressor : compressors) {
+            switch (compressor) {
+                case SNAPPY:
+                    result.add(MongoCompressor.createSnappyCompressor());
+                    break;
+                case ZSTD:
+                    result.add(MongoCompressor.createZstdCompressor());
+                    break;
+                default:
+                    MongoCompressor zlib = MongoCompressor.createZlibCompressor();
+                    result.add(zlibLevel == null ? zlib : zlib.withProperty(MongoCompressor.LEVEL, zlibLevel));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+package io.vertx.mongo.client;
+
+/**
+ * Wire statistics of one type of operation (the command name: {@code find}, {@code insert}, ...).
+ * <p>Compressed sizes are the sizes of the messages on the wire, uncompressed sizes are the sizes of the messages
+ * before compression: both are equal for uncompressed messages.</p>
+ * <p>Encoding time is the time between the start of a command and the write of its message, which includes encoding
+ * and compression. Decoding time is the time between the read of the reply and the end of the command, which includes
+ * decompression and decoding. Comparing these times between compression policies gives the CPU cost of compression.</p>
+ */
+public class CompressionStats {
+
+    private final String operation;
+    private final long count;
+    private final long compressedBytesSent;
+    private final long uncompressedBytesSent;
+    private final long compressedBytesReceived;
+    private final long uncompressedBytesReceived;
+    private final long encodingNanos;
+    private final long decodingNanos;
+
+    public CompressionStats(String operation, long count, long compressedBytesSent, long uncompressedBytesSent,
+                            long compressedBytesReceived, long uncompressedBytesReceived, long encodingNanos, long decodingNanos) {
+        this.operation = operation;
+        this.count = count;
+        this.compressedBytesSent = compressedBytesSent;
+        this.uncompressedBytesSent = uncompressedBytesSent;
+        this.compressedBytesReceived = compressedBytesReceived;
+        this.uncompressedBytesReceived = uncompressedBytesReceived;
+        this.encodingNanos = encodingNanos;
+        this.decodingNanos = decodingNanos;
+    }
+
+    /**
+     * @return the command name
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return the number of completed operations
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public long getCompressedBytesSent() {
+        return compressedBytesSent;
+    }
+
+    public long getUncompressedBytesSent() {
+        return uncompressedBytesSent;
+    }
+
+    public long getCompressedBytesReceived() {
+        return compressedBytesReceived;
+    }
+
+    public long getUncompressedBytesReceived() {
+        return uncompressedBytesReceived;
+    }
+
+    /**
+     * @return the total time spent encoding and compressing requests, in nanoseconds
+     */
+    public long getEncodingNanos() {
+        return encodingNanos;
+    }
+
+    /**
+     * @return the total time spent decompressing and decoding replies, in nanoseconds
+     */
+    public long getDecodingNanos() {
+        return decodingNanos;
+    }
+
+    /**
+     * @return uncompressed bytes divided by compressed bytes, in both directions
+     */
+    public double getCompressionRatio() {
+        long compressed = compressedBytesSent + compressedBytesReceived;
+        return compressed == 0 ? 1 : (double) (uncompressedBytesSent + uncompressedBytesReceived) / compressed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d ops, sent %d/%d bytes, received %d/%d bytes, ratio %.2f, encoding %d us, decoding %d us",
+                operation, count, compressedBytesSent, uncompressedBytesSent, compressedBytesReceived, uncompressedBytesReceived,
+                getCompressionRatio(), encodingNanos / 1000, decodingNanos / 1000);
+    }
+}
@@ -0,0 +1,44 @@
+package io.vertx.mongo.client;
+
+import com.mongodb.MongoClientException;
+
+/**
+ * Failure of an operation rejected without being sent: the queue of operations waiting for the concurrency limit of
+ * its collection is full.
+ */
+public class ConcurrencyLimitExceededException extends MongoClientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String namespace;
+    private final OperationClass operationClass;
+    private final int queueSize;
+
+    public ConcurrencyLimitExceededException(String namespace, OperationClass operationClass, int queueSize) {
+        super(String.format("%s operation on %s rejected: %d operations are already queued", operationClass, namespace, queueSize));
+        this.namespace = namespace;
+        this.operationClass = operationClass;
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * @return the namespace of the collection
+     */
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * @return the class of the rejected operation
+     */
+    public OperationClass getOperationClass() {
+        return operationClass;
+    }
+
+    /**
+     * @return the maximum queue size of the collection
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+}
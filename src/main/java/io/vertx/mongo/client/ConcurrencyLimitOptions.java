@@ -0,0 +1,167 @@
+package io.vertx.mongo.client;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Concurrency limit of a collection: operations above the limit wait in a queue, and fail with a
+ * {@link ConcurrencyLimitExceededException} when the queue is full.
+ * <p>Limits of 0 disable the limit. Queued operations of the collections share the budget of the client
+ * ({@link ClientConfig#setMaxConcurrentOperations}) in proportion of their weights.</p>
+ */
+@DataObject(
+        generateConverter = true
+)
+public class ConcurrencyLimitOptions {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 10;
+    public static final int DEFAULT_MAX_QUEUE_SIZE = 1000;
+    public static final int DEFAULT_WEIGHT = 1;
+
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private int maxReadConcurrency;
+    private int maxWriteConcurrency;
+    private int maxAdminConcurrency;
+    private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+    private int weight = DEFAULT_WEIGHT;
+
+    public ConcurrencyLimitOptions() {}
+
+    public ConcurrencyLimitOptions(ConcurrencyLimitOptions other) {
+        this.maxConcurrency = other.maxConcurrency;
+        this.maxReadConcurrency = other.maxReadConcurrency;
+        this.maxWriteConcurrency = other.maxWriteConcurrency;
+        this.maxAdminConcurrency = other.maxAdminConcurrency;
+        this.maxQueueSize = other.maxQueueSize;
+        this.weight = other.weight;
+    }
+
+    public ConcurrencyLimitOptions(JsonObject json) {
+        ConcurrencyLimitOptionsConverter.fromJson(json, this);
+    }
+
+    public JsonObject toJson() {
+        JsonObject result = new JsonObject();
+        ConcurrencyLimitOptionsConverter.toJson(this, result);
+        return result;
+    }
+
+    private static int checkLimit(int limit, String name) {
+        if (limit < 0)
+            throw new IllegalArgumentException(name + " must be non-negative");
+        return limit;
+    }
+
+    /**
+     * @return the maximum number of running operations of the collection, 0 for no limit
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @param maxConcurrency the maximum number of running operations of the collection, 0 for no limit
+     * @return this
+     */
+    public ConcurrencyLimitOptions setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = checkLimit(maxConcurrency, "maxConcurrency");
+        return this;
+    }
+
+    /**
+     * @return the maximum number of running read operations of the collection, 0 for no limit
+     */
+    public int getMaxReadConcurrency() {
+        return maxReadConcurrency;
+    }
+
+    /**
+     * @param maxReadConcurrency the maximum number of running read operations of the collection, 0 for no limit
+     * @return this
+     */
+    public ConcurrencyLimitOptions setMaxReadConcurrency(int maxReadConcurrency) {
+        this.maxReadConcurrency = checkLimit(maxReadConcurrency, "maxReadConcurrency");
+        return this;
+    }
+
+    /**
+     * @return the maximum number of running write operations of the collection, 0 for no limit
+     */
+    public int getMaxWriteConcurrency() {
+        return maxWriteConcurrency;
+    }
+
+    /**
+     * @param maxWriteConcurrency the maximum number of running write operations of the collection, 0 for no limit
+     * @return this
+     */
+    public ConcurrencyLimitOptions setMaxWriteConcurrency(int maxWriteConcurrency) {
+        this.maxWriteConcurrency = checkLimit(maxWriteConcurrency, "maxWriteConcurrency");
+        return this;
+    }
+
+    /**
+     * @return the maximum number of running admin operations of the collection, 0 for no limit
+     */
+    public int getMaxAdminConcurrency() {
+        return maxAdminConcurrency;
+    }
+
+    /**
+     * @param maxAdminConcurrency the maximum number of running admin operations of the collection, 0 for no limit
+     * @return this
+     */
+    public ConcurrencyLimitOptions setMaxAdminConcurrency(int maxAdminConcurrency) {
+        this.maxAdminConcurrency = checkLimit(maxAdminConcurrency, "maxAdminConcurrency");
+        return this;
+    }
+
+    /**
+     * @param operationClass class of operations
+     * @return the maximum number of running operations of the class, 0 for no limit
+     */
+    public int getMaxConcurrency(OperationClass operationClass) {
+        switch (operationClass) {
+            case READ:
+                return maxReadConcurrency;
+            case WRITE:
+                return maxWriteConcurrency;
+            default:
+                return maxAdminConcurrency;
+        }
+    }
+
+    /**
+     * @return the maximum number of queued operations, 0 to reject operations above the limits
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * @param maxQueueSize the maximum number of queued operations, 0 to reject operations above the limits
+     * @return this
+     */
+    public ConcurrencyLimitOptions setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = checkLimit(maxQueueSize, "maxQueueSize");
+        return this;
+    }
+
+    /**
+     * @return the share of the client budget of the collection, relative to the weights of other collections
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * @param weight the share of the client budget of the collection, relative to the weights of other collections
+     * @return this
+     */
+    public ConcurrencyLimitOptions setWeight(int weight) {
+        if (weight < 1)
+            throw new IllegalArgumentException("weight must be positive");
+        this.weight = weight;
+        return this;
+    }
+}
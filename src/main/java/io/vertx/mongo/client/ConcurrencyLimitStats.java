@@ -0,0 +1,97 @@
+package io.vertx.mongo.client;
+
+/**
+ * Statistics of the concurrency limit of a collection, since its creation.
+ */
+public class ConcurrencyLimitStats {
+
+    private final String namespace;
+    private final int active;
+    private final int queued;
+    private final long started;
+    private final long rejected;
+    private final long queuedOperations;
+    private final long queueNanos;
+    private final long maxQueueNanos;
+
+    public ConcurrencyLimitStats(String namespace, int active, int queued, long started, long rejected,
+                                 long queuedOperations, long queueNanos, long maxQueueNanos) {
+        this.namespace = namespace;
+        this.active = active;
+        this.queued = queued;
+        this.started = started;
+        this.rejected = rejected;
+        this.queuedOperations = queuedOperations;
+        this.queueNanos = queueNanos;
+        this.maxQueueNanos = maxQueueNanos;
+    }
+
+    /**
+     * @return the namespace of the collection
+     */
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * @return the number of running operations
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * @return the number of operations waiting in the queue
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * @return the number of started operations
+     */
+    public long getStarted() {
+        return started;
+    }
+
+    /**
+     * @return the number of operations rejected because the queue was full
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return the number of started operations that had to wait in the queue
+     */
+    public long getQueuedOperations() {
+        return queuedOperations;
+    }
+
+    /**
+     * @return the total time spent in the queue by the started operations, in nanoseconds
+     */
+    public long getQueueNanos() {
+        return queueNanos;
+    }
+
+    /**
+     * @return the longest time spent in the queue by a started operation, in nanoseconds
+     */
+    public long getMaxQueueNanos() {
+        return maxQueueNanos;
+    }
+
+    /**
+     * @return the average time spent in the queue by the started operations, in nanoseconds
+     */
+    public double getAverageQueueNanos() {
+        return started == 0 ? 0 : (double) queueNanos / started;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d active, %d queued, %d started, %d rejected, queue time avg %d us, max %d us",
+                namespace, active, queued, started, rejected, (long) getAverageQueueNanos() / 1000, maxQueueNanos / 1000);
+    }
+}
@@ -0,0 +1,15 @@
+package io.vertx.mongo.client;
+
+/**
+ * Text format of the exports and imports of a collection
+ */
+public enum DataFormat {
+    /**
+     * newline-delimited Extended JSON: one document per line
+     */
+    NDJSON,
+    /**
+     * comma-separated values (RFC 4180) of a list of fields, with an optional header line
+     */
+    CSV
+}
@@ -0,0 +1,208 @@
+package io.vertx.mongo.client;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Export of the documents of a collection to a stream of text.
+ * <p>Documents are read as raw BSON and encoded in batches on worker threads: at most {@code parallelism} batches are
+ * encoded at the same time, and batches are written in order.</p>
+ */
+@DataObject(
+        generateConverter = true
+)
+public class ExportOptions {
+
+    public static final DataFormat DEFAULT_FORMAT = DataFormat.NDJSON;
+    public static final boolean DEFAULT_HEADER = true;
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private DataFormat format = DEFAULT_FORMAT;
+    private JsonObject filter;
+    private JsonObject projection;
+    private JsonObject sort;
+    private List<String> fields;
+    private boolean header = DEFAULT_HEADER;
+    private boolean canonical;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    public ExportOptions() {}
+
+    public ExportOptions(ExportOptions other) {
+        this.format = other.format;
+        this.filter = other.filter;
+        this.projection = other.projection;
+        this.sort = other.sort;
+        this.fields = other.fields == null ? null : new ArrayList<>(other.fields);
+        this.header = other.header;
+        this.canonical = other.canonical;
+        this.batchSize = other.batchSize;
+        this.parallelism = other.parallelism;
+    }
+
+    public ExportOptions(JsonObject json) {
+        ExportOptionsConverter.fromJson(json, this);
+    }
+
+    public JsonObject toJson() {
+        JsonObject result = new JsonObject();
+        ExportOptionsConverter.toJson(this, result);
+        return result;
+    }
+
+    /**
+     * @return the format of the export
+     */
+    public DataFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * @param format the format of the export
+     * @return this
+     */
+    public ExportOptions setFormat(DataFormat format) {
+        this.format = Objects.requireNonNull(format, "format is null");
+        return this;
+    }
+
+    /**
+     * @return the query filter of the exported documents, null to export all the documents
+     */
+    public JsonObject getFilter() {
+        return filter;
+    }
+
+    /**
+     * @param filter the query filter of the exported documents, null to export all the documents
+     * @return this
+     */
+    public ExportOptions setFilter(JsonObject filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * @return the projection of the exported documents
+     */
+    public JsonObject getProjection() {
+        return projection;
+    }
+
+    /**
+     * @param projection the projection of the exported documents: when exporting CSV, a projection on the fields
+     *                   avoids reading the other fields
+     * @return this
+     */
+    public ExportOptions setProjection(JsonObject projection) {
+        this.projection = projection;
+        return this;
+    }
+
+    /**
+     * @return the sort of the exported documents
+     */
+    public JsonObject getSort() {
+        return sort;
+    }
+
+    /**
+     * @param sort the sort of the exported documents
+     * @return this
+     */
+    public ExportOptions setSort(JsonObject sort) {
+        this.sort = sort;
+        return this;
+    }
+
+    /**
+     * @return the fields of the CSV columns
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * @param fields the fields of the CSV columns, required to export CSV, with dotted paths for the fields of
+     *               embedded documents and the elements of arrays
+     * @return this
+     */
+    public ExportOptions setFields(List<String> fields) {
+        this.fields = fields == null ? null : new ArrayList<>(fields);
+        return this;
+    }
+
+    /**
+     * @return true if the CSV export starts with a line of the field names
+     */
+    public boolean isHeader() {
+        return header;
+    }
+
+    /**
+     * @param header true if the CSV export starts with a line of the field names
+     * @return this
+     */
+    public ExportOptions setHeader(boolean header) {
+        this.header = header;
+        return this;
+    }
+
+    /**
+     * @return true to export canonical Extended JSON, false for relaxed Extended JSON
+     */
+    public boolean isCanonical() {
+        return canonical;
+    }
+
+    /**
+     * @param canonical true to export canonical Extended JSON, false for relaxed Extended JSON
+     * @return this
+     */
+    public ExportOptions setCanonical(boolean canonical) {
+        this.canonical = canonical;
+        return this;
+    }
+
+    /**
+     * @return the number of documents encoded by a worker task
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize the number of documents encoded by a worker task, also the batch size of the query
+     * @return this
+     */
+    public ExportOptions setBatchSize(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize must be positive");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of batches encoded at the same time
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism the maximum number of batches encoded at the same time: the query is paused above
+     * @return this
+     */
+    public ExportOptions setParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive");
+        this.parallelism = parallelism;
+        return this;
+    }
+}
@@ -0,0 +1,152 @@
+package io.vertx.mongo.client;
+
+import com.mongodb.ReadPreference;
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.impl.ReadPreferenceSerializer;
+
+/**
+ * Hedged reads of a collection: when a read has not answered after a latency percentile of the recent reads, the same
+ * read is sent again, possibly to another member, and the first answer wins.
+ * <p>The driver selects the member of the hedge read: it is picked at random among the members eligible for the read
+ * preference of the hedge, within the local threshold. A read preference such as {@code nearest} or
+ * {@code secondaryPreferred} makes it likely to be another member than the one of the first read.</p>
+ */
+@DataObject
+public class HedgeOptions {
+
+    public static final double DEFAULT_PERCENTILE = 95;
+    public static final long DEFAULT_MIN_DELAY = 2;
+    public static final long DEFAULT_MAX_DELAY = 500;
+    public static final int DEFAULT_SAMPLE_SIZE = 256;
+
+    private double percentile = DEFAULT_PERCENTILE;
+    private long minDelay = DEFAULT_MIN_DELAY;
+    private long maxDelay = DEFAULT_MAX_DELAY;
+    private int sampleSize = DEFAULT_SAMPLE_SIZE;
+    private ReadPreference readPreference;
+
+    public HedgeOptions() {}
+
+    public HedgeOptions(HedgeOptions other) {
+        this.percentile = other.percentile;
+        this.minDelay = other.minDelay;
+        this.maxDelay = other.maxDelay;
+        this.sampleSize = other.sampleSize;
+        this.readPreference = other.readPreference;
+    }
+
+    public HedgeOptions(JsonObject json) {
+        if (json.getValue("percentile") instanceof Number)
+            setPercentile(json.getDouble("percentile"));
+        if (json.getValue("minDelay") instanceof Number)
+            setMinDelay(json.getLong("minDelay"));
+        if (json.getValue("maxDelay") instanceof Number)
+            setMaxDelay(json.getLong("maxDelay"));
+        if (json.getValue("sampleSize") instanceof Number)
+            setSampleSize(json.getInteger("sampleSize"));
+        if (json.getValue("readPreference") instanceof JsonObject)
+            setReadPreference(new ReadPreferenceSerializer(json.getJsonObject("readPreference")).getValue());
+    }
+
+    public JsonObject toJson() {
+        JsonObject result = new JsonObject()
+                .put("percentile", percentile)
+                .put("minDelay", minDelay)
+                .put("maxDelay", maxDelay)
+                .put("sampleSize", sampleSize);
+        if (readPreference != null)
+            result.put("readPreference", new ReadPreferenceSerializer(readPreference).toJson());
+        return result;
+    }
+
+    /**
+     * @return the percentile of the latencies of the recent reads after which a read is hedged
+     */
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * @param percentile the percentile of the latencies of the recent reads after which a read is hedged, between 0
+     *                   (excluded) and 100
+     * @return this
+     */
+    public HedgeOptions setPercentile(double percentile) {
+        if (!(percentile > 0 && percentile <= 100))
+            throw new IllegalArgumentException("percentile must be in ]0, 100]");
+        this.percentile = percentile;
+        return this;
+    }
+
+    /**
+     * @return the minimum delay before a read is hedged, in milliseconds
+     */
+    public long getMinDelay() {
+        return minDelay;
+    }
+
+    /**
+     * @param minDelay the minimum delay before a read is hedged, in milliseconds
+     * @return this
+     */
+    public HedgeOptions setMinDelay(long minDelay) {
+        if (minDelay < 1)
+            throw new IllegalArgumentException("minDelay must be positive");
+        this.minDelay = minDelay;
+        return this;
+    }
+
+    /**
+     * @return the maximum delay before a read is hedged, in milliseconds, also used until enough reads are sampled
+     */
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * @param maxDelay the maximum delay before a read is hedged, in milliseconds, also used until enough reads are
+     *                 sampled
+     * @return this
+     */
+    public HedgeOptions setMaxDelay(long maxDelay) {
+        if (maxDelay < 1)
+            throw new IllegalArgumentException("maxDelay must be positive");
+        this.maxDelay = maxDelay;
+        return this;
+    }
+
+    /**
+     * @return the number of recent reads whose latencies give the percentile
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * @param sampleSize the number of recent reads whose latencies give the percentile
+     * @return this
+     */
+    public HedgeOptions setSampleSize(int sampleSize) {
+        if (sampleSize < 1)
+            throw new IllegalArgumentException("sampleSize must be positive");
+        this.sampleSize = sampleSize;
+        return this;
+    }
+
+    /**
+     * @return the read preference of the hedge reads, null for the read preference of the collection
+     */
+    public ReadPreference getReadPreference() {
+        return readPreference;
+    }
+
+    /**
+     * @param readPreference the read preference of the hedge reads, null for the read preference of the collection
+     * @return this
+     */
+    public HedgeOptions setReadPreference(ReadPreference readPreference) {
+        this.readPreference = readPreference;
+        return this;
+    }
+}
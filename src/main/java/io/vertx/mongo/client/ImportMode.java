@@ -0,0 +1,15 @@
+package io.vertx.mongo.client;
+
+/**
+ * Write operation of the imported documents
+ */
+public enum ImportMode {
+    /**
+     * documents are inserted: documents whose {@code _id} already exists fail the import
+     */
+    INSERT,
+    /**
+     * documents replace the documents with the same upsert fields, or are inserted
+     */
+    UPSERT
+}
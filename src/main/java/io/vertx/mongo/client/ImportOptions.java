@@ -0,0 +1,197 @@
+package io.vertx.mongo.client;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Import of a stream of text into a collection.
+ * <p>Records are parsed in batches on worker threads, and each batch is written with one unordered
+ * {@code insertMany} or {@code bulkWrite}: at most {@code parallelism} batches are parsed or written at the same time,
+ * the input is paused above. CSV values are imported as strings.</p>
+ */
+@DataObject(
+        generateConverter = true
+)
+public class ImportOptions {
+
+    public static final DataFormat DEFAULT_FORMAT = DataFormat.NDJSON;
+    public static final boolean DEFAULT_HEADER_LINE = true;
+    public static final ImportMode DEFAULT_MODE = ImportMode.INSERT;
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private DataFormat format = DEFAULT_FORMAT;
+    private List<String> fields;
+    private boolean headerLine = DEFAULT_HEADER_LINE;
+    private boolean ignoreBlanks;
+    private ImportMode mode = DEFAULT_MODE;
+    private List<String> upsertFields = Collections.singletonList("_id");
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    public ImportOptions() {}
+
+    public ImportOptions(ImportOptions other) {
+        this.format = other.format;
+        this.fields = other.fields == null ? null : new ArrayList<>(other.fields);
+        this.headerLine = other.headerLine;
+        this.ignoreBlanks = other.ignoreBlanks;
+        this.mode = other.mode;
+        this.upsertFields = new ArrayList<>(other.upsertFields);
+        this.batchSize = other.batchSize;
+        this.parallelism = other.parallelism;
+    }
+
+    public ImportOptions(JsonObject json) {
+        ImportOptionsConverter.fromJson(json, this);
+    }
+
+    public JsonObject toJson() {
+        JsonObject result = new JsonObject();
+        ImportOptionsConverter.toJson(this, result);
+        return result;
+    }
+
+    /**
+     * @return the format of the input
+     */
+    public DataFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * @param format the format of the input
+     * @return this
+     */
+    public ImportOptions setFormat(DataFormat format) {
+        this.format = Objects.requireNonNull(format, "format is null");
+        return this;
+    }
+
+    /**
+     * @return the fields of the CSV columns, null to read them from the header line
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * @param fields the fields of the CSV columns, null to read them from the header line, with dotted paths for the
+     *               fields of embedded documents
+     * @return this
+     */
+    public ImportOptions setFields(List<String> fields) {
+        this.fields = fields == null ? null : new ArrayList<>(fields);
+        return this;
+    }
+
+    /**
+     * @return true if the CSV input starts with a line of the field names
+     */
+    public boolean isHeaderLine() {
+        return headerLine;
+    }
+
+    /**
+     * @param headerLine true if the CSV input starts with a line of the field names, which is skipped when the fields
+     *                   are set
+     * @return this
+     */
+    public ImportOptions setHeaderLine(boolean headerLine) {
+        this.headerLine = headerLine;
+        return this;
+    }
+
+    /**
+     * @return true if empty CSV values are not imported
+     */
+    public boolean isIgnoreBlanks() {
+        return ignoreBlanks;
+    }
+
+    /**
+     * @param ignoreBlanks true if empty CSV values are not imported, false to import them as empty strings
+     * @return this
+     */
+    public ImportOptions setIgnoreBlanks(boolean ignoreBlanks) {
+        this.ignoreBlanks = ignoreBlanks;
+        return this;
+    }
+
+    /**
+     * @return the write operation of the imported documents
+     */
+    public ImportMode getMode() {
+        return mode;
+    }
+
+    /**
+     * @param mode the write operation of the imported documents
+     * @return this
+     */
+    public ImportOptions setMode(ImportMode mode) {
+        this.mode = Objects.requireNonNull(mode, "mode is null");
+        return this;
+    }
+
+    /**
+     * @return the fields identifying the documents replaced by an upsert
+     */
+    public List<String> getUpsertFields() {
+        return upsertFields;
+    }
+
+    /**
+     * @param upsertFields the fields identifying the documents replaced by an upsert: documents having none of them
+     *                     are inserted
+     * @return this
+     */
+    public ImportOptions setUpsertFields(List<String> upsertFields) {
+        Objects.requireNonNull(upsertFields, "upsertFields is null");
+        if (upsertFields.isEmpty())
+            throw new IllegalArgumentException("upsertFields must not be empty");
+        this.upsertFields = new ArrayList<>(upsertFields);
+        return this;
+    }
+
+    /**
+     * @return the number of documents parsed by a worker task and written by an operation
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize the number of documents parsed by a worker task and written by an operation
+     * @return this
+     */
+    public ImportOptions setBatchSize(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize must be positive");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of batches parsed or written at the same time
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism the maximum number of batches parsed or written at the same time: the input is paused above
+     * @return this
+     */
+    public ImportOptions setParallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive");
+        this.parallelism = parallelism;
+        return this;
+    }
+}
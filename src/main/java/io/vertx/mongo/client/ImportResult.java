@@ -0,0 +1,62 @@
+package io.vertx.mongo.client;
+
+/**
+ * Result of the import of a stream of text into a collection.
+ */
+public class ImportResult {
+
+    private final long documents;
+    private final long inserted;
+    private final long matched;
+    private final long modified;
+    private final long upserted;
+
+    public ImportResult(long documents, long inserted, long matched, long modified, long upserted) {
+        this.documents = documents;
+        this.inserted = inserted;
+        this.matched = matched;
+        this.modified = modified;
+        this.upserted = upserted;
+    }
+
+    /**
+     * @return the number of imported documents
+     */
+    public long getDocuments() {
+        return documents;
+    }
+
+    /**
+     * @return the number of inserted documents
+     */
+    public long getInserted() {
+        return inserted;
+    }
+
+    /**
+     * @return the number of documents matched by an upsert
+     */
+    public long getMatched() {
+        return matched;
+    }
+
+    /**
+     * @return the number of documents modified by an upsert
+     */
+    public long getModified() {
+        return modified;
+    }
+
+    /**
+     * @return the number of documents inserted by an upsert
+     */
+    public long getUpserted() {
+        return upserted;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d documents, %d inserted, %d matched, %d modified, %d upserted",
+                documents, inserted, matched, modified, upserted);
+    }
+}
@@ -0,0 +1,138 @@
+package io.vertx.mongo.client;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.client.model.IndexModel;
+
+import java.util.List;
+
+/**
+ * Query shape of a collection that no index supports, or that no index covers, with its statistics since the creation
+ * of the client.
+ * <p>An index supports a shape when its leading keys are the equality fields of the shape (in any order), then the
+ * fields of the sort (all in the same or all in the reverse directions), then the range fields (in any order). It
+ * covers the shape when its keys also include the projected fields: the query then reads no document, unless the
+ * index is multikey.</p>
+ */
+public class IndexAdvice {
+
+    private final String namespace;
+    private final List<String> equalityFields;
+    private final JsonObject sort;
+    private final List<String> rangeFields;
+    private final List<String> projectedFields;
+    private final long executions;
+    private final long latencyNanos;
+    private final long maxLatencyNanos;
+    private final String partialIndex;
+    private final boolean supported;
+    private final IndexModel suggestedIndex;
+
+    public IndexAdvice(String namespace, List<String> equalityFields, JsonObject sort, List<String> rangeFields,
+                       List<String> projectedFields, long executions, long latencyNanos, long maxLatencyNanos,
+                       String partialIndex, boolean supported, IndexModel suggestedIndex) {
+        this.namespace = namespace;
+        this.equalityFields = equalityFields;
+        this.sort = sort;
+        this.rangeFields = rangeFields;
+        this.projectedFields = projectedFields;
+        this.executions = executions;
+        this.latencyNanos = latencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+        this.partialIndex = partialIndex;
+        this.supported = supported;
+        this.suggestedIndex = suggestedIndex;
+    }
+
+    /**
+     * @return the namespace of the collection
+     */
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * @return the fields compared for equality ({@code $eq}, {@code $in} or a value), in alphabetical order
+     */
+    public List<String> getEqualityFields() {
+        return equalityFields;
+    }
+
+    /**
+     * @return the sort, without the equality fields
+     */
+    public JsonObject getSort() {
+        return sort;
+    }
+
+    /**
+     * @return the fields compared otherwise, in alphabetical order, without the fields of the sort
+     */
+    public List<String> getRangeFields() {
+        return rangeFields;
+    }
+
+    /**
+     * @return the fields returned by the queries, in alphabetical order, {@code _id} included unless excluded, null
+     * unless their projection only includes fields: such queries can't be covered
+     */
+    public List<String> getProjectedFields() {
+        return projectedFields;
+    }
+
+    /**
+     * @return the number of recorded commands of the shape
+     */
+    public long getExecutions() {
+        return executions;
+    }
+
+    /**
+     * @return the cumulated latency of the commands of the shape (first batch only), the weight of the shape
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * @return the maximum latency of a command of the shape
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    /**
+     * @return the average latency of the commands of the shape
+     */
+    public double getAverageLatencyNanos() {
+        return executions == 0 ? 0 : (double) latencyNanos / executions;
+    }
+
+    /**
+     * @return the name of the index supporting the most leading fields of the shape, null if no index does
+     */
+    public String getPartialIndex() {
+        return partialIndex;
+    }
+
+    /**
+     * @return true if the index of {@link #getPartialIndex()} supports the shape, but no index covers its projection
+     */
+    public boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * @return the index supporting the shape, also covering its projection when
+     * {@code IndexAdvisorOptions.isCoveredQueries()}
+     */
+    public IndexModel getSuggestedIndex() {
+        return suggestedIndex;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: equality %s, sort %s, range %s, projection %s: %d executions, latency avg %d us, max %d us, suggested index %s",
+                namespace, equalityFields, sort.encode(), rangeFields, projectedFields, executions, (long) getAverageLatencyNanos() / 1000,
+                maxLatencyNanos / 1000, suggestedIndex.getKeys().encode());
+    }
+}
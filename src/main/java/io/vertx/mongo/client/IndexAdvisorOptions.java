@@ -0,0 +1,95 @@
+package io.vertx.mongo.client;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Index advisor of a client: the shapes of the {@code find} and {@code aggregate} commands sent by the client are
+ * recorded with their latencies, and compared to the indexes of the collections by
+ * {@code MongoCollection.adviseIndexes}.
+ * <p>A shape is the set of equality fields, the sort, the set of range fields and the projected fields of a query: the
+ * values of the filter are ignored.</p>
+ */
+@DataObject(
+        generateConverter = true
+)
+public class IndexAdvisorOptions {
+
+    public static final int DEFAULT_MAX_SHAPES = 1000;
+    public static final boolean DEFAULT_AGGREGATIONS = true;
+    public static final boolean DEFAULT_COVERED_QUERIES = false;
+
+    private int maxShapes = DEFAULT_MAX_SHAPES;
+    private boolean aggregations = DEFAULT_AGGREGATIONS;
+    private boolean coveredQueries = DEFAULT_COVERED_QUERIES;
+
+    public IndexAdvisorOptions() {}
+
+    public IndexAdvisorOptions(IndexAdvisorOptions other) {
+        this.maxShapes = other.maxShapes;
+        this.aggregations = other.aggregations;
+        this.coveredQueries = other.coveredQueries;
+    }
+
+    public IndexAdvisorOptions(JsonObject json) {
+        IndexAdvisorOptionsConverter.fromJson(json, this);
+    }
+
+    public JsonObject toJson() {
+        JsonObject result = new JsonObject();
+        IndexAdvisorOptionsConverter.toJson(this, result);
+        return result;
+    }
+
+    /**
+     * @return the maximum number of recorded shapes, for all the collections
+     */
+    public int getMaxShapes() {
+        return maxShapes;
+    }
+
+    /**
+     * @param maxShapes the maximum number of recorded shapes, for all the collections: new shapes are ignored above
+     * @return this
+     */
+    public IndexAdvisorOptions setMaxShapes(int maxShapes) {
+        if (maxShapes < 1)
+            throw new IllegalArgumentException("maxShapes must be positive");
+        this.maxShapes = maxShapes;
+        return this;
+    }
+
+    /**
+     * @return true if the leading {@code $match} and {@code $sort} stages of the aggregations are recorded
+     */
+    public boolean isAggregations() {
+        return aggregations;
+    }
+
+    /**
+     * @param aggregations true if the leading {@code $match} and {@code $sort} stages of the aggregations (including
+     *                     {@code countDocuments}) are recorded
+     * @return this
+     */
+    public IndexAdvisorOptions setAggregations(boolean aggregations) {
+        this.aggregations = aggregations;
+        return this;
+    }
+
+    /**
+     * @return true if the queries whose projection no index covers are advised
+     */
+    public boolean isCoveredQueries() {
+        return coveredQueries;
+    }
+
+    /**
+     * @param coveredQueries true if the queries projecting fields are also advised when an index supports them but
+     *                       none covers them, the suggested indexes then include the projected fields
+     * @return this
+     */
+    public IndexAdvisorOptions setCoveredQueries(boolean coveredQueries) {
+        this.coveredQueries = coveredQueries;
+        return this;
+    }
+}
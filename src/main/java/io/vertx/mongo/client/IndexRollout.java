@@ -0,0 +1,63 @@
+package io.vertx.mongo.client;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.mongo.client.impl.IndexRolloutImpl;
+import io.vertx.mongo.client.model.IndexModel;
+
+import java.util.List;
+
+/**
+ * Rollout of indexes across the collections of a client, such as the collections of the tenants of an application.
+ * <p>Builds run with a bounded concurrency and start rate, so that the primary is not overloaded. The completed builds
+ * are checkpointed in a collection: running again a rollout with the same id, after a restart or a failure, skips them.
+ * Running builds are followed with {@code currentOp}.</p>
+ */
+public interface IndexRollout {
+
+    /**
+     * @param vertx the Vert.x instance running the timers of the rollout
+     * @param client the client of the collections
+     * @param id the id of the rollout, identifying its checkpoints
+     * @param options the rollout options
+     * @return a rollout without collections
+     */
+    static IndexRollout create(Vertx vertx, MongoClient client, String id, IndexRolloutOptions options) {
+        return new IndexRolloutImpl(vertx, client, id, options);
+    }
+
+    /**
+     * Adds the indexes of a collection to the rollout: they are built with one {@code createIndexes} command
+     * @param databaseName the name of the database
+     * @param collectionName the name of the collection
+     * @param indexes the indexes of the collection
+     * @return this
+     */
+    IndexRollout add(String databaseName, String collectionName, List<IndexModel> indexes);
+
+    /**
+     * Runs the builds of the collections that have not been completed by a previous run. A failed build does not
+     * stop the rollout.
+     * @return a future of the progress of the rollout, once all the builds have completed or failed
+     */
+    Future<IndexRolloutProgress> run();
+
+    /**
+     * Runs the builds of the collections that have not been completed by a previous run.
+     * @param resultHandler the handler called with the progress of the rollout, once all the builds have completed or
+     *                      failed
+     */
+    void run(Handler<AsyncResult<IndexRolloutProgress>> resultHandler);
+
+    /**
+     * Stops starting builds: the run completes when the running builds complete, and the next run resumes the rollout
+     */
+    void stop();
+
+    /**
+     * @return the progress of the rollout
+     */
+    IndexRolloutProgress getProgress();
+}
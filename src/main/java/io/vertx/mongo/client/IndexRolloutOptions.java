@@ -0,0 +1,171 @@
+package io.vertx.mongo.client;
+
+import com.mongodb.CreateIndexCommitQuorum;
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.impl.CreateIndexCommitQuorumSerializer;
+
+import java.util.Objects;
+
+/**
+ * Rollout of indexes across many collections: builds run with a bounded concurrency and a bounded start rate, and
+ * their completions are checkpointed so that a rollout run again with the same id skips the completed builds.
+ */
+@DataObject
+public class IndexRolloutOptions {
+
+    public static final int DEFAULT_MAX_CONCURRENT_BUILDS = 1;
+    public static final int DEFAULT_MAX_BUILDS_PER_MINUTE = 0;
+    public static final long DEFAULT_PROGRESS_INTERVAL = 5000;
+    public static final String DEFAULT_CHECKPOINT_DATABASE = "admin";
+    public static final String DEFAULT_CHECKPOINT_COLLECTION = "indexRollouts";
+
+    private int maxConcurrentBuilds = DEFAULT_MAX_CONCURRENT_BUILDS;
+    private int maxBuildsPerMinute = DEFAULT_MAX_BUILDS_PER_MINUTE;
+    private CreateIndexCommitQuorum commitQuorum;
+    private long progressInterval = DEFAULT_PROGRESS_INTERVAL;
+    private String checkpointDatabase = DEFAULT_CHECKPOINT_DATABASE;
+    private String checkpointCollection = DEFAULT_CHECKPOINT_COLLECTION;
+
+    public IndexRolloutOptions() {}
+
+    public IndexRolloutOptions(IndexRolloutOptions other) {
+        this.maxConcurrentBuilds = other.maxConcurrentBuilds;
+        this.maxBuildsPerMinute = other.maxBuildsPerMinute;
+        this.commitQuorum = other.commitQuorum;
+        this.progressInterval = other.progressInterval;
+        this.checkpointDatabase = other.checkpointDatabase;
+        this.checkpointCollection = other.checkpointCollection;
+    }
+
+    public IndexRolloutOptions(JsonObject json) {
+        if (json.getValue("maxConcurrentBuilds") instanceof Number)
+            setMaxConcurrentBuilds(json.getInteger("maxConcurrentBuilds"));
+        if (json.getValue("maxBuildsPerMinute") instanceof Number)
+            setMaxBuildsPerMinute(json.getInteger("maxBuildsPerMinute"));
+        if (json.getValue("commitQuorum") != null)
+            setCommitQuorum(new CreateIndexCommitQuorumSerializer(new JsonObject().put("commitQuorum", json.getValue("commitQuorum"))).getValue());
+        if (json.getValue("progressInterval") instanceof Number)
+            setProgressInterval(json.getLong("progressInterval"));
+        if (json.getValue("checkpointDatabase") instanceof String)
+            setCheckpointDatabase(json.getString("checkpointDatabase"));
+        if (json.containsKey("checkpointCollection"))
+            setCheckpointCollection(json.getString("checkpointCollection"));
+    }
+
+    public JsonObject toJson() {
+        JsonObject result = new JsonObject()
+                .put("maxConcurrentBuilds", maxConcurrentBuilds)
+                .put("maxBuildsPerMinute", maxBuildsPerMinute)
+                .put("progressInterval", progressInterval)
+                .put("checkpointDatabase", checkpointDatabase)
+                .put("checkpointCollection", checkpointCollection);
+        if (commitQuorum != null)
+            result.put("commitQuorum", new CreateIndexCommitQuorumSerializer(commitQuorum).toJson().getValue("commitQuorum"));
+        return result;
+    }
+
+    /**
+     * @return the maximum number of collections whose indexes are built at the same time
+     */
+    public int getMaxConcurrentBuilds() {
+        return maxConcurrentBuilds;
+    }
+
+    /**
+     * @param maxConcurrentBuilds the maximum number of collections whose indexes are built at the same time
+     * @return this
+     */
+    public IndexRolloutOptions setMaxConcurrentBuilds(int maxConcurrentBuilds) {
+        if (maxConcurrentBuilds < 1)
+            throw new IllegalArgumentException("maxConcurrentBuilds must be positive");
+        this.maxConcurrentBuilds = maxConcurrentBuilds;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of builds started per minute, 0 for no limit
+     */
+    public int getMaxBuildsPerMinute() {
+        return maxBuildsPerMinute;
+    }
+
+    /**
+     * @param maxBuildsPerMinute the maximum number of builds started per minute, 0 for no limit: builds are started
+     *                           at regular intervals
+     * @return this
+     */
+    public IndexRolloutOptions setMaxBuildsPerMinute(int maxBuildsPerMinute) {
+        if (maxBuildsPerMinute < 0)
+            throw new IllegalArgumentException("maxBuildsPerMinute must be non-negative");
+        this.maxBuildsPerMinute = maxBuildsPerMinute;
+        return this;
+    }
+
+    /**
+     * @return the commit quorum of the builds, null for the default of the server
+     */
+    public CreateIndexCommitQuorum getCommitQuorum() {
+        return commitQuorum;
+    }
+
+    /**
+     * @param commitQuorum the commit quorum of the builds (MongoDB 4.4+), null for the default of the server
+     * @return this
+     */
+    public IndexRolloutOptions setCommitQuorum(CreateIndexCommitQuorum commitQuorum) {
+        this.commitQuorum = commitQuorum;
+        return this;
+    }
+
+    /**
+     * @return the interval between two reads of the progress of the running builds, in milliseconds
+     */
+    public long getProgressInterval() {
+        return progressInterval;
+    }
+
+    /**
+     * @param progressInterval the interval between two reads of the progress of the running builds with
+     *                         {@code currentOp}, in milliseconds, 0 to not read the progress
+     * @return this
+     */
+    public IndexRolloutOptions setProgressInterval(long progressInterval) {
+        if (progressInterval < 0)
+            throw new IllegalArgumentException("progressInterval must be non-negative");
+        this.progressInterval = progressInterval;
+        return this;
+    }
+
+    /**
+     * @return the database of the checkpoint collection
+     */
+    public String getCheckpointDatabase() {
+        return checkpointDatabase;
+    }
+
+    /**
+     * @param checkpointDatabase the database of the checkpoint collection
+     * @return this
+     */
+    public IndexRolloutOptions setCheckpointDatabase(String checkpointDatabase) {
+        this.checkpointDatabase = Objects.requireNonNull(checkpointDatabase, "checkpointDatabase is null");
+        return this;
+    }
+
+    /**
+     * @return the collection of the completed builds, null when rollouts are not resumable
+     */
+    public String getCheckpointCollection() {
+        return checkpointCollection;
+    }
+
+    /**
+     * @param checkpointCollection the collection of the completed builds, null when rollouts are not resumable
+     * @return this
+     */
+    public IndexRolloutOptions setCheckpointCollection(String checkpointCollection) {
+        this.checkpointCollection = checkpointCollection;
+        return this;
+    }
+}
@@ -0,0 +1,84 @@
+package io.vertx.mongo.client;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.Map;
+
+/**
+ * Progress of an index rollout.
+ */
+public class IndexRolloutProgress {
+
+    private final String id;
+    private final int total;
+    private final int skipped;
+    private final int completed;
+    private final Map<String, String> failed;
+    private final Map<String, JsonObject> running;
+
+    public IndexRolloutProgress(String id, int total, int skipped, int completed, Map<String, String> failed,
+                                Map<String, JsonObject> running) {
+        this.id = id;
+        this.total = total;
+        this.skipped = skipped;
+        this.completed = completed;
+        this.failed = failed;
+        this.running = running;
+    }
+
+    /**
+     * @return the id of the rollout
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the number of collections of the rollout
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the number of collections whose builds were completed by a previous run of the rollout
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * @return the number of collections whose builds were completed by this run
+     */
+    public int getCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return the error messages of the failed builds, by namespace: they are run again by the next run
+     */
+    public Map<String, String> getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return the running builds by namespace, with their last {@code currentOp} progress ({@code done},
+     * {@code total} and {@code msg}), empty until read
+     */
+    public Map<String, JsonObject> getRunning() {
+        return running;
+    }
+
+    /**
+     * @return the number of collections whose builds have not started
+     */
+    public int getPending() {
+        return total - skipped - completed - failed.size() - running.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d/%d completed, %d skipped, %d failed, %d running, %d pending",
+                id, completed, total, skipped, failed.size(), running.size(), getPending());
+    }
+}
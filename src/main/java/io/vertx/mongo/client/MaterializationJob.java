@@ -0,0 +1,54 @@
+package io.vertx.mongo.client;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.mongo.client.impl.MaterializationJobImpl;
+
+/**
+ * Materialization of an aggregation ending with a {@code $out} or {@code $merge} stage, run on demand.
+ * <p>The aggregation of a run is tagged with a comment: its progress is read with {@code currentOp}, and it is killed
+ * with {@code killOp} when the job is cancelled. Incremental jobs only aggregate the source documents whose timestamp
+ * is in the window between the previous run and the current one.</p>
+ */
+public interface MaterializationJob {
+
+    /**
+     * @param vertx the Vert.x instance running the timers of the job
+     * @param client the client of the source collection
+     * @param databaseName the name of the database of the source collection
+     * @param collectionName the name of the source collection
+     * @param pipeline the aggregation pipeline, ending with a {@code $out} or {@code $merge} stage
+     * @param options the materialization options
+     * @return the job
+     */
+    static MaterializationJob create(Vertx vertx, MongoClient client, String databaseName, String collectionName, JsonArray pipeline, MaterializationOptions options) {
+        return new MaterializationJobImpl(vertx, client, databaseName, collectionName, pipeline, options);
+    }
+
+    /**
+     * Runs the aggregation. The watermark of an incremental job advances when the run succeeds. It fails with a
+     * {@link java.util.concurrent.CancellationException} when the job is cancelled.
+     * @return a future of the progress of the job once the run has completed
+     */
+    Future<MaterializationProgress> run();
+
+    /**
+     * Runs the aggregation.
+     * @param resultHandler the handler called with the progress of the job once the run has completed
+     */
+    void run(Handler<AsyncResult<MaterializationProgress>> resultHandler);
+
+    /**
+     * Cancels the current run: its aggregation is killed
+     * @return a future completed once the aggregation has been killed, or immediately if there is no run
+     */
+    Future<Void> cancel();
+
+    /**
+     * @return the progress of the job
+     */
+    MaterializationProgress getProgress();
+}
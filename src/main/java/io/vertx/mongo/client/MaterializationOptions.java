@@ -0,0 +1,174 @@
+package io.vertx.mongo.client;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+import java.time.Instant;
+
+/**
+ * Materialization of an aggregation into a collection: time budget of the aggregation, polling of its progress and,
+ * for incremental refreshes, the timestamp field delimiting the windows of the source documents.
+ */
+@DataObject
+public class MaterializationOptions {
+
+    public static final long DEFAULT_PROGRESS_INTERVAL = 5000;
+    public static final long DEFAULT_REFRESH_LAG = 0;
+
+    private Long maxTime;
+    private long progressInterval = DEFAULT_PROGRESS_INTERVAL;
+    private Boolean allowDiskUse;
+    private String timestampField;
+    private long refreshLag = DEFAULT_REFRESH_LAG;
+    private Instant watermark;
+
+    public MaterializationOptions() {}
+
+    public MaterializationOptions(MaterializationOptions other) {
+        this.maxTime = other.maxTime;
+        this.progressInterval = other.progressInterval;
+        this.allowDiskUse = other.allowDiskUse;
+        this.timestampField = other.timestampField;
+        this.refreshLag = other.refreshLag;
+        this.watermark = other.watermark;
+    }
+
+    public MaterializationOptions(JsonObject json) {
+        if (json.getValue("maxTime") instanceof Number)
+            setMaxTime(json.getLong("maxTime"));
+        if (json.getValue("progressInterval") instanceof Number)
+            setProgressInterval(json.getLong("progressInterval"));
+        if (json.getValue("allowDiskUse") instanceof Boolean)
+            setAllowDiskUse(json.getBoolean("allowDiskUse"));
+        if (json.getValue("timestampField") instanceof String)
+            setTimestampField(json.getString("timestampField"));
+        if (json.getValue("refreshLag") instanceof Number)
+            setRefreshLag(json.getLong("refreshLag"));
+        if (json.getValue("watermark") instanceof String)
+            setWatermark(Instant.parse(json.getString("watermark")));
+    }
+
+    public JsonObject toJson() {
+        JsonObject result = new JsonObject()
+                .put("progressInterval", progressInterval)
+                .put("refreshLag", refreshLag);
+        if (maxTime != null)
+            result.put("maxTime", maxTime);
+        if (allowDiskUse != null)
+            result.put("allowDiskUse", allowDiskUse);
+        if (timestampField != null)
+            result.put("timestampField", timestampField);
+        if (watermark != null)
+            result.put("watermark", watermark.toString());
+        return result;
+    }
+
+    /**
+     * @return the time budget of each run, in milliseconds, null for no limit
+     */
+    public Long getMaxTime() {
+        return maxTime;
+    }
+
+    /**
+     * @param maxTime the time budget of each run, in milliseconds, null for no limit: it is the {@code maxTimeMS} of
+     *                the aggregation, the server aborts it when it is exceeded
+     * @return this
+     */
+    public MaterializationOptions setMaxTime(Long maxTime) {
+        if (maxTime != null && maxTime < 1)
+            throw new IllegalArgumentException("maxTime must be positive");
+        this.maxTime = maxTime;
+        return this;
+    }
+
+    /**
+     * @return the interval between two readings of the progress of a run with {@code currentOp}, in milliseconds
+     */
+    public long getProgressInterval() {
+        return progressInterval;
+    }
+
+    /**
+     * @param progressInterval the interval between two readings of the progress of a run with {@code currentOp}, in
+     *                         milliseconds, 0 to disable the readings
+     * @return this
+     */
+    public MaterializationOptions setProgressInterval(long progressInterval) {
+        if (progressInterval < 0)
+            throw new IllegalArgumentException("progressInterval must not be negative");
+        this.progressInterval = progressInterval;
+        return this;
+    }
+
+    /**
+     * @return whether the aggregation may write temporary files, null for the server default
+     */
+    public Boolean getAllowDiskUse() {
+        return allowDiskUse;
+    }
+
+    /**
+     * @param allowDiskUse whether the aggregation may write temporary files, null for the server default
+     * @return this
+     */
+    public MaterializationOptions setAllowDiskUse(Boolean allowDiskUse) {
+        this.allowDiskUse = allowDiskUse;
+        return this;
+    }
+
+    /**
+     * @return the date field of the source documents delimiting incremental refreshes, null to materialize all the
+     * documents on each run
+     */
+    public String getTimestampField() {
+        return timestampField;
+    }
+
+    /**
+     * @param timestampField the date field of the source documents delimiting incremental refreshes, null to
+     *                       materialize all the documents on each run. Each run only aggregates the documents
+     *                       between the watermark (excluded) and the start of the run minus the refresh lag
+     *                       (included): the pipeline must end with a {@code $merge} stage.
+     * @return this
+     */
+    public MaterializationOptions setTimestampField(String timestampField) {
+        this.timestampField = timestampField;
+        return this;
+    }
+
+    /**
+     * @return the lag of the end of the refresh windows behind the start of the runs, in milliseconds
+     */
+    public long getRefreshLag() {
+        return refreshLag;
+    }
+
+    /**
+     * @param refreshLag the lag of the end of the refresh windows behind the start of the runs, in milliseconds: it
+     *                   leaves time to the documents whose timestamps are set by their writers to be written
+     * @return this
+     */
+    public MaterializationOptions setRefreshLag(long refreshLag) {
+        if (refreshLag < 0)
+            throw new IllegalArgumentException("refreshLag must not be negative");
+        this.refreshLag = refreshLag;
+        return this;
+    }
+
+    /**
+     * @return the end of the last window already materialized, null to start with all the documents
+     */
+    public Instant getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * @param watermark the end of the last window already materialized, null to start with all the documents
+     * @return this
+     */
+    public MaterializationOptions setWatermark(Instant watermark) {
+        this.watermark = watermark;
+        return this;
+    }
+}
@@ -0,0 +1,95 @@
+package io.vertx.mongo.client;
+
+import io.vertx.core.json.JsonObject;
+
+import java.time.Instant;
+
+/**
+ * Progress of a materialization job.
+ */
+public class MaterializationProgress {
+
+    private final String comment;
+    private final boolean running;
+    private final Object opId;
+    private final long elapsedMillis;
+    private final Instant windowStart;
+    private final Instant windowEnd;
+    private final Instant watermark;
+    private final JsonObject operation;
+
+    public MaterializationProgress(String comment, boolean running, Object opId, long elapsedMillis, Instant windowStart,
+                                   Instant windowEnd, Instant watermark, JsonObject operation) {
+        this.comment = comment;
+        this.running = running;
+        this.opId = opId;
+        this.elapsedMillis = elapsedMillis;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.watermark = watermark;
+        this.operation = operation;
+    }
+
+    /**
+     * @return the comment of the aggregation of the last run, identifying it in {@code currentOp}, null before the
+     * first run
+     */
+    public String getComment() {
+        return comment;
+    }
+
+    /**
+     * @return true while a run is in progress
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return the {@code opid} of the aggregation, null until read by {@code currentOp}
+     */
+    public Object getOpId() {
+        return opId;
+    }
+
+    /**
+     * @return the duration of the last run, in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return the start (excluded) of the window of the last run, null if unbounded or if the job is not incremental
+     */
+    public Instant getWindowStart() {
+        return windowStart;
+    }
+
+    /**
+     * @return the end (included) of the window of the last run, null if the job is not incremental
+     */
+    public Instant getWindowEnd() {
+        return windowEnd;
+    }
+
+    /**
+     * @return the end of the last window materialized, the start of the window of the next run
+     */
+    public Instant getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * @return the last {@code currentOp} document of the aggregation, null until read
+     */
+    public JsonObject getOperation() {
+        return operation;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s for %d ms, window ]%s, %s], watermark %s",
+                comment, running ? "running" : "stopped", elapsedMillis, windowStart, windowEnd, watermark);
+    }
+}
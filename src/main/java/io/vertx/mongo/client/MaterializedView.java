@@ -0,0 +1,64 @@
+package io.vertx.mongo.client;
+
+import com.mongodb.MongoNamespace;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.mongo.client.impl.MaterializedViewImpl;
+
+/**
+ * Materialized view maintained incrementally from the change stream of its source collection: each change is
+ * projected into writes to the target collection, applied by batches with {@code bulkWrite}. The cost of the view
+ * follows the rate of the changes instead of the size of the source collection.
+ * <p>The resume token of the last change of each batch is checkpointed once the batch is written: a view started
+ * again with the same id resumes after it. The target collection is not built from the existing documents of the
+ * source collection: it can be built by a {@link MaterializationJob}, the view starting at its operation time
+ * ({@link MaterializedViewOptions#setStartAtOperationTime(Long)}).</p>
+ */
+public interface MaterializedView {
+
+    /**
+     * @param vertx the Vert.x instance running the timers of the view
+     * @param client the client of the source and target collections
+     * @param id the id of the view, identifying its checkpoint
+     * @param source the namespace of the source collection
+     * @param target the namespace of the target collection
+     * @param projection the projection of the changes into writes to the target collection
+     * @param options the view options
+     * @return a stopped view
+     */
+    static MaterializedView create(Vertx vertx, MongoClient client, String id, MongoNamespace source, MongoNamespace target, ViewProjection projection, MaterializedViewOptions options) {
+        return new MaterializedViewImpl(vertx, client, id, source, target, projection, options);
+    }
+
+    /**
+     * Opens the change stream of the source collection, after the checkpoint of the view if any
+     * @return a future completed once the change stream is open
+     */
+    Future<Void> start();
+
+    /**
+     * Opens the change stream of the source collection, after the checkpoint of the view if any
+     * @param resultHandler the handler called once the change stream is open
+     */
+    void start(Handler<AsyncResult<Void>> resultHandler);
+
+    /**
+     * Closes the change stream, then writes and checkpoints the pending writes
+     * @return a future completed once the pending writes are checkpointed
+     */
+    Future<Void> stop();
+
+    /**
+     * @param handler the handler called when the view stops on a failure of the change stream, of the projection or
+     *                of a write: it can be started again, from its last checkpoint
+     * @return this
+     */
+    MaterializedView exceptionHandler(Handler<Throwable> handler);
+
+    /**
+     * @return the statistics of the view
+     */
+    MaterializedViewStats getStats();
+}
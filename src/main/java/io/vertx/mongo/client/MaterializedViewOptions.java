@@ -0,0 +1,173 @@
+package io.vertx.mongo.client;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Materialized view maintained from the change stream of its source collection: filtering of the changes, batching of
+ * the writes to the target collection and checkpointing of the resume tokens.
+ */
+@DataObject
+public class MaterializedViewOptions {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final long DEFAULT_BATCH_DELAY = 100;
+    public static final String DEFAULT_CHECKPOINT_DATABASE = "admin";
+    public static final String DEFAULT_CHECKPOINT_COLLECTION = "materializedViews";
+
+    private JsonArray pipeline;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private long batchDelay = DEFAULT_BATCH_DELAY;
+    private Long startAtOperationTime;
+    private String checkpointDatabase = DEFAULT_CHECKPOINT_DATABASE;
+    private String checkpointCollection = DEFAULT_CHECKPOINT_COLLECTION;
+
+    public MaterializedViewOptions() {}
+
+    public MaterializedViewOptions(MaterializedViewOptions other) {
+        this.pipeline = other.pipeline == null ? null : other.pipeline.copy();
+        this.batchSize = other.batchSize;
+        this.batchDelay = other.batchDelay;
+        this.startAtOperationTime = other.startAtOperationTime;
+        this.checkpointDatabase = other.checkpointDatabase;
+        this.checkpointCollection = other.checkpointCollection;
+    }
+
+    public MaterializedViewOptions(JsonObject json) {
+        if (json.getValue("pipeline") instanceof JsonArray)
+            setPipeline(json.getJsonArray("pipeline"));
+        if (json.getValue("batchSize") instanceof Number)
+            setBatchSize(json.getInteger("batchSize"));
+        if (json.getValue("batchDelay") instanceof Number)
+            setBatchDelay(json.getLong("batchDelay"));
+        if (json.getValue("startAtOperationTime") instanceof Number)
+            setStartAtOperationTime(json.getLong("startAtOperationTime"));
+        if (json.getValue("checkpointDatabase") instanceof String)
+            setCheckpointDatabase(json.getString("checkpointDatabase"));
+        if (json.getValue("checkpointCollection") instanceof String)
+            setCheckpointCollection(json.getString("checkpointCollection"));
+    }
+
+    public JsonObject toJson() {
+        JsonObject result = new JsonObject()
+                .put("batchSize", batchSize)
+                .put("batchDelay", batchDelay)
+                .put("checkpointDatabase", checkpointDatabase)
+                .put("checkpointCollection", checkpointCollection);
+        if (pipeline != null)
+            result.put("pipeline", pipeline);
+        if (startAtOperationTime != null)
+            result.put("startAtOperationTime", startAtOperationTime);
+        return result;
+    }
+
+    /**
+     * @return the stages filtering the change stream, null for all the changes
+     */
+    public JsonArray getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * @param pipeline the stages filtering the change stream, such as a {@code $match} of the operation types or of
+     *                 the updated fields, null for all the changes
+     * @return this
+     */
+    public MaterializedViewOptions setPipeline(JsonArray pipeline) {
+        this.pipeline = pipeline;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of writes of a {@code bulkWrite} to the target collection
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize the maximum number of writes of a {@code bulkWrite} to the target collection, also the batch
+     *                  size of the change stream
+     * @return this
+     */
+    public MaterializedViewOptions setBatchSize(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize must be positive");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @return the maximum delay before the writes of an incomplete batch are written, in milliseconds
+     */
+    public long getBatchDelay() {
+        return batchDelay;
+    }
+
+    /**
+     * @param batchDelay the maximum delay before the writes of an incomplete batch are written, in milliseconds
+     * @return this
+     */
+    public MaterializedViewOptions setBatchDelay(long batchDelay) {
+        if (batchDelay < 1)
+            throw new IllegalArgumentException("batchDelay must be positive");
+        this.batchDelay = batchDelay;
+        return this;
+    }
+
+    /**
+     * @return the operation time from which the changes are applied when the view has no checkpoint, null for the
+     * changes after the start of the view
+     */
+    public Long getStartAtOperationTime() {
+        return startAtOperationTime;
+    }
+
+    /**
+     * @param startAtOperationTime the operation time from which the changes are applied when the view has no
+     *                             checkpoint, null for the changes after the start of the view: for instance the
+     *                             operation time of the initial build of the target collection
+     * @return this
+     */
+    public MaterializedViewOptions setStartAtOperationTime(Long startAtOperationTime) {
+        this.startAtOperationTime = startAtOperationTime;
+        return this;
+    }
+
+    /**
+     * @return the database of the checkpoint collection
+     */
+    public String getCheckpointDatabase() {
+        return checkpointDatabase;
+    }
+
+    /**
+     * @param checkpointDatabase the database of the checkpoint collection
+     * @return this
+     */
+    public MaterializedViewOptions setCheckpointDatabase(String checkpointDatabase) {
+        if (checkpointDatabase == null)
+            throw new IllegalArgumentException("checkpointDatabase must not be null");
+        this.checkpointDatabase = checkpointDatabase;
+        return this;
+    }
+
+    /**
+     * @return the collection holding the resume tokens of the views, by view id
+     */
+    public String getCheckpointCollection() {
+        return checkpointCollection;
+    }
+
+    /**
+     * @param checkpointCollection the collection holding the resume tokens of the views, by view id
+     * @return this
+     */
+    public MaterializedViewOptions setCheckpointCollection(String checkpointCollection) {
+        if (checkpointCollection == null)
+            throw new IllegalArgumentException("checkpointCollection must not be null");
+        this.checkpointCollection = checkpointCollection;
+        return this;
+    }
+}
@@ -0,0 +1,63 @@
+package io.vertx.mongo.client;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Statistics of a materialized view since its start.
+ */
+public class MaterializedViewStats {
+
+    private final long changes;
+    private final long writes;
+    private final long batches;
+    private final int pendingWrites;
+    private final JsonObject resumeToken;
+
+    public MaterializedViewStats(long changes, long writes, long batches, int pendingWrites, JsonObject resumeToken) {
+        this.changes = changes;
+        this.writes = writes;
+        this.batches = batches;
+        this.pendingWrites = pendingWrites;
+        this.resumeToken = resumeToken;
+    }
+
+    /**
+     * @return the number of changes received from the change stream
+     */
+    public long getChanges() {
+        return changes;
+    }
+
+    /**
+     * @return the number of writes applied to the target collection
+     */
+    public long getWrites() {
+        return writes;
+    }
+
+    /**
+     * @return the number of batches applied to the target collection, each followed by a checkpoint
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return the number of writes waiting for their batch
+     */
+    public int getPendingWrites() {
+        return pendingWrites;
+    }
+
+    /**
+     * @return the resume token of the last checkpoint, null if none
+     */
+    public JsonObject getResumeToken() {
+        return resumeToken;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("changes: %d, writes: %d, batches: %d, pending writes: %d", changes, writes, batches, pendingWrites);
+    }
+}
@@ -0,0 +1,19 @@
+package io.vertx.mongo.client;
+
+/**
+ * Class of a collection operation, for concurrency limits
+ */
+public enum OperationClass {
+    /**
+     * {@code find}, {@code aggregate}, {@code countDocuments}, {@code distinct}, ...
+     */
+    READ,
+    /**
+     * inserts, updates, deletes, replacements and bulk writes
+     */
+    WRITE,
+    /**
+     * index management, drop and rename of the collection
+     */
+    ADMIN
+}
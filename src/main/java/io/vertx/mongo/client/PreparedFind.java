@@ -0,0 +1,45 @@
+package io.vertx.mongo.client;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.MongoResult;
+import io.vertx.mongo.impl.BsonTemplate;
+
+import java.util.Set;
+
+/**
+ * Find whose filter, projection and sort are encoded to BSON once, when the find is prepared by
+ * {@link MongoCollection#prepare(JsonObject, FindOptions)}. Values that change from one execution to the other are
+ * placeholders ({@link #param(String)}): an execution only encodes their values, and substitutes them in the encoded
+ * documents.
+ * <pre>
+ * PreparedFind&lt;JsonObject&gt; find = collection.prepare(
+ *   new JsonObject().put("tenant", PreparedFind.param("tenant")).put("status", "active"),
+ *   new FindOptions().setSort(new JsonObject().put("date", -1)).setLimit(10));
+ * find.find(new JsonObject().put("tenant", "acme")).all();
+ * </pre>
+ * <p>The options are read when the find is prepared: changing them afterwards has no effect.</p>
+ * @param <TDocument> type of the documents
+ */
+public interface PreparedFind<TDocument> {
+
+    /**
+     * @param name the name of the parameter
+     * @return a placeholder for the value of the parameter, replacing a whole value of the filter, the projection or
+     * the sort
+     */
+    static JsonObject param(String name) {
+        return BsonTemplate.param(name);
+    }
+
+    /**
+     * @return the names of the parameters of the find
+     */
+    Set<String> getParameters();
+
+    /**
+     * Executes the find. It fails with an {@link IllegalArgumentException} when a parameter has no value.
+     * @param params the values of the placeholders
+     * @return a result containing the found documents
+     */
+    MongoResult<TDocument> find(JsonObject params);
+}
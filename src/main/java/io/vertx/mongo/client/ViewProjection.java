@@ -0,0 +1,57 @@
+package io.vertx.mongo.client;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.client.model.DeleteOneModel;
+import io.vertx.mongo.client.model.ReplaceOneModel;
+import io.vertx.mongo.client.model.ReplaceOptions;
+import io.vertx.mongo.client.model.WriteModel;
+import io.vertx.mongo.client.model.changestream.ChangeStreamDocument;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Projection of the changes of the source collection of a {@link MaterializedView} into writes to its target
+ * collection.
+ * <p>Changes are applied at least once: after a failure or a restart, the changes following the last checkpoint are
+ * projected again. Reductions (such as {@code $inc} updates of aggregates) must tolerate it.</p>
+ */
+@FunctionalInterface
+public interface ViewProjection {
+
+    /**
+     * A projection keeping one target document per source document, with the same {@code _id}: inserted, updated and
+     * replaced documents are projected and upserted, deleted documents are deleted.
+     * @param projection the projection of a source document, returning null to delete its target document
+     * @return the view projection
+     */
+    static ViewProjection of(Function<JsonObject, JsonObject> projection) {
+        Objects.requireNonNull(projection, "projection is null");
+        return change -> {
+            JsonObject id = new JsonObject().put("_id", change.getDocumentKey().getValue("_id"));
+            switch (change.getOperationType()) {
+                case INSERT:
+                case UPDATE:
+                case REPLACE:
+                    // the full document of an update is null when the document has been deleted since
+                    JsonObject document = change.getFullDocument() == null ? null : projection.apply(change.getFullDocument());
+                    if (document == null)
+                        return Collections.singletonList(new DeleteOneModel<>(id));
+                    document = document.copy().put("_id", id.getValue("_id"));
+                    return Collections.singletonList(new ReplaceOneModel<>(id, document, new ReplaceOptions().setUpsert(true)));
+                case DELETE:
+                    return Collections.singletonList(new DeleteOneModel<>(id));
+                default:
+                    return Collections.emptyList();
+            }
+        };
+    }
+
+    /**
+     * @param change a change of the source collection, with its full document for inserts, updates and replacements
+     * @return the writes to apply to the target collection, null or empty if none
+     */
+    List<WriteModel<JsonObject>> project(ChangeStreamDocument<JsonObject> change);
+}
@@ -0,0 +1,84 @@
+package io.vertx.mongo.client.impl;
+
+import io.vertx.core.Future;
+import io.vertx.mongo.client.ClientSession;
+import io.vertx.mongo.client.MongoClient;
+import io.vertx.mongo.impl.MongoClientContext;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of idle client sessions used by {@code MongoClient.withTransaction}.
+ * <p>Sessions idle for too long are discarded since the server expires sessions after 30 minutes of inactivity.</p>
+ */
+class ClientSessionPool {
+
+    private static final long MAX_IDLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private static final class IdleSession {
+        private final ClientSession session;
+        private final long releasedAt;
+
+        private IdleSession(ClientSession session, long releasedAt) {
+            this.session = session;
+            this.releasedAt = releasedAt;
+        }
+    }
+
+    private final MongoClient client;
+    private final MongoClientContext clientContext;
+    private final int maxIdle;
+    private final ConcurrentLinkedDeque<IdleSession> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private volatile boolean closed;
+
+    ClientSessionPool(MongoClient client, MongoClientContext clientContext, int maxIdle) {
+        this.client = client;
+        this.clientContext = clientContext;
+        this.maxIdle = maxIdle;
+    }
+
+    Future<ClientSession> acquire() {
+        long now = System.nanoTime();
+        IdleSession candidate;
+        // most recently released sessions first: the least recently released ones are left to expire
+        while ((candidate = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            if (now - candidate.releasedAt < MAX_IDLE_NANOS)
+                return Future.succeededFuture(candidate.session);
+            discard(candidate.session);
+        }
+        return client.startSession();
+    }
+
+    void release(ClientSession session) {
+        if (closed || session.hasActiveTransaction()) {
+            discard(session);
+            return;
+        }
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            discard(session);
+            return;
+        }
+        idle.addFirst(new IdleSession(session, System.nanoTime()));
+        // the pool may have been closed concurrently
+        if (closed)
+            close();
+    }
+
+    void discard(ClientSession session) {
+        session.toDriverClass(clientContext).close();
+    }
+
+    void close() {
+        closed = true;
+        IdleSession candidate;
+        while ((candidate = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            discard(candidate.session);
+        }
+    }
+}
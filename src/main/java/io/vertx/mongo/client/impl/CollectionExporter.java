@@ -0,0 +1,163 @@
+package io.vertx.mongo.client.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.mongo.client.DataFormat;
+import io.vertx.mongo.client.ExportOptions;
+import io.vertx.mongo.codec.ExtendedJsonTranscoder;
+import org.bson.RawBsonDocument;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Export of a stream of raw BSON documents to NDJSON or CSV. Batches of documents are encoded on worker threads, and
+ * written in order: the documents are paused while {@code parallelism} batches are encoded or while the write queue
+ * of the output is full.
+ * <p>All the methods are called on the context of the client.</p>
+ */
+class CollectionExporter {
+
+    private final Context context;
+    private final ReadStream<Buffer> documents;
+    private final WriteStream<Buffer> output;
+    private final ExportOptions options;
+    private final ExtendedJsonTranscoder transcoder;
+    private final Promise<Long> promise;
+    private final ArrayDeque<Future<Buffer>> encoding = new ArrayDeque<>();
+    private List<Buffer> batch;
+    private long count;
+    private boolean paused;
+    private boolean ended;
+
+    CollectionExporter(Context context, ReadStream<Buffer> documents, WriteStream<Buffer> output, ExportOptions options) {
+        if (options.getFormat() == DataFormat.CSV && (options.getFields() == null || options.getFields().isEmpty()))
+            throw new IllegalArgumentException("fields are required to export CSV");
+        this.context = context;
+        this.documents = documents;
+        this.output = output;
+        this.options = options;
+        this.transcoder = options.isCanonical() ? ExtendedJsonTranscoder.canonical() : ExtendedJsonTranscoder.relaxed();
+        this.promise = Promise.promise();
+        this.batch = new ArrayList<>(options.getBatchSize());
+    }
+
+    Future<Long> start() {
+        if (options.getFormat() == DataFormat.CSV && options.isHeader()) {
+            StringBuilder header = new StringBuilder();
+            for (String field : options.getFields()) {
+                if (header.length() > 0)
+                    header.append(',');
+                CsvFormat.appendText(header, field);
+            }
+            output.write(Buffer.buffer(header.append('\n').toString()));
+        }
+        output.exceptionHandler(this::fail);
+        documents.exceptionHandler(this::fail);
+        documents.endHandler(v -> {
+            ended = true;
+            if (!batch.isEmpty())
+                encode();
+            flush();
+        });
+        documents.handler(this::handle);
+        return promise.future();
+    }
+
+    private void handle(Buffer document) {
+        batch.add(document);
+        count++;
+        if (batch.size() >= options.getBatchSize())
+            encode();
+    }
+
+    private void encode() {
+        List<Buffer> buffers = batch;
+        batch = new ArrayList<>(options.getBatchSize());
+        Future<Buffer> text = context.executeBlocking(p -> p.complete(encode(buffers)), false);
+        encoding.add(text);
+        text.onComplete(ar -> flush());
+        updateFlow();
+    }
+
+    private Buffer encode(List<Buffer> buffers) {
+        if (options.getFormat() == DataFormat.NDJSON) {
+            int size = 0;
+            for (Buffer document : buffers)
+                size += document.length();
+            Buffer json = Buffer.buffer(size * 2);
+            for (Buffer document : buffers) {
+                transcoder.appendTo(document, json);
+                json.appendByte((byte) '\n');
+            }
+            return json;
+        }
+        StringBuilder lines = new StringBuilder();
+        List<String> fields = options.getFields();
+        for (Buffer document : buffers) {
+            RawBsonDocument raw = new RawBsonDocument(document.getBytes());
+            for (int i = 0; i < fields.size(); i++) {
+                if (i > 0)
+                    lines.append(',');
+                CsvFormat.appendValue(lines, CsvFormat.get(raw, fields.get(i)));
+            }
+            lines.append('\n');
+        }
+        return Buffer.buffer(lines.toString());
+    }
+
+    /**
+     * Writes the encoded batches, in order
+     */
+    private void flush() {
+        if (promise.future().isComplete())
+            return;
+        while (!encoding.isEmpty() && encoding.peek().isComplete()) {
+            Future<Buffer> encoded = encoding.poll();
+            if (encoded.failed()) {
+                fail(encoded.cause());
+                return;
+            }
+            output.write(encoded.result());
+        }
+        if (ended && encoding.isEmpty()) {
+            output.end().onComplete(ar -> {
+                if (ar.succeeded())
+                    promise.tryComplete(count);
+                else
+                    promise.tryFail(ar.cause());
+            });
+            return;
+        }
+        updateFlow();
+    }
+
+    private void updateFlow() {
+        if (ended)
+            return;
+        boolean writeQueueFull = output.writeQueueFull();
+        if (encoding.size() >= options.getParallelism() || writeQueueFull) {
+            if (!paused) {
+                paused = true;
+                documents.pause();
+            }
+            if (writeQueueFull)
+                output.drainHandler(v -> updateFlow());
+        } else if (paused) {
+            paused = false;
+            documents.resume();
+        }
+    }
+
+    private void fail(Throwable cause) {
+        if (promise.tryFail(cause)) {
+            documents.handler(null);
+            documents.pause();
+        }
+    }
+}
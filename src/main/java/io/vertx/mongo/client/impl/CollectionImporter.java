@@ -0,0 +1,223 @@
+package io.vertx.mongo.client.impl;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.mongo.client.DataFormat;
+import io.vertx.mongo.client.ImportMode;
+import io.vertx.mongo.client.ImportOptions;
+import io.vertx.mongo.client.ImportResult;
+import io.vertx.mongo.impl.MongoClientContext;
+import io.vertx.mongo.impl.PublisherDecorator;
+import io.vertx.mongo.impl.SingleResultSubscriber;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.json.JsonParseException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Import of a stream of NDJSON or CSV text into a collection. The input is split into records on the event loop, and
+ * batches of records are parsed on worker threads then written with one unordered operation: the input is paused while
+ * {@code parallelism} batches are parsed or written.
+ * <p>All the methods but the parsing are called on the context of the client.</p>
+ */
+class CollectionImporter {
+
+    private final MongoClientContext clientContext;
+    private final MongoCollection<BsonDocument> collection;
+    private final PublisherDecorator decorator;
+    private final ReadStream<Buffer> input;
+    private final ImportOptions options;
+    private final boolean csv;
+    private final Promise<ImportResult> promise;
+    private List<String> fields;
+    private boolean skipHeader;
+    private Buffer pending = Buffer.buffer();
+    private int scanned;
+    private boolean quoted;
+    private List<Buffer> batch;
+    private long records;
+    private int writing;
+    private boolean paused;
+    private boolean ended;
+    private long documents;
+    private long inserted;
+    private long matched;
+    private long modified;
+    private long upserted;
+
+    CollectionImporter(MongoClientContext clientContext, MongoCollection<BsonDocument> collection, PublisherDecorator decorator,
+                       ReadStream<Buffer> input, ImportOptions options) {
+        this.csv = options.getFormat() == DataFormat.CSV;
+        if (csv && options.getFields() == null && !options.isHeaderLine())
+            throw new IllegalArgumentException("fields are required to import CSV without header line");
+        this.clientContext = clientContext;
+        this.collection = collection;
+        this.decorator = decorator;
+        this.input = input;
+        this.options = options;
+        this.promise = Promise.promise();
+        this.fields = options.getFields();
+        this.skipHeader = csv && options.isHeaderLine();
+        this.batch = new ArrayList<>(options.getBatchSize());
+    }
+
+    Future<ImportResult> start() {
+        input.exceptionHandler(this::fail);
+        input.endHandler(v -> {
+            if (pending.length() > 0)
+                record(pending);
+            ended = true;
+            if (!batch.isEmpty())
+                write();
+            completeIfDone();
+        });
+        input.handler(this::handle);
+        return promise.future();
+    }
+
+    /**
+     * Splits the input into records: line breaks of quoted CSV values do not end the records
+     */
+    private void handle(Buffer chunk) {
+        pending.appendBuffer(chunk);
+        int start = 0;
+        int length = pending.length();
+        for (int i = scanned; i < length; i++) {
+            byte b = pending.getByte(i);
+            if (b == '"' && csv) {
+                quoted = !quoted;
+            } else if (b == '\n' && !quoted) {
+                record(pending.getBuffer(start, i));
+                start = i + 1;
+            }
+        }
+        if (start > 0)
+            pending = pending.getBuffer(start, length);
+        scanned = pending.length();
+    }
+
+    private void record(Buffer record) {
+        if (promise.future().isComplete())
+            return;
+        if (skipHeader) {
+            skipHeader = false;
+            if (fields == null)
+                fields = CsvFormat.parse(record.toString(StandardCharsets.UTF_8));
+            return;
+        }
+        batch.add(record);
+        if (batch.size() >= options.getBatchSize())
+            write();
+    }
+
+    private void write() {
+        List<Buffer> buffers = batch;
+        long firstRecord = records;
+        records += buffers.size();
+        batch = new ArrayList<>(options.getBatchSize());
+        writing++;
+        updateFlow();
+        Future<List<BsonDocument>> parsed = clientContext.getContext().executeBlocking(p -> p.complete(parse(buffers, firstRecord)), false);
+        parsed.compose(this::write).onComplete(ar -> {
+            writing--;
+            if (ar.failed()) {
+                fail(ar.cause());
+                return;
+            }
+            updateFlow();
+            completeIfDone();
+        });
+    }
+
+    private List<BsonDocument> parse(List<Buffer> buffers, long firstRecord) {
+        List<BsonDocument> result = new ArrayList<>(buffers.size());
+        for (int i = 0; i < buffers.size(); i++) {
+            String record = buffers.get(i).toString(StandardCharsets.UTF_8);
+            if (record.trim().isEmpty())
+                continue;
+            try {
+                result.add(csv ? CsvFormat.toDocument(fields, CsvFormat.parse(record), options.isIgnoreBlanks()) : BsonDocument.parse(record));
+            } catch (JsonParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("invalid record " + (firstRecord + i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return result;
+    }
+
+    private Future<Void> write(List<BsonDocument> batch) {
+        if (batch.isEmpty())
+            return Future.succeededFuture();
+        if (options.getMode() == ImportMode.INSERT) {
+            Promise<InsertManyResult> written = clientContext.getVertx().promise();
+            decorator.decorate(collection.insertMany(batch, new InsertManyOptions().ordered(false)))
+                    .subscribe(new SingleResultSubscriber<>(clientContext, written));
+            return written.future().map(result -> {
+                documents += batch.size();
+                inserted += batch.size();
+                return null;
+            });
+        }
+        List<WriteModel<BsonDocument>> requests = new ArrayList<>(batch.size());
+        ReplaceOptions upsert = new ReplaceOptions().upsert(true);
+        for (BsonDocument document : batch) {
+            BsonDocument filter = new BsonDocument();
+            for (String field : options.getUpsertFields()) {
+                BsonValue value = CsvFormat.get(document, field);
+                if (value != null)
+                    filter.put(field, value);
+            }
+            requests.add(filter.isEmpty() ? new InsertOneModel<>(document) : new ReplaceOneModel<>(filter, document, upsert));
+        }
+        Promise<BulkWriteResult> written = clientContext.getVertx().promise();
+        decorator.decorate(collection.bulkWrite(requests, new BulkWriteOptions().ordered(false)))
+                .subscribe(new SingleResultSubscriber<>(clientContext, written));
+        return written.future().map(result -> {
+            documents += batch.size();
+            inserted += result.getInsertedCount();
+            matched += result.getMatchedCount();
+            modified += result.getModifiedCount();
+            upserted += result.getUpserts().size();
+            return null;
+        });
+    }
+
+    private void updateFlow() {
+        if (ended)
+            return;
+        if (writing >= options.getParallelism()) {
+            if (!paused) {
+                paused = true;
+                input.pause();
+            }
+        } else if (paused) {
+            paused = false;
+            input.resume();
+        }
+    }
+
+    private void completeIfDone() {
+        if (ended && writing == 0)
+            promise.tryComplete(new ImportResult(documents, inserted, matched, modified, upserted));
+    }
+
+    private void fail(Throwable cause) {
+        if (promise.tryFail(cause)) {
+            input.handler(null);
+            input.pause();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package io.vertx.mongo.client.impl;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.AsyncCompletionHandler;
+import com.mongodb.connection.AsynchronousSocketChannelStreamFactoryFactory;
+import com.mongodb.connection.SocketSettings;
+import com.mongodb.connection.SslSettings;
+import com.mongodb.connection.Stream;
+import com.mongodb.connection.StreamFactory;
+import com.mongodb.connection.StreamFactoryFactory;
+import com.mongodb.connection.TlsChannelStreamFactoryFactory;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.vertx.mongo.client.CompressionStats;
+import org.bson.ByteBuf;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the wire sizes of the messages, per command name.
+ * <p>Streams are wrapped to read the headers of the messages: the size of an {@code OP_COMPRESSED} message is its
+ * compressed size, and its header gives the uncompressed size. Messages are matched to commands with their request id,
+ * which is given by the command started events.</p>
+ */
+class CompressionStatsCollector implements CommandListener, StreamFactoryFactory {
+
+    private static final int HEADER_LENGTH = 16;
+    private static final int OP_COMPRESSED = 2012;
+
+    private static class Operation {
+        final LongAdder count = new LongAdder();
+        final LongAdder compressedBytesSent = new LongAdder();
+        final LongAdder uncompressedBytesSent = new LongAdder();
+        final LongAdder compressedBytesReceived = new LongAdder();
+        final LongAdder uncompressedBytesReceived = new LongAdder();
+        final LongAdder encodingNanos = new LongAdder();
+        final LongAdder decodingNanos = new LongAdder();
+    }
+
+    /**
+     * A command between its started event and its succeeded or failed event
+     */
+    private static class PendingCommand {
+        final String name;
+        final long startedAt;
+        volatile long sentAt;
+        volatile long receivedAt;
+        volatile int compressedBytesSent;
+        volatile int uncompressedBytesSent;
+        volatile int compressedBytesReceived;
+        volatile int uncompressedBytesReceived;
+
+        PendingCommand(String name, long startedAt) {
+            this.name = name;
+            this.startedAt = startedAt;
+        }
+    }
+
+    private final StreamFactoryFactory streamFactoryFactory;
+    private final Map<Integer, PendingCommand> pendingCommands = new ConcurrentHashMap<>();
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private TlsChannelStreamFactoryFactory tlsStreamFactoryFactory;
+
+    /**
+     * @param streamFactoryFactory the stream factory factory of the settings, null for the default one
+     */
+    CompressionStatsCollector(StreamFactoryFactory streamFactoryFactory) {
+        this.streamFactoryFactory = streamFactoryFactory;
+    }
+
+    Map<String, CompressionStats> getStats() {
+        Map<String, CompressionStats> result = new TreeMap<>();
+        operations.forEach((name, operation) -> result.put(name, new CompressionStats(name,
+                operation.count.sum(),
+                operation.compressedBytesSent.sum(),
+                operation.uncompressedBytesSent.sum(),
+                operation.compressedBytesReceived.sum(),
+                operation.uncompressedBytesReceived.sum(),
+                operation.encodingNanos.sum(),
+                operation.decodingNanos.sum())));
+        return result;
+    }
+
+    synchronized void close() {
+        if (tlsStreamFactoryFactory != null)
+            tlsStreamFactoryFactory.close();
+    }
+
+    @Override
+    public StreamFactory create(SocketSettings socketSettings, SslSettings sslSettings) {
+        StreamFactory streamFactory;
+        if (streamFactoryFactory != null) {
+            streamFactory = streamFactoryFactory.create(socketSettings, sslSettings);
+        } else if (sslSettings.isEnabled()) {
+            // same defaults as the driver
+            synchronized (this) {
+                if (tlsStreamFactoryFactory == null)
+                    tlsStreamFactoryFactory = new TlsChannelStreamFactoryFactory();
+            }
+            streamFactory = tlsStreamFactoryFactory.create(socketSettings, sslSettings);
+        } else {
+            streamFactory = AsynchronousSocketChannelStreamFactoryFactory.builder().build().create(socketSettings, sslSettings);
+        }
+        return serverAddress -> new StatsStream(streamFactory.create(serverAddress));
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        pendingCommands.put(event.getRequestId(), new PendingCommand(event.getCommandName(), System.nanoTime()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        completed(event.getRequestId());
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        completed(event.getRequestId());
+    }
+
+    private void completed(int requestId) {
+        PendingCommand command = pendingCommands.remove(requestId);
+        if (command == null || command.sentAt == 0)
+            return;
+        Operation operation = operations.computeIfAbsent(command.name, name -> new Operation());
+        operation.count.increment();
+        operation.compressedBytesSent.add(command.compressedBytesSent);
+        operation.uncompressedBytesSent.add(command.uncompressedBytesSent);
+        operation.encodingNanos.add(command.sentAt - command.startedAt);
+        if (command.receivedAt != 0) {
+            operation.compressedBytesReceived.add(command.compressedBytesReceived);
+            operation.uncompressedBytesReceived.add(command.uncompressedBytesReceived);
+            operation.decodingNanos.add(System.nanoTime() - command.receivedAt);
+        }
+    }
+
+    /**
+     * @return the little endian int at the offset of the buffers, without moving their positions
+     */
+    private static int intAt(List<ByteBuf> buffers, int offset) {
+        int result = 0;
+        int shift = 0;
+        for (ByteBuf buffer : buffers) {
+            int remaining = buffer.remaining();
+            while (offset < remaining && shift < 32) {
+                result |= (buffer.get(buffer.position() + offset) & 0xFF) << shift;
+                shift += 8;
+                offset++;
+            }
+            if (shift == 32)
+                return result;
+            offset -= remaining;
+        }
+        throw new IllegalArgumentException("buffers are too short");
+    }
+
+    private static int intAt(ByteBuf buffer, int offset) {
+        int position = buffer.position() + offset;
+        return (buffer.get(position) & 0xFF)
+                | (buffer.get(position + 1) & 0xFF) << 8
+                | (buffer.get(position + 2) & 0xFF) << 16
+                | (buffer.get(position + 3) & 0xFF) << 24;
+    }
+
+    /**
+     * Stream reading the headers of the messages. Reads of a connection are sequential: a header read is followed by
+     * the read of the body of the message.
+     */
+    private class StatsStream implements Stream {
+
+        private final Stream delegate;
+        // header of the message whose body is being read, null when a header is expected
+        private int[] header;
+
+        StatsStream(Stream delegate) {
+            this.delegate = delegate;
+        }
+
+        private void written(List<ByteBuf> buffers) {
+            int messageLength = intAt(buffers, 0);
+            PendingCommand command = pendingCommands.get(intAt(buffers, 4));
+            if (command == null)
+                return;
+            boolean compressed = intAt(buffers, 12) == OP_COMPRESSED;
+            command.compressedBytesSent = messageLength;
+            command.uncompressedBytesSent = compressed ? HEADER_LENGTH + intAt(buffers, HEADER_LENGTH + 4) : messageLength;
+            command.sentAt = System.nanoTime();
+        }
+
+        private void read(ByteBuf buffer) {
+            if (header == null) {
+                if (buffer.remaining() >= HEADER_LENGTH)
+                    header = new int[]{intAt(buffer, 0), intAt(buffer, 8), intAt(buffer, 12)};
+                return;
+            }
+            int messageLength = header[0];
+            PendingCommand command = pendingCommands.get(header[1]);
+            boolean compressed = header[2] == OP_COMPRESSED;
+            header = null;
+            if (command == null)
+                return;
+            command.compressedBytesReceived = messageLength;
+            command.uncompressedBytesReceived = compressed ? HEADER_LENGTH + intAt(buffer, 4) : messageLength;
+            command.receivedAt = System.nanoTime();
+        }
+
+        @Override
+        public void open() throws IOException {
+            delegate.open();
+        }
+
+        @Override
+        public void openAsync(AsyncCompletionHandler<Void> handler) {
+            delegate.openAsync(handler);
+        }
+
+        @Override
+        public void write(List<ByteBuf> buffers) throws IOException {
+            written(buffers);
+            delegate.write(buffers);
+        }
+
+        @Override
+        public ByteBuf read(int numBytes) throws IOException {
+            ByteBuf buffer = delegate.read(numBytes);
+            read(buffer);
+            return buffer;
+        }
+
+        @Override
+        public boolean supportsAdditionalTimeout() {
+            return delegate.supportsAdditionalTimeout();
+        }
+
+        @Override
+        public ByteBuf read(int numBytes, int additionalTimeout) throws IOException {
+            ByteBuf buffer = delegate.read(numBytes, additionalTimeout);
+            read(buffer);
+            return buffer;
+        }
+
+        @Override
+        public void writeAsync(List<ByteBuf> buffers, AsyncCompletionHandler<Void> handler) {
+            // the message is complete before the write: buffers are released once written
+            written(buffers);
+            delegate.writeAsync(buffers, handler);
+        }
+
+        @Override
+        public void readAsync(int numBytes, AsyncCompletionHandler<ByteBuf> handler) {
+            delegate.readAsync(numBytes, new AsyncCompletionHandler<ByteBuf>() {
+                @Override
+                public void completed(ByteBuf buffer) {
+                    read(buffer);
+                    handler.completed(buffer);
+                }
+
+                @Override
+                public void failed(Throwable t) {
+                    header = null;
+                    handler.failed(t);
+                }
+            });
+        }
+
+        @Override
+        public ServerAddress getAddress() {
+            return delegate.getAddress();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return delegate.isClosed();
+        }
+
+        @Override
+        public ByteBuf getBuffer(int size) {
+            return delegate.getBuffer(size);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package io.vertx.mongo.client.impl;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV records (RFC 4180) of the exports and imports of collections, with dotted paths as field names.
+ */
+final class CsvFormat {
+
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+
+    private CsvFormat() {}
+
+    /**
+     * @return the value at the dotted path, null if it is missing
+     */
+    static BsonValue get(BsonDocument document, String path) {
+        BsonValue value = document;
+        int start = 0;
+        while (value != null && start <= path.length()) {
+            int end = path.indexOf('.', start);
+            if (end == -1)
+                end = path.length();
+            String name = path.substring(start, end);
+            if (value.isDocument()) {
+                value = value.asDocument().get(name);
+            } else if (value.isArray()) {
+                BsonArray array = value.asArray();
+                int index = parseIndex(name);
+                value = index >= 0 && index < array.size() ? array.get(index) : null;
+            } else {
+                value = null;
+            }
+            start = end + 1;
+        }
+        return value;
+    }
+
+    private static int parseIndex(String name) {
+        if (name.isEmpty() || name.length() > 9)
+            return -1;
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) < '0' || name.charAt(i) > '9')
+                return -1;
+        }
+        return Integer.parseInt(name);
+    }
+
+    /**
+     * Puts a value at a dotted path, creating the embedded documents
+     */
+    static void put(BsonDocument document, String path, BsonValue value) {
+        int start = 0;
+        int end;
+        while ((end = path.indexOf('.', start)) != -1) {
+            String name = path.substring(start, end);
+            BsonValue embedded = document.get(name);
+            if (embedded == null || !embedded.isDocument()) {
+                embedded = new BsonDocument();
+                document.put(name, embedded);
+            }
+            document = embedded.asDocument();
+            start = end + 1;
+        }
+        document.put(path.substring(start), value);
+    }
+
+    /**
+     * Strings, object ids and dates are written as is, other values as relaxed Extended JSON, missing and null values
+     * as empty values
+     */
+    static void appendValue(StringBuilder line, BsonValue value) {
+        String text;
+        if (value == null || value.isNull())
+            return;
+        if (value.isString())
+            text = value.asString().getValue();
+        else if (value.isObjectId())
+            text = value.asObjectId().getValue().toHexString();
+        else if (value.isDateTime())
+            text = Instant.ofEpochMilli(value.asDateTime().getValue()).toString();
+        else if (value.isInt32())
+            text = Integer.toString(value.asInt32().getValue());
+        else if (value.isInt64())
+            text = Long.toString(value.asInt64().getValue());
+        else if (value.isDouble())
+            text = Double.toString(value.asDouble().getValue());
+        else if (value.isBoolean())
+            text = Boolean.toString(value.asBoolean().getValue());
+        else
+            text = toJson(value);
+        appendText(line, text);
+    }
+
+    private static String toJson(BsonValue value) {
+        if (value.isDocument())
+            return value.asDocument().toJson(JSON_SETTINGS);
+        // a value is only written as JSON as the value of a field
+        String json = new BsonDocument("v", value).toJson(JSON_SETTINGS);
+        return json.substring(json.indexOf(':') + 1, json.length() - 1).trim();
+    }
+
+    static void appendText(StringBuilder line, String text) {
+        boolean quoted = false;
+        for (int i = 0; i < text.length() && !quoted; i++) {
+            char c = text.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            line.append(text);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"')
+                line.append('"');
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * @param record a record, with or without its line break
+     * @return the values of the record
+     */
+    static List<String> parse(String record) {
+        int length = record.length();
+        if (length > 0 && record.charAt(length - 1) == '\n')
+            length--;
+        if (length > 0 && record.charAt(length - 1) == '\r')
+            length--;
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < length; i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < length && record.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted)
+            throw new IllegalArgumentException("unterminated quoted value");
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * @return a document of string values, empty values being skipped if {@code ignoreBlanks} is true
+     */
+    static BsonDocument toDocument(List<String> fields, List<String> values, boolean ignoreBlanks) {
+        BsonDocument document = new BsonDocument();
+        int size = Math.min(fields.size(), values.size());
+        for (int i = 0; i < size; i++) {
+            String value = values.get(i);
+            if (!(ignoreBlanks && value.isEmpty()))
+                put(document, fields.get(i), new BsonString(value));
+        }
+        return document;
+    }
+}
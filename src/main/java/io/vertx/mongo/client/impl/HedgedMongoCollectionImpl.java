@@ -0,0 +1,146 @@
+package io.vertx.mongo.client.impl;
+
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.MongoCollectionResult;
+import io.vertx.mongo.MongoResult;
+import io.vertx.mongo.client.AggregateOptions;
+import io.vertx.mongo.client.FindOptions;
+import io.vertx.mongo.client.HedgeOptions;
+import io.vertx.mongo.client.OperationClass;
+import io.vertx.mongo.client.model.CountOptions;
+import io.vertx.mongo.impl.ConcurrencyLimiter;
+import io.vertx.mongo.impl.HedgePolicy;
+import io.vertx.mongo.impl.HedgedPublisher;
+import io.vertx.mongo.impl.MongoClientContext;
+import io.vertx.mongo.impl.MongoResultImpl;
+import io.vertx.mongo.impl.SingleResultSubscriber;
+import org.bson.conversions.Bson;
+import org.reactivestreams.Publisher;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collection hedging its {@code find}, {@code aggregate} and {@code countDocuments} reads. Reads of a session are not
+ * hedged, neither are aggregations ending with an output stage.
+ * <p>The collections derived from a hedged collection ({@code withReadPreference}, {@code withDocumentClass}...) are
+ * hedged with the same policy.</p>
+ */
+public class HedgedMongoCollectionImpl<TDocument> extends MongoCollectionImpl<TDocument> {
+
+    private final MongoCollectionImpl<TDocument> hedge;
+    private final MongoCollection<TDocument> hedgeWrapped;
+    private final HedgeOptions options;
+    private final HedgePolicy policy;
+
+    public HedgedMongoCollectionImpl(MongoClientContext clientContext, MongoCollection<TDocument> wrapped, Class<TDocument> clazz, HedgeOptions options) {
+        this(clientContext, wrapped, clazz, options, new HedgePolicy(clientContext.getVertx(), requireNonNull(options, "options is null")));
+    }
+
+    private HedgedMongoCollectionImpl(MongoClientContext clientContext, MongoCollection<TDocument> wrapped, Class<TDocument> clazz, HedgeOptions options, HedgePolicy policy) {
+        super(clientContext, wrapped, clazz);
+        this.hedgeWrapped = options.getReadPreference() == null ? wrapped : wrapped.withReadPreference(options.getReadPreference());
+        this.hedge = new MongoCollectionImpl<>(clientContext, hedgeWrapped, clazz);
+        this.options = options;
+        this.policy = policy;
+    }
+
+    @Override
+    protected <NewTDocument> MongoCollectionBase<NewTDocument> derive(MongoCollection<NewTDocument> collection, Class<NewTDocument> clazz) {
+        return new HedgedMongoCollectionImpl<>(clientContext, collection, clazz, options, policy);
+    }
+
+    // hedge reads count in the concurrency limit of the collection, like primary reads
+    @Override
+    protected void setLimiter(ConcurrencyLimiter limiter) {
+        super.setLimiter(limiter);
+        hedge.setLimiter(limiter);
+    }
+
+    /**
+     * @return the current delay after which reads are hedged, in milliseconds
+     */
+    public long getHedgeDelay() {
+        return policy.getDelay();
+    }
+
+    @Override
+    public MongoResult<TDocument> find() {
+        return hedged(super.find(), hedge.find());
+    }
+
+    @Override
+    public MongoResult<TDocument> find(FindOptions options) {
+        return hedged(super.find(options), hedge.find(options));
+    }
+
+    @Override
+    public MongoResult<TDocument> find(JsonObject filter) {
+        return hedged(super.find(filter), hedge.find(filter));
+    }
+
+    @Override
+    public MongoResult<TDocument> find(JsonObject filter, FindOptions options) {
+        return hedged(super.find(filter, options), hedge.find(filter, options));
+    }
+
+    @Override
+    public MongoCollectionResult<TDocument> aggregate(JsonArray pipeline) {
+        if (hasOutputStage(pipeline))
+            return super.aggregate(pipeline);
+        return hedged(super.aggregate(pipeline), hedge.aggregate(pipeline));
+    }
+
+    @Override
+    public MongoCollectionResult<TDocument> aggregate(JsonArray pipeline, AggregateOptions options) {
+        if (hasOutputStage(pipeline))
+            return super.aggregate(pipeline, options);
+        return hedged(super.aggregate(pipeline, options), hedge.aggregate(pipeline, options));
+    }
+
+    @Override
+    public Future<Long> countDocuments() {
+        return count(new HedgedPublisher<>(policy, limit(OperationClass.READ, wrapped.countDocuments()), () -> limit(OperationClass.READ, hedgeWrapped.countDocuments())));
+    }
+
+    @Override
+    public Future<Long> countDocuments(JsonObject filter) {
+        requireNonNull(filter, "filter is null");
+        Bson __filter = clientContext.getMapper().toBson(filter);
+        return count(new HedgedPublisher<>(policy, limit(OperationClass.READ, wrapped.countDocuments(__filter)), () -> limit(OperationClass.READ, hedgeWrapped.countDocuments(__filter))));
+    }
+
+    @Override
+    public Future<Long> countDocuments(JsonObject filter, CountOptions options) {
+        requireNonNull(filter, "filter is null");
+        requireNonNull(options, "options is null");
+        Bson __filter = clientContext.getMapper().toBson(filter);
+        com.mongodb.client.model.CountOptions __options = options.toDriverClass(clientContext);
+        return count(new HedgedPublisher<>(policy, limit(OperationClass.READ, wrapped.countDocuments(__filter, __options)), () -> limit(OperationClass.READ, hedgeWrapped.countDocuments(__filter, __options))));
+    }
+
+    private Future<Long> count(Publisher<Long> publisher) {
+        Promise<Long> __promise = clientContext.getVertx().promise();
+        publisher.subscribe(new SingleResultSubscriber<>(clientContext, __promise));
+        return __promise.future();
+    }
+
+    private MongoResult<TDocument> hedged(MongoResult<TDocument> primary, MongoResult<TDocument> hedge) {
+        return ((MongoResultImpl<TDocument>) primary).hedgedWith((MongoResultImpl<TDocument>) hedge, policy);
+    }
+
+    private MongoCollectionResult<TDocument> hedged(MongoCollectionResult<TDocument> primary, MongoCollectionResult<TDocument> hedge) {
+        return (MongoCollectionResult<TDocument>) ((MongoResultImpl<TDocument>) primary).hedgedWith((MongoResultImpl<TDocument>) hedge, policy);
+    }
+
+    private static boolean hasOutputStage(JsonArray pipeline) {
+        // running the pipeline twice would write twice
+        if (pipeline == null || pipeline.isEmpty() || !(pipeline.getValue(pipeline.size() - 1) instanceof JsonObject))
+            return false;
+        JsonObject last = pipeline.getJsonObject(pipeline.size() - 1);
+        return last.containsKey("$out") || last.containsKey("$merge");
+    }
+}
@@ -0,0 +1,280 @@
+package io.vertx.mongo.client.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.client.IndexRollout;
+import io.vertx.mongo.client.IndexRolloutOptions;
+import io.vertx.mongo.client.IndexRolloutProgress;
+import io.vertx.mongo.client.MongoClient;
+import io.vertx.mongo.client.MongoCollection;
+import io.vertx.mongo.client.model.CreateIndexOptions;
+import io.vertx.mongo.client.model.IndexModel;
+import io.vertx.mongo.client.model.ReplaceOptions;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static io.vertx.mongo.impl.Utils.setHandler;
+
+/**
+ * The state of the rollout is guarded by its monitor: the builds complete on the context of the client, the timers
+ * fire on the context of the caller.
+ */
+public class IndexRolloutImpl implements IndexRollout {
+
+    private final Vertx vertx;
+    private final MongoClient client;
+    private final String id;
+    private final IndexRolloutOptions options;
+    private final long startIntervalNanos;
+    private final Map<String, Build> builds = new LinkedHashMap<>();
+    private final ArrayDeque<Build> queue = new ArrayDeque<>();
+    private final Map<String, JsonObject> running = new LinkedHashMap<>();
+    private final Map<String, String> failed = new LinkedHashMap<>();
+    private Promise<IndexRolloutProgress> promise;
+    private int skipped;
+    private int completed;
+    private boolean stopped;
+    private long nextStart;
+    private long startTimerId = -1;
+    private long progressTimerId = -1;
+
+    private static final class Build {
+
+        final String databaseName;
+        final String collectionName;
+        final String namespace;
+        final List<IndexModel> indexes;
+
+        Build(String databaseName, String collectionName, List<IndexModel> indexes) {
+            this.databaseName = databaseName;
+            this.collectionName = collectionName;
+            this.namespace = databaseName + "." + collectionName;
+            this.indexes = indexes;
+        }
+    }
+
+    public IndexRolloutImpl(Vertx vertx, MongoClient client, String id, IndexRolloutOptions options) {
+        this.vertx = Objects.requireNonNull(vertx, "vertx is null");
+        this.client = Objects.requireNonNull(client, "client is null");
+        this.id = Objects.requireNonNull(id, "id is null");
+        this.options = new IndexRolloutOptions(Objects.requireNonNull(options, "options is null"));
+        this.startIntervalNanos = this.options.getMaxBuildsPerMinute() == 0 ? 0 : TimeUnit.MINUTES.toNanos(1) / this.options.getMaxBuildsPerMinute();
+    }
+
+    @Override
+    public synchronized IndexRollout add(String databaseName, String collectionName, List<IndexModel> indexes) {
+        Objects.requireNonNull(databaseName, "databaseName is null");
+        Objects.requireNonNull(collectionName, "collectionName is null");
+        Objects.requireNonNull(indexes, "indexes is null");
+        if (indexes.isEmpty())
+            throw new IllegalArgumentException("indexes must not be empty");
+        if (promise != null)
+            throw new IllegalStateException("the rollout is running");
+        Build build = new Build(databaseName, collectionName, new ArrayList<>(indexes));
+        if (builds.putIfAbsent(build.namespace, build) != null)
+            throw new IllegalArgumentException("collection already added: " + build.namespace);
+        return this;
+    }
+
+    @Override
+    public Future<IndexRolloutProgress> run() {
+        Promise<IndexRolloutProgress> promise;
+        synchronized (this) {
+            if (this.promise != null)
+                throw new IllegalStateException("the rollout is running");
+            promise = this.promise = Promise.promise();
+            stopped = false;
+            nextStart = System.nanoTime();
+            skipped = 0;
+            completed = 0;
+            failed.clear();
+        }
+        loadCheckpoints().onComplete(ar -> {
+            if (ar.failed()) {
+                synchronized (this) {
+                    this.promise = null;
+                }
+                promise.fail(ar.cause());
+                return;
+            }
+            synchronized (this) {
+                queue.clear();
+                for (Build build : builds.values()) {
+                    if (ar.result().contains(build.namespace))
+                        skipped++;
+                    else
+                        queue.add(build);
+                }
+                if (options.getProgressInterval() > 0)
+                    progressTimerId = vertx.setPeriodic(options.getProgressInterval(), timerId -> readProgress());
+            }
+            startBuilds();
+        });
+        return promise.future();
+    }
+
+    @Override
+    public void run(Handler<AsyncResult<IndexRolloutProgress>> resultHandler) {
+        Future<IndexRolloutProgress> __future = this.run();
+        setHandler(__future, resultHandler);
+    }
+
+    @Override
+    public void stop() {
+        synchronized (this) {
+            stopped = true;
+        }
+        startBuilds();
+    }
+
+    @Override
+    public synchronized IndexRolloutProgress getProgress() {
+        Map<String, JsonObject> runningCopy = new LinkedHashMap<>();
+        running.forEach((namespace, progress) -> runningCopy.put(namespace, progress.copy()));
+        return new IndexRolloutProgress(id, builds.size(), skipped, completed, new LinkedHashMap<>(failed), runningCopy);
+    }
+
+    private MongoCollection<JsonObject> getCheckpointCollection() {
+        return client.getDatabase(options.getCheckpointDatabase()).getCollection(options.getCheckpointCollection());
+    }
+
+    private Future<Set<String>> loadCheckpoints() {
+        if (options.getCheckpointCollection() == null)
+            return Future.succeededFuture(new HashSet<>());
+        return getCheckpointCollection().find(new JsonObject().put("rollout", id)).all().map(checkpoints -> {
+            Set<String> namespaces = new HashSet<>();
+            for (JsonObject checkpoint : checkpoints)
+                namespaces.add(checkpoint.getString("namespace"));
+            return namespaces;
+        });
+    }
+
+    private Future<Void> checkpoint(Build build) {
+        if (options.getCheckpointCollection() == null)
+            return Future.succeededFuture();
+        JsonArray keys = new JsonArray();
+        for (IndexModel index : build.indexes)
+            keys.add(index.getKeys());
+        String checkpointId = id + "/" + build.namespace;
+        JsonObject checkpoint = new JsonObject()
+                .put("_id", checkpointId)
+                .put("rollout", id)
+                .put("namespace", build.namespace)
+                .put("keys", keys)
+                .put("completedAt", new JsonObject().put("$date", Instant.now().toString()));
+        return getCheckpointCollection().replaceOne(new JsonObject().put("_id", checkpointId), checkpoint, new ReplaceOptions().setUpsert(true)).mapEmpty();
+    }
+
+    /**
+     * Starts the builds allowed by the concurrency and the start rate, and completes the run when no build is left
+     */
+    private void startBuilds() {
+        List<Build> started = new ArrayList<>();
+        Promise<IndexRolloutProgress> done = null;
+        synchronized (this) {
+            if (promise == null)
+                return;
+            while (!stopped && !queue.isEmpty() && running.size() < options.getMaxConcurrentBuilds()) {
+                long now = System.nanoTime();
+                if (startIntervalNanos > 0 && now - nextStart < 0) {
+                    if (startTimerId == -1) {
+                        startTimerId = vertx.setTimer(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextStart - now)), timerId -> {
+                            synchronized (this) {
+                                startTimerId = -1;
+                            }
+                            startBuilds();
+                        });
+                    }
+                    break;
+                }
+                Build build = queue.poll();
+                running.put(build.namespace, new JsonObject());
+                nextStart = now + startIntervalNanos;
+                started.add(build);
+            }
+            if (running.isEmpty() && started.isEmpty() && (stopped || queue.isEmpty())) {
+                done = promise;
+                promise = null;
+                cancelTimers();
+            }
+        }
+        for (Build build : started)
+            startBuild(build);
+        if (done != null)
+            done.complete(getProgress());
+    }
+
+    private void cancelTimers() {
+        if (startTimerId != -1) {
+            vertx.cancelTimer(startTimerId);
+            startTimerId = -1;
+        }
+        if (progressTimerId != -1) {
+            vertx.cancelTimer(progressTimerId);
+            progressTimerId = -1;
+        }
+    }
+
+    private void startBuild(Build build) {
+        CreateIndexOptions createIndexOptions = new CreateIndexOptions();
+        if (options.getCommitQuorum() != null)
+            createIndexOptions.setCommitQuorum(options.getCommitQuorum());
+        Future<String> created;
+        try {
+            created = client.getDatabase(build.databaseName).getCollection(build.collectionName).createIndexes(build.indexes, createIndexOptions);
+        } catch (RuntimeException e) {
+            created = Future.failedFuture(e);
+        }
+        created.compose(name -> checkpoint(build)).onComplete(ar -> {
+            synchronized (this) {
+                running.remove(build.namespace);
+                if (ar.succeeded())
+                    completed++;
+                else
+                    failed.put(build.namespace, String.valueOf(ar.cause().getMessage()));
+            }
+            startBuilds();
+        });
+    }
+
+    /**
+     * Reads the progress of the running builds: the {@code createIndexes} commands and their {@code progress}
+     */
+    private void readProgress() {
+        JsonObject command = new JsonObject()
+                .put("currentOp", true)
+                .put("command.createIndexes", new JsonObject().put("$exists", true));
+        client.getDatabase("admin").runCommand(command).onSuccess(result -> {
+            JsonArray operations = result.getJsonArray("inprog", new JsonArray());
+            synchronized (this) {
+                for (int i = 0; i < operations.size(); i++) {
+                    JsonObject operation = operations.getJsonObject(i);
+                    JsonObject createIndexes = operation.getJsonObject("command", new JsonObject());
+                    String namespace = createIndexes.getString("$db") + "." + createIndexes.getString("createIndexes");
+                    JsonObject progress = running.get(namespace);
+                    if (progress == null)
+                        continue;
+                    JsonObject operationProgress = operation.getJsonObject("progress");
+                    if (operationProgress != null)
+                        progress.put("done", operationProgress.getValue("done")).put("total", operationProgress.getValue("total"));
+                    if (operation.getString("msg") != null)
+                        progress.put("msg", operation.getString("msg"));
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,246 @@
+package io.vertx.mongo.client.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.client.AggregateOptions;
+import io.vertx.mongo.client.MaterializationJob;
+import io.vertx.mongo.client.MaterializationOptions;
+import io.vertx.mongo.client.MaterializationProgress;
+import io.vertx.mongo.client.MongoClient;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import static io.vertx.mongo.impl.Utils.setHandler;
+
+/**
+ * The state of the job is guarded by its monitor: the aggregation completes on the context of the client, the timers
+ * fire on the context of the caller.
+ */
+public class MaterializationJobImpl implements MaterializationJob {
+
+    // delay between two lookups of the aggregation to kill, when it has not started yet
+    private static final long KILL_RETRY_DELAY = 100;
+
+    private final Vertx vertx;
+    private final MongoClient client;
+    private final String databaseName;
+    private final String collectionName;
+    private final JsonArray pipeline;
+    private final MaterializationOptions options;
+    private Promise<MaterializationProgress> promise;
+    private String comment;
+    private boolean cancelled;
+    private Object opId;
+    private JsonObject operation;
+    private long startedAt;
+    private long elapsedMillis;
+    private Instant windowStart;
+    private Instant windowEnd;
+    private Instant watermark;
+    private long progressTimerId = -1;
+
+    public MaterializationJobImpl(Vertx vertx, MongoClient client, String databaseName, String collectionName, JsonArray pipeline, MaterializationOptions options) {
+        this.vertx = Objects.requireNonNull(vertx, "vertx is null");
+        this.client = Objects.requireNonNull(client, "client is null");
+        this.databaseName = Objects.requireNonNull(databaseName, "databaseName is null");
+        this.collectionName = Objects.requireNonNull(collectionName, "collectionName is null");
+        this.pipeline = Objects.requireNonNull(pipeline, "pipeline is null").copy();
+        this.options = new MaterializationOptions(Objects.requireNonNull(options, "options is null"));
+        String outputStage = outputStage(this.pipeline);
+        if (outputStage == null)
+            throw new IllegalArgumentException("the pipeline must end with a $out or a $merge stage");
+        if (this.options.getTimestampField() != null && !outputStage.equals("$merge"))
+            throw new IllegalArgumentException("the pipeline of an incremental materialization must end with a $merge stage");
+        this.watermark = this.options.getWatermark();
+    }
+
+    private static String outputStage(JsonArray pipeline) {
+        if (pipeline.isEmpty() || !(pipeline.getValue(pipeline.size() - 1) instanceof JsonObject))
+            return null;
+        JsonObject last = pipeline.getJsonObject(pipeline.size() - 1);
+        if (last.containsKey("$out"))
+            return "$out";
+        if (last.containsKey("$merge"))
+            return "$merge";
+        return null;
+    }
+
+    @Override
+    public Future<MaterializationProgress> run() {
+        Promise<MaterializationProgress> promise;
+        JsonArray runPipeline;
+        AggregateOptions aggregateOptions;
+        synchronized (this) {
+            if (this.promise != null)
+                throw new IllegalStateException("the job is running");
+            promise = this.promise = Promise.promise();
+            comment = "materialization-" + UUID.randomUUID();
+            cancelled = false;
+            opId = null;
+            operation = null;
+            startedAt = System.nanoTime();
+            runPipeline = pipeline;
+            if (options.getTimestampField() != null) {
+                windowStart = watermark;
+                windowEnd = Instant.now().minusMillis(options.getRefreshLag());
+                // nothing new since the last run
+                if (windowStart != null && !windowEnd.isAfter(windowStart))
+                    runPipeline = null;
+                else
+                    runPipeline = windowPipeline();
+            }
+            if (runPipeline == null) {
+                this.promise = null;
+                elapsedMillis = 0;
+                aggregateOptions = null;
+            } else {
+                aggregateOptions = new AggregateOptions()
+                        .setComment(comment)
+                        .setMaxTime(options.getMaxTime())
+                        .setAllowDiskUse(options.getAllowDiskUse());
+                if (options.getProgressInterval() > 0)
+                    progressTimerId = vertx.setPeriodic(options.getProgressInterval(), timerId -> readProgress());
+            }
+        }
+        if (runPipeline == null) {
+            promise.complete(getProgress());
+            return promise.future();
+        }
+        Future<Void> aggregated;
+        try {
+            aggregated = client.getDatabase(databaseName).getCollection(collectionName).aggregate(runPipeline, aggregateOptions).toCollection();
+        } catch (RuntimeException e) {
+            aggregated = Future.failedFuture(e);
+        }
+        aggregated.onComplete(ar -> {
+            boolean cancelledRun;
+            synchronized (this) {
+                this.promise = null;
+                elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                cancelTimer();
+                cancelledRun = cancelled;
+                if (ar.succeeded() && windowEnd != null)
+                    watermark = windowEnd;
+            }
+            if (ar.succeeded())
+                promise.complete(getProgress());
+            else if (cancelledRun)
+                promise.fail(new CancellationException("materialization cancelled"));
+            else
+                promise.fail(ar.cause());
+        });
+        return promise.future();
+    }
+
+    @Override
+    public void run(Handler<AsyncResult<MaterializationProgress>> resultHandler) {
+        Future<MaterializationProgress> __future = this.run();
+        setHandler(__future, resultHandler);
+    }
+
+    /**
+     * @return the pipeline preceded by the match of the documents of the window
+     */
+    private JsonArray windowPipeline() {
+        JsonObject range = new JsonObject();
+        if (windowStart != null)
+            range.put("$gt", new JsonObject().put("$date", windowStart.toString()));
+        range.put("$lte", new JsonObject().put("$date", windowEnd.toString()));
+        JsonArray result = new JsonArray().add(new JsonObject().put("$match", new JsonObject().put(options.getTimestampField(), range)));
+        for (Object stage : pipeline)
+            result.add(stage);
+        return result;
+    }
+
+    @Override
+    public Future<Void> cancel() {
+        String runComment;
+        synchronized (this) {
+            if (promise == null)
+                return Future.succeededFuture();
+            cancelled = true;
+            runComment = comment;
+        }
+        Promise<Void> killed = Promise.promise();
+        kill(runComment, killed);
+        return killed.future();
+    }
+
+    /**
+     * Kills the aggregation of a run, looking it up until it has started or the run has completed
+     */
+    private void kill(String runComment, Promise<Void> killed) {
+        findOperation(runComment).onComplete(ar -> {
+            if (ar.failed()) {
+                killed.fail(ar.cause());
+                return;
+            }
+            if (ar.result() != null) {
+                JsonObject command = new JsonObject().put("killOp", 1).put("op", ar.result().getValue("opid"));
+                client.getDatabase("admin").runCommand(command).<Void>mapEmpty().onComplete(killed);
+                return;
+            }
+            boolean retry;
+            synchronized (this) {
+                retry = promise != null && runComment.equals(comment);
+            }
+            if (retry)
+                vertx.setTimer(KILL_RETRY_DELAY, timerId -> kill(runComment, killed));
+            else
+                killed.complete();
+        });
+    }
+
+    /**
+     * @return the {@code currentOp} document of the aggregation of a run, null if it is not running
+     */
+    private Future<JsonObject> findOperation(String runComment) {
+        JsonObject command = new JsonObject()
+                .put("currentOp", true)
+                .put("command.comment", runComment);
+        return client.getDatabase("admin").runCommand(command).map(result -> {
+            JsonArray operations = result.getJsonArray("inprog", new JsonArray());
+            return operations.isEmpty() ? null : operations.getJsonObject(0);
+        });
+    }
+
+    private void readProgress() {
+        String runComment;
+        synchronized (this) {
+            runComment = comment;
+        }
+        findOperation(runComment).onSuccess(found -> {
+            if (found == null)
+                return;
+            synchronized (this) {
+                if (promise != null && runComment.equals(comment)) {
+                    operation = found;
+                    opId = found.getValue("opid");
+                }
+            }
+        });
+    }
+
+    private void cancelTimer() {
+        if (progressTimerId != -1) {
+            vertx.cancelTimer(progressTimerId);
+            progressTimerId = -1;
+        }
+    }
+
+    @Override
+    public synchronized MaterializationProgress getProgress() {
+        boolean running = promise != null;
+        long elapsed = running ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) : elapsedMillis;
+        return new MaterializationProgress(comment, running, opId, elapsed, windowStart, windowEnd, watermark, operation == null ? null : operation.copy());
+    }
+}
@@ -0,0 +1,306 @@
+package io.vertx.mongo.client.impl;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.mongo.MongoResult;
+import io.vertx.mongo.client.ChangeStreamOptions;
+import io.vertx.mongo.client.MaterializedView;
+import io.vertx.mongo.client.MaterializedViewOptions;
+import io.vertx.mongo.client.MaterializedViewStats;
+import io.vertx.mongo.client.MongoClient;
+import io.vertx.mongo.client.MongoCollection;
+import io.vertx.mongo.client.ViewProjection;
+import io.vertx.mongo.client.model.BulkWriteOptions;
+import io.vertx.mongo.client.model.ReplaceOptions;
+import io.vertx.mongo.client.model.WriteModel;
+import io.vertx.mongo.client.model.changestream.ChangeStreamDocument;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static io.vertx.mongo.impl.Utils.setHandler;
+
+/**
+ * The state of the view is guarded by its monitor: the changes and the writes complete on the context of the client,
+ * the batch timer fires on the context of the caller.
+ * <p>A single batch is written at a time: the changes received meanwhile form the next batch, and the change stream
+ * is paused when it is full.</p>
+ */
+public class MaterializedViewImpl implements MaterializedView {
+
+    private final Vertx vertx;
+    private final MongoClient client;
+    private final String id;
+    private final MongoNamespace source;
+    private final MongoNamespace target;
+    private final ViewProjection projection;
+    private final MaterializedViewOptions options;
+    private final List<WriteModel<JsonObject>> pending = new ArrayList<>();
+    private ReadStream<ChangeStreamDocument<JsonObject>> stream;
+    private Handler<Throwable> exceptionHandler;
+    private Promise<Void> stopPromise;
+    private boolean started;
+    private boolean flushing;
+    private boolean paused;
+    // resume token of the last change received, null when checkpointed
+    private JsonObject pendingToken;
+    private JsonObject resumeToken;
+    private long flushTimerId = -1;
+    private long changes;
+    private long writes;
+    private long batches;
+
+    public MaterializedViewImpl(Vertx vertx, MongoClient client, String id, MongoNamespace source, MongoNamespace target, ViewProjection projection, MaterializedViewOptions options) {
+        this.vertx = Objects.requireNonNull(vertx, "vertx is null");
+        this.client = Objects.requireNonNull(client, "client is null");
+        this.id = Objects.requireNonNull(id, "id is null");
+        this.source = Objects.requireNonNull(source, "source is null");
+        this.target = Objects.requireNonNull(target, "target is null");
+        this.projection = Objects.requireNonNull(projection, "projection is null");
+        this.options = new MaterializedViewOptions(Objects.requireNonNull(options, "options is null"));
+    }
+
+    @Override
+    public Future<Void> start() {
+        synchronized (this) {
+            if (started || stopPromise != null)
+                throw new IllegalStateException("the view is started");
+            started = true;
+            changes = 0;
+            writes = 0;
+            batches = 0;
+        }
+        return getCheckpointCollection().find(new JsonObject().put("_id", id)).first().compose(checkpoint -> {
+            ChangeStreamOptions changeStreamOptions = new ChangeStreamOptions()
+                    .setFullDocument(FullDocument.UPDATE_LOOKUP)
+                    .setBatchSize(options.getBatchSize());
+            JsonObject token = checkpoint == null ? null : checkpoint.getJsonObject("resumeToken");
+            if (token != null)
+                changeStreamOptions.setResumeAfter(token);
+            else if (options.getStartAtOperationTime() != null)
+                changeStreamOptions.setStartAtOperationTime(options.getStartAtOperationTime());
+            MongoCollection<JsonObject> sourceCollection = client.getDatabase(source.getDatabaseName()).getCollection(source.getCollectionName());
+            MongoResult<ChangeStreamDocument<JsonObject>> changeStream = options.getPipeline() == null
+                    ? sourceCollection.watch(changeStreamOptions)
+                    : sourceCollection.watch(options.getPipeline(), changeStreamOptions);
+            ReadStream<ChangeStreamDocument<JsonObject>> opened = changeStream.stream(options.getBatchSize());
+            synchronized (this) {
+                if (!started)
+                    return Future.<Void>failedFuture(new IllegalStateException("the view has been stopped"));
+                resumeToken = token;
+                stream = opened;
+            }
+            opened.exceptionHandler(this::fail);
+            // the change stream ends when it is invalidated: the source collection has been dropped or renamed
+            opened.endHandler(v -> fail(new IllegalStateException("the change stream of " + source.getFullName() + " has been invalidated")));
+            opened.handler(this::handleChange);
+            return Future.<Void>succeededFuture();
+        }).onFailure(e -> {
+            synchronized (this) {
+                if (stream == null)
+                    started = false;
+            }
+        });
+    }
+
+    @Override
+    public void start(Handler<AsyncResult<Void>> resultHandler) {
+        Future<Void> __future = this.start();
+        setHandler(__future, resultHandler);
+    }
+
+    @Override
+    public Future<Void> stop() {
+        ReadStream<ChangeStreamDocument<JsonObject>> closed;
+        Promise<Void> promise;
+        synchronized (this) {
+            if (stopPromise != null)
+                return stopPromise.future();
+            if (!started)
+                return Future.succeededFuture();
+            started = false;
+            closed = stream;
+            stream = null;
+            promise = stopPromise = Promise.promise();
+        }
+        if (closed != null)
+            close(closed);
+        flush();
+        return promise.future();
+    }
+
+    @Override
+    public synchronized MaterializedView exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public synchronized MaterializedViewStats getStats() {
+        return new MaterializedViewStats(changes, writes, batches, pending.size(), resumeToken == null ? null : resumeToken.copy());
+    }
+
+    private MongoCollection<JsonObject> getCheckpointCollection() {
+        return client.getDatabase(options.getCheckpointDatabase()).getCollection(options.getCheckpointCollection());
+    }
+
+    private void handleChange(ChangeStreamDocument<JsonObject> change) {
+        List<WriteModel<JsonObject>> models;
+        try {
+            models = projection.project(change);
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+        boolean full;
+        synchronized (this) {
+            if (!started)
+                return;
+            changes++;
+            if (models != null)
+                pending.addAll(models);
+            pendingToken = change.getResumeToken();
+            full = pending.size() >= options.getBatchSize();
+            if (!full && flushTimerId == -1) {
+                flushTimerId = vertx.setTimer(options.getBatchDelay(), timerId -> {
+                    synchronized (this) {
+                        flushTimerId = -1;
+                    }
+                    flush();
+                });
+            }
+        }
+        if (full)
+            flush();
+    }
+
+    /**
+     * Writes the pending writes, then checkpoints the resume token of their last change
+     */
+    private void flush() {
+        List<WriteModel<JsonObject>> batch;
+        JsonObject token;
+        Promise<Void> stopped = null;
+        synchronized (this) {
+            if (flushing) {
+                if (pending.size() >= options.getBatchSize() && !paused && stream != null) {
+                    paused = true;
+                    stream.pause();
+                }
+                return;
+            }
+            if (pendingToken == null) {
+                if (!started && stopPromise != null) {
+                    stopped = stopPromise;
+                    stopPromise = null;
+                }
+                batch = null;
+                token = null;
+            } else {
+                cancelFlushTimer();
+                batch = new ArrayList<>(pending);
+                pending.clear();
+                token = pendingToken;
+                pendingToken = null;
+                flushing = true;
+            }
+        }
+        if (stopped != null)
+            stopped.complete();
+        if (batch == null)
+            return;
+        Future<Void> written;
+        try {
+            written = batch.isEmpty()
+                    ? Future.succeededFuture()
+                    : client.getDatabase(target.getDatabaseName()).getCollection(target.getCollectionName()).bulkWrite(batch, new BulkWriteOptions().setOrdered(true)).mapEmpty();
+        } catch (RuntimeException e) {
+            written = Future.failedFuture(e);
+        }
+        written.compose(v -> checkpoint(token)).onComplete(ar -> {
+            ReadStream<ChangeStreamDocument<JsonObject>> resumed = null;
+            synchronized (this) {
+                flushing = false;
+                if (ar.succeeded()) {
+                    resumeToken = token;
+                    writes += batch.size();
+                    batches++;
+                }
+                if (paused) {
+                    paused = false;
+                    resumed = stream;
+                }
+            }
+            if (ar.failed()) {
+                fail(ar.cause());
+                return;
+            }
+            if (resumed != null)
+                resumed.resume();
+            // the changes received during the write form the next batch
+            flush();
+        });
+    }
+
+    private Future<Void> checkpoint(JsonObject token) {
+        JsonObject checkpoint = new JsonObject()
+                .put("_id", id)
+                .put("source", source.getFullName())
+                .put("target", target.getFullName())
+                .put("resumeToken", token)
+                .put("updatedAt", new JsonObject().put("$date", Instant.now().toString()));
+        return getCheckpointCollection().replaceOne(new JsonObject().put("_id", id), checkpoint, new ReplaceOptions().setUpsert(true)).mapEmpty();
+    }
+
+    private static void close(ReadStream<ChangeStreamDocument<JsonObject>> stream) {
+        // closing the stream ends it: the end is not an invalidation
+        stream.endHandler(null);
+        stream.exceptionHandler(null);
+        stream.handler(null);
+    }
+
+    private void cancelFlushTimer() {
+        if (flushTimerId != -1) {
+            vertx.cancelTimer(flushTimerId);
+            flushTimerId = -1;
+        }
+    }
+
+    /**
+     * Stops the view without checkpointing its pending writes: they are applied again by the next start
+     */
+    private void fail(Throwable cause) {
+        ReadStream<ChangeStreamDocument<JsonObject>> closed;
+        Promise<Void> stopped;
+        Handler<Throwable> handler;
+        synchronized (this) {
+            if (!started && stopPromise == null)
+                return;
+            started = false;
+            closed = stream;
+            stream = null;
+            paused = false;
+            pending.clear();
+            pendingToken = null;
+            cancelFlushTimer();
+            stopped = stopPromise;
+            stopPromise = null;
+            handler = exceptionHandler;
+        }
+        if (closed != null)
+            close(closed);
+        if (stopped != null)
+            stopped.fail(cause);
+        if (handler != null)
+            handler.handle(cause);
+    }
+}
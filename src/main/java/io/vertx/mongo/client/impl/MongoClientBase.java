@@ -2,6 +2,9 @@ package io.vertx.mongo.client.impl;
 
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.MongoExecutionTimeoutException;
 import com.mongodb.reactivestreams.client.MongoClients;
 import io.vertx.core.*;
 import io.vertx.core.impl.ContextInternal;
@@ -11,30 +14,59 @@ import io.vertx.core.shareddata.LocalMap;
 import io.vertx.core.shareddata.Shareable;
 import io.vertx.mongo.AutoEncryptionSettings;
 import io.vertx.mongo.MongoClientSettingsInitializer;
+import io.vertx.mongo.TransactionOptions;
 import io.vertx.mongo.client.ClientConfig;
+import io.vertx.mongo.client.ClientSession;
+import io.vertx.mongo.client.CircuitBreakerOptions;
+import io.vertx.mongo.client.CompressionStats;
+import io.vertx.mongo.client.IndexAdvisorOptions;
 import io.vertx.mongo.client.MongoClient;
+import io.vertx.mongo.client.MongoDatabase;
+import io.vertx.mongo.codec.ObjectCodecProvider;
 import io.vertx.mongo.connection.*;
+import io.vertx.mongo.impl.CircuitBreaker;
+import io.vertx.mongo.impl.ConcurrencyScheduler;
 import io.vertx.mongo.impl.ConversionUtils;
 import io.vertx.mongo.impl.ConversionUtilsImpl;
+import io.vertx.mongo.impl.IndexAdvisor;
 import io.vertx.mongo.impl.MongoClientContext;
+import io.vertx.mongo.impl.WeakValueCache;
 import io.vertx.mongo.impl.codec.json.JsonObjectCodec;
 import org.bson.codecs.*;
+import org.bson.codecs.configuration.CodecProvider;
 import org.bson.codecs.configuration.CodecRegistries;
 import org.bson.codecs.configuration.CodecRegistry;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static io.vertx.mongo.impl.Utils.setHandler;
 
 public abstract class MongoClientBase implements MongoClient {
 
     private final static CodecRegistry commonCodecRegistry = CodecRegistries.fromCodecs(new StringCodec(), new IntegerCodec(),
             new BooleanCodec(), new DoubleCodec(), new LongCodec(), new BsonDocumentCodec(), new BsonObjectIdCodec());
     private static final String DS_LOCAL_MAP_NAME = "__vertx.MongoClientBase.datasources";
+    // same limit as the synchronous driver ClientSession.withTransaction
+    private static final long TRANSACTION_RETRY_TIME_LIMIT_MS = 120_000;
+    private static final long TRANSACTION_MIN_BACKOFF_MS = 5;
+    private static final long TRANSACTION_MAX_BACKOFF_MS = 500;
+    private static final int MAX_TIME_MS_EXPIRED_ERROR_CODE = 50;
     private final VertxInternal vertx;
     private final ContextInternal creatingContext;
     private final MongoHolder holder;
     protected final MongoClientContext clientContext;
     protected final com.mongodb.reactivestreams.client.MongoClient wrapped;
+    private final ClientSessionPool sessionPool;
+    private final WeakValueCache<String, MongoDatabase> databases = new WeakValueCache<>();
+    private final Function<String, MongoDatabase> databaseFactory = this::createDatabase;
 
     protected MongoClientBase(Vertx vertx, ClientConfig config, String dataSourceName) {
         Objects.requireNonNull(vertx);
@@ -44,18 +76,21 @@ public abstract class MongoClientBase implements MongoClient {
         this.creatingContext = this.vertx.getOrCreateContext();
         this.holder = lookupHolder(dataSourceName);
         this.wrapped = holder.mongo(config);
-        this.clientContext = new MongoClientContext(this.vertx, creatingContext, this.holder.codecRegistry, this.holder.config);
+        this.clientContext = new MongoClientContext(this.vertx, creatingContext, this.holder.codecRegistry, this.holder.config, this.holder.concurrencyScheduler, this.holder.circuitBreaker, this.holder.indexAdvisor);
+        this.sessionPool = new ClientSessionPool(this, clientContext, clientContext.getConfig().getSessionPoolSize());
         creatingContext.addCloseHook(this);
     }
 
     @Override
     public void close(Promise<Void> completionHandler) {
+        sessionPool.close();
         holder.close();
         completionHandler.complete();
     }
 
     @Override
     public Future<Void> close() {
+        sessionPool.close();
         holder.close();
         creatingContext.removeCloseHook(this);
         return vertx.getOrCreateContext().succeededFuture();
@@ -90,12 +125,119 @@ public abstract class MongoClientBase implements MongoClient {
         close(ctx.promise(handler));
     }
 
+    protected MongoDatabase getCachedDatabase(String name) {
+        return databases.get(name, databaseFactory);
+    }
+
+    private MongoDatabase createDatabase(String name) {
+        return new MongoDatabaseImpl(clientContext, wrapped.getDatabase(name));
+    }
+
+    @Override
+    public Map<String, CompressionStats> getCompressionStats() {
+        CompressionStatsCollector stats = holder.compressionStats;
+        return stats == null ? Collections.emptyMap() : stats.getStats();
+    }
+
+    @Override
+    public <T> void withTransaction(Function<ClientSession, Future<T>> body, Handler<AsyncResult<T>> resultHandler) {
+        Future<T> __future = this.withTransaction(body);
+        setHandler(__future, resultHandler);
+    }
+
+    @Override
+    public <T> Future<T> withTransaction(Function<ClientSession, Future<T>> body) {
+        return withTransaction(body, new TransactionOptions());
+    }
+
+    @Override
+    public <T> void withTransaction(Function<ClientSession, Future<T>> body, TransactionOptions options, Handler<AsyncResult<T>> resultHandler) {
+        Future<T> __future = this.withTransaction(body, options);
+        setHandler(__future, resultHandler);
+    }
+
+    @Override
+    public <T> Future<T> withTransaction(Function<ClientSession, Future<T>> body, TransactionOptions options) {
+        Objects.requireNonNull(body, "body is null");
+        Objects.requireNonNull(options, "options is null");
+        com.mongodb.TransactionOptions __options = options.toDriverClass(clientContext);
+        long deadline = System.currentTimeMillis() + TRANSACTION_RETRY_TIME_LIMIT_MS;
+        return sessionPool.acquire().compose(session -> {
+            Promise<T> promise = Promise.promise();
+            runTransaction(session, body, __options, deadline, 0, promise);
+            return promise.future().onComplete(ar -> sessionPool.release(session));
+        });
+    }
+
+    private <T> void runTransaction(ClientSession session, Function<ClientSession, Future<T>> body, com.mongodb.TransactionOptions options, long deadline, int attempt, Promise<T> promise) {
+        Future<T> result;
+        try {
+            session.startTransaction(options);
+            result = body.apply(session);
+        } catch (Throwable error) {
+            result = Future.failedFuture(error);
+        }
+        result.onComplete(ar -> {
+            if (ar.failed()) {
+                Future<Void> abort = session.hasActiveTransaction() ? session.abortTransaction().otherwiseEmpty() : Future.succeededFuture();
+                abort.onComplete(v -> {
+                    if (hasErrorLabel(ar.cause(), MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL) && System.currentTimeMillis() < deadline)
+                        retryLater(attempt, () -> runTransaction(session, body, options, deadline, attempt + 1, promise));
+                    else
+                        promise.fail(ar.cause());
+                });
+            } else if (!session.hasActiveTransaction()) {
+                // the transaction has been committed or aborted by the body
+                promise.complete(ar.result());
+            } else {
+                commitTransaction(session, body, options, deadline, attempt, ar.result(), promise);
+            }
+        });
+    }
+
+    private <T> void commitTransaction(ClientSession session, Function<ClientSession, Future<T>> body, com.mongodb.TransactionOptions options, long deadline, int attempt, T result, Promise<T> promise) {
+        session.commitTransaction().onComplete(ar -> {
+            Throwable cause = ar.cause();
+            if (ar.succeeded()) {
+                promise.complete(result);
+            } else if (System.currentTimeMillis() >= deadline || isMaxTimeExpired(cause)) {
+                promise.fail(cause);
+            } else if (hasErrorLabel(cause, MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL)) {
+                retryLater(attempt, () -> commitTransaction(session, body, options, deadline, attempt + 1, result, promise));
+            } else if (hasErrorLabel(cause, MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                retryLater(attempt, () -> runTransaction(session, body, options, deadline, attempt + 1, promise));
+            } else {
+                promise.fail(cause);
+            }
+        });
+    }
+
+    private void retryLater(int attempt, Runnable retry) {
+        // full jitter: concurrent conflicting transactions do not retry in lockstep
+        long maxDelay = Math.min(TRANSACTION_MAX_BACKOFF_MS, TRANSACTION_MIN_BACKOFF_MS << Math.min(attempt, 16));
+        long delay = 1 + ThreadLocalRandom.current().nextLong(maxDelay);
+        clientContext.getContext().runOnContext(v -> vertx.setTimer(delay, id -> retry.run()));
+    }
+
+    private static boolean hasErrorLabel(Throwable error, String label) {
+        return error instanceof MongoException && ((MongoException) error).hasErrorLabel(label);
+    }
+
+    private static boolean isMaxTimeExpired(Throwable error) {
+        return error instanceof MongoExecutionTimeoutException
+                || (error instanceof MongoCommandException && ((MongoCommandException) error).getErrorCode() == MAX_TIME_MS_EXPIRED_ERROR_CODE);
+    }
+
     private class MongoHolder implements Shareable {
         com.mongodb.reactivestreams.client.MongoClient mongo;
         Runnable closeRunner;
         int refCount = 1;
         CodecRegistry codecRegistry;
         ClientConfig config;
+        volatile CompressionStatsCollector compressionStats;
+        ConcurrencyScheduler concurrencyScheduler;
+        CircuitBreaker circuitBreaker;
+        IndexAdvisor indexAdvisor;
 
         MongoHolder(Runnable closeRunner) {
             this.closeRunner = closeRunner;
@@ -113,19 +255,23 @@ public abstract class MongoClientBase implements MongoClient {
                 config.initializeMappers();
                 this.config = config;
                 if (config.getMongoSettings() != null) {
-                    mongo = MongoClients.create(config.getMongoSettings());
-                    codecRegistry = config.getMongoSettings().getCodecRegistry();
+                    MongoClientSettings settings = applyObjectCodecs(config.getMongoSettings(), config);
+                    mongo = createDriverClient(applyIndexAdvisor(applyCircuitBreaker(applyCompression(settings, config), config), config), config);
+                    codecRegistry = settings.getCodecRegistry();
+                    concurrencyScheduler = createConcurrencyScheduler(settings, config);
                 } else {
                     MongoClientSettings.Builder settingsBuilder = MongoClientSettings.builder();
-                    settingsBuilder.codecRegistry(
-                            CodecRegistries.fromRegistries(
-                                    commonCodecRegistry,
-                                    CodecRegistries.fromCodecs(
-//                                            new JsonObjectCodec(new JsonObject().put("useObjectId", true))
-                                            new JsonObjectCodec(new JsonObject().put("useObjectId", config.isUseObjectIds()))
-                                    )
-                            )
-                    );
+                    List<CodecRegistry> codecRegistries = new ArrayList<>();
+                    codecRegistries.add(commonCodecRegistry);
+                    codecRegistries.add(CodecRegistries.fromCodecs(
+//                            new JsonObjectCodec(new JsonObject().put("useObjectId", true))
+                            new JsonObjectCodec(new JsonObject().put("useObjectId", config.isUseObjectIds()))
+                    ));
+                    // object codecs: decode documents straight into the classes passed to getCollection
+                    List<CodecProvider> objectCodecProviders = objectCodecProviders(config);
+                    if (!objectCodecProviders.isEmpty())
+                        codecRegistries.add(CodecRegistries.fromProviders(objectCodecProviders));
+                    settingsBuilder.codecRegistry(CodecRegistries.fromRegistries(codecRegistries));
                     io.vertx.mongo.MongoClientSettings vertxConfig = null;
                     if (config.getMongoConnectionString() != null) {
                         settingsBuilder.applyConnectionString(config.getMongoConnectionString());
@@ -137,14 +283,92 @@ public abstract class MongoClientBase implements MongoClient {
                         vertxConfig = config.getSettings();
                     }
                     mergeVertxSettingsIntoMongoSettingsBuilder(config.getPostInitializer(), settingsBuilder, vertxConfig);
-                    MongoClientSettings settings = settingsBuilder.build();
-                    mongo = MongoClients.create(settings);
+                    MongoClientSettings settings = applyIndexAdvisor(applyCircuitBreaker(applyCompression(settingsBuilder.build(), config), config), config);
+                    mongo = createDriverClient(settings, config);
                     codecRegistry = settings.getCodecRegistry();
+                    concurrencyScheduler = createConcurrencyScheduler(settings, config);
                 }
             }
             return mongo;
         }
 
+        private List<CodecProvider> objectCodecProviders(ClientConfig config) {
+            List<CodecProvider> objectCodecProviders = new ArrayList<>(config.getObjectCodecProviders());
+            for (ObjectCodecProvider provider : ServiceLoader.load(ObjectCodecProvider.class))
+                objectCodecProviders.add(provider);
+            return objectCodecProviders;
+        }
+
+        /**
+         * The object codecs come after the codecs of the settings, which take precedence
+         */
+        private MongoClientSettings applyObjectCodecs(MongoClientSettings settings, ClientConfig config) {
+            List<CodecProvider> objectCodecProviders = objectCodecProviders(config);
+            if (objectCodecProviders.isEmpty())
+                return settings;
+            return MongoClientSettings.builder(settings)
+                    .codecRegistry(CodecRegistries.fromRegistries(settings.getCodecRegistry(), CodecRegistries.fromProviders(objectCodecProviders)))
+                    .build();
+        }
+
+        private com.mongodb.reactivestreams.client.MongoClient createDriverClient(MongoClientSettings settings, ClientConfig config) {
+            Function<MongoClientSettings, com.mongodb.reactivestreams.client.MongoClient> factory = config.getDriverClientFactory();
+            return factory == null ? MongoClients.create(settings) : factory.apply(settings);
+        }
+
+        /**
+         * The budget of the collections with a concurrency limit defaults to the connection pool size: queued
+         * operations then wait in the client rather than in the pool
+         */
+        private ConcurrencyScheduler createConcurrencyScheduler(MongoClientSettings settings, ClientConfig config) {
+            int budget = config.getMaxConcurrentOperations();
+            return new ConcurrencyScheduler(budget != 0 ? budget : settings.getConnectionPoolSettings().getMaxSize());
+        }
+
+        /**
+         * The compression policy overrides the compressors of the settings, and the statistics collector wraps
+         * the stream factory of the settings.
+         */
+        private MongoClientSettings applyCompression(MongoClientSettings settings, ClientConfig config) {
+            if (config.getCompressionPolicy() == null && !config.isCompressionStatsEnabled())
+                return settings;
+            MongoClientSettings.Builder settingsBuilder = MongoClientSettings.builder(settings);
+            if (config.getCompressionPolicy() != null)
+                settingsBuilder.compressorList(config.getCompressionPolicy().toDriverCompressors());
+            if (config.isCompressionStatsEnabled()) {
+                compressionStats = new CompressionStatsCollector(settings.getStreamFactoryFactory());
+                settingsBuilder.streamFactoryFactory(compressionStats);
+                settingsBuilder.addCommandListener(compressionStats);
+            }
+            return settingsBuilder.build();
+        }
+
+        /**
+         * The circuit breaker listens to the commands of the settings to track the servers, and filters the servers
+         * selected by the server selector of the settings.
+         */
+        private MongoClientSettings applyCircuitBreaker(MongoClientSettings settings, ClientConfig config) {
+            if (config.getCircuitBreakerOptions() == null)
+                return settings;
+            circuitBreaker = new CircuitBreaker(vertx, new CircuitBreakerOptions(config.getCircuitBreakerOptions()), settings.getClusterSettings().getServerSelector());
+            return MongoClientSettings.builder(settings)
+                    .addCommandListener(circuitBreaker)
+                    .applyToClusterSettings(builder -> builder.serverSelector(circuitBreaker))
+                    .build();
+        }
+
+        /**
+         * The index advisor listens to the commands of the settings to record the shapes of the queries
+         */
+        private MongoClientSettings applyIndexAdvisor(MongoClientSettings settings, ClientConfig config) {
+            if (config.getIndexAdvisorOptions() == null)
+                return settings;
+            indexAdvisor = new IndexAdvisor(new IndexAdvisorOptions(config.getIndexAdvisorOptions()));
+            return MongoClientSettings.builder(settings)
+                    .addCommandListener(indexAdvisor)
+                    .build();
+        }
+
         private void mergeVertxSettingsIntoMongoSettingsBuilder(MongoClientSettingsInitializer postInitializer, MongoClientSettings.Builder settingsBuilder, io.vertx.mongo.MongoClientSettings vertxConfig) {
             settingsBuilder.applyToClusterSettings(_builder -> {
                 ClusterSettings clusterSettings = vertxConfig == null ? null : vertxConfig.getClusterSettings();
@@ -203,11 +427,13 @@ public abstract class MongoClientBase implements MongoClient {
         void close() {
             java.io.Closeable client;
             Runnable callback;
+            CompressionStatsCollector stats;
             synchronized (this) {
                 if (--refCount > 0) {
                     return;
                 }
                 client = mongo;
+                stats = compressionStats;
                 mongo = null;
                 callback = closeRunner;
                 closeRunner = null;
@@ -219,6 +445,8 @@ public abstract class MongoClientBase implements MongoClient {
                 MongoClientBase.this.vertx.executeBlocking(p -> {
                     try {
                         client.close();
+                        if (stats != null)
+                            stats.close();
                     } catch (IOException e) {
                         p.fail(e);
                     }
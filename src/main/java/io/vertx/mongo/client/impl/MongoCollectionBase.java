@@ -1,13 +1,295 @@
 package io.vertx.mongo.client.impl;
 
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import com.mongodb.reactivestreams.client.AggregatePublisher;
+import com.mongodb.reactivestreams.client.FindPublisher;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.mongo.MongoCollectionResult;
+import io.vertx.mongo.MongoPage;
+import io.vertx.mongo.MongoResult;
+import io.vertx.mongo.Pipeline;
+import io.vertx.mongo.client.AggregateOptions;
+import io.vertx.mongo.client.ConcurrencyLimitOptions;
+import io.vertx.mongo.client.ConcurrencyLimitStats;
+import io.vertx.mongo.client.ExportOptions;
+import io.vertx.mongo.client.FindOptions;
+import io.vertx.mongo.client.HedgeOptions;
+import io.vertx.mongo.client.IndexAdvice;
+import io.vertx.mongo.client.ImportOptions;
+import io.vertx.mongo.client.ImportResult;
 import io.vertx.mongo.client.MongoCollection;
+import io.vertx.mongo.client.OperationClass;
+import io.vertx.mongo.client.PreparedFind;
+import io.vertx.mongo.client.model.IndexModel;
+import io.vertx.mongo.impl.Circuit;
+import io.vertx.mongo.impl.CircuitBreaker;
+import io.vertx.mongo.impl.CircuitBreakerPublisher;
+import io.vertx.mongo.impl.ConcurrencyLimiter;
+import io.vertx.mongo.impl.IndexAdvisor;
+import io.vertx.mongo.impl.LimitedPublisher;
+import io.vertx.mongo.impl.MongoClientContext;
+import io.vertx.mongo.impl.MongoCollectionResultImpl;
+import io.vertx.mongo.impl.MongoResultImpl;
+import io.vertx.mongo.impl.PublisherDecorator;
+import io.vertx.mongo.impl.WeakValueCache;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.reactivestreams.Publisher;
 
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 
+import static io.vertx.mongo.impl.Utils.setHandler;
+
 public abstract class MongoCollectionBase<TDocument> implements MongoCollection<TDocument> {
 
+    private static final String ID_FIELD = "_id";
+
+    // keyed by read preference, read concern, write concern, codec registry, document class or hedge options (as JSON)
+    private final WeakValueCache<Object, MongoCollection<?>> derivedCollections = new WeakValueCache<>();
+    private final Function<Object, MongoCollection<?>> derivedCollectionFactory = this::createDerivedCollection;
+    // null when the collection has no concurrency limit
+    private ConcurrencyLimiter limiter;
+    // reads raw documents for MongoResult.rawStream, created on first use
+    private com.mongodb.reactivestreams.client.MongoCollection<RawBsonDocument> rawWrapped;
+    // concurrency limit and circuit breaker per operation class, created on first use
+    private final PublisherDecorator[] decorators = new PublisherDecorator[OperationClass.values().length];
+
+    public abstract MongoClientContext getClientContext();
+
+    @SuppressWarnings("unchecked")
+    protected MongoCollection<TDocument> getCachedDerivedCollection(Object setting) {
+        return (MongoCollection<TDocument>) derivedCollections.get(setting, derivedCollectionFactory);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <NewTDocument> MongoCollection<NewTDocument> getCachedCollectionWithDocumentClass(Class<NewTDocument> clazz) {
+        return (MongoCollection<NewTDocument>) derivedCollections.get(clazz, derivedCollectionFactory);
+    }
+
+    private MongoCollection<?> createDerivedCollection(Object setting) {
+        com.mongodb.reactivestreams.client.MongoCollection<TDocument> collection = toDriverClass(getClientContext());
+        if (setting instanceof Class)
+            return limitedBy(withDocumentClass(collection, (Class<?>) setting), limiter);
+        if (setting instanceof JsonObject)
+            return limitedBy(new HedgedMongoCollectionImpl<>(getClientContext(), collection, getDocumentClass(), new HedgeOptions((JsonObject) setting)), limiter);
+        if (setting instanceof ReadPreference)
+            collection = collection.withReadPreference((ReadPreference) setting);
+        else if (setting instanceof ReadConcern)
+            collection = collection.withReadConcern((ReadConcern) setting);
+        else if (setting instanceof WriteConcern)
+            collection = collection.withWriteConcern((WriteConcern) setting);
+        else if (setting instanceof CodecRegistry)
+            collection = collection.withCodecRegistry((CodecRegistry) setting);
+        else
+            throw new IllegalArgumentException("unsupported setting: " + setting);
+        return limitedBy(derive(collection, getDocumentClass()), limiter);
+    }
+
+    private <NewTDocument> MongoCollectionBase<NewTDocument> withDocumentClass(com.mongodb.reactivestreams.client.MongoCollection<TDocument> collection, Class<NewTDocument> clazz) {
+        return derive(collection.withDocumentClass(clazz), clazz);
+    }
+
+    /**
+     * @param collection driver collection derived from the one of this collection
+     * @param clazz the document class of the driver collection
+     * @return the collection wrapping a derived driver collection
+     */
+    protected <NewTDocument> MongoCollectionBase<NewTDocument> derive(com.mongodb.reactivestreams.client.MongoCollection<NewTDocument> collection, Class<NewTDocument> clazz) {
+        return new MongoCollectionImpl<>(getClientContext(), collection, clazz);
+    }
+
+    /**
+     * Derived collections share the concurrency limit of their collection
+     */
+    private static <T> MongoCollectionBase<T> limitedBy(MongoCollectionBase<T> collection, ConcurrencyLimiter limiter) {
+        collection.setLimiter(limiter);
+        return collection;
+    }
+
+    protected void setLimiter(ConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public MongoCollection<TDocument> withConcurrencyLimit(ConcurrencyLimitOptions options) {
+        Objects.requireNonNull(options, "options is null");
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(getClientContext().getConcurrencyScheduler(), getNamespace().getFullName(), new ConcurrencyLimitOptions(options));
+        return limitedBy(derive(toDriverClass(getClientContext()), getDocumentClass()), limiter);
+    }
+
+    @Override
+    public ConcurrencyLimitStats getConcurrencyLimitStats() {
+        return limiter == null ? null : limiter.getStats();
+    }
+
+    private PublisherDecorator getDecorator(OperationClass operationClass) {
+        PublisherDecorator decorator = decorators[operationClass.ordinal()];
+        if (decorator == null) {
+            CircuitBreaker circuitBreaker = getClientContext().getCircuitBreaker();
+            Circuit circuit = circuitBreaker == null ? null : circuitBreaker.getCollectionCircuit(getNamespace().getFullName());
+            // operations rejected by the circuit fail fast, without waiting for the concurrency limit
+            decorator = new PublisherDecorator() {
+                @Override
+                public <T> Publisher<T> decorate(Publisher<T> publisher) {
+                    Publisher<T> decorated = limiter == null ? publisher : new LimitedPublisher<>(limiter, operationClass, publisher);
+                    return circuit == null ? decorated : new CircuitBreakerPublisher<>(circuit, decorated);
+                }
+            };
+            decorators[operationClass.ordinal()] = decorator;
+        }
+        return decorator;
+    }
+
+    private boolean isDecorated() {
+        return limiter != null || getClientContext().getCircuitBreaker() != null;
+    }
+
+    protected <T> Publisher<T> limit(OperationClass operationClass, Publisher<T> publisher) {
+        return isDecorated() ? getDecorator(operationClass).decorate(publisher) : publisher;
+    }
+
+    protected <T> MongoResult<T> limit(OperationClass operationClass, MongoResultImpl<T> result) {
+        return isDecorated() ? result.decoratedWith(getDecorator(operationClass)) : result;
+    }
+
+    protected <T> MongoCollectionResult<T> limit(OperationClass operationClass, MongoCollectionResultImpl<T> result) {
+        return isDecorated() ? result.decoratedWith(getDecorator(operationClass)) : result;
+    }
+
+    protected com.mongodb.reactivestreams.client.MongoCollection<RawBsonDocument> getRawWrapped() {
+        if (rawWrapped == null)
+            rawWrapped = toDriverClass(getClientContext()).withDocumentClass(RawBsonDocument.class);
+        return rawWrapped;
+    }
+
+    protected Publisher<RawBsonDocument> raw(FindPublisher<RawBsonDocument> publisher, FindOptions options) {
+        options.initializePublisher(getClientContext(), publisher);
+        return publisher;
+    }
+
+    protected Publisher<RawBsonDocument> raw(AggregatePublisher<RawBsonDocument> publisher, AggregateOptions options) {
+        options.initializePublisher(getClientContext(), publisher);
+        return publisher;
+    }
+
+    @Override
+    public MongoCollection<TDocument> withHedgedReads(HedgeOptions options) {
+        Objects.requireNonNull(options, "options is null");
+        // collections hedged with the same options share their policy, and the latencies it has recorded
+        return getCachedDerivedCollection(options.toJson());
+    }
+
+    @Override
+    public Future<Long> exportTo(WriteStream<Buffer> output, ExportOptions options) {
+        Objects.requireNonNull(output, "output is null");
+        Objects.requireNonNull(options, "options is null");
+        ExportOptions exportOptions = new ExportOptions(options);
+        FindOptions findOptions = new FindOptions()
+                .setProjection(exportOptions.getProjection())
+                .setSort(exportOptions.getSort());
+        JsonObject filter = exportOptions.getFilter() == null ? new JsonObject() : exportOptions.getFilter();
+        CollectionExporter exporter = new CollectionExporter(getClientContext().getContext(), find(filter, findOptions).rawStream(exportOptions.getBatchSize()), output, exportOptions);
+        return exporter.start();
+    }
+
+    @Override
+    public void exportTo(WriteStream<Buffer> output, ExportOptions options, Handler<AsyncResult<Long>> resultHandler) {
+        Future<Long> __future = this.exportTo(output, options);
+        setHandler(__future, resultHandler);
+    }
+
+    @Override
+    public Future<ImportResult> importFrom(ReadStream<Buffer> input, ImportOptions options) {
+        Objects.requireNonNull(input, "input is null");
+        Objects.requireNonNull(options, "options is null");
+        PublisherDecorator writeDecorator = new PublisherDecorator() {
+            @Override
+            public <T> Publisher<T> decorate(Publisher<T> publisher) {
+                return limit(OperationClass.WRITE, publisher);
+            }
+        };
+        com.mongodb.reactivestreams.client.MongoCollection<BsonDocument> collection = toDriverClass(getClientContext()).withDocumentClass(BsonDocument.class);
+        return new CollectionImporter(getClientContext(), collection, writeDecorator, input, new ImportOptions(options)).start();
+    }
+
+    @Override
+    public void importFrom(ReadStream<Buffer> input, ImportOptions options, Handler<AsyncResult<ImportResult>> resultHandler) {
+        Future<ImportResult> __future = this.importFrom(input, options);
+        setHandler(__future, resultHandler);
+    }
+
+    @Override
+    public Future<List<IndexAdvice>> adviseIndexes() {
+        IndexAdvisor advisor = getClientContext().getIndexAdvisor();
+        if (advisor == null)
+            throw new IllegalStateException("the index advisor is not enabled, see ClientConfig.setIndexAdvisorOptions");
+        String namespace = getNamespace().getFullName();
+        return listIndexes().all().map(indexes -> advisor.advise(namespace, indexes));
+    }
+
+    @Override
+    public void adviseIndexes(Handler<AsyncResult<List<IndexAdvice>>> resultHandler) {
+        Future<List<IndexAdvice>> __future = this.adviseIndexes();
+        setHandler(__future, resultHandler);
+    }
+
+    @Override
+    public Future<List<IndexModel>> suggestIndexes() {
+        return adviseIndexes().map(IndexAdvisor::suggest);
+    }
+
+    @Override
+    public void suggestIndexes(Handler<AsyncResult<List<IndexModel>>> resultHandler) {
+        Future<List<IndexModel>> __future = this.suggestIndexes();
+        setHandler(__future, resultHandler);
+    }
+
+    @Override
+    public MongoCollectionResult<TDocument> aggregate(Pipeline pipeline, JsonObject params) {
+        Objects.requireNonNull(pipeline, "pipeline is null");
+        List<Bson> __pipeline = pipeline.toBsonList(getClientContext(), params);
+        AggregatePublisher<TDocument> __publisher = toDriverClass(getClientContext()).aggregate(__pipeline);
+        Function<TDocument, TDocument> outputMapper = getClientContext().getConfig().getOutputDocumentMapper(getDocumentClass());
+        return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, getClientContext(), __publisher, outputMapper, __publisher::first).withRawPublisher(() -> getRawWrapped().aggregate(__pipeline)));
+    }
+
+    @Override
+    public MongoCollectionResult<TDocument> aggregate(Pipeline pipeline, JsonObject params, AggregateOptions options) {
+        Objects.requireNonNull(pipeline, "pipeline is null");
+        Objects.requireNonNull(options, "options is null");
+        List<Bson> __pipeline = pipeline.toBsonList(getClientContext(), params);
+        AggregatePublisher<TDocument> __publisher = toDriverClass(getClientContext()).aggregate(__pipeline);
+        options.initializePublisher(getClientContext(), __publisher);
+        Function<TDocument, TDocument> outputMapper = getClientContext().getConfig().getOutputDocumentMapper(getDocumentClass());
+        Integer __batchSize = options.getBatchSize();
+        if (__batchSize != null) {
+            return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, getClientContext(), __publisher, outputMapper, __publisher::first, __batchSize).withRawPublisher(() -> raw(getRawWrapped().aggregate(__pipeline), options)));
+        } else {
+            return limit(OperationClass.READ, new MongoCollectionResultImpl<>(__publisher::toCollection, getClientContext(), __publisher, outputMapper, __publisher::first).withRawPublisher(() -> raw(getRawWrapped().aggregate(__pipeline), options)));
+        }
+    }
+
+    @Override
+    public PreparedFind<TDocument> prepare(JsonObject filterTemplate, FindOptions options) {
+        return new PreparedFindImpl<>(this, filterTemplate, options);
+    }
+
     protected TDocument mapDoc(TDocument doc, Function<TDocument, TDocument> mapper) {
         if (doc == null || mapper == null)
             return doc;
@@ -33,4 +315,173 @@ public abstract class MongoCollectionBase<TDocument> implements MongoCollection<
         return result == null ? list : result;
     }
 
+    @Override
+    public void paginate(JsonObject filter, JsonObject sort, int pageSize, Handler<AsyncResult<MongoPage<TDocument>>> resultHandler) {
+        Future<MongoPage<TDocument>> __future = this.paginate(filter, sort, pageSize);
+        setHandler(__future, resultHandler);
+    }
+
+    @Override
+    public Future<MongoPage<TDocument>> paginate(JsonObject filter, JsonObject sort, int pageSize) {
+        return paginate(filter, sort, pageSize, (String) null);
+    }
+
+    @Override
+    public void paginate(JsonObject filter, JsonObject sort, int pageSize, String continuationToken, Handler<AsyncResult<MongoPage<TDocument>>> resultHandler) {
+        Future<MongoPage<TDocument>> __future = this.paginate(filter, sort, pageSize, continuationToken);
+        setHandler(__future, resultHandler);
+    }
+
+    @Override
+    public Future<MongoPage<TDocument>> paginate(JsonObject filter, JsonObject sort, int pageSize, String continuationToken) {
+        Objects.requireNonNull(filter, "filter is null");
+        Objects.requireNonNull(sort, "sort is null");
+        if (pageSize <= 0)
+            throw new IllegalArgumentException("pageSize must be positive");
+        JsonObject keysetSort = keysetSort(sort);
+        if (continuationToken == null) {
+            // the index is only checked for the first page: next pages are requested with a token of the same sort
+            return checkSortIndex(keysetSort).compose(v -> findPage(keysetSort, pageSize, filter));
+        }
+        JsonArray lastKey = decodeContinuationToken(continuationToken, keysetSort);
+        JsonObject rangeFilter = new JsonObject().put("$and", new JsonArray().add(filter).add(rangeFilter(keysetSort, lastKey)));
+        return findPage(keysetSort, pageSize, rangeFilter);
+    }
+
+    private Future<MongoPage<TDocument>> findPage(JsonObject keysetSort, int pageSize, JsonObject pageFilter) {
+        // one extra document tells whether there is a next page
+        FindOptions options = new FindOptions().setSort(keysetSort).setLimit(pageSize + 1);
+        return find(pageFilter, options).all().map(items -> {
+            if (items.size() <= pageSize)
+                return new MongoPage<>(items, null);
+            List<TDocument> page = new ArrayList<>(items.subList(0, pageSize));
+            JsonArray lastKey = sortKey(page.get(pageSize - 1), keysetSort);
+            return new MongoPage<>(page, encodeContinuationToken(keysetSort, lastKey));
+        });
+    }
+
+    private Future<Void> checkSortIndex(JsonObject keysetSort) {
+        // the _id tie-breaker is part of the sort: an index without it leaves the server an in-memory sort of the page
+        List<String> fields = new ArrayList<>(keysetSort.fieldNames());
+        if (fields.size() == 1 && fields.get(0).equals(ID_FIELD))
+            return Future.succeededFuture();
+        return listIndexes().all().compose(indexes -> {
+            for (JsonObject index : indexes)
+                if (supportsSort(index.getJsonObject("key"), keysetSort, fields))
+                    return Future.succeededFuture();
+            return Future.failedFuture(new IllegalStateException("no index supports the pagination sort " + keysetSort.encode()));
+        });
+    }
+
+    private static boolean supportsSort(JsonObject key, JsonObject keysetSort, List<String> fields) {
+        if (key == null || key.size() < fields.size())
+            return false;
+        List<String> keyFields = new ArrayList<>(key.fieldNames());
+        Boolean reversed = null;
+        for (int i = 0; i < fields.size(); i++) {
+            String field = fields.get(i);
+            if (!keyFields.get(i).equals(field) || !(key.getValue(field) instanceof Number))
+                return false;
+            boolean sameDirection = Integer.signum(key.getInteger(field)) == keysetSort.getInteger(field);
+            if (reversed == null)
+                reversed = !sameDirection;
+            else if (reversed == sameDirection)
+                return false;
+        }
+        return true;
+    }
+
+    private static JsonObject keysetSort(JsonObject sort) {
+        JsonObject keysetSort = new JsonObject();
+        int direction = 1;
+        for (Map.Entry<String, Object> entry : sort) {
+            if (!(entry.getValue() instanceof Number))
+                throw new IllegalArgumentException("unsupported sort direction for " + entry.getKey() + ": " + entry.getValue());
+            direction = Integer.signum(((Number) entry.getValue()).intValue());
+            if (direction == 0)
+                throw new IllegalArgumentException("unsupported sort direction for " + entry.getKey() + ": " + entry.getValue());
+            keysetSort.put(entry.getKey(), direction);
+        }
+        // _id makes the sort key unique; in the direction of the last field, an index on the fields and _id in the same
+        // direction supports both the sort and the reverse sort
+        if (!keysetSort.containsKey(ID_FIELD))
+            keysetSort.put(ID_FIELD, direction);
+        return keysetSort;
+    }
+
+    private static JsonObject rangeFilter(JsonObject keysetSort, JsonArray lastKey) {
+        // (a > va) or (a = va and b > vb) or ... with $lt for descending fields
+        // null and missing values sort before all the others but $gt and $lt never match them: they are handled
+        // explicitly ($eq null matches both)
+        List<String> fields = new ArrayList<>(keysetSort.fieldNames());
+        JsonArray or = new JsonArray();
+        for (int i = 0; i < fields.size(); i++) {
+            String field = fields.get(i);
+            Object value = lastKey.getValue(i);
+            boolean ascending = keysetSort.getInteger(field) > 0;
+            // nothing comes after null in descending order
+            if (value == null && !ascending)
+                continue;
+            JsonObject clause = new JsonObject();
+            for (int j = 0; j < i; j++)
+                clause.put(fields.get(j), new JsonObject().put("$eq", lastKey.getValue(j)));
+            if (value == null)
+                clause.put(field, new JsonObject().put("$ne", null));
+            else if (ascending)
+                clause.put(field, new JsonObject().put("$gt", value));
+            else
+                clause.put("$or", new JsonArray()
+                        .add(new JsonObject().put(field, new JsonObject().put("$lt", value)))
+                        .add(new JsonObject().put(field, new JsonObject().put("$eq", null))));
+            or.add(clause);
+        }
+        return new JsonObject().put("$or", or);
+    }
+
+    private JsonArray sortKey(TDocument document, JsonObject keysetSort) {
+        if (!(document instanceof JsonObject))
+            throw new IllegalStateException("pagination requires JsonObject documents");
+        JsonObject json = (JsonObject) document;
+        Function<JsonObject, JsonObject> inputMapper = getClientContext().getConfig().getInputMapper();
+        JsonArray key = new JsonArray();
+        for (String field : keysetSort.fieldNames()) {
+            Object value = fieldValue(json, field);
+            // ids have been mapped by the output mapper: map them back to their stored representation
+            if (field.equals(ID_FIELD) && inputMapper != null)
+                value = inputMapper.apply(new JsonObject().put(ID_FIELD, value)).getValue(ID_FIELD);
+            key.add(value);
+        }
+        return key;
+    }
+
+    private static Object fieldValue(JsonObject json, String path) {
+        Object value = json;
+        for (String name : path.split("\\.")) {
+            if (!(value instanceof JsonObject))
+                return null;
+            value = ((JsonObject) value).getValue(name);
+        }
+        return value;
+    }
+
+    private static String encodeContinuationToken(JsonObject keysetSort, JsonArray lastKey) {
+        Buffer buffer = new JsonObject().put("s", keysetSort).put("k", lastKey).toBuffer();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.getBytes());
+    }
+
+    private static JsonArray decodeContinuationToken(String continuationToken, JsonObject keysetSort) {
+        JsonObject token;
+        try {
+            token = new JsonObject(Buffer.buffer(Base64.getUrlDecoder().decode(continuationToken)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("invalid continuation token", e);
+        }
+        if (!keysetSort.equals(token.getJsonObject("s")))
+            throw new IllegalArgumentException("continuation token does not match the sort " + keysetSort.encode());
+        JsonArray lastKey = token.getJsonArray("k");
+        if (lastKey == null || lastKey.size() != keysetSort.size())
+            throw new IllegalArgumentException("invalid continuation token");
+        return lastKey;
+    }
+
 }
@@ -1,6 +1,61 @@
 package io.vertx.mongo.client.impl;
 
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import io.vertx.mongo.client.MongoCollection;
 import io.vertx.mongo.client.MongoDatabase;
+import io.vertx.mongo.impl.MongoClientContext;
+import io.vertx.mongo.impl.WeakValueCache;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public abstract class MongoDatabaseBase implements MongoDatabase {
+
+    /**
+     * Collections of a document class, with a factory that does not capture the collection name
+     */
+    private final class CollectionCache<TDocument> {
+        final WeakValueCache<String, MongoCollection<TDocument>> collections = new WeakValueCache<>();
+        final Function<String, MongoCollection<TDocument>> factory;
+
+        CollectionCache(Class<TDocument> clazz) {
+            factory = name -> new MongoCollectionImpl<>(getClientContext(), toDriverClass(getClientContext()).getCollection(name, clazz), clazz);
+        }
+    }
+
+    private final ConcurrentHashMap<Class<?>, CollectionCache<?>> collectionCaches = new ConcurrentHashMap<>();
+    private final Function<Class<?>, CollectionCache<?>> collectionCacheFactory = CollectionCache::new;
+    // keyed by read preference, read concern, write concern or codec registry
+    private final WeakValueCache<Object, MongoDatabase> derivedDatabases = new WeakValueCache<>();
+    private final Function<Object, MongoDatabase> derivedDatabaseFactory = this::createDerivedDatabase;
+
+    public abstract MongoClientContext getClientContext();
+
+    @SuppressWarnings("unchecked")
+    protected <TDocument> MongoCollection<TDocument> getCachedCollection(String collectionName, Class<TDocument> clazz) {
+        CollectionCache<TDocument> cache = (CollectionCache<TDocument>) collectionCaches.computeIfAbsent(clazz, collectionCacheFactory);
+        return cache.collections.get(collectionName, cache.factory);
+    }
+
+    protected MongoDatabase getCachedDerivedDatabase(Object setting) {
+        return derivedDatabases.get(setting, derivedDatabaseFactory);
+    }
+
+    private MongoDatabase createDerivedDatabase(Object setting) {
+        com.mongodb.reactivestreams.client.MongoDatabase database = toDriverClass(getClientContext());
+        if (setting instanceof ReadPreference)
+            database = database.withReadPreference((ReadPreference) setting);
+        else if (setting instanceof ReadConcern)
+            database = database.withReadConcern((ReadConcern) setting);
+        else if (setting instanceof WriteConcern)
+            database = database.withWriteConcern((WriteConcern) setting);
+        else if (setting instanceof CodecRegistry)
+            database = database.withCodecRegistry((CodecRegistry) setting);
+        else
+            throw new IllegalArgumentException("unsupported setting: " + setting);
+        return new MongoDatabaseImpl(getClientContext(), database);
+    }
 }
@@ -0,0 +1,114 @@
+package io.vertx.mongo.client.impl;
+
+import com.mongodb.reactivestreams.client.FindPublisher;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.MongoResult;
+import io.vertx.mongo.client.FindOptions;
+import io.vertx.mongo.client.OperationClass;
+import io.vertx.mongo.client.PreparedFind;
+import io.vertx.mongo.impl.BsonTemplate;
+import io.vertx.mongo.impl.MongoClientContext;
+import io.vertx.mongo.impl.MongoResultImpl;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Prepared find: the filter and the JSON options are the documents of a {@link BsonTemplate}, the other options are
+ * copied in options applied to the publisher of each execution.
+ */
+public class PreparedFindImpl<TDocument> implements PreparedFind<TDocument> {
+
+    private final MongoCollectionBase<TDocument> collection;
+    private final MongoClientContext clientContext;
+    private final Function<TDocument, TDocument> outputMapper;
+    private final BsonTemplate template;
+    private final Set<String> parameters;
+    // indexes of the documents of the template, -1 if absent; the filter is the first document
+    private final int projection;
+    private final int sort;
+    private final int hint;
+    private final int max;
+    private final int min;
+    // options without JSON values
+    private final FindOptions options;
+    private final Integer batchSize;
+
+    @SuppressWarnings("deprecation")
+    PreparedFindImpl(MongoCollectionBase<TDocument> collection, JsonObject filterTemplate, FindOptions options) {
+        Objects.requireNonNull(filterTemplate, "filterTemplate is null");
+        Objects.requireNonNull(options, "options is null");
+        if (options.getFilter() != null)
+            throw new IllegalArgumentException("the filter of a prepared find is its filter template, not the filter of its options");
+        this.collection = collection;
+        this.clientContext = collection.getClientContext();
+        this.outputMapper = clientContext.getConfig().getOutputDocumentMapper(collection.getDocumentClass());
+        List<JsonObject> documents = new ArrayList<>();
+        documents.add(filterTemplate.copy());
+        this.projection = add(documents, options.getProjection());
+        this.sort = add(documents, options.getSort());
+        this.hint = add(documents, options.getHint());
+        this.max = add(documents, options.getMax());
+        this.min = add(documents, options.getMin());
+        this.template = new BsonTemplate(clientContext.getMapper(), documents);
+        this.parameters = BsonTemplate.parameters(documents);
+        this.options = new FindOptions()
+                .setLimit(options.getLimit())
+                .setSkip(options.getSkip())
+                .setMaxTime(options.getMaxTime())
+                .setMaxAwaitTime(options.getMaxAwaitTime())
+                .setNoCursorTimeout(options.isNoCursorTimeout())
+                .setOplogReplay(options.isOplogReplay())
+                .setPartial(options.isPartial())
+                .setCursorType(options.getCursorType())
+                .setCollation(options.getCollation())
+                .setComment(options.getComment())
+                .setHintString(options.getHintString())
+                .setReturnKey(options.isReturnKey())
+                .setShowRecordId(options.isShowRecordId())
+                .setBatchSize(options.getBatchSize())
+                .setAllowDiskUse(options.isAllowDiskUse());
+        this.batchSize = options.getBatchSize();
+    }
+
+    private static int add(List<JsonObject> documents, JsonObject document) {
+        if (document == null)
+            return -1;
+        documents.add(document.copy());
+        return documents.size() - 1;
+    }
+
+    @Override
+    public Set<String> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public MongoResult<TDocument> find(JsonObject params) {
+        List<Bson> documents = template.bind(params == null ? new JsonObject() : params);
+        FindPublisher<TDocument> __publisher = initializePublisher(collection.toDriverClass(clientContext).find(documents.get(0)), documents);
+        MongoResultImpl<TDocument> result = batchSize == null
+                ? new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first)
+                : new MongoResultImpl<>(clientContext, __publisher, outputMapper, __publisher::first, batchSize);
+        return collection.limit(OperationClass.READ, result.withRawPublisher(() -> initializePublisher(collection.getRawWrapped().find(documents.get(0)), documents)));
+    }
+
+    private <T> FindPublisher<T> initializePublisher(FindPublisher<T> publisher, List<Bson> documents) {
+        options.initializePublisher(clientContext, publisher);
+        if (projection != -1)
+            publisher.projection(documents.get(projection));
+        if (sort != -1)
+            publisher.sort(documents.get(sort));
+        if (hint != -1)
+            publisher.hint(documents.get(hint));
+        if (max != -1)
+            publisher.max(documents.get(max));
+        if (min != -1)
+            publisher.min(documents.get(min));
+        return publisher;
+    }
+}
@@ -1,6 +1,283 @@
 package io.vertx.mongo.client.vault.impl;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.client.model.vault.EncryptOptions;
 import io.vertx.mongo.client.vault.ClientEncryption;
+import io.vertx.mongo.impl.ConversionUtils;
+import io.vertx.mongo.impl.MongoClientContext;
+import io.vertx.mongo.impl.SingleResultSubscriber;
+import io.vertx.mongo.impl.codec.json.JsonObjectCodec;
+import org.bson.BsonArray;
+import org.bson.BsonBinary;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static io.vertx.mongo.impl.Utils.setHandler;
 
 public abstract class ClientEncryptionBase implements ClientEncryption {
+
+    private static final String DETERMINISTIC_ALGORITHM = "AEAD_AES_256_CBC_HMAC_SHA_512-Deterministic";
+    // values encrypted concurrently by encryptMany
+    private static final int ENCRYPT_CONCURRENCY = 32;
+    private static final int CACHE_MAX_SIZE = 10_000;
+    // same lifetime as the decrypted data keys in the libmongocrypt cache
+    private static final long CACHE_TTL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    // name of the field wrapping the values converted with the JsonObject codec
+    private static final String VALUE_FIELD = "v";
+
+    private final ExpiringCache<CacheKey, BsonBinary> deterministicCache = new ExpiringCache<>(CACHE_MAX_SIZE, CACHE_TTL_NANOS);
+
+    public abstract MongoClientContext getClientContext();
+
+    @Override
+    public Future<List<byte[]>> encryptMany(List<Object> values, EncryptOptions options) {
+        Objects.requireNonNull(values, "values is null");
+        Objects.requireNonNull(options, "options is null");
+        for (Object value : values)
+            Objects.requireNonNull(value, "values contains null");
+        return encrypt(toEncryptableValues(values), options).map(binaries -> binaries.stream().map(BsonBinary::getData).collect(Collectors.toList()));
+    }
+
+    @Override
+    public void encryptMany(List<Object> values, EncryptOptions options, Handler<AsyncResult<List<byte[]>>> resultHandler) {
+        Future<List<byte[]>> future = encryptMany(values, options);
+        setHandler(future, resultHandler);
+    }
+
+    @Override
+    public Future<List<JsonObject>> encryptFields(List<JsonObject> documents, Map<String, EncryptOptions> fields) {
+        Objects.requireNonNull(documents, "documents is null");
+        Objects.requireNonNull(fields, "fields is null");
+        List<JsonObject> copies = documents.stream().map(JsonObject::copy).collect(Collectors.toList());
+        List<Future<Void>> futures = new ArrayList<>(fields.size());
+        for (Map.Entry<String, EncryptOptions> field : fields.entrySet())
+            futures.add(encryptField(copies, field.getKey(), field.getValue()));
+        // CompositeFuture takes a list of raw futures
+        return CompositeFuture.all(new ArrayList<>(futures)).map(v -> copies);
+    }
+
+    @Override
+    public void encryptFields(List<JsonObject> documents, Map<String, EncryptOptions> fields, Handler<AsyncResult<List<JsonObject>>> resultHandler) {
+        Future<List<JsonObject>> future = encryptFields(documents, fields);
+        setHandler(future, resultHandler);
+    }
+
+    private Future<Void> encryptField(List<JsonObject> documents, String path, EncryptOptions options) {
+        Objects.requireNonNull(options, "options of " + path + " is null");
+        String[] names = path.split("\\.");
+        String name = names[names.length - 1];
+        List<JsonObject> parents = new ArrayList<>(documents.size());
+        List<Object> values = new ArrayList<>(documents.size());
+        for (JsonObject document : documents) {
+            JsonObject parent = document;
+            for (int i = 0; i < names.length - 1 && parent != null; i++) {
+                Object child = parent.getValue(names[i]);
+                parent = child instanceof JsonObject ? (JsonObject) child : null;
+            }
+            if (parent == null || parent.getValue(name) == null)
+                continue;
+            parents.add(parent);
+            values.add(parent.getValue(name));
+        }
+        return encrypt(toEncryptableValues(values), options).map(binaries -> {
+            for (int i = 0; i < binaries.size(); i++) {
+                BsonBinary binary = binaries.get(i);
+                parents.get(i).put(name, new JsonObject()
+                        .put(JsonObjectCodec.BINARY_FIELD, binary.getData())
+                        .put(JsonObjectCodec.TYPE_FIELD, (int) binary.getType()));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * @param value a value to encrypt
+     * @return the value converted like the field of a document, with the same extended JSON support
+     */
+    protected BsonValue toEncryptableValue(Object value) {
+        return toEncryptableValues(Collections.singletonList(value)).get(0);
+    }
+
+    /**
+     * Converts values like {@link #toEncryptableValue}. Values without a direct BSON counterpart are converted together,
+     * as the items of an array.
+     */
+    private List<BsonValue> toEncryptableValues(List<?> values) {
+        List<BsonValue> result = new ArrayList<>(values.size());
+        JsonArray others = null;
+        for (Object value : values) {
+            BsonValue converted = toSimpleBsonValue(value);
+            if (converted == null) {
+                if (others == null)
+                    others = new JsonArray();
+                others.add(value);
+            }
+            result.add(converted);
+        }
+        if (others == null)
+            return result;
+        BsonArray converted = getClientContext().getMapper().toBsonDocument(new JsonObject().put(VALUE_FIELD, others)).getArray(VALUE_FIELD);
+        int next = 0;
+        for (int i = 0; i < result.size(); i++) {
+            if (result.get(i) == null)
+                result.set(i, converted.get(next++));
+        }
+        return result;
+    }
+
+    private static BsonValue toSimpleBsonValue(Object value) {
+        if (value instanceof String)
+            return new BsonString((String) value);
+        if (value instanceof Integer)
+            return new BsonInt32((Integer) value);
+        if (value instanceof Long)
+            return new BsonInt64((Long) value);
+        if (value instanceof Double)
+            return new BsonDouble((Double) value);
+        if (value instanceof Boolean)
+            return BsonBoolean.valueOf((Boolean) value);
+        return null;
+    }
+
+    /**
+     * @param value a decrypted value
+     * @return the value converted like the field of a document
+     */
+    protected Object toDecryptedValue(BsonValue value) {
+        ConversionUtils mapper = getClientContext().getMapper();
+        switch (value.getBsonType()) {
+            case STRING:
+            case INT32:
+            case INT64:
+            case OBJECT_ID:
+                return mapper.toObject(value);
+            case DOUBLE:
+                return value.asDouble().getValue();
+            case BOOLEAN:
+                return value.asBoolean().getValue();
+            default:
+                return mapper.toJsonObject(new BsonDocument(VALUE_FIELD, value)).getValue(VALUE_FIELD);
+        }
+    }
+
+    /**
+     * Encrypts the values with at most {@link #ENCRYPT_CONCURRENCY} driver calls in flight.
+     * Deterministic encryption always gives the same result for a value, so these values are encrypted once per batch
+     * and cached.
+     */
+    private Future<List<BsonBinary>> encrypt(List<BsonValue> values, EncryptOptions options) {
+        MongoClientContext clientContext = getClientContext();
+        boolean deterministic = DETERMINISTIC_ALGORITHM.equals(options.getAlgorithm());
+        String key = deterministic ? keyOf(options) : null;
+        BsonBinary[] results = new BsonBinary[values.size()];
+        // value to encrypt -> indexes of the value in the batch
+        List<Map.Entry<BsonValue, List<Integer>>> tasks = new ArrayList<>();
+        Map<BsonValue, List<Integer>> deduplicated = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            BsonValue value = values.get(i);
+            if (!deterministic) {
+                tasks.add(new AbstractMap.SimpleImmutableEntry<>(value, Arrays.asList(i)));
+                continue;
+            }
+            BsonBinary cached = deterministicCache.get(new CacheKey(key, value));
+            if (cached != null)
+                results[i] = cached;
+            else
+                deduplicated.computeIfAbsent(value, v -> new ArrayList<>()).add(i);
+        }
+        tasks.addAll(deduplicated.entrySet());
+        Promise<List<BsonBinary>> promise = clientContext.getContext().promise();
+        if (tasks.isEmpty()) {
+            promise.complete(Arrays.asList(results));
+            return promise.future();
+        }
+        com.mongodb.client.model.vault.EncryptOptions driverOptions = options.toDriverClass(clientContext);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(tasks.size());
+        Handler<Void> encryptNext = new Handler<Void>() {
+            @Override
+            public void handle(Void v) {
+                int index = next.getAndIncrement();
+                if (index >= tasks.size())
+                    return;
+                Map.Entry<BsonValue, List<Integer>> task = tasks.get(index);
+                Promise<BsonBinary> encrypted = clientContext.getVertx().promise();
+                toDriverClass(clientContext).encrypt(task.getKey(), driverOptions).subscribe(new SingleResultSubscriber<>(clientContext, encrypted));
+                encrypted.future().onComplete(ar -> {
+                    if (ar.failed()) {
+                        // stops the other tasks
+                        next.set(tasks.size());
+                        promise.tryFail(ar.cause());
+                        return;
+                    }
+                    if (deterministic)
+                        deterministicCache.put(new CacheKey(key, task.getKey()), ar.result());
+                    for (int i : task.getValue())
+                        results[i] = ar.result();
+                    if (remaining.decrementAndGet() == 0)
+                        promise.tryComplete(Arrays.asList(results));
+                    else
+                        handle(null);
+                });
+            }
+        };
+        for (int i = 0; i < Math.min(ENCRYPT_CONCURRENCY, tasks.size()); i++)
+            encryptNext.handle(null);
+        return promise.future();
+    }
+
+    private static String keyOf(EncryptOptions options) {
+        if (options.getKeyId() != null)
+            return "id:" + Base64.getEncoder().encodeToString(options.getKeyId());
+        return "altName:" + options.getKeyAltName();
+    }
+
+    private static final class CacheKey {
+        private final String key;
+        private final BsonValue value;
+
+        CacheKey(String key, BsonValue value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof CacheKey))
+                return false;
+            CacheKey other = (CacheKey) o;
+            return key.equals(other.key) && value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + value.hashCode();
+        }
+    }
 }
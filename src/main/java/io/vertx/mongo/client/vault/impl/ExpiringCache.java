@@ -0,0 +1,56 @@
+package io.vertx.mongo.client.vault.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache whose entries expire a fixed time after they have been added.
+ */
+class ExpiringCache<K, V> {
+
+    private static class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    ExpiringCache(int maxSize, long ttlNanos) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize must be positive");
+        if (ttlNanos <= 0)
+            throw new IllegalArgumentException("ttlNanos must be positive");
+        this.ttlNanos = ttlNanos;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null)
+            return null;
+        if (System.nanoTime() - entry.expiresAt >= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,220 @@
+package io.vertx.mongo.codec;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+import org.bson.BsonBinaryReader;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriter;
+import org.bson.json.JsonWriterSettings;
+
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Transcodes BSON documents, such as the buffers of {@code MongoResult.rawStream()}, to Extended JSON text.
+ * <p>The BSON reader is piped into the JSON writer, which writes UTF-8 straight into the output buffer: documents are
+ * never decoded into objects.</p>
+ */
+public class ExtendedJsonTranscoder {
+
+    // size of the buffers written to the output streams
+    private static final int WRITE_SIZE = 16 * 1024;
+
+    private final JsonWriterSettings settings;
+
+    /**
+     * @param mode Extended JSON mode
+     */
+    public ExtendedJsonTranscoder(JsonMode mode) {
+        Objects.requireNonNull(mode, "mode is null");
+        this.settings = JsonWriterSettings.builder().outputMode(mode).build();
+    }
+
+    /**
+     * @return a transcoder to relaxed Extended JSON
+     */
+    public static ExtendedJsonTranscoder relaxed() {
+        return new ExtendedJsonTranscoder(JsonMode.RELAXED);
+    }
+
+    /**
+     * @return a transcoder to canonical Extended JSON ({@code EXTENDED} mode of the driver)
+     */
+    public static ExtendedJsonTranscoder canonical() {
+        return new ExtendedJsonTranscoder(JsonMode.EXTENDED);
+    }
+
+    /**
+     * @param document a BSON document
+     * @return the JSON text of the document
+     */
+    public Buffer toJson(Buffer document) {
+        Buffer json = Buffer.buffer(document.length() * 2);
+        appendTo(document, json);
+        return json;
+    }
+
+    /**
+     * Appends the JSON text of a BSON document to a buffer
+     * @param document a BSON document
+     * @param json the buffer
+     */
+    public void appendTo(Buffer document, Buffer json) {
+        Objects.requireNonNull(document, "document is null");
+        Objects.requireNonNull(json, "json is null");
+        JsonWriter writer = new JsonWriter(new BufferWriter(json), settings);
+        writer.pipe(new BsonBinaryReader(document.getByteBuf().nioBuffer()));
+    }
+
+    /**
+     * Writes the documents of a stream as a JSON array, and ends the output. The stream is paused while the write
+     * queue of the output is full.
+     * @param documents stream of BSON documents
+     * @param output output stream
+     * @return a future completed when the output is ended
+     */
+    public Future<Void> pipeArray(ReadStream<Buffer> documents, WriteStream<Buffer> output) {
+        return new Pipe(documents, output, "[", ",", "]", false).start();
+    }
+
+    /**
+     * Writes the documents of a stream as newline-delimited JSON, and ends the output. The stream is paused while
+     * the write queue of the output is full.
+     * @param documents stream of BSON documents
+     * @param output output stream
+     * @return a future completed when the output is ended
+     */
+    public Future<Void> pipeLines(ReadStream<Buffer> documents, WriteStream<Buffer> output) {
+        return new Pipe(documents, output, "", "\n", "\n", true).start();
+    }
+
+    private class Pipe {
+
+        private final ReadStream<Buffer> documents;
+        private final WriteStream<Buffer> output;
+        private final String separator;
+        private final String close;
+        private final boolean closeIfNotEmpty;
+        private final Promise<Void> promise = Promise.promise();
+        private Buffer pending;
+        private boolean empty = true;
+
+        Pipe(ReadStream<Buffer> documents, WriteStream<Buffer> output, String open, String separator, String close, boolean closeIfNotEmpty) {
+            this.documents = Objects.requireNonNull(documents, "documents is null");
+            this.output = Objects.requireNonNull(output, "output is null");
+            this.separator = separator;
+            this.close = close;
+            this.closeIfNotEmpty = closeIfNotEmpty;
+            this.pending = Buffer.buffer(WRITE_SIZE).appendString(open);
+        }
+
+        Future<Void> start() {
+            output.exceptionHandler(promise::tryFail);
+            documents.exceptionHandler(promise::tryFail);
+            documents.endHandler(v -> {
+                if (!empty || !closeIfNotEmpty)
+                    pending.appendString(close);
+                output.end(pending).onComplete(ar -> {
+                    if (ar.succeeded())
+                        promise.tryComplete();
+                    else
+                        promise.tryFail(ar.cause());
+                });
+            });
+            documents.handler(this::handle);
+            return promise.future();
+        }
+
+        private void handle(Buffer document) {
+            if (!empty)
+                pending.appendString(separator);
+            empty = false;
+            appendTo(document, pending);
+            if (pending.length() < WRITE_SIZE)
+                return;
+            output.write(pending);
+            pending = Buffer.buffer(WRITE_SIZE);
+            if (output.writeQueueFull()) {
+                documents.pause();
+                output.drainHandler(v -> documents.resume());
+            }
+        }
+    }
+
+    /**
+     * Writer encoding characters to UTF-8 at the end of a buffer. Unpaired surrogates are replaced by {@code ?}.
+     */
+    private static final class BufferWriter extends Writer {
+
+        private final Buffer buffer;
+        private char highSurrogate;
+
+        BufferWriter(Buffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int c) {
+            writeChar((char) c);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            for (int i = offset; i < offset + length; i++)
+                writeChar(chars[i]);
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            for (int i = offset; i < offset + length; i++)
+                writeChar(string.charAt(i));
+        }
+
+        private void writeChar(char c) {
+            if (highSurrogate != 0) {
+                char high = highSurrogate;
+                highSurrogate = 0;
+                if (Character.isLowSurrogate(c)) {
+                    appendCodePoint(Character.toCodePoint(high, c));
+                    return;
+                }
+                appendCodePoint('?');
+            }
+            if (Character.isHighSurrogate(c))
+                highSurrogate = c;
+            else if (Character.isLowSurrogate(c))
+                appendCodePoint('?');
+            else
+                appendCodePoint(c);
+        }
+
+        private void appendCodePoint(int codePoint) {
+            if (codePoint < 0x80) {
+                buffer.appendByte((byte) codePoint);
+            } else if (codePoint < 0x800) {
+                buffer.appendByte((byte) (0xC0 | codePoint >> 6));
+                buffer.appendByte((byte) (0x80 | codePoint & 0x3F));
+            } else if (codePoint < 0x10000) {
+                buffer.appendByte((byte) (0xE0 | codePoint >> 12));
+                buffer.appendByte((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.appendByte((byte) (0x80 | codePoint & 0x3F));
+            } else {
+                buffer.appendByte((byte) (0xF0 | codePoint >> 18));
+                buffer.appendByte((byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.appendByte((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.appendByte((byte) (0x80 | codePoint & 0x3F));
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.vertx.mongo.codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests the generation of an {@link ObjectCodec} for the annotated record or class.
+ * <p>Classes annotated with {@code @DataObject} only get a codec without this annotation when the
+ * {@code -Avertx.mongo.codecs.dataObjects=true} compiler option is set. The codec of {@code Foo} is
+ * generated as {@code FooCodec} along with a {@code FooCodecProvider} declared as an {@link ObjectCodecProvider}
+ * service, so that clients pick it up without configuration.</p>
+ * <p>Properties are records components, or getter/setter pairs for other classes. A property named {@code id} is
+ * stored in the {@code _id} field.</p>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface MongoCodec {
+}
@@ -0,0 +1,341 @@
+package io.vertx.mongo.codec;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonObjectId;
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.Decoder;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.Encoder;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Base class of the codecs reading BSON documents straight into objects, without reflection nor JsonObject intermediate.
+ * <p>Subclasses implement {@link #decode} and {@link #encode} field by field using the helpers of this class, and
+ * override the id methods when the class has an {@code _id} field.</p>
+ * @param <T> type of the objects
+ */
+public abstract class ObjectCodec<T> implements CollectibleCodec<T> {
+
+    protected static final String ID_FIELD = "_id";
+
+    private final Class<T> clazz;
+    protected final CodecRegistry registry;
+
+    protected ObjectCodec(Class<T> clazz, CodecRegistry registry) {
+        Objects.requireNonNull(clazz, "clazz is null");
+        Objects.requireNonNull(registry, "registry is null");
+        this.clazz = clazz;
+        this.registry = registry;
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return clazz;
+    }
+
+    @Override
+    public boolean documentHasId(T document) {
+        return false;
+    }
+
+    @Override
+    public BsonValue getDocumentId(T document) {
+        throw new IllegalStateException(clazz.getName() + " has no _id field");
+    }
+
+    @Override
+    public T generateIdIfAbsentFromDocument(T document) {
+        return document;
+    }
+
+    /**
+     * @param id value of the {@code _id} field
+     * @return the value as a BSON value: a string holding an object id in hexadecimal is an object id, like in
+     * {@link #writeString}
+     */
+    protected BsonValue idValue(Object id) {
+        Objects.requireNonNull(id, "id is null");
+        if (id instanceof ObjectId)
+            return new BsonObjectId((ObjectId) id);
+        if (id instanceof String)
+            return ObjectId.isValid((String) id) ? new BsonObjectId(new ObjectId((String) id)) : new BsonString((String) id);
+        if (id instanceof Integer)
+            return new BsonInt32((Integer) id);
+        if (id instanceof Long)
+            return new BsonInt64((Long) id);
+        BsonDocument document = new BsonDocument();
+        BsonDocumentWriter writer = new BsonDocumentWriter(document);
+        writer.writeStartDocument();
+        writeValue(writer, ID_FIELD, id, EncoderContext.builder().build());
+        writer.writeEndDocument();
+        return document.get(ID_FIELD);
+    }
+
+    /**
+     * @param reader reader positioned on a value
+     * @return true if the value is null, in which case it has been consumed
+     */
+    protected static boolean readNullIfPresent(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads a string, or an object id as its hexadecimal representation
+     */
+    protected static String readString(BsonReader reader) {
+        if (readNullIfPresent(reader))
+            return null;
+        if (reader.getCurrentBsonType() == BsonType.OBJECT_ID)
+            return reader.readObjectId().toHexString();
+        return reader.readString();
+    }
+
+    protected static Integer readInteger(BsonReader reader) {
+        if (readNullIfPresent(reader))
+            return null;
+        switch (reader.getCurrentBsonType()) {
+            case INT64:
+                return Math.toIntExact(reader.readInt64());
+            case DOUBLE:
+                return (int) reader.readDouble();
+            default:
+                return reader.readInt32();
+        }
+    }
+
+    protected static Long readLong(BsonReader reader) {
+        if (readNullIfPresent(reader))
+            return null;
+        switch (reader.getCurrentBsonType()) {
+            case INT32:
+                return (long) reader.readInt32();
+            case DOUBLE:
+                return (long) reader.readDouble();
+            default:
+                return reader.readInt64();
+        }
+    }
+
+    protected static Double readDouble(BsonReader reader) {
+        if (readNullIfPresent(reader))
+            return null;
+        switch (reader.getCurrentBsonType()) {
+            case INT32:
+                return (double) reader.readInt32();
+            case INT64:
+                return (double) reader.readInt64();
+            case DECIMAL128:
+                return reader.readDecimal128().doubleValue();
+            default:
+                return reader.readDouble();
+        }
+    }
+
+    protected static Float readFloat(BsonReader reader) {
+        Double value = readDouble(reader);
+        return value == null ? null : value.floatValue();
+    }
+
+    protected static Short readShort(BsonReader reader) {
+        Integer value = readInteger(reader);
+        return value == null ? null : value.shortValue();
+    }
+
+    protected static Boolean readBoolean(BsonReader reader) {
+        if (readNullIfPresent(reader))
+            return null;
+        return reader.readBoolean();
+    }
+
+    protected static BigDecimal readBigDecimal(BsonReader reader) {
+        if (readNullIfPresent(reader))
+            return null;
+        switch (reader.getCurrentBsonType()) {
+            case DOUBLE:
+                return BigDecimal.valueOf(reader.readDouble());
+            case STRING:
+                return new BigDecimal(reader.readString());
+            default:
+                return reader.readDecimal128().bigDecimalValue();
+        }
+    }
+
+    protected static Instant readInstant(BsonReader reader) {
+        if (readNullIfPresent(reader))
+            return null;
+        return Instant.ofEpochMilli(reader.readDateTime());
+    }
+
+    protected static ObjectId readObjectId(BsonReader reader) {
+        if (readNullIfPresent(reader))
+            return null;
+        if (reader.getCurrentBsonType() == BsonType.STRING)
+            return new ObjectId(reader.readString());
+        return reader.readObjectId();
+    }
+
+    protected static <E extends Enum<E>> E readEnum(BsonReader reader, Class<E> clazz) {
+        String name = readString(reader);
+        return name == null ? null : Enum.valueOf(clazz, name);
+    }
+
+    protected <V> V readValue(BsonReader reader, Class<V> clazz, DecoderContext decoderContext) {
+        if (readNullIfPresent(reader))
+            return null;
+        Decoder<V> decoder = registry.get(clazz);
+        return decoder.decode(reader, decoderContext);
+    }
+
+    protected <V> List<V> readList(BsonReader reader, Class<V> clazz, DecoderContext decoderContext) {
+        if (readNullIfPresent(reader))
+            return null;
+        Decoder<V> decoder = null;
+        List<V> list = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (readNullIfPresent(reader)) {
+                list.add(null);
+                continue;
+            }
+            if (decoder == null)
+                decoder = registry.get(clazz);
+            list.add(decoder.decode(reader, decoderContext));
+        }
+        reader.readEndArray();
+        return list;
+    }
+
+    /**
+     * Writes a string. An {@code _id} holding an object id in hexadecimal is written as an object id: object ids read
+     * by {@link #readString} keep their type when the document is written back.
+     */
+    protected static void writeString(BsonWriter writer, String name, String value) {
+        writer.writeName(name);
+        if (value == null)
+            writer.writeNull();
+        else if (ID_FIELD.equals(name) && ObjectId.isValid(value))
+            writer.writeObjectId(new ObjectId(value));
+        else
+            writer.writeString(value);
+    }
+
+    protected static void writeInteger(BsonWriter writer, String name, Integer value) {
+        writer.writeName(name);
+        if (value == null)
+            writer.writeNull();
+        else
+            writer.writeInt32(value);
+    }
+
+    protected static void writeShort(BsonWriter writer, String name, Short value) {
+        writeInteger(writer, name, value == null ? null : value.intValue());
+    }
+
+    protected static void writeLong(BsonWriter writer, String name, Long value) {
+        writer.writeName(name);
+        if (value == null)
+            writer.writeNull();
+        else
+            writer.writeInt64(value);
+    }
+
+    protected static void writeDouble(BsonWriter writer, String name, Double value) {
+        writer.writeName(name);
+        if (value == null)
+            writer.writeNull();
+        else
+            writer.writeDouble(value);
+    }
+
+    protected static void writeFloat(BsonWriter writer, String name, Float value) {
+        writeDouble(writer, name, value == null ? null : value.doubleValue());
+    }
+
+    protected static void writeBoolean(BsonWriter writer, String name, Boolean value) {
+        writer.writeName(name);
+        if (value == null)
+            writer.writeNull();
+        else
+            writer.writeBoolean(value);
+    }
+
+    protected static void writeBigDecimal(BsonWriter writer, String name, BigDecimal value) {
+        writer.writeName(name);
+        if (value == null)
+            writer.writeNull();
+        else
+            writer.writeDecimal128(new Decimal128(value));
+    }
+
+    protected static void writeInstant(BsonWriter writer, String name, Instant value) {
+        writer.writeName(name);
+        if (value == null)
+            writer.writeNull();
+        else
+            writer.writeDateTime(value.toEpochMilli());
+    }
+
+    protected static void writeObjectId(BsonWriter writer, String name, ObjectId value) {
+        writer.writeName(name);
+        if (value == null)
+            writer.writeNull();
+        else
+            writer.writeObjectId(value);
+    }
+
+    protected static void writeEnum(BsonWriter writer, String name, Enum<?> value) {
+        writeString(writer, name, value == null ? null : value.name());
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <V> void writeValue(BsonWriter writer, String name, V value, EncoderContext encoderContext) {
+        writer.writeName(name);
+        if (value == null) {
+            writer.writeNull();
+            return;
+        }
+        Encoder<V> encoder = (Encoder<V>) registry.get(value.getClass());
+        encoderContext.encodeWithChildContext(encoder, writer, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <V> void writeList(BsonWriter writer, String name, List<V> values, EncoderContext encoderContext) {
+        writer.writeName(name);
+        if (values == null) {
+            writer.writeNull();
+            return;
+        }
+        writer.writeStartArray();
+        for (V value : values) {
+            if (value == null) {
+                writer.writeNull();
+            } else {
+                Encoder<V> encoder = (Encoder<V>) registry.get(value.getClass());
+                encoderContext.encodeWithChildContext(encoder, writer, value);
+            }
+        }
+        writer.writeEndArray();
+    }
+
+}
@@ -0,0 +1,12 @@
+package io.vertx.mongo.codec;
+
+import org.bson.codecs.configuration.CodecProvider;
+
+/**
+ * Provider of {@link ObjectCodec}s.
+ * <p>Providers declared in {@code META-INF/services/io.vertx.mongo.codec.ObjectCodecProvider} are added to the codec
+ * registry of the clients, so that {@code MongoDatabase.getCollection(name, clazz)} decodes documents straight into
+ * the class.</p>
+ */
+public interface ObjectCodecProvider extends CodecProvider {
+}
@@ -0,0 +1,24 @@
+package io.vertx.mongo.impl;
+
+import com.mongodb.reactivestreams.client.AggregatePublisher;
+import org.reactivestreams.Publisher;
+
+import java.util.function.Function;
+
+public class AggregateMappingPublisher<T, O> extends MappingPublisher<T, O> {
+
+    private final AggregatePublisher<T> publisher;
+
+    public AggregateMappingPublisher(AggregatePublisher<T> publisher, Function<T, O> mapper) {
+        super(publisher, mapper);
+        this.publisher = publisher;
+    }
+
+    public Publisher<O> first() {
+        return new MappingPublisher<>(publisher.first(), mapper);
+    }
+
+    public Publisher<Void> toCollection() {
+        return publisher.toCollection();
+    }
+}
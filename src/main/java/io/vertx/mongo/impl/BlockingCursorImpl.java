@@ -0,0 +1,120 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.core.VertxException;
+import io.vertx.mongo.BlockingCursor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+
+/**
+ * Subscribes to the driver publisher directly: no event loop hop, demand is signalled from the consuming thread
+ * and the mapper runs on the consuming thread as well.
+ */
+public class BlockingCursorImpl<I, T> implements BlockingCursor<T>, Subscriber<I> {
+
+    private static final Object END = new Object();
+
+    private static final class Failure {
+        private final Throwable cause;
+
+        private Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    private final Function<I, T> mapper;
+    private final int prefetch;
+    // holds at most prefetch items plus the end or failure marker
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private volatile Subscription subscription;
+    // set by close, which may run before onSubscribe
+    private volatile boolean cancelled;
+    private Object next;
+    private boolean closed;
+
+    public BlockingCursorImpl(Function<I, T> mapper, int prefetch) {
+        if (prefetch <= 0)
+            throw new IllegalArgumentException("prefetch must be positive");
+        this.mapper = mapper;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        if (cancelled)
+            subscription.cancel();
+        else
+            subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(I item) {
+        queue.add(item);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        queue.add(new Failure(error));
+    }
+
+    @Override
+    public void onComplete() {
+        queue.add(END);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            if (closed)
+                return false;
+            Utils.assertNotOnVertxThread();
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new VertxException(e);
+            }
+            if (next == END) {
+                closed = true;
+            } else if (next instanceof Failure) {
+                closed = true;
+                Throwable cause = ((Failure) next).cause;
+                next = END;
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException) cause;
+                throw new VertxException(cause);
+            }
+        }
+        return next != END;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        I item = (I) next;
+        next = null;
+        // a request is always received after onSubscribe since an item has been received
+        subscription.request(1);
+        // without mapper, items are published with their final type
+        return mapper == null ? (T) item : mapper.apply(item);
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            next = END;
+            cancelled = true;
+            Subscription s = subscription;
+            if (s != null)
+                s.cancel();
+        }
+    }
+}
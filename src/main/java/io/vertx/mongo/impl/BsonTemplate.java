@@ -0,0 +1,374 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.conversions.Bson;
+import org.bson.io.BasicOutputBuffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Documents (stages of a pipeline, filter of a find...) encoded to BSON once, with the offsets of their placeholders
+ * ({@code {"$param": name}} documents). Binding parameters encodes the parameters only: their values are copied into
+ * the bytes of the documents, and the lengths of the documents enclosing the placeholders are adjusted.
+ * <p>Documents without placeholders are shared by all the bindings.</p>
+ * <p>The mapper converts the {@code _id} of the documents (see {@link ObjectIdInputMapper}): the parameters bound at
+ * the {@code _id} of a document are converted the same way.</p>
+ */
+public final class BsonTemplate {
+
+    public static final String PARAM_FIELD = "$param";
+
+    private static final String ID_FIELD = "_id";
+
+    private static final BsonDocumentCodec BSON_DOCUMENT_CODEC = new BsonDocumentCodec();
+    private static final byte[] PARAM_FIELD_BYTES = (PARAM_FIELD + '\0').getBytes(StandardCharsets.UTF_8);
+
+    private final ConversionUtils mapper;
+    private final List<Template> templates;
+    // parameters bound at the _id of a document
+    private final Set<String> idParameters;
+
+    /**
+     * @param mapper the mapper encoding the documents and the parameters
+     * @param documents the documents, with their placeholders
+     */
+    public BsonTemplate(ConversionUtils mapper, List<JsonObject> documents) {
+        this.mapper = mapper;
+        List<Template> compiled = new ArrayList<>(documents.size());
+        Set<String> idParameters = new LinkedHashSet<>();
+        for (JsonObject document : documents) {
+            Template template = new Template(encode(mapper.toBsonDocument(document)));
+            for (Placeholder placeholder : template.placeholders) {
+                if (placeholder.id)
+                    idParameters.add(placeholder.name);
+            }
+            compiled.add(template);
+        }
+        this.templates = Collections.unmodifiableList(compiled);
+        this.idParameters = idParameters;
+    }
+
+    /**
+     * @param name the name of the parameter
+     * @return a placeholder for the value of the parameter
+     */
+    public static JsonObject param(String name) {
+        Objects.requireNonNull(name, "name is null");
+        return new JsonObject().put(PARAM_FIELD, name);
+    }
+
+    /**
+     * @param documents documents with placeholders
+     * @return the names of the parameters of the documents, in order of appearance
+     */
+    public static Set<String> parameters(List<JsonObject> documents) {
+        Set<String> parameters = new LinkedHashSet<>();
+        for (JsonObject document : documents)
+            collectParameters(document, parameters);
+        return Collections.unmodifiableSet(parameters);
+    }
+
+    private static void collectParameters(Object value, Set<String> parameters) {
+        if (value instanceof JsonObject) {
+            JsonObject json = (JsonObject) value;
+            if (json.size() == 1 && json.getValue(PARAM_FIELD) instanceof String) {
+                parameters.add(json.getString(PARAM_FIELD));
+                return;
+            }
+            for (String field : json.fieldNames())
+                collectParameters(json.getValue(field), parameters);
+        } else if (value instanceof JsonArray) {
+            for (Object item : (JsonArray) value)
+                collectParameters(item, parameters);
+        }
+    }
+
+    public ConversionUtils getMapper() {
+        return mapper;
+    }
+
+    /**
+     * @param params the values of the placeholders
+     * @return the documents, in the order of the constructor
+     */
+    public List<Bson> bind(JsonObject params) {
+        Parameters values = null;
+        Parameters idValues = null;
+        List<Bson> result = new ArrayList<>(templates.size());
+        for (Template template : templates) {
+            if (template.constant != null) {
+                result.add(template.constant);
+                continue;
+            }
+            if (values == null) {
+                // the parameters are encoded by the mapper, like the values of the documents
+                values = new Parameters(mapper.toBsonDocument(params));
+                if (!idParameters.isEmpty())
+                    idValues = new Parameters(idValues(params));
+            }
+            result.add(template.bind(values, idValues));
+        }
+        return result;
+    }
+
+    /**
+     * @return the values of the parameters bound at an {@code _id}, converted as the {@code _id} of a document
+     */
+    private BsonDocument idValues(JsonObject params) {
+        BsonDocument result = new BsonDocument();
+        for (String name : idParameters) {
+            if (params.containsKey(name))
+                result.put(name, mapper.toBsonDocument(new JsonObject().put(ID_FIELD, params.getValue(name))).get(ID_FIELD));
+        }
+        return result;
+    }
+
+    /**
+     * @return the bytes of the document, without the spare capacity of the buffer it is encoded into
+     */
+    private static byte[] encode(BsonDocument document) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            BSON_DOCUMENT_CODEC.encode(writer, document, EncoderContext.builder().build());
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * @return the type, value start and value end of the top-level elements of a document, by name
+     */
+    private static Map<String, int[]> elements(byte[] bytes) {
+        Map<String, int[]> elements = new HashMap<>();
+        int position = 4;
+        while (bytes[position] != 0) {
+            int type = bytes[position++] & 0xFF;
+            int nameStart = position;
+            while (bytes[position] != 0)
+                position++;
+            String name = new String(bytes, nameStart, position - nameStart, StandardCharsets.UTF_8);
+            int valueStart = position + 1;
+            int valueEnd = valueStart + valueSize(bytes, type, valueStart);
+            elements.put(name, new int[] {type, valueStart, valueEnd});
+            position = valueEnd;
+        }
+        return elements;
+    }
+
+    private static int readInt(byte[] bytes, int position) {
+        return (bytes[position] & 0xFF) | (bytes[position + 1] & 0xFF) << 8 | (bytes[position + 2] & 0xFF) << 16 | (bytes[position + 3] & 0xFF) << 24;
+    }
+
+    private static void writeInt(byte[] bytes, int position, int value) {
+        bytes[position] = (byte) value;
+        bytes[position + 1] = (byte) (value >> 8);
+        bytes[position + 2] = (byte) (value >> 16);
+        bytes[position + 3] = (byte) (value >> 24);
+    }
+
+    private static int cstringEnd(byte[] bytes, int position) {
+        while (bytes[position] != 0)
+            position++;
+        return position + 1;
+    }
+
+    private static int valueSize(byte[] bytes, int type, int position) {
+        switch (BsonType.findByValue(type)) {
+            case DOUBLE:
+            case DATE_TIME:
+            case TIMESTAMP:
+            case INT64:
+                return 8;
+            case STRING:
+            case JAVASCRIPT:
+            case SYMBOL:
+                return 4 + readInt(bytes, position);
+            case DOCUMENT:
+            case ARRAY:
+            case JAVASCRIPT_WITH_SCOPE:
+                return readInt(bytes, position);
+            case BINARY:
+                return 5 + readInt(bytes, position);
+            case OBJECT_ID:
+                return 12;
+            case BOOLEAN:
+                return 1;
+            case REGULAR_EXPRESSION:
+                return cstringEnd(bytes, cstringEnd(bytes, position)) - position;
+            case DB_POINTER:
+                return 4 + readInt(bytes, position) + 12;
+            case INT32:
+                return 4;
+            case DECIMAL128:
+                return 16;
+            default:
+                // undefined, null, min key and max key
+                return 0;
+        }
+    }
+
+    /**
+     * @return the name of the parameter if the document is a placeholder, null otherwise
+     */
+    private static String placeholderName(byte[] bytes, int documentStart) {
+        int documentEnd = documentStart + readInt(bytes, documentStart);
+        int position = documentStart + 4;
+        if (bytes[position] != BsonType.STRING.getValue())
+            return null;
+        position++;
+        for (byte b : PARAM_FIELD_BYTES) {
+            if (bytes[position++] != b)
+                return null;
+        }
+        int length = readInt(bytes, position);
+        int valueEnd = position + 4 + length;
+        if (valueEnd != documentEnd - 1)
+            return null;
+        return new String(bytes, position + 4, length - 1, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encoded parameters
+     */
+    private static final class Parameters {
+
+        final byte[] bytes;
+        final Map<String, int[]> elements;
+
+        Parameters(BsonDocument document) {
+            this.bytes = encode(document);
+            this.elements = elements(bytes);
+        }
+    }
+
+    private static final class Placeholder {
+
+        final String name;
+        // true if the placeholder is the _id of a document
+        final boolean id;
+        // offset of the type of the element
+        final int start;
+        // offset of the value of the element
+        final int valueStart;
+        final int end;
+
+        Placeholder(String name, boolean id, int start, int valueStart, int end) {
+            this.name = name;
+            this.id = id;
+            this.start = start;
+            this.valueStart = valueStart;
+            this.end = end;
+        }
+    }
+
+    private static final class Template {
+
+        final byte[] bytes;
+        final RawBsonDocument constant;
+        final List<Placeholder> placeholders = new ArrayList<>();
+        // start and end of the documents enclosing placeholders
+        final List<int[]> documents = new ArrayList<>();
+
+        Template(byte[] bytes) {
+            this.bytes = bytes;
+            walk(0);
+            this.constant = placeholders.isEmpty() ? new RawBsonDocument(bytes) : null;
+        }
+
+        /**
+         * @return true if the document encloses placeholders
+         */
+        private boolean walk(int documentStart) {
+            int documentEnd = documentStart + readInt(bytes, documentStart);
+            int position = documentStart + 4;
+            boolean found = false;
+            while (bytes[position] != 0) {
+                int start = position;
+                int type = bytes[position] & 0xFF;
+                int valueStart = cstringEnd(bytes, position + 1);
+                int valueEnd = valueStart + valueSize(bytes, type, valueStart);
+                if (type == BsonType.DOCUMENT.getValue() || type == BsonType.ARRAY.getValue()) {
+                    String name = type == BsonType.DOCUMENT.getValue() ? placeholderName(bytes, valueStart) : null;
+                    if (name != null) {
+                        boolean id = documentStart == 0 && isIdElement(start, valueStart);
+                        placeholders.add(new Placeholder(name, id, start, valueStart, valueEnd));
+                        found = true;
+                    } else if (walk(valueStart)) {
+                        found = true;
+                    }
+                }
+                position = valueEnd;
+            }
+            if (found)
+                documents.add(new int[] {documentStart, documentEnd});
+            return found;
+        }
+
+        /**
+         * @return true if the name of the element is {@code _id}
+         */
+        private boolean isIdElement(int start, int valueStart) {
+            return new String(bytes, start + 1, valueStart - start - 2, StandardCharsets.UTF_8).equals(ID_FIELD);
+        }
+
+        RawBsonDocument bind(Parameters values, Parameters idValues) {
+            int[] deltas = new int[placeholders.size()];
+            int size = bytes.length;
+            for (int i = 0; i < deltas.length; i++) {
+                Placeholder placeholder = placeholders.get(i);
+                int[] value = (placeholder.id ? idValues : values).elements.get(placeholder.name);
+                if (value == null)
+                    throw new IllegalArgumentException("missing parameter: " + placeholder.name);
+                deltas[i] = (value[2] - value[1]) - (placeholder.end - placeholder.valueStart);
+                size += deltas[i];
+            }
+            byte[] result = new byte[size];
+            int from = 0;
+            int to = 0;
+            for (Placeholder placeholder : placeholders) {
+                Parameters source = placeholder.id ? idValues : values;
+                int[] value = source.elements.get(placeholder.name);
+                int length = placeholder.start - from;
+                System.arraycopy(bytes, from, result, to, length);
+                to += length;
+                result[to++] = (byte) value[0];
+                // name of the element
+                length = placeholder.valueStart - placeholder.start - 1;
+                System.arraycopy(bytes, placeholder.start + 1, result, to, length);
+                to += length;
+                length = value[2] - value[1];
+                System.arraycopy(source.bytes, value[1], result, to, length);
+                to += length;
+                from = placeholder.end;
+            }
+            System.arraycopy(bytes, from, result, to, bytes.length - from);
+            for (int[] document : documents) {
+                int start = document[0];
+                int length = document[1] - document[0];
+                for (int i = 0; i < deltas.length; i++) {
+                    int placeholderStart = placeholders.get(i).start;
+                    if (placeholderStart < document[0])
+                        start += deltas[i];
+                    else if (placeholderStart < document[1])
+                        length += deltas[i];
+                }
+                writeInt(result, start, length);
+            }
+            return new RawBsonDocument(result);
+        }
+    }
+}
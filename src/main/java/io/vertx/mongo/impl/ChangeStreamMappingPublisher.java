@@ -0,0 +1,21 @@
+package io.vertx.mongo.impl;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.reactivestreams.client.ChangeStreamPublisher;
+import org.reactivestreams.Publisher;
+
+import java.util.function.Function;
+
+public class ChangeStreamMappingPublisher<T, O> extends MappingPublisher<ChangeStreamDocument<T>, O> {
+
+    private final ChangeStreamPublisher<T> publisher;
+
+    public ChangeStreamMappingPublisher(ChangeStreamPublisher<T> publisher, Function<ChangeStreamDocument<T>, O> mapper) {
+        super(publisher, mapper);
+        this.publisher = publisher;
+    }
+
+    public Publisher<O> first() {
+        return new MappingPublisher<>(publisher.first(), mapper);
+    }
+}
@@ -0,0 +1,191 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.mongo.client.CircuitBreakerOptions;
+import io.vertx.mongo.client.CircuitState;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit of a collection or of a server, with a count-based sliding window of the outcomes of the last calls.
+ * <p>The state is read without locking while the circuit is closed: calls only synchronize to record their outcome.</p>
+ */
+public class Circuit {
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    /**
+     * Called outside of the lock of the circuit when its state changes
+     */
+    interface Listener {
+        void stateChanged(Circuit circuit, CircuitState state, double failureRate, double slowCallRate);
+    }
+
+    private final String name;
+    private final String type;
+    private final Listener listener;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final byte[] window;
+    private int index;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+    private volatile CircuitState state = CircuitState.CLOSED;
+    private long openedAt;
+    private int probes;
+    private int probeSuccesses;
+
+    Circuit(String name, String type, CircuitBreakerOptions options, Listener listener) {
+        this.name = name;
+        this.type = type;
+        this.listener = listener;
+        this.failureRateThreshold = options.getFailureRateThreshold();
+        this.slowCallRateThreshold = options.getSlowCallRateThreshold();
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(options.getSlowCallDuration());
+        this.minimumCalls = options.getMinimumCalls();
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(options.getOpenDuration());
+        this.halfOpenProbes = options.getHalfOpenProbes();
+        this.window = new byte[options.getWindowSize()];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return {@code collection} or {@code server}
+     */
+    public String getType() {
+        return type;
+    }
+
+    public CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * Lets a call through when the circuit is closed, or as a probe when it is half-open. A call let through must
+     * be followed by {@link #record} or {@link #release}.
+     * @return false when the call must fail fast
+     */
+    boolean tryAcquire() {
+        if (state == CircuitState.CLOSED)
+            return true;
+        boolean halfOpened;
+        synchronized (this) {
+            halfOpened = halfOpenIfElapsed();
+            if (state == CircuitState.OPEN)
+                return false;
+            if (state == CircuitState.HALF_OPEN) {
+                if (probes >= halfOpenProbes)
+                    return false;
+                probes++;
+            }
+        }
+        if (halfOpened)
+            listener.stateChanged(this, CircuitState.HALF_OPEN, 0, 0);
+        return true;
+    }
+
+    /**
+     * @return false when the circuit is open: servers whose circuit is half-open are selected, their next commands
+     * are the probes
+     */
+    boolean isSelectable() {
+        if (state == CircuitState.CLOSED)
+            return true;
+        boolean halfOpened;
+        synchronized (this) {
+            halfOpened = halfOpenIfElapsed();
+        }
+        if (halfOpened)
+            listener.stateChanged(this, CircuitState.HALF_OPEN, 0, 0);
+        return state != CircuitState.OPEN;
+    }
+
+    private boolean halfOpenIfElapsed() {
+        if (state != CircuitState.OPEN || System.nanoTime() - openedAt < openNanos)
+            return false;
+        state = CircuitState.HALF_OPEN;
+        probes = 0;
+        probeSuccesses = 0;
+        return true;
+    }
+
+    /**
+     * Releases a call let through without outcome (cancelled before any signal)
+     */
+    synchronized void release() {
+        if (state == CircuitState.HALF_OPEN && probes > 0)
+            probes--;
+    }
+
+    /**
+     * @param failed true when the call failed with an error denoting an unhealthy server or network
+     * @param nanos the latency of the call
+     */
+    void record(boolean failed, long nanos) {
+        byte outcome = (byte) ((failed ? FAILED : 0) | (nanos >= slowCallNanos ? SLOW : 0));
+        CircuitState changed = null;
+        double failureRate;
+        double slowCallRate;
+        synchronized (this) {
+            switch (state) {
+                case CLOSED:
+                    if (calls == window.length) {
+                        byte evicted = window[index];
+                        if ((evicted & FAILED) != 0)
+                            failures--;
+                        if ((evicted & SLOW) != 0)
+                            slowCalls--;
+                    } else {
+                        calls++;
+                    }
+                    window[index] = outcome;
+                    index = (index + 1) % window.length;
+                    if ((outcome & FAILED) != 0)
+                        failures++;
+                    if ((outcome & SLOW) != 0)
+                        slowCalls++;
+                    if (calls >= minimumCalls && (failures * 100 >= failureRateThreshold * calls || slowCalls * 100 >= slowCallRateThreshold * calls))
+                        changed = open();
+                    break;
+                case HALF_OPEN:
+                    if (probes > 0)
+                        probes--;
+                    if (outcome != 0)
+                        changed = open();
+                    else if (++probeSuccesses >= halfOpenProbes)
+                        changed = close();
+                    break;
+                default:
+                    // calls started before the circuit opened
+                    break;
+            }
+            failureRate = calls == 0 ? 0 : failures * 100.0 / calls;
+            slowCallRate = calls == 0 ? 0 : slowCalls * 100.0 / calls;
+        }
+        if (changed != null)
+            listener.stateChanged(this, changed, failureRate, slowCallRate);
+    }
+
+    private CircuitState open() {
+        state = CircuitState.OPEN;
+        openedAt = System.nanoTime();
+        return CircuitState.OPEN;
+    }
+
+    private CircuitState close() {
+        state = CircuitState.CLOSED;
+        index = 0;
+        calls = 0;
+        failures = 0;
+        slowCalls = 0;
+        return CircuitState.CLOSED;
+    }
+}
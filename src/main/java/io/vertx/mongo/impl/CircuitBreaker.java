@@ -0,0 +1,131 @@
+package io.vertx.mongo.impl;
+
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.connection.ClusterDescription;
+import com.mongodb.connection.ServerDescription;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.selector.ServerSelector;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.client.CircuitBreakerOptions;
+import io.vertx.mongo.client.CircuitState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Circuits of a client: collection circuits are fed by the operations of the collections, server circuits by the
+ * commands sent to the servers (command listener).
+ * <p>The circuit breaker is also a server selector applied after the read preference: it filters out the servers
+ * whose circuit is open, unless no other server is eligible.</p>
+ */
+public class CircuitBreaker implements CommandListener, ServerSelector {
+
+    public static final String COLLECTION = "collection";
+    public static final String SERVER = "server";
+
+    private final Vertx vertx;
+    private final CircuitBreakerOptions options;
+    // server selector of the settings, applied first
+    private final ServerSelector serverSelector;
+    private final ConcurrentHashMap<String, Circuit> collectionCircuits = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Circuit> serverCircuits = new ConcurrentHashMap<>();
+    private final Function<String, Circuit> collectionCircuitFactory = this::createCollectionCircuit;
+    private final Function<String, Circuit> serverCircuitFactory = this::createServerCircuit;
+
+    /**
+     * @param vertx the Vert.x instance publishing the state changes
+     * @param options circuit breaker options
+     * @param serverSelector the server selector of the settings, can be null
+     */
+    public CircuitBreaker(Vertx vertx, CircuitBreakerOptions options, ServerSelector serverSelector) {
+        this.vertx = vertx;
+        this.options = options;
+        this.serverSelector = serverSelector;
+    }
+
+    /**
+     * @param namespace namespace of a collection
+     * @return the circuit of the collection
+     */
+    public Circuit getCollectionCircuit(String namespace) {
+        return collectionCircuits.computeIfAbsent(namespace, collectionCircuitFactory);
+    }
+
+    /**
+     * @param error error of an operation or of a command
+     * @return true when the error denotes an unhealthy server or network, rather than a failure of the application
+     */
+    public static boolean isFailure(Throwable error) {
+        return error instanceof MongoSocketException
+                || error instanceof MongoTimeoutException
+                || error instanceof MongoExecutionTimeoutException
+                || error instanceof MongoNotPrimaryException
+                || error instanceof MongoNodeIsRecoveringException;
+    }
+
+    @Override
+    public List<ServerDescription> select(ClusterDescription clusterDescription) {
+        List<ServerDescription> servers = serverSelector == null ? clusterDescription.getServerDescriptions() : serverSelector.select(clusterDescription);
+        List<ServerDescription> selectable = null;
+        for (int i = 0; i < servers.size(); i++) {
+            ServerDescription server = servers.get(i);
+            Circuit circuit = serverCircuits.get(server.getAddress().toString());
+            boolean isSelectable = circuit == null || circuit.isSelectable();
+            if (!isSelectable && selectable == null) {
+                selectable = new ArrayList<>(servers.size());
+                selectable.addAll(servers.subList(0, i));
+            } else if (isSelectable && selectable != null) {
+                selectable.add(server);
+            }
+        }
+        // when all the eligible servers are open, operations fail or succeed on their own
+        return selectable == null || selectable.isEmpty() ? servers : selectable;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        serverCircuits.computeIfAbsent(event.getConnectionDescription().getServerAddress().toString(), serverCircuitFactory)
+                .record(false, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        serverCircuits.computeIfAbsent(event.getConnectionDescription().getServerAddress().toString(), serverCircuitFactory)
+                .record(isFailure(event.getThrowable()), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private Circuit createCollectionCircuit(String namespace) {
+        return new Circuit(namespace, COLLECTION, options, this::stateChanged);
+    }
+
+    private Circuit createServerCircuit(String address) {
+        return new Circuit(address, SERVER, options, this::stateChanged);
+    }
+
+    private void stateChanged(Circuit circuit, CircuitState state, double failureRate, double slowCallRate) {
+        String address = options.getNotificationAddress();
+        if (address == null)
+            return;
+        vertx.eventBus().publish(address, new JsonObject()
+                .put("name", circuit.getName())
+                .put("type", circuit.getType())
+                .put("state", state.name())
+                .put("failureRate", failureRate)
+                .put("slowCallRate", slowCallRate));
+    }
+}
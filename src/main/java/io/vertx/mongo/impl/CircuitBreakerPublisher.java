@@ -0,0 +1,91 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.mongo.client.CircuitBreakerOpenException;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publisher failing fast when its circuit does not let the operation through. Otherwise the outcome of the operation
+ * and its latency, until its first signal, are recorded by the circuit.
+ * @param <T> type of the items
+ */
+public class CircuitBreakerPublisher<T> implements Publisher<T> {
+
+    private final Circuit circuit;
+    private final Publisher<T> source;
+
+    public CircuitBreakerPublisher(Circuit circuit, Publisher<T> source) {
+        this.circuit = Objects.requireNonNull(circuit, "circuit is null");
+        this.source = Objects.requireNonNull(source, "source is null");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber is null");
+        if (!circuit.tryAcquire()) {
+            subscriber.onSubscribe(LimitedPublisher.EMPTY_SUBSCRIPTION);
+            subscriber.onError(new CircuitBreakerOpenException(circuit.getName(), circuit.getState()));
+            return;
+        }
+        source.subscribe(new RecordingSubscriber(subscriber));
+    }
+
+    private class RecordingSubscriber implements Subscriber<T>, Subscription {
+
+        private final Subscriber<? super T> downstream;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private Subscription subscription;
+        // the operation starts when the source subscribes, which is delayed by a concurrency limit
+        private long startedAt;
+
+        RecordingSubscriber(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        private void record(boolean failed) {
+            if (recorded.compareAndSet(false, true))
+                circuit.record(failed, System.nanoTime() - startedAt);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            this.startedAt = System.nanoTime();
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            record(false);
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            record(CircuitBreaker.isFailure(throwable));
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            record(false);
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            subscription.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            subscription.cancel();
+            if (recorded.compareAndSet(false, true))
+                circuit.release();
+        }
+    }
+}
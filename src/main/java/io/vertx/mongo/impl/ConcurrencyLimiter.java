@@ -0,0 +1,175 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.mongo.client.ConcurrencyLimitExceededException;
+import io.vertx.mongo.client.ConcurrencyLimitOptions;
+import io.vertx.mongo.client.ConcurrencyLimitStats;
+import io.vertx.mongo.client.OperationClass;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Concurrency limit of a collection: a permit of the collection, of the class of the operation and of the client
+ * budget are taken before an operation starts, and released when it ends.
+ * <p>Operations start immediately when permits are available and no operation is queued in the client. Otherwise they
+ * are queued, and started by the {@link ConcurrencyScheduler} of the client.</p>
+ */
+public class ConcurrencyLimiter {
+
+    public static final class Waiter {
+        final OperationClass operationClass;
+        final Runnable start;
+        final long queuedAt = System.nanoTime();
+
+        Waiter(OperationClass operationClass, Runnable start) {
+            this.operationClass = operationClass;
+            this.start = start;
+        }
+    }
+
+    private static final OperationClass[] OPERATION_CLASSES = OperationClass.values();
+
+    private final ConcurrencyScheduler scheduler;
+    private final String namespace;
+    // null when unlimited
+    private final Permits permits;
+    private final Permits[] classPermits = new Permits[OPERATION_CLASSES.length];
+    private final int maxQueueSize;
+    final int weight;
+    private final Queue<Waiter> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queuedOperations = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAccumulator maxQueueNanos = new LongAccumulator(Math::max, 0);
+    // only accessed by the draining thread of the scheduler
+    double virtualFinish;
+
+    public ConcurrencyLimiter(ConcurrencyScheduler scheduler, String namespace, ConcurrencyLimitOptions options) {
+        this.scheduler = scheduler;
+        this.namespace = namespace;
+        this.permits = options.getMaxConcurrency() == 0 ? null : new Permits(options.getMaxConcurrency());
+        for (OperationClass operationClass : OPERATION_CLASSES) {
+            int max = options.getMaxConcurrency(operationClass);
+            classPermits[operationClass.ordinal()] = max == 0 ? null : new Permits(max);
+        }
+        this.maxQueueSize = options.getMaxQueueSize();
+        this.weight = options.getWeight();
+    }
+
+    /**
+     * Starts the operation now or once permits are available.
+     * @param operationClass class of the operation
+     * @param start starts the operation, which must call {@link #release} when it ends
+     * @param rejected called instead of start when the queue is full
+     * @return the queued operation, to {@link #cancel} it, or null when it has started or has been rejected
+     */
+    public Waiter acquire(OperationClass operationClass, Runnable start, Consumer<Throwable> rejected) {
+        if (queue.isEmpty() && !scheduler.hasWaiters() && tryAcquire(operationClass)) {
+            active.incrementAndGet();
+            started.increment();
+            start.run();
+            return null;
+        }
+        if (queued.incrementAndGet() > maxQueueSize) {
+            queued.decrementAndGet();
+            this.rejected.increment();
+            rejected.accept(new ConcurrencyLimitExceededException(namespace, operationClass, maxQueueSize));
+            return null;
+        }
+        Waiter waiter = new Waiter(operationClass, start);
+        queue.add(waiter);
+        scheduler.waiting(this);
+        return waiter;
+    }
+
+    /**
+     * Removes a queued operation that has been cancelled. It is started anyway if the scheduler has already taken it
+     * from the queue.
+     * @param waiter the queued operation
+     */
+    public void cancel(Waiter waiter) {
+        if (remove(waiter))
+            scheduler.released();
+    }
+
+    /**
+     * Releases the permits of an operation that has ended
+     * @param operationClass class of the operation
+     */
+    public void release(OperationClass operationClass) {
+        active.decrementAndGet();
+        releasePermits(operationClass);
+        scheduler.released();
+    }
+
+    void releasePermits(OperationClass operationClass) {
+        Permits permits = classPermits[operationClass.ordinal()];
+        if (permits != null)
+            permits.release();
+        if (this.permits != null)
+            this.permits.release();
+        scheduler.releaseBudget();
+    }
+
+    public ConcurrencyLimitStats getStats() {
+        return new ConcurrencyLimitStats(namespace, active.get(), queued.get(), started.sum(), rejected.sum(),
+                queuedOperations.sum(), queueNanos.sum(), maxQueueNanos.get());
+    }
+
+    boolean canStart(OperationClass operationClass) {
+        Permits permits = classPermits[operationClass.ordinal()];
+        return (permits == null || permits.available() > 0)
+                && (this.permits == null || this.permits.available() > 0)
+                && scheduler.hasBudget();
+    }
+
+    boolean tryAcquire(OperationClass operationClass) {
+        Permits permits = classPermits[operationClass.ordinal()];
+        if (permits != null && !permits.tryAcquire())
+            return false;
+        if (this.permits != null && !this.permits.tryAcquire()) {
+            if (permits != null)
+                permits.release();
+            return false;
+        }
+        if (!scheduler.tryAcquireBudget()) {
+            if (this.permits != null)
+                this.permits.release();
+            if (permits != null)
+                permits.release();
+            return false;
+        }
+        return true;
+    }
+
+    Waiter peek() {
+        return queue.peek();
+    }
+
+    boolean remove(Waiter waiter) {
+        if (!queue.remove(waiter))
+            return false;
+        queued.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Starts a queued operation whose permits have been taken
+     */
+    void start(Waiter waiter) {
+        long nanos = System.nanoTime() - waiter.queuedAt;
+        queuedOperations.increment();
+        queueNanos.add(nanos);
+        maxQueueNanos.accumulate(nanos);
+        active.incrementAndGet();
+        started.increment();
+        waiter.start.run();
+    }
+}
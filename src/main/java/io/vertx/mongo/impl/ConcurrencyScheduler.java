@@ -0,0 +1,110 @@
+package io.vertx.mongo.impl;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts the queued operations of the concurrency limiters of a client, using start-time fair queuing: the limiter
+ * whose next operation has the lowest virtual start time goes first, and each operation advances the virtual time of
+ * its limiter by the inverse of its weight.
+ * <p>Permits are taken without locking. Queued operations are started by a single thread at a time: the thread
+ * releasing a permit or queuing an operation drains the queues, or lets the draining thread do another pass.</p>
+ */
+public class ConcurrencyScheduler {
+
+    // null when the budget is unlimited
+    private final Permits budget;
+    private final Set<ConcurrencyLimiter> waiting = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger wip = new AtomicInteger();
+    // only accessed by the draining thread
+    private double virtualTime;
+
+    /**
+     * @param budget the maximum number of running operations of all the limiters, 0 for no limit
+     */
+    public ConcurrencyScheduler(int budget) {
+        if (budget < 0)
+            throw new IllegalArgumentException("budget must be non-negative");
+        this.budget = budget == 0 ? null : new Permits(budget);
+    }
+
+    boolean hasWaiters() {
+        return !waiting.isEmpty();
+    }
+
+    boolean tryAcquireBudget() {
+        return budget == null || budget.tryAcquire();
+    }
+
+    boolean hasBudget() {
+        return budget == null || budget.available() > 0;
+    }
+
+    void releaseBudget() {
+        if (budget != null)
+            budget.release();
+    }
+
+    void waiting(ConcurrencyLimiter limiter) {
+        waiting.add(limiter);
+        drain();
+    }
+
+    void released() {
+        if (!waiting.isEmpty())
+            drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0)
+            return;
+        int missed = 1;
+        do {
+            while (startNext())
+                ;
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * @return true when an operation has been started, or when a permit has been taken concurrently
+     */
+    private boolean startNext() {
+        ConcurrencyLimiter next = null;
+        double nextStart = 0;
+        for (ConcurrencyLimiter limiter : waiting) {
+            ConcurrencyLimiter.Waiter head = limiter.peek();
+            if (head == null) {
+                waiting.remove(limiter);
+                // queued concurrently
+                if (limiter.peek() != null)
+                    waiting.add(limiter);
+                continue;
+            }
+            if (!limiter.canStart(head.operationClass))
+                continue;
+            double start = Math.max(virtualTime, limiter.virtualFinish);
+            if (next == null || start < nextStart) {
+                next = limiter;
+                nextStart = start;
+            }
+        }
+        if (next == null)
+            return false;
+        ConcurrencyLimiter.Waiter head = next.peek();
+        // cancelled concurrently
+        if (head == null)
+            return true;
+        if (!next.tryAcquire(head.operationClass))
+            return true;
+        if (!next.remove(head)) {
+            next.releasePermits(head.operationClass);
+            return true;
+        }
+        virtualTime = nextStart;
+        next.virtualFinish = nextStart + 1.0 / next.weight;
+        next.start(head);
+        return true;
+    }
+}
@@ -4,6 +4,7 @@ import com.mongodb.CreateIndexCommitQuorum;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.core.json.JsonObject;
 import io.vertx.mongo.client.impl.OptionSerializer;
+import org.bson.BsonValue;
 
 @DataObject
 public class CreateIndexCommitQuorumSerializer extends OptionSerializer<CreateIndexCommitQuorum> {
@@ -17,13 +18,22 @@ public class CreateIndexCommitQuorumSerializer extends OptionSerializer<CreateIn
 
     @Override
     protected void fromJson(JsonObject jsonValue) {
-        //TODO
-        throw new IllegalStateException("TODO");
+        Object commitQuorum = jsonValue.getValue("commitQuorum");
+        if (commitQuorum instanceof Number)
+            this.value = CreateIndexCommitQuorum.create(((Number) commitQuorum).intValue());
+        else if ("majority".equals(commitQuorum))
+            this.value = CreateIndexCommitQuorum.MAJORITY;
+        else if ("votingMembers".equals(commitQuorum))
+            this.value = CreateIndexCommitQuorum.VOTING_MEMBERS;
+        else if (commitQuorum instanceof String)
+            this.value = CreateIndexCommitQuorum.create((String) commitQuorum);
+        else
+            throw new IllegalArgumentException("invalid commitQuorum: " + commitQuorum);
     }
 
     @Override
     public JsonObject toJson() {
-        //TODO
-        throw new IllegalStateException("TODO");
+        BsonValue commitQuorum = value.toBsonValue();
+        return new JsonObject().put("commitQuorum", commitQuorum.isString() ? commitQuorum.asString().getValue() : commitQuorum.asInt32().getValue());
     }
 }
@@ -0,0 +1,20 @@
+package io.vertx.mongo.impl;
+
+import com.mongodb.reactivestreams.client.FindPublisher;
+import org.reactivestreams.Publisher;
+
+import java.util.function.Function;
+
+public class FindMappingPublisher<T, O> extends MappingPublisher<T, O> {
+
+    private final FindPublisher<T> publisher;
+
+    public FindMappingPublisher(FindPublisher<T> publisher, Function<T, O> mapper) {
+        super(publisher, mapper);
+        this.publisher = publisher;
+    }
+
+    public Publisher<O> first() {
+        return new MappingPublisher<>(publisher.first(), mapper);
+    }
+}
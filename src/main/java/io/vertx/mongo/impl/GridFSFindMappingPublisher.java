@@ -0,0 +1,21 @@
+package io.vertx.mongo.impl;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.reactivestreams.client.gridfs.GridFSFindPublisher;
+import org.reactivestreams.Publisher;
+
+import java.util.function.Function;
+
+public class GridFSFindMappingPublisher<O> extends MappingPublisher<GridFSFile, O> {
+
+    private final GridFSFindPublisher publisher;
+
+    public GridFSFindMappingPublisher(GridFSFindPublisher publisher, Function<GridFSFile, O> mapper) {
+        super(publisher, mapper);
+        this.publisher = publisher;
+    }
+
+    public Publisher<O> first() {
+        return new MappingPublisher<>(publisher.first(), mapper);
+    }
+}
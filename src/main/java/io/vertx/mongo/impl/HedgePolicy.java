@@ -0,0 +1,67 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.mongo.client.HedgeOptions;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hedge delay of the reads of a collection: a percentile of the latencies of its recent reads, within bounds.
+ * <p>Latencies are kept in a ring buffer. The percentile is computed again every {@code 1/16} of the buffer, so that
+ * reads do not sort the buffer.</p>
+ */
+public class HedgePolicy {
+
+    private final Vertx vertx;
+    private final double percentile;
+    private final long minDelay;
+    private final long maxDelay;
+    private final long[] latencies;
+    private final int refreshInterval;
+    private int count;
+    private int sinceRefresh;
+    private volatile long delay;
+
+    public HedgePolicy(Vertx vertx, HedgeOptions options) {
+        if (options.getMinDelay() > options.getMaxDelay())
+            throw new IllegalArgumentException("minDelay must not exceed maxDelay");
+        this.vertx = vertx;
+        this.percentile = options.getPercentile();
+        this.minDelay = options.getMinDelay();
+        this.maxDelay = options.getMaxDelay();
+        this.latencies = new long[options.getSampleSize()];
+        this.refreshInterval = Math.max(1, latencies.length / 16);
+        this.delay = maxDelay;
+    }
+
+    Vertx getVertx() {
+        return vertx;
+    }
+
+    /**
+     * @return the delay after which a read is hedged, in milliseconds
+     */
+    public long getDelay() {
+        return delay;
+    }
+
+    /**
+     * @param nanos the latency of a read, until its first item or its completion
+     */
+    synchronized void record(long nanos) {
+        latencies[count % latencies.length] = nanos;
+        count++;
+        // the max delay is kept until the buffer is full
+        if (count == latencies.length || count > latencies.length && ++sinceRefresh >= refreshInterval) {
+            sinceRefresh = 0;
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            long millis = TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]);
+            delay = Math.min(maxDelay, Math.max(minDelay, millis));
+        }
+        if (count == 2 * latencies.length)
+            count = latencies.length;
+    }
+}
@@ -0,0 +1,214 @@
+package io.vertx.mongo.impl;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Publisher subscribing to a hedge publisher when the primary publisher has not signaled anything after the delay of
+ * the hedge policy. The first publisher emitting an item or completing wins: the other subscription is cancelled.
+ * <p>Demand is forwarded to both publishers until there is a winner. A failure is only propagated when there is no
+ * other publisher to wait for.</p>
+ * @param <T> type of the items
+ */
+public class HedgedPublisher<T> implements Publisher<T> {
+
+    private final HedgePolicy policy;
+    private final Publisher<T> primary;
+    private final Supplier<Publisher<T>> hedge;
+
+    public HedgedPublisher(HedgePolicy policy, Publisher<T> primary, Supplier<Publisher<T>> hedge) {
+        this.policy = Objects.requireNonNull(policy, "policy is null");
+        this.primary = Objects.requireNonNull(primary, "primary is null");
+        this.hedge = Objects.requireNonNull(hedge, "hedge is null");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber is null");
+        new Race(subscriber).start();
+    }
+
+    private class Race implements Subscription {
+
+        private final Subscriber<? super T> downstream;
+        private Leg primaryLeg;
+        private Leg hedgeLeg;
+        private Leg winner;
+        private long requested;
+        private boolean cancelled;
+        private long timerId = -1;
+
+        Race(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        void start() {
+            downstream.onSubscribe(this);
+            Leg leg;
+            synchronized (this) {
+                if (cancelled)
+                    return;
+                leg = primaryLeg = new Leg();
+                timerId = policy.getVertx().setTimer(policy.getDelay(), id -> startHedge());
+            }
+            primary.subscribe(leg);
+        }
+
+        private void startHedge() {
+            Leg leg;
+            synchronized (this) {
+                timerId = -1;
+                if (cancelled || winner != null || primaryLeg.done)
+                    return;
+                leg = hedgeLeg = new Leg();
+            }
+            Publisher<T> publisher;
+            try {
+                publisher = hedge.get();
+            } catch (RuntimeException e) {
+                leg.onError(e);
+                return;
+            }
+            publisher.subscribe(leg);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("request must be positive"));
+                return;
+            }
+            Subscription first = null;
+            Subscription second = null;
+            synchronized (this) {
+                if (cancelled)
+                    return;
+                requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+                if (winner != null) {
+                    first = winner.subscription;
+                } else {
+                    if (primaryLeg != null && !primaryLeg.done)
+                        first = primaryLeg.subscription;
+                    if (hedgeLeg != null && !hedgeLeg.done)
+                        second = hedgeLeg.subscription;
+                }
+            }
+            if (first != null)
+                first.request(n);
+            if (second != null)
+                second.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            Subscription first;
+            Subscription second;
+            synchronized (this) {
+                if (cancelled)
+                    return;
+                cancelled = true;
+                cancelTimer();
+                first = primaryLeg == null ? null : primaryLeg.subscription;
+                second = hedgeLeg == null ? null : hedgeLeg.subscription;
+            }
+            if (first != null)
+                first.cancel();
+            if (second != null)
+                second.cancel();
+        }
+
+        private void cancelTimer() {
+            if (timerId != -1) {
+                policy.getVertx().cancelTimer(timerId);
+                timerId = -1;
+            }
+        }
+
+        /**
+         * @return the subscription of the loser to cancel when the leg has just won
+         */
+        private Subscription win(Leg leg) {
+            if (winner != null)
+                return null;
+            winner = leg;
+            cancelTimer();
+            policy.record(System.nanoTime() - leg.startedAt);
+            Leg loser = leg == primaryLeg ? hedgeLeg : primaryLeg;
+            if (loser == null)
+                return null;
+            loser.done = true;
+            return loser.subscription;
+        }
+
+        private class Leg implements Subscriber<T> {
+
+            final long startedAt = System.nanoTime();
+            Subscription subscription;
+            boolean done;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                boolean lost;
+                long demand;
+                synchronized (Race.this) {
+                    this.subscription = subscription;
+                    lost = cancelled || done;
+                    demand = requested;
+                }
+                if (lost)
+                    subscription.cancel();
+                else if (demand > 0)
+                    subscription.request(demand);
+            }
+
+            @Override
+            public void onNext(T item) {
+                Subscription loser;
+                synchronized (Race.this) {
+                    if (cancelled || done)
+                        return;
+                    loser = win(this);
+                }
+                if (loser != null)
+                    loser.cancel();
+                downstream.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                synchronized (Race.this) {
+                    if (cancelled || done)
+                        return;
+                    done = true;
+                    if (winner == null) {
+                        Leg other = this == primaryLeg ? hedgeLeg : primaryLeg;
+                        // the other read may still answer
+                        if (other != null && !other.done)
+                            return;
+                        cancelTimer();
+                    }
+                }
+                downstream.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                Subscription loser;
+                synchronized (Race.this) {
+                    if (cancelled || done)
+                        return;
+                    loser = win(this);
+                    done = true;
+                }
+                if (loser != null)
+                    loser.cancel();
+                downstream.onComplete();
+            }
+        }
+    }
+}
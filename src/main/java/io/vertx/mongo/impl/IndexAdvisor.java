@@ -0,0 +1,196 @@
+package io.vertx.mongo.impl;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.client.IndexAdvice;
+import io.vertx.mongo.client.IndexAdvisorOptions;
+import io.vertx.mongo.client.model.IndexModel;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the shapes of the {@code find} and {@code aggregate} commands of a client (command listener), with the
+ * latencies of their first batch, and compares them to the indexes of the collections.
+ */
+public class IndexAdvisor implements CommandListener {
+
+    private final IndexAdvisorOptions options;
+    // shapes of the running commands, by request id
+    private final ConcurrentHashMap<Integer, QueryShape> running = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<QueryShape, ShapeStats> shapes = new ConcurrentHashMap<>();
+
+    public IndexAdvisor(IndexAdvisorOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Statistics of a shape
+     */
+    private static final class ShapeStats {
+
+        private long executions;
+        private long latencyNanos;
+        private long maxLatencyNanos;
+
+        synchronized void record(long nanos) {
+            executions++;
+            latencyNanos += nanos;
+            maxLatencyNanos = Math.max(maxLatencyNanos, nanos);
+        }
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        QueryShape shape = shapeOf(event.getDatabaseName(), event.getCommandName(), event.getCommand());
+        if (shape != null)
+            running.put(event.getRequestId(), shape);
+    }
+
+    private QueryShape shapeOf(String databaseName, String commandName, BsonDocument command) {
+        BsonValue collection = command.get(commandName);
+        if (collection == null || !collection.isString())
+            return null;
+        String namespace = databaseName + "." + collection.asString().getValue();
+        if (commandName.equals("find"))
+            return QueryShape.of(namespace, documentOrNull(command.get("filter")), documentOrNull(command.get("sort")),
+                    documentOrNull(command.get("projection")));
+        if (!commandName.equals("aggregate") || !options.isAggregations() || !command.isArray("pipeline"))
+            return null;
+        BsonDocument filter = null;
+        BsonDocument sort = null;
+        BsonDocument projection = null;
+        for (BsonValue stage : command.getArray("pipeline")) {
+            BsonDocument document = documentOrNull(stage);
+            if (document == null)
+                break;
+            if (filter == null && sort == null && document.isDocument("$match")) {
+                filter = document.getDocument("$match");
+            } else if (sort == null && document.isDocument("$sort")) {
+                sort = document.getDocument("$sort");
+            } else {
+                // a $project following the leading stages can be covered
+                if (document.isDocument("$project"))
+                    projection = document.getDocument("$project");
+                break;
+            }
+        }
+        return QueryShape.of(namespace, filter, sort, projection);
+    }
+
+    private static BsonDocument documentOrNull(BsonValue value) {
+        return value != null && value.isDocument() ? value.asDocument() : null;
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        QueryShape shape = running.remove(event.getRequestId());
+        if (shape == null)
+            return;
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            if (shapes.size() >= options.getMaxShapes())
+                return;
+            stats = shapes.computeIfAbsent(shape, s -> new ShapeStats());
+        }
+        stats.record(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        running.remove(event.getRequestId());
+    }
+
+    /**
+     * @param namespace namespace of a collection
+     * @param indexes the indexes of the collection, as returned by {@code listIndexes}
+     * @return the shapes of the collection that no index supports, by decreasing cumulated latency, with the shapes
+     * whose projection no index covers when {@link IndexAdvisorOptions#isCoveredQueries()}
+     */
+    public List<IndexAdvice> advise(String namespace, List<JsonObject> indexes) {
+        List<IndexAdvice> result = new ArrayList<>();
+        for (Map.Entry<QueryShape, ShapeStats> entry : shapes.entrySet()) {
+            QueryShape shape = entry.getKey();
+            if (!shape.getNamespace().equals(namespace))
+                continue;
+            boolean coverable = options.isCoveredQueries() && shape.getProjectedFields() != null;
+            String partialIndex = null;
+            int bestUsableKeys = 0;
+            boolean supported = false;
+            boolean covered = false;
+            for (JsonObject index : indexes) {
+                if (!(index.getValue("key") instanceof JsonObject))
+                    continue;
+                JsonObject key = index.getJsonObject("key");
+                int usableKeys = shape.usableKeys(key);
+                if (usableKeys == shape.size()) {
+                    if (!supported)
+                        partialIndex = index.getString("name");
+                    supported = true;
+                    covered = shape.isCoveredBy(key);
+                    if (covered || !coverable)
+                        break;
+                } else if (!supported && usableKeys > bestUsableKeys) {
+                    bestUsableKeys = usableKeys;
+                    partialIndex = index.getString("name");
+                }
+            }
+            if (covered || supported && !coverable)
+                continue;
+            JsonObject sort = new JsonObject();
+            shape.getSort().forEach(sort::put);
+            IndexModel suggestedIndex = new IndexModel(coverable ? shape.coveringIndexKey() : shape.indexKey());
+            ShapeStats stats = entry.getValue();
+            synchronized (stats) {
+                result.add(new IndexAdvice(namespace, shape.getEqualityFields(), sort, shape.getRangeFields(),
+                        shape.getProjectedFields(), stats.executions, stats.latencyNanos, stats.maxLatencyNanos,
+                        partialIndex, supported, suggestedIndex));
+            }
+        }
+        result.sort(Comparator.comparingLong(IndexAdvice::getLatencyNanos).reversed());
+        return result;
+    }
+
+    /**
+     * @param advice index advice, by decreasing weight
+     * @return the distinct suggested indexes, without the indexes whose keys are a prefix of the keys of another
+     * suggested index
+     */
+    public static List<IndexModel> suggest(List<IndexAdvice> advice) {
+        List<List<Map.Entry<String, Object>>> keys = new ArrayList<>();
+        List<IndexModel> result = new ArrayList<>();
+        for (IndexAdvice item : advice) {
+            IndexModel index = item.getSuggestedIndex();
+            List<Map.Entry<String, Object>> indexKeys = new ArrayList<>(index.getKeys().getMap().entrySet());
+            boolean redundant = false;
+            for (int i = 0; i < keys.size() && !redundant; i++) {
+                List<Map.Entry<String, Object>> other = keys.get(i);
+                if (isPrefix(indexKeys, other)) {
+                    redundant = true;
+                } else if (isPrefix(other, indexKeys)) {
+                    keys.set(i, indexKeys);
+                    result.set(i, index);
+                    redundant = true;
+                }
+            }
+            if (!redundant) {
+                keys.add(indexKeys);
+                result.add(index);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isPrefix(List<Map.Entry<String, Object>> prefix, List<Map.Entry<String, Object>> keys) {
+        return prefix.size() <= keys.size() && prefix.equals(keys.subList(0, prefix.size()));
+    }
+}
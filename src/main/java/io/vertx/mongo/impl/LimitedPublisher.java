@@ -0,0 +1,172 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.mongo.client.OperationClass;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publisher subscribing to its source once the concurrency limiter lets the operation start. The subscriber gets its
+ * subscription immediately: the demand is forwarded to the source once it has started, and cancelling a queued
+ * operation removes it from the queue. The permits are released when the source terminates or when the subscription is
+ * cancelled.
+ * @param <T> type of the items
+ */
+public class LimitedPublisher<T> implements Publisher<T> {
+
+    static final Subscription EMPTY_SUBSCRIPTION = new Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final ConcurrencyLimiter limiter;
+    private final OperationClass operationClass;
+    private final Publisher<T> source;
+
+    public LimitedPublisher(ConcurrencyLimiter limiter, OperationClass operationClass, Publisher<T> source) {
+        this.limiter = Objects.requireNonNull(limiter, "limiter is null");
+        this.operationClass = Objects.requireNonNull(operationClass, "operationClass is null");
+        this.source = Objects.requireNonNull(source, "source is null");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber is null");
+        ReleasingSubscriber releasing = new ReleasingSubscriber(subscriber);
+        subscriber.onSubscribe(releasing);
+        releasing.queued(limiter.acquire(operationClass, releasing::start, releasing::rejected));
+    }
+
+    private class ReleasingSubscriber implements Subscriber<T>, Subscription {
+
+        private final Subscriber<? super T> downstream;
+        private final AtomicBoolean released = new AtomicBoolean();
+        // guarded by this
+        private ConcurrencyLimiter.Waiter waiter;
+        private Subscription subscription;
+        private long requested;
+        private boolean started;
+        private boolean cancelled;
+
+        ReleasingSubscriber(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true))
+                limiter.release(operationClass);
+        }
+
+        void queued(ConcurrencyLimiter.Waiter waiter) {
+            boolean cancel;
+            synchronized (this) {
+                this.waiter = waiter;
+                cancel = cancelled && !started;
+            }
+            if (cancel && waiter != null)
+                limiter.cancel(waiter);
+        }
+
+        void start() {
+            boolean cancel;
+            synchronized (this) {
+                started = true;
+                cancel = cancelled;
+            }
+            if (cancel)
+                release();
+            else
+                source.subscribe(this);
+        }
+
+        void rejected(Throwable error) {
+            boolean cancel;
+            synchronized (this) {
+                cancel = cancelled;
+            }
+            if (!cancel)
+                downstream.onError(error);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            long demand;
+            boolean cancel;
+            synchronized (this) {
+                this.subscription = subscription;
+                demand = requested;
+                cancel = cancelled;
+            }
+            if (cancel)
+                subscription.cancel();
+            else if (demand > 0)
+                subscription.request(demand);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            release();
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            release();
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("request must be positive"));
+                return;
+            }
+            Subscription subscription;
+            synchronized (this) {
+                if (cancelled)
+                    return;
+                subscription = this.subscription;
+                if (subscription == null) {
+                    requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+                    return;
+                }
+            }
+            subscription.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            Subscription subscription;
+            ConcurrencyLimiter.Waiter waiter;
+            boolean started;
+            synchronized (this) {
+                if (cancelled)
+                    return;
+                cancelled = true;
+                subscription = this.subscription;
+                waiter = this.waiter;
+                started = this.started;
+            }
+            if (subscription != null)
+                subscription.cancel();
+            if (started)
+                release();
+            else if (waiter != null)
+                limiter.cancel(waiter);
+        }
+    }
+}
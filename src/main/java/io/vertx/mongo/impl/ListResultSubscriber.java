@@ -24,37 +24,18 @@ import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 
-public class ListResultSubscriber<T> implements Subscriber<T> {
+public class ListResultSubscriber<I, T> implements Subscriber<I> {
 
-    private final List<T> received = new ArrayList<>();
+    // holds published items until completion, where they are replaced by mapped ones
+    private final List<Object> received = new ArrayList<>();
     private final MongoClientContext clientContext;
     private final Promise<List<T>> promise;
-    private final Function<T, T> mapper;
+    private final Function<I, T> mapper;
     private final int maxItems;
     private Subscription subscription;
     private boolean completed;
 
-//    public ListResultSubscriber(MongoClientContext clientContext, Promise<List<T>> promise) {
-//        Objects.requireNonNull(clientContext, "clientContext is null");
-//        Objects.requireNonNull(promise, "promise is null");
-//        this.clientContext = clientContext;
-//        this.promise = promise;
-//        this.maxItems = -1;
-//        this.mapper = null;
-//    }
-//
-//    public ListResultSubscriber(MongoClientContext clientContext, Promise<List<T>> promise, int maxItems) {
-//        Objects.requireNonNull(clientContext, "clientContext is null");
-//        Objects.requireNonNull(promise, "promise is null");
-//        if (maxItems < 0)
-//            throw new IllegalArgumentException("maxItems must be non-negative");
-//        this.clientContext = clientContext;
-//        this.promise = promise;
-//        this.maxItems = maxItems;
-//        this.mapper = null;
-//    }
-
-    public ListResultSubscriber(MongoClientContext clientContext, Promise<List<T>> promise, Function<T, T> mapper) {
+    public ListResultSubscriber(MongoClientContext clientContext, Promise<List<T>> promise, Function<I, T> mapper) {
         Objects.requireNonNull(clientContext, "clientContext is null");
         Objects.requireNonNull(promise, "promise is null");
         // commented-out on purpose
@@ -65,7 +46,7 @@ public class ListResultSubscriber<T> implements Subscriber<T> {
         this.maxItems = -1;
     }
 
-    public ListResultSubscriber(MongoClientContext clientContext, Promise<List<T>> promise, Function<T, T> mapper, int maxItems) {
+    public ListResultSubscriber(MongoClientContext clientContext, Promise<List<T>> promise, Function<I, T> mapper, int maxItems) {
         Objects.requireNonNull(clientContext, "clientContext is null");
         Objects.requireNonNull(promise, "promise is null");
         // commented-out on purpose
@@ -85,20 +66,12 @@ public class ListResultSubscriber<T> implements Subscriber<T> {
     }
 
     @Override
-    public void onNext(T t) {
-        try {
-            received.add(mapper == null ? t : mapper.apply(t));
-        } catch (Throwable error) {
-            subscription.cancel();
-            promise.fail(error);
-            return;
-        }
+    public void onNext(I t) {
+        received.add(t);
         if (maxItems != -1 && received.size() >= maxItems) {
             completed = true;
             subscription.cancel();
-            clientContext.getContext().runOnContext(ar -> {
-                promise.complete(received);
-            });
+            clientContext.getContext().runOnContext(ar -> complete());
         }
     }
 
@@ -112,9 +85,21 @@ public class ListResultSubscriber<T> implements Subscriber<T> {
     @Override
     public void onComplete() {
         if (!completed) {
-            clientContext.getContext().runOnContext(ar -> {
-                promise.complete(received);
-            });
+            clientContext.getContext().runOnContext(ar -> complete());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete() {
+        if (mapper != null) {
+            try {
+                for (int i = 0; i < received.size(); i++)
+                    received.set(i, mapper.apply((I) received.get(i)));
+            } catch (Throwable error) {
+                promise.fail(error);
+                return;
+            }
         }
+        promise.complete((List<T>) (List<?>) received);
     }
 }
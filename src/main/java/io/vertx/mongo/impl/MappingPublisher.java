@@ -4,8 +4,6 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.function.Function;
 
 public class MappingPublisher<I, O> implements Publisher<O> {
@@ -38,28 +36,51 @@ public class MappingPublisher<I, O> implements Publisher<O> {
             mapped.onComplete();
         }
     }
-    private Publisher<I> mapped;
-    private final Function<I, O> mapper;
+    protected final Publisher<I> mapped;
+    protected final Function<I, O> mapper;
 
     public MappingPublisher(Publisher<I> mapped, Function<I, O> mapper) {
         this.mapped = mapped;
         this.mapper = mapper;
-
-    }
-
-    public Publisher<O> first() {
-        // TODO: HACK!! do it better...
-        try {
-            Method first = this.mapped.getClass().getMethod("first");
-            this.mapped = (Publisher<I>) first.invoke(this.mapped);
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException(e);
-        }
-        return this;
     }
 
     @Override
     public void subscribe(Subscriber<? super O> subscriber) {
         mapped.subscribe(new MappingSubscriber(subscriber));
     }
+
+    /**
+     * Returns the publisher actually producing the items, skipping mapping publishers.
+     * @param publisher publisher (possibly a mapping publisher)
+     * @return source publisher
+     */
+    @SuppressWarnings("unchecked")
+    public static Publisher<Object> source(Publisher<?> publisher) {
+        while (publisher instanceof MappingPublisher)
+            publisher = ((MappingPublisher<?, ?>) publisher).mapped;
+        return (Publisher<Object>) publisher;
+    }
+
+    /**
+     * Composes the mappers of the mapping publishers with an optional output mapper into a single function
+     * to be applied on items of the {@link #source(Publisher)} publisher.
+     * @param publisher publisher (possibly a mapping publisher)
+     * @param then output mapper applied last (can be null)
+     * @param <T> type of the items after the mapping
+     * @return the fused function or null if no mapping is required
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Function<Object, T> fuse(Publisher<?> publisher, Function<T, T> then) {
+        Function<Object, Object> fused = null;
+        while (publisher instanceof MappingPublisher) {
+            MappingPublisher<Object, Object> mappingPublisher = (MappingPublisher<Object, Object>) publisher;
+            fused = fused == null ? mappingPublisher.mapper : mappingPublisher.mapper.andThen(fused);
+            publisher = mappingPublisher.mapped;
+        }
+        if (then != null) {
+            Function<Object, Object> last = (Function<Object, Object>) (Function<?, ?>) then;
+            fused = fused == null ? last : fused.andThen(last);
+        }
+        return (Function<Object, T>) (Function<?, ?>) fused;
+    }
 }
@@ -28,11 +28,21 @@ public final class MongoClientContext {
     private final ContextInternal context;
     private final ClientConfig config;
     private final ConversionUtils conversionUtils;
+    private final ConcurrencyScheduler concurrencyScheduler;
+    private final CircuitBreaker circuitBreaker;
+    private final IndexAdvisor indexAdvisor;
     public MongoClientContext(VertxInternal vertx, ContextInternal context, CodecRegistry codecRegistry, ClientConfig config) {
+        this(vertx, context, codecRegistry, config, new ConcurrencyScheduler(config.getMaxConcurrentOperations()), null, null);
+    }
+
+    public MongoClientContext(VertxInternal vertx, ContextInternal context, CodecRegistry codecRegistry, ClientConfig config, ConcurrencyScheduler concurrencyScheduler, CircuitBreaker circuitBreaker, IndexAdvisor indexAdvisor) {
         this.vertx = vertx;
         this.context = context;
         this.config = config;
         this.conversionUtils = new ConversionUtilsImpl(codecRegistry, config.isUseObjectIds(), config.getInputMapper(), config.getOutputMapper());
+        this.concurrencyScheduler = concurrencyScheduler;
+        this.circuitBreaker = circuitBreaker;
+        this.indexAdvisor = indexAdvisor;
     }
 
     public VertxInternal getVertx() {
@@ -49,4 +59,25 @@ public final class MongoClientContext {
         return conversionUtils;
     }
 
+    /**
+     * @return the scheduler of the collections with a concurrency limit, shared by the clients of the data source
+     */
+    public ConcurrencyScheduler getConcurrencyScheduler() {
+        return concurrencyScheduler;
+    }
+
+    /**
+     * @return the circuit breaker of the data source, null when disabled
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @return the index advisor of the data source, null when disabled
+     */
+    public IndexAdvisor getIndexAdvisor() {
+        return indexAdvisor;
+    }
+
 }
@@ -3,6 +3,7 @@ package io.vertx.mongo.impl;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.mongo.MongoCollectionResult;
+import org.bson.RawBsonDocument;
 import org.reactivestreams.Publisher;
 
 import java.util.Objects;
@@ -62,10 +63,39 @@ public class MongoCollectionResultImpl<TDocument> extends MongoResultImpl<TDocum
         this.toCollectionPublisher = toCollectionPublisher;
     }
 
+    protected MongoCollectionResultImpl(MongoCollectionResultImpl<TDocument> primary, MongoCollectionResultImpl<TDocument> hedge, HedgePolicy policy) {
+        super(primary, hedge, policy);
+        // the output stage writes once, with the primary result
+        this.toCollectionPublisher = primary.toCollectionPublisher;
+    }
+
+    @Override
+    public MongoCollectionResultImpl<TDocument> hedgedWith(MongoResultImpl<TDocument> hedge, HedgePolicy policy) {
+        if (!(hedge instanceof MongoCollectionResultImpl))
+            throw new IllegalArgumentException("hedge must be a collection result");
+        return new MongoCollectionResultImpl<>(this, (MongoCollectionResultImpl<TDocument>) hedge, policy);
+    }
+
+    protected MongoCollectionResultImpl(MongoCollectionResultImpl<TDocument> result, PublisherDecorator decorator) {
+        super(result, decorator);
+        this.toCollectionPublisher = () -> decorator.decorate(result.toCollectionPublisher.get());
+    }
+
+    @Override
+    public MongoCollectionResultImpl<TDocument> decoratedWith(PublisherDecorator decorator) {
+        return new MongoCollectionResultImpl<>(this, decorator);
+    }
+
+    @Override
+    public MongoCollectionResultImpl<TDocument> withRawPublisher(Supplier<Publisher<RawBsonDocument>> rawPublisher) {
+        super.withRawPublisher(rawPublisher);
+        return this;
+    }
+
     @Override
     public Future<Void> toCollection() {
         Promise<Void> promise = Promise.promise();
-        SingleResultSubscriber<Void> __subscriber = new SingleResultSubscriber<>(clientContext, promise);
+        SingleResultSubscriber<Void, Void> __subscriber = new SingleResultSubscriber<>(clientContext, promise);
         toCollectionPublisher.get().subscribe(__subscriber);
         return promise.future();
     }
@@ -0,0 +1,163 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.mongo.MongoCursor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The state of the cursor is only accessed from the context: driver signals are dispatched to the context.
+ * Demand is replenished as items leave the buffer so that buffered plus requested items never exceed the prefetch size.
+ */
+public class MongoCursorImpl<I, T> implements MongoCursor<T>, Subscriber<I> {
+
+    private final Context context;
+    private final Function<I, T> mapper;
+    private final int prefetch;
+    private final ArrayDeque<I> buffer;
+
+    private Subscription subscription;
+    private Promise<List<T>> pending;
+    private int pendingMaxItems;
+    private Throwable failure;
+    private boolean completed;
+    private boolean closed;
+
+    public MongoCursorImpl(Context context, Function<I, T> mapper, int prefetch) {
+        Objects.requireNonNull(context, "context is null");
+        // commented-out on purpose
+        // Objects.requireNonNull(mapper, "mapper is null");
+        if (prefetch <= 0)
+            throw new IllegalArgumentException("prefetch must be positive");
+        this.context = context;
+        this.mapper = mapper;
+        this.prefetch = prefetch;
+        this.buffer = new ArrayDeque<>(prefetch);
+    }
+
+    @Override
+    public Future<T> next() {
+        return poll(1).map(items -> items.isEmpty() ? null : items.get(0));
+    }
+
+    @Override
+    public Future<List<T>> nextBatch() {
+        return poll(prefetch);
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return closed || (completed && buffer.isEmpty());
+    }
+
+    @Override
+    public void close() {
+        context.runOnContext(v -> {
+            if (closed)
+                return;
+            closed = true;
+            buffer.clear();
+            if (subscription != null)
+                subscription.cancel();
+            if (pending != null) {
+                Promise<List<T>> promise = pending;
+                pending = null;
+                promise.complete(Collections.emptyList());
+            }
+        });
+    }
+
+    private Future<List<T>> poll(int maxItems) {
+        Promise<List<T>> promise = Promise.promise();
+        context.runOnContext(v -> {
+            if (pending != null) {
+                promise.fail(new IllegalStateException("a previous call to the cursor is still pending"));
+                return;
+            }
+            pending = promise;
+            pendingMaxItems = maxItems;
+            drain();
+        });
+        return promise.future();
+    }
+
+    private void drain() {
+        if (pending == null)
+            return;
+        Promise<List<T>> promise = pending;
+        if (!buffer.isEmpty()) {
+            pending = null;
+            int size = Math.min(pendingMaxItems, buffer.size());
+            List<T> items = new ArrayList<>(size);
+            try {
+                for (int i = 0; i < size; i++) {
+                    I item = buffer.poll();
+                    // without mapper, items are published with their final type
+                    @SuppressWarnings("unchecked")
+                    T mapped = mapper == null ? (T) item : mapper.apply(item);
+                    items.add(mapped);
+                }
+            } catch (Throwable error) {
+                close();
+                promise.fail(error);
+                return;
+            }
+            if (!completed && !closed)
+                subscription.request(size);
+            promise.complete(items);
+        } else if (failure != null) {
+            pending = null;
+            promise.fail(failure);
+        } else if (completed || closed) {
+            pending = null;
+            promise.complete(Collections.emptyList());
+        }
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        context.runOnContext(v -> {
+            subscription = s;
+            if (closed)
+                s.cancel();
+            else
+                s.request(prefetch);
+        });
+    }
+
+    @Override
+    public void onNext(I item) {
+        context.runOnContext(v -> {
+            if (closed)
+                return;
+            buffer.add(item);
+            drain();
+        });
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        context.runOnContext(v -> {
+            failure = t;
+            completed = true;
+            drain();
+        });
+    }
+
+    @Override
+    public void onComplete() {
+        context.runOnContext(v -> {
+            completed = true;
+            drain();
+        });
+    }
+}
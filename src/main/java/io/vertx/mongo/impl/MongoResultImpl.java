@@ -1,9 +1,17 @@
 package io.vertx.mongo.impl;
 
+import io.netty.buffer.Unpooled;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.streams.ReadStream;
+import io.vertx.mongo.BlockingCursor;
+import io.vertx.mongo.MongoCursor;
 import io.vertx.mongo.MongoResult;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
 import org.reactivestreams.Publisher;
 
 import java.util.List;
@@ -13,17 +21,25 @@ import java.util.function.Supplier;
 
 public class MongoResultImpl<TDocument> implements MongoResult<TDocument> {
 
-    private final Publisher<TDocument> publisher;
+    private static final BsonDocumentCodec BSON_DOCUMENT_CODEC = new BsonDocumentCodec();
+
+    // mapping publishers are unwrapped: their mappers are fused with the output mapper
+    // so that a single function is applied once per item, on the delivery thread
+    private final Publisher<Object> publisher;
     protected final MongoClientContext clientContext;
-    private final Function<TDocument, TDocument> mapper;
+    private final Function<TDocument, TDocument> outputMapper;
+    private final Function<Object, TDocument> mapper;
     private final Supplier<Publisher<TDocument>> firstPublisher;
     private final int batchSize;
+    // reads the raw documents of the result, null when the items are encoded
+    private Supplier<Publisher<RawBsonDocument>> rawPublisher;
     public MongoResultImpl(MongoClientContext clientContext, Publisher<TDocument> publisher) {
         Objects.requireNonNull(clientContext, "clientContext is null");
         Objects.requireNonNull(publisher, "publisher is null");
         this.clientContext = clientContext;
-        this.publisher = publisher;
-        this.mapper = null;
+        this.publisher = MappingPublisher.source(publisher);
+        this.outputMapper = null;
+        this.mapper = MappingPublisher.fuse(publisher, null);
         this.firstPublisher = null;
         this.batchSize = -1;
     }
@@ -34,8 +50,9 @@ public class MongoResultImpl<TDocument> implements MongoResult<TDocument> {
         if (batchSize < 0)
             throw new IllegalArgumentException("batchSize must be non-negative");
         this.clientContext = clientContext;
-        this.publisher = publisher;
-        this.mapper = null;
+        this.publisher = MappingPublisher.source(publisher);
+        this.outputMapper = null;
+        this.mapper = MappingPublisher.fuse(publisher, null);
         this.firstPublisher = null;
         this.batchSize = batchSize;
     }
@@ -45,8 +62,9 @@ public class MongoResultImpl<TDocument> implements MongoResult<TDocument> {
         Objects.requireNonNull(publisher, "publisher is null");
         Objects.requireNonNull(firstPublisher, "firstPublisher is null");
         this.clientContext = clientContext;
-        this.publisher = publisher;
-        this.mapper = null;
+        this.publisher = MappingPublisher.source(publisher);
+        this.outputMapper = null;
+        this.mapper = MappingPublisher.fuse(publisher, null);
         this.firstPublisher = firstPublisher;
         this.batchSize = -1;
     }
@@ -58,8 +76,9 @@ public class MongoResultImpl<TDocument> implements MongoResult<TDocument> {
         if (batchSize < 0)
             throw new IllegalArgumentException("batchSize must be non-negative");
         this.clientContext = clientContext;
-        this.publisher = publisher;
-        this.mapper = null;
+        this.publisher = MappingPublisher.source(publisher);
+        this.outputMapper = null;
+        this.mapper = MappingPublisher.fuse(publisher, null);
         this.firstPublisher = firstPublisher;
         this.batchSize = batchSize;
     }
@@ -70,8 +89,9 @@ public class MongoResultImpl<TDocument> implements MongoResult<TDocument> {
         // commented-out on purpose
         // Objects.requireNonNull(mapper, "mapper is null");
         this.clientContext = clientContext;
-        this.publisher = publisher;
-        this.mapper = mapper;
+        this.publisher = MappingPublisher.source(publisher);
+        this.outputMapper = mapper;
+        this.mapper = MappingPublisher.fuse(publisher, mapper);
         this.firstPublisher = null;
         this.batchSize = -1;
     }
@@ -84,8 +104,9 @@ public class MongoResultImpl<TDocument> implements MongoResult<TDocument> {
         if (batchSize < 0)
             throw new IllegalArgumentException("batchSize must be non-negative");
         this.clientContext = clientContext;
-        this.publisher = publisher;
-        this.mapper = mapper;
+        this.publisher = MappingPublisher.source(publisher);
+        this.outputMapper = mapper;
+        this.mapper = MappingPublisher.fuse(publisher, mapper);
         this.firstPublisher = null;
         this.batchSize = batchSize;
     }
@@ -97,8 +118,9 @@ public class MongoResultImpl<TDocument> implements MongoResult<TDocument> {
         // Objects.requireNonNull(mapper, "mapper is null");
         Objects.requireNonNull(firstPublisher, "firstPublisher is null");
         this.clientContext = clientContext;
-        this.publisher = publisher;
-        this.mapper = mapper;
+        this.publisher = MappingPublisher.source(publisher);
+        this.outputMapper = mapper;
+        this.mapper = MappingPublisher.fuse(publisher, mapper);
         this.firstPublisher = firstPublisher;
         this.batchSize = -1;
     }
@@ -112,27 +134,98 @@ public class MongoResultImpl<TDocument> implements MongoResult<TDocument> {
         if (batchSize < 0)
             throw new IllegalArgumentException("batchSize must be non-negative");
         this.clientContext = clientContext;
-        this.publisher = publisher;
-        this.mapper = mapper;
+        this.publisher = MappingPublisher.source(publisher);
+        this.outputMapper = mapper;
+        this.mapper = MappingPublisher.fuse(publisher, mapper);
         this.firstPublisher = firstPublisher;
         this.batchSize = batchSize;
     }
 
+    /**
+     * Creates a result racing the reads of a primary result against the reads of a hedge result. Both results must be
+     * created by the same operation, with the same arguments, on collections of the same document class.
+     * @param primary primary result
+     * @param hedge hedge result, read when the primary result has not answered after the delay of the policy
+     * @param policy hedge policy
+     */
+    protected MongoResultImpl(MongoResultImpl<TDocument> primary, MongoResultImpl<TDocument> hedge, HedgePolicy policy) {
+        Objects.requireNonNull(primary, "primary is null");
+        Objects.requireNonNull(hedge, "hedge is null");
+        Objects.requireNonNull(policy, "policy is null");
+        this.clientContext = primary.clientContext;
+        this.publisher = new HedgedPublisher<>(policy, primary.publisher, () -> hedge.publisher);
+        this.outputMapper = primary.outputMapper;
+        this.mapper = primary.mapper;
+        this.firstPublisher = primary.firstPublisher == null || hedge.firstPublisher == null ? null
+                : () -> new HedgedPublisher<>(policy, primary.firstPublisher.get(), hedge.firstPublisher);
+        this.batchSize = primary.batchSize;
+        this.rawPublisher = primary.rawPublisher == null || hedge.rawPublisher == null ? null
+                : () -> new HedgedPublisher<>(policy, primary.rawPublisher.get(), hedge.rawPublisher);
+    }
+
+    /**
+     * @param hedge hedge result, created by the same operation as this result
+     * @param policy hedge policy
+     * @return a result racing the reads of this result against the reads of the hedge result
+     */
+    public MongoResultImpl<TDocument> hedgedWith(MongoResultImpl<TDocument> hedge, HedgePolicy policy) {
+        return new MongoResultImpl<>(this, hedge, policy);
+    }
+
+    /**
+     * Creates a result whose reads subscribe to decorated publishers: concurrency limit, circuit breaker, ...
+     * @param result decorated result
+     * @param decorator publisher decorator
+     */
+    protected MongoResultImpl(MongoResultImpl<TDocument> result, PublisherDecorator decorator) {
+        Objects.requireNonNull(result, "result is null");
+        Objects.requireNonNull(decorator, "decorator is null");
+        this.clientContext = result.clientContext;
+        this.publisher = decorator.decorate(result.publisher);
+        this.outputMapper = result.outputMapper;
+        this.mapper = result.mapper;
+        this.firstPublisher = result.firstPublisher == null ? null
+                : () -> decorator.decorate(result.firstPublisher.get());
+        this.batchSize = result.batchSize;
+        this.rawPublisher = result.rawPublisher == null ? null
+                : () -> decorator.decorate(result.rawPublisher.get());
+    }
+
+    /**
+     * @param decorator publisher decorator
+     * @return a result whose reads subscribe to decorated publishers
+     */
+    public MongoResultImpl<TDocument> decoratedWith(PublisherDecorator decorator) {
+        return new MongoResultImpl<>(this, decorator);
+    }
+
+    /**
+     * @param rawPublisher supplier of a publisher reading the same documents as this result, as raw documents
+     * @return this
+     */
+    public MongoResultImpl<TDocument> withRawPublisher(Supplier<Publisher<RawBsonDocument>> rawPublisher) {
+        this.rawPublisher = Objects.requireNonNull(rawPublisher, "rawPublisher is null");
+        return this;
+    }
+
     @Override
     public Future<TDocument> first() {
         Promise<TDocument> promise = Promise.promise();
-        SingleResultSubscriber<TDocument> __subscriber = new SingleResultSubscriber<>(clientContext, promise, mapper);
-        if (firstPublisher == null)
+        if (firstPublisher == null) {
+            SingleResultSubscriber<Object, TDocument> __subscriber = new SingleResultSubscriber<>(clientContext, promise, mapper);
             publisher.subscribe(__subscriber);
-        else
-            firstPublisher.get().subscribe(__subscriber);
+        } else {
+            Publisher<TDocument> __firstPublisher = firstPublisher.get();
+            SingleResultSubscriber<Object, TDocument> __subscriber = new SingleResultSubscriber<>(clientContext, promise, MappingPublisher.fuse(__firstPublisher, outputMapper));
+            MappingPublisher.source(__firstPublisher).subscribe(__subscriber);
+        }
         return promise.future();
     }
 
     @Override
     public Future<List<TDocument>> all() {
         Promise<List<TDocument>> promise = Promise.promise();
-        ListResultSubscriber<TDocument> __subscriber = new ListResultSubscriber<>(clientContext, promise, mapper);
+        ListResultSubscriber<Object, TDocument> __subscriber = new ListResultSubscriber<>(clientContext, promise, mapper);
         publisher.subscribe(__subscriber);
         return promise.future();
     }
@@ -142,7 +235,7 @@ public class MongoResultImpl<TDocument> implements MongoResult<TDocument> {
         if (maxItems < 0)
             throw new IllegalArgumentException("maxItems must be non-negative");
         Promise<List<TDocument>> promise = Promise.promise();
-        ListResultSubscriber<TDocument> __subscriber = new ListResultSubscriber<>(clientContext, promise, mapper, maxItems);
+        ListResultSubscriber<Object, TDocument> __subscriber = new ListResultSubscriber<>(clientContext, promise, mapper, maxItems);
         publisher.subscribe(__subscriber);
         return promise.future();
     }
@@ -159,4 +252,59 @@ public class MongoResultImpl<TDocument> implements MongoResult<TDocument> {
         return new PublisherAdapter<>(clientContext.getContext(), publisher, mapper, batchSize);
     }
 
+    @Override
+    public ReadStream<Buffer> rawStream() {
+        return createRawStream(batchSize != -1 ? batchSize : 1);
+    }
+
+    @Override
+    public ReadStream<Buffer> rawStream(int batchSize) {
+        if (this.batchSize != -1)
+            throw new IllegalStateException("batchSize has already been set using options");
+        return createRawStream(batchSize);
+    }
+
+    private ReadStream<Buffer> createRawStream(int batchSize) {
+        if (rawPublisher != null)
+            return new PublisherAdapter<>(clientContext.getContext(), rawPublisher.get(), MongoResultImpl::toBuffer, batchSize);
+        Function<Object, Buffer> encoder = mapper == null ? this::encode : mapper.andThen(this::encode);
+        return new PublisherAdapter<>(clientContext.getContext(), publisher, encoder, batchSize);
+    }
+
+    // the buffer shares the bytes of the document
+    private static Buffer toBuffer(RawBsonDocument document) {
+        return Buffer.buffer(Unpooled.wrappedBuffer(document.getByteBuffer().asNIO()));
+    }
+
+    private Buffer encode(Object item) {
+        if (item instanceof RawBsonDocument)
+            return toBuffer((RawBsonDocument) item);
+        BsonDocument document;
+        if (item instanceof JsonObject)
+            document = clientContext.getMapper().toBsonDocument((JsonObject) item);
+        else if (item instanceof BsonDocument)
+            document = (BsonDocument) item;
+        else
+            throw new IllegalStateException("items of type " + item.getClass().getName() + " cannot be streamed as BSON documents");
+        return toBuffer(new RawBsonDocument(document, BSON_DOCUMENT_CODEC));
+    }
+
+    @Override
+    public MongoCursor<TDocument> cursor(int prefetch) {
+        MongoCursorImpl<Object, TDocument> cursor = new MongoCursorImpl<>(clientContext.getContext(), mapper, prefetch);
+        publisher.subscribe(cursor);
+        return cursor;
+    }
+
+    /**
+     * Subscribes to the publisher and returns a blocking cursor over the items
+     * @param prefetch maximum number of items fetched ahead
+     * @return blocking cursor over the items
+     */
+    public BlockingCursor<TDocument> blockingCursor(int prefetch) {
+        BlockingCursorImpl<Object, TDocument> cursor = new BlockingCursorImpl<>(mapper, prefetch);
+        publisher.subscribe(cursor);
+        return cursor;
+    }
+
 }
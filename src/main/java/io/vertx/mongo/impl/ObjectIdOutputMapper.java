@@ -3,7 +3,6 @@ package io.vertx.mongo.impl;
 import io.vertx.core.json.JsonObject;
 import io.vertx.mongo.impl.codec.json.JsonObjectCodec;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -20,15 +19,10 @@ public class ObjectIdOutputMapper implements Function<JsonObject, JsonObject> {
             String oid = (String) map.get(JsonObjectCodec.OID_FIELD);
             if (oid == null)
                 return json;
-            LinkedHashMap<String, Object> replacement = new LinkedHashMap<>();
-            for (Map.Entry<String, Object> entry: json.getMap().entrySet()) {
-                String key = entry.getKey();
-                if (key.equals("_id"))
-                    replacement.put("_id", oid);
-                else
-                    replacement.put(entry.getKey(), entry.getValue());
-            }
-            return new JsonObject(replacement);
+            // output documents have just been decoded and are not shared: replace the value in place
+            // (replacing the value of an existing key does not change the iteration order)
+            json.put("_id", oid);
+            return json;
         } else {
             return json;
         }
@@ -0,0 +1,33 @@
+package io.vertx.mongo.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking semaphore: permits are taken with a compare-and-set loop, there is no waiting.
+ */
+final class Permits {
+
+    private final AtomicInteger available;
+
+    Permits(int permits) {
+        this.available = new AtomicInteger(permits);
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = available.get();
+            if (current <= 0)
+                return false;
+            if (available.compareAndSet(current, current - 1))
+                return true;
+        }
+    }
+
+    void release() {
+        available.incrementAndGet();
+    }
+
+    int available() {
+        return available.get();
+    }
+}
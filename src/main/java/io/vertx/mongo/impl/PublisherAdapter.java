@@ -25,16 +25,16 @@ import org.reactivestreams.Subscription;
 import java.util.Objects;
 import java.util.function.Function;
 
-public class PublisherAdapter<T> implements ReadStream<T> {
+public class PublisherAdapter<I, T> implements ReadStream<T> {
 
     private enum State {
         IDLE, STARTED, EXHAUSTED, STOPPED
     }
 
     private final Context context;
-    private final Publisher<T> publisher;
-    private final Function<T, T> mapper;
-    private final InboundBuffer<T> internalQueue;
+    private final Publisher<I> publisher;
+    private final Function<I, T> mapper;
+    private final InboundBuffer<I> internalQueue;
     private final int batchSize;
 
     private State state;
@@ -44,18 +44,18 @@ public class PublisherAdapter<T> implements ReadStream<T> {
     private Handler<Void> endHandler;
     private Subscription subscription;
 
-    public PublisherAdapter(Context context, Publisher<T> publisher, int batchSize) {
+    public PublisherAdapter(Context context, Publisher<I> publisher, int batchSize) {
         this(context, publisher, null, batchSize);
     }
 
-    public PublisherAdapter(Context context, Publisher<T> publisher, Function<T, T> mapper, int batchSize) {
+    public PublisherAdapter(Context context, Publisher<I> publisher, Function<I, T> mapper, int batchSize) {
         Objects.requireNonNull(context, "context is null");
         Objects.requireNonNull(publisher, "publisher is null");
         this.context = context;
         this.publisher = publisher;
         this.mapper = mapper;
         this.batchSize = batchSize > 0 ? batchSize : 256;
-        internalQueue = new InboundBuffer<T>(context);
+        internalQueue = new InboundBuffer<I>(context);
         state = State.IDLE;
     }
 
@@ -137,7 +137,7 @@ public class PublisherAdapter<T> implements ReadStream<T> {
         return this;
     }
 
-    private void handleIn(T item) {
+    private void handleIn(I item) {
         synchronized (this) {
             if (state == State.STOPPED) {
                 return;
@@ -148,7 +148,8 @@ public class PublisherAdapter<T> implements ReadStream<T> {
         internalQueue.write(item);
     }
 
-    private void handleOut(T item) {
+    @SuppressWarnings("unchecked")
+    private void handleOut(I item) {
         synchronized (this) {
             if (state == State.STOPPED) {
                 return;
@@ -156,7 +157,8 @@ public class PublisherAdapter<T> implements ReadStream<T> {
             receivedNotDelivered--;
         }
         try {
-            handler.handle(mapper == null ? item : mapper.apply(item));
+            // without mapper, items are published with their final type
+            handler.handle(mapper == null ? (T) item : mapper.apply(item));
         } catch (Throwable error) {
             handleException(error);
             return;
@@ -238,7 +240,7 @@ public class PublisherAdapter<T> implements ReadStream<T> {
         }
     }
 
-    private class Subscriber implements org.reactivestreams.Subscriber<T> {
+    private class Subscriber implements org.reactivestreams.Subscriber<I> {
 
         @Override
         public void onSubscribe(Subscription subscription) {
@@ -251,7 +253,7 @@ public class PublisherAdapter<T> implements ReadStream<T> {
         }
 
         @Override
-        public void onNext(T t) {
+        public void onNext(I t) {
             context.runOnContext(v -> handleIn(t));
         }
 
@@ -0,0 +1,11 @@
+package io.vertx.mongo.impl;
+
+import org.reactivestreams.Publisher;
+
+/**
+ * Decorates the publishers of an operation: concurrency limit, circuit breaker, ...
+ */
+public interface PublisherDecorator {
+
+    <T> Publisher<T> decorate(Publisher<T> publisher);
+}
@@ -0,0 +1,272 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.core.json.JsonObject;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Shape of a query: its equality fields, its sort and its range fields, ordered as the keys of the index supporting
+ * it (equality, sort, range), and the fields of its projection.
+ * <p>Fields of {@code $or}, {@code $nor} and {@code $expr} clauses are ignored: the shape is the one of the top-level
+ * and {@code $and} clauses.</p>
+ * <p>Only projections including fields are recorded: a query excluding fields, projecting expressions or returning
+ * whole documents reads the documents, no index covers it.</p>
+ */
+public final class QueryShape {
+
+    private final String namespace;
+    private final List<String> equalityFields;
+    private final Map<String, Integer> sort;
+    private final List<String> rangeFields;
+    private final List<String> projectedFields;
+
+    private QueryShape(String namespace, Set<String> equalityFields, Map<String, Integer> sort, Set<String> rangeFields,
+                       Set<String> projectedFields) {
+        this.namespace = namespace;
+        this.equalityFields = Collections.unmodifiableList(new ArrayList<>(equalityFields));
+        this.sort = Collections.unmodifiableMap(sort);
+        this.rangeFields = Collections.unmodifiableList(new ArrayList<>(rangeFields));
+        this.projectedFields = projectedFields == null ? null : Collections.unmodifiableList(new ArrayList<>(projectedFields));
+    }
+
+    /**
+     * @param namespace namespace of the collection
+     * @param filter query filter, can be null
+     * @param sort sort, can be null
+     * @param projection projection, can be null
+     * @return the shape of the query, null when it has neither filter fields nor sort
+     */
+    static QueryShape of(String namespace, BsonDocument filter, BsonDocument sort, BsonDocument projection) {
+        Set<String> equalityFields = new TreeSet<>();
+        Set<String> rangeFields = new TreeSet<>();
+        if (filter != null)
+            addFields(filter, equalityFields, rangeFields);
+        Map<String, Integer> sortFields = new LinkedHashMap<>();
+        if (sort != null) {
+            for (Map.Entry<String, BsonValue> entry : sort.entrySet()) {
+                // an equality fixes the field, {$meta: "textScore"} is not an index key
+                if (!equalityFields.contains(entry.getKey()) && entry.getValue().isNumber())
+                    sortFields.put(entry.getKey(), entry.getValue().asNumber().doubleValue() < 0 ? -1 : 1);
+            }
+        }
+        // the sort keys also bound the range
+        rangeFields.removeAll(sortFields.keySet());
+        if (equalityFields.isEmpty() && sortFields.isEmpty() && rangeFields.isEmpty())
+            return null;
+        return new QueryShape(namespace, equalityFields, sortFields, rangeFields, projectedFields(projection));
+    }
+
+    /**
+     * @return the fields returned by the projection, {@code _id} included unless excluded, null unless the projection
+     * only includes fields
+     */
+    private static Set<String> projectedFields(BsonDocument projection) {
+        if (projection == null)
+            return null;
+        Set<String> fields = new TreeSet<>();
+        boolean id = true;
+        for (Map.Entry<String, BsonValue> entry : projection.entrySet()) {
+            String name = entry.getKey();
+            BsonValue value = entry.getValue();
+            // positional projections and operators ($slice, $elemMatch, $meta) read the documents
+            if (name.contains("$"))
+                return null;
+            if (name.equals("_id") && isFalse(value))
+                id = false;
+            else if (isTrue(value))
+                fields.add(name);
+            else
+                return null;
+        }
+        if (fields.isEmpty())
+            return null;
+        if (id)
+            fields.add("_id");
+        return fields;
+    }
+
+    private static boolean isTrue(BsonValue value) {
+        return value.isBoolean() ? value.asBoolean().getValue() : value.isNumber() && value.asNumber().doubleValue() != 0;
+    }
+
+    private static boolean isFalse(BsonValue value) {
+        return value.isBoolean() ? !value.asBoolean().getValue() : value.isNumber() && value.asNumber().doubleValue() == 0;
+    }
+
+    private static void addFields(BsonDocument filter, Set<String> equalityFields, Set<String> rangeFields) {
+        for (Map.Entry<String, BsonValue> entry : filter.entrySet()) {
+            String name = entry.getKey();
+            BsonValue value = entry.getValue();
+            if (name.equals("$and") && value.isArray()) {
+                for (BsonValue clause : value.asArray()) {
+                    if (clause.isDocument())
+                        addFields(clause.asDocument(), equalityFields, rangeFields);
+                }
+            } else if (!name.startsWith("$")) {
+                if (isEquality(value))
+                    equalityFields.add(name);
+                else
+                    rangeFields.add(name);
+            }
+        }
+        equalityFields.forEach(rangeFields::remove);
+    }
+
+    private static boolean isEquality(BsonValue value) {
+        if (!value.isDocument())
+            return true;
+        BsonDocument document = value.asDocument();
+        if (document.isEmpty() || !document.getFirstKey().startsWith("$"))
+            return true;
+        // the values of an $in are point bounds, like an equality
+        for (String operator : document.keySet()) {
+            if (!operator.equals("$eq") && !operator.equals("$in"))
+                return false;
+        }
+        return true;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public List<String> getEqualityFields() {
+        return equalityFields;
+    }
+
+    /**
+     * @return the sort fields and their directions (1 or -1), without the equality fields
+     */
+    public Map<String, Integer> getSort() {
+        return sort;
+    }
+
+    public List<String> getRangeFields() {
+        return rangeFields;
+    }
+
+    /**
+     * @return the fields returned by the query, null unless its projection only includes fields
+     */
+    public List<String> getProjectedFields() {
+        return projectedFields;
+    }
+
+    /**
+     * @return the number of keys of the shape
+     */
+    public int size() {
+        return equalityFields.size() + sort.size() + rangeFields.size();
+    }
+
+    /**
+     * @param key the key of an index
+     * @return the number of leading keys of the index usable by the query, equal to {@link #size()} when the index
+     * supports the query
+     */
+    public int usableKeys(JsonObject key) {
+        Set<String> equality = new TreeSet<>(equalityFields);
+        Set<String> range = new TreeSet<>(rangeFields);
+        List<Map.Entry<String, Integer>> sortFields = new ArrayList<>(sort.entrySet());
+        int sortIndex = 0;
+        int direction = 0;
+        int usable = 0;
+        for (Map.Entry<String, Object> entry : key) {
+            // hashed, text and geospatial keys are not ordered
+            if (!(entry.getValue() instanceof Number))
+                break;
+            String name = entry.getKey();
+            if (sortIndex == 0 && range.size() == rangeFields.size() && equality.remove(name)) {
+                usable++;
+            } else if (equality.isEmpty() && sortIndex < sortFields.size() && sortFields.get(sortIndex).getKey().equals(name)) {
+                int keyDirection = ((Number) entry.getValue()).doubleValue() < 0 ? -1 : 1;
+                int sortDirection = keyDirection * sortFields.get(sortIndex).getValue();
+                if (direction != 0 && sortDirection != direction)
+                    break;
+                direction = sortDirection;
+                sortIndex++;
+                usable++;
+            } else if (equality.isEmpty() && sortIndex == sortFields.size() && range.remove(name)) {
+                usable++;
+            } else {
+                break;
+            }
+        }
+        return usable;
+    }
+
+    /**
+     * @param key the key of an index supporting the query
+     * @return true if the index covers the query: its keys include the projected fields, the query then reads no
+     * document (provided that the index is not multikey)
+     */
+    public boolean isCoveredBy(JsonObject key) {
+        if (projectedFields == null)
+            return false;
+        for (String field : projectedFields) {
+            if (!(key.getValue(field) instanceof Number))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the key of the index supporting the query
+     */
+    public JsonObject indexKey() {
+        JsonObject key = new JsonObject();
+        for (String field : equalityFields)
+            key.put(field, 1);
+        for (Map.Entry<String, Integer> entry : sort.entrySet())
+            key.put(entry.getKey(), entry.getValue());
+        for (String field : rangeFields)
+            key.put(field, 1);
+        return key;
+    }
+
+    /**
+     * @return the key of the index supporting and covering the query: the key of {@link #indexKey()} followed by the
+     * other projected fields
+     */
+    public JsonObject coveringIndexKey() {
+        JsonObject key = indexKey();
+        if (projectedFields != null) {
+            for (String field : projectedFields) {
+                if (!key.containsKey(field))
+                    key.put(field, 1);
+            }
+        }
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof QueryShape))
+            return false;
+        QueryShape other = (QueryShape) o;
+        return namespace.equals(other.namespace) && equalityFields.equals(other.equalityFields)
+                && new ArrayList<>(sort.entrySet()).equals(new ArrayList<>(other.sort.entrySet()))
+                && rangeFields.equals(other.rangeFields) && Objects.equals(projectedFields, other.projectedFields);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = namespace.hashCode();
+        result = 31 * result + equalityFields.hashCode();
+        result = 31 * result + sort.hashCode();
+        result = 31 * result + rangeFields.hashCode();
+        result = 31 * result + Objects.hashCode(projectedFields);
+        return result;
+    }
+}
@@ -22,12 +22,12 @@ import org.reactivestreams.Subscription;
 import java.util.Objects;
 import java.util.function.Function;
 
-public class SingleResultSubscriber<T> implements Subscriber<T> {
+public class SingleResultSubscriber<I, T> implements Subscriber<I> {
 
-    private T received;
+    private I received;
     protected final MongoClientContext clientContext;
     private final Promise<T> promise;
-    private final Function<T, T> mapper;
+    private final Function<I, T> mapper;
     private Subscription subscription;
     private boolean completed;
 
@@ -39,7 +39,7 @@ public class SingleResultSubscriber<T> implements Subscriber<T> {
         this.mapper = null;
     }
 
-    public SingleResultSubscriber(MongoClientContext clientContext, Promise<T> promise, Function<T, T> mapper) {
+    public SingleResultSubscriber(MongoClientContext clientContext, Promise<T> promise, Function<I, T> mapper) {
         Objects.requireNonNull(clientContext, "clientContext is null");
         Objects.requireNonNull(promise, "promise is null");
         // commented-out on purpose
@@ -56,14 +56,16 @@ public class SingleResultSubscriber<T> implements Subscriber<T> {
     }
 
     @Override
-    public void onNext(T t) {
+    @SuppressWarnings("unchecked")
+    public void onNext(I t) {
         if (received == null) {
             received = t;
             completed = true;
             subscription.cancel();
             clientContext.getContext().runOnContext(ar -> {
                 try {
-                    promise.complete(mapper == null ? received : mapper.apply(received));
+                    // without mapper, items are published with their final type
+                    promise.complete(mapper == null ? (T) received : mapper.apply(received));
                 } catch (Throwable error) {
                     promise.fail(error);
                     subscription.cancel();
@@ -1,10 +1,13 @@
 package io.vertx.mongo.impl;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.VertxException;
 
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
 
 public class Utils {
 
@@ -14,4 +17,34 @@ public class Utils {
             future.onComplete(handler);
         }
     }
+
+    /**
+     * Blocks the calling thread until the future completes. On a virtual thread only the virtual thread is parked.
+     * @param future future
+     * @param <T> type of the result
+     * @return the result of the future
+     * @throws IllegalStateException if called from a Vert.x event loop or worker thread
+     */
+    public static <T> T await(Future<T> future) {
+        Objects.requireNonNull(future, "future must not be null");
+        assertNotOnVertxThread();
+        try {
+            return future.toCompletionStage().toCompletableFuture().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VertxException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new VertxException(cause);
+        }
+    }
+
+    public static void assertNotOnVertxThread() {
+        if (Context.isOnVertxThread())
+            throw new IllegalStateException("blocking operations must not be called from a Vert.x thread");
+    }
 }
@@ -0,0 +1,71 @@
+package io.vertx.mongo.impl;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Concurrent map whose values are weakly referenced: values are kept as long as they are used elsewhere.
+ * <p>Hits do not allocate, as long as the factory passed to {@link #get} is not a capturing lambda.</p>
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public class WeakValueCache<K, V> {
+
+    private static final class ValueReference<K, V> extends WeakReference<V> {
+        final K key;
+
+        ValueReference(K key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    private final ConcurrentHashMap<K, ValueReference<K, V>> values = new ConcurrentHashMap<>();
+    private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+    /**
+     * @param key key
+     * @param factory factory of the value, called when the value is not cached
+     * @return the cached value, or the value created by the factory
+     */
+    public V get(K key, Function<? super K, ? extends V> factory) {
+        ValueReference<K, V> reference = values.get(key);
+        if (reference != null) {
+            V value = reference.get();
+            if (value != null)
+                return value;
+        }
+        purge();
+        V created = Objects.requireNonNull(factory.apply(key), "factory returned null");
+        ValueReference<K, V> createdReference = new ValueReference<>(key, created, queue);
+        while (true) {
+            ValueReference<K, V> existing = values.putIfAbsent(key, createdReference);
+            if (existing == null)
+                return created;
+            // another thread won the race: its value is returned as long as it is alive
+            V value = existing.get();
+            if (value != null)
+                return value;
+            if (values.replace(key, existing, createdReference))
+                return created;
+        }
+    }
+
+    /**
+     * @return the number of entries, including the entries whose value has just been collected
+     */
+    public int size() {
+        purge();
+        return values.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void purge() {
+        ValueReference<K, V> reference;
+        while ((reference = (ValueReference<K, V>) queue.poll()) != null)
+            values.remove(reference.key, reference);
+    }
+}
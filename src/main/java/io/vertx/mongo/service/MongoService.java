@@ -0,0 +1,108 @@
+package io.vertx.mongo.service;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.mongo.client.AggregateOptions;
+import io.vertx.mongo.client.FindOptions;
+import io.vertx.mongo.client.MongoDatabase;
+import io.vertx.mongo.service.impl.MongoServiceHandler;
+import io.vertx.mongo.service.impl.MongoServiceProxy;
+
+import java.util.List;
+import java.util.Objects;
+
+import static io.vertx.mongo.impl.Utils.setHandler;
+
+/**
+ * Event bus service answering {@code find}, {@code aggregate} and {@code insert} requests on the collections of a
+ * database, so that verticles of other nodes of a cluster share the pooled client of the node registering the service.
+ * <p>Documents travel as BSON: results are streamed as chunks of encoded documents, each chunk being acknowledged
+ * by the proxy when its consumer has demand, so that a slow consumer throttles the cursor of the service.</p>
+ */
+public interface MongoService {
+
+    /**
+     * Registers the service of a database on the event bus
+     * @param vertx the Vert.x instance
+     * @param database the database whose collections are queried
+     * @param options service options
+     * @return the consumer of the service, to unregister it
+     */
+    static MessageConsumer<Object> register(Vertx vertx, MongoDatabase database, MongoServiceOptions options) {
+        Objects.requireNonNull(vertx, "vertx is null");
+        Objects.requireNonNull(database, "database is null");
+        Objects.requireNonNull(options, "options is null");
+        MongoServiceHandler handler = new MongoServiceHandler(database, new MongoServiceOptions(options));
+        return vertx.eventBus().consumer(options.getAddress(), handler);
+    }
+
+    /**
+     * @param vertx the Vert.x instance
+     * @param options service options
+     * @return a proxy sending requests to the service
+     */
+    static MongoService createProxy(Vertx vertx, MongoServiceOptions options) {
+        Objects.requireNonNull(vertx, "vertx is null");
+        Objects.requireNonNull(options, "options is null");
+        return new MongoServiceProxy(vertx, new MongoServiceOptions(options));
+    }
+
+    /**
+     * Finds the documents of a collection. The request is sent when a handler is set on the stream.
+     * @param collection name of the collection
+     * @param filter query filter
+     * @return read stream of the documents
+     */
+    ReadStream<JsonObject> find(String collection, JsonObject filter);
+
+    /**
+     * Finds the documents of a collection. The request is sent when a handler is set on the stream.
+     * @param collection name of the collection
+     * @param filter query filter
+     * @param options find options
+     * @return read stream of the documents
+     */
+    ReadStream<JsonObject> find(String collection, JsonObject filter, FindOptions options);
+
+    /**
+     * Aggregates the documents of a collection. The request is sent when a handler is set on the stream.
+     * @param collection name of the collection
+     * @param pipeline aggregation pipeline
+     * @return read stream of the documents
+     */
+    ReadStream<JsonObject> aggregate(String collection, JsonArray pipeline);
+
+    /**
+     * Aggregates the documents of a collection. The request is sent when a handler is set on the stream.
+     * @param collection name of the collection
+     * @param pipeline aggregation pipeline
+     * @param options aggregate options
+     * @return read stream of the documents
+     */
+    ReadStream<JsonObject> aggregate(String collection, JsonArray pipeline, AggregateOptions options);
+
+    /**
+     * Handler called with the ids of the inserted documents
+     * @param collection name of the collection
+     * @param documents documents, an id is generated for the documents without id
+     * @param resultHandler handler called with the ids of the inserted documents, in order
+     */
+    default void insert(String collection, List<JsonObject> documents, Handler<AsyncResult<List<Object>>> resultHandler) {
+        Future<List<Object>> future = this.insert(collection, documents);
+        setHandler(future, resultHandler);
+    }
+
+    /**
+     * Inserts documents in a collection
+     * @param collection name of the collection
+     * @param documents documents, an id is generated for the documents without id
+     * @return a future of the ids of the inserted documents, in order
+     */
+    Future<List<Object>> insert(String collection, List<JsonObject> documents);
+}
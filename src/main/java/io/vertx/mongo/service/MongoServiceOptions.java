@@ -0,0 +1,137 @@
+package io.vertx.mongo.service;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options of the event bus service of a database, see {@link MongoService}. The same options are expected on both
+ * sides.
+ */
+@DataObject(
+        generateConverter = true
+)
+public class MongoServiceOptions {
+
+    public static final String DEFAULT_ADDRESS = "vertx.mongo.service";
+    public static final int DEFAULT_MAX_CHUNK_SIZE = 64 * 1024;
+    public static final int DEFAULT_PREFETCH = 256;
+    public static final long DEFAULT_TIMEOUT = 30000;
+
+    private String address = DEFAULT_ADDRESS;
+    private int maxChunkSize = DEFAULT_MAX_CHUNK_SIZE;
+    private int prefetch = DEFAULT_PREFETCH;
+    private long timeout = DEFAULT_TIMEOUT;
+    private boolean useObjectIds = false;
+
+    public MongoServiceOptions() {}
+
+    public MongoServiceOptions(MongoServiceOptions other) {
+        this.address = other.address;
+        this.maxChunkSize = other.maxChunkSize;
+        this.prefetch = other.prefetch;
+        this.timeout = other.timeout;
+        this.useObjectIds = other.useObjectIds;
+    }
+
+    public MongoServiceOptions(JsonObject json) {
+        MongoServiceOptionsConverter.fromJson(json, this);
+    }
+
+    public JsonObject toJson() {
+        JsonObject result = new JsonObject();
+        MongoServiceOptionsConverter.toJson(this, result);
+        return result;
+    }
+
+    /**
+     * @return the event bus address of the service
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * @param address the event bus address of the service
+     * @return this
+     */
+    public MongoServiceOptions setAddress(String address) {
+        if (address == null || address.isEmpty())
+            throw new IllegalArgumentException("address must not be empty");
+        this.address = address;
+        return this;
+    }
+
+    /**
+     * @return the size in bytes above which the documents of a result are sent in a chunk
+     */
+    public int getMaxChunkSize() {
+        return maxChunkSize;
+    }
+
+    /**
+     * Documents of a result are sent as a chunk once their encoded size reaches the max chunk size: a chunk contains
+     * at least one document, whatever its size
+     * @param maxChunkSize the size in bytes above which the documents of a result are sent in a chunk
+     * @return this
+     */
+    public MongoServiceOptions setMaxChunkSize(int maxChunkSize) {
+        if (maxChunkSize < 1)
+            throw new IllegalArgumentException("maxChunkSize must be positive");
+        this.maxChunkSize = maxChunkSize;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of documents the service fetches ahead per result
+     */
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * @param prefetch the maximum number of documents the service fetches ahead per result
+     * @return this
+     */
+    public MongoServiceOptions setPrefetch(int prefetch) {
+        if (prefetch < 1)
+            throw new IllegalArgumentException("prefetch must be positive");
+        this.prefetch = prefetch;
+        return this;
+    }
+
+    /**
+     * @return the timeout of the requests and of the chunk acknowledgements, in milliseconds
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * A result whose consumer stays paused longer than the timeout is closed by the service
+     * @param timeout the timeout of the requests and of the chunk acknowledgements, in milliseconds
+     * @return this
+     */
+    public MongoServiceOptions setTimeout(long timeout) {
+        if (timeout < 1)
+            throw new IllegalArgumentException("timeout must be positive");
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * @return true if the proxy decodes object ids as {@code $oid} objects
+     */
+    public boolean isUseObjectIds() {
+        return useObjectIds;
+    }
+
+    /**
+     * @param useObjectIds true if the proxy decodes object ids as {@code $oid} objects, false for hexadecimal strings,
+     *                     as the clients created with the same setting
+     * @return this
+     */
+    public MongoServiceOptions setUseObjectIds(boolean useObjectIds) {
+        this.useObjectIds = useObjectIds;
+        return this;
+    }
+}
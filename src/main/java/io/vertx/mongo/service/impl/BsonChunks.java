@@ -0,0 +1,60 @@
+package io.vertx.mongo.service.impl;
+
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Chunks of documents exchanged with the service: BSON documents laid end to end. Each document starts with its
+ * length, so a chunk is split without being parsed.
+ */
+final class BsonChunks {
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+    // length of an empty document: size and terminating byte
+    private static final int MIN_DOCUMENT_SIZE = 5;
+
+    private BsonChunks() {}
+
+    static void append(Buffer chunk, RawBsonDocument document) {
+        chunk.appendBuffer(Buffer.buffer(Unpooled.wrappedBuffer(document.getByteBuffer().asNIO())));
+    }
+
+    static List<RawBsonDocument> split(Buffer chunk) {
+        byte[] bytes = chunk.getBytes();
+        List<RawBsonDocument> documents = new ArrayList<>();
+        int offset = 0;
+        while (offset < bytes.length) {
+            int length = chunk.getIntLE(offset);
+            if (length < MIN_DOCUMENT_SIZE || length > bytes.length - offset)
+                throw new IllegalArgumentException("malformed chunk: document of " + length + " bytes at offset " + offset);
+            documents.add(new RawBsonDocument(bytes, offset, length));
+            offset += length;
+        }
+        return documents;
+    }
+
+    static void decode(Buffer chunk, Codec<JsonObject> codec, Consumer<JsonObject> consumer) {
+        for (RawBsonDocument document : split(chunk))
+            consumer.accept(codec.decode(new BsonBinaryReader(document.getByteBuffer().asNIO()), DECODER_CONTEXT));
+    }
+
+    static Buffer encode(List<JsonObject> documents, Codec<JsonObject> codec) {
+        BasicOutputBuffer output = new BasicOutputBuffer();
+        for (JsonObject document : documents)
+            codec.encode(new BsonBinaryWriter(output), document, ENCODER_CONTEXT);
+        return Buffer.buffer(output.toByteArray());
+    }
+}
@@ -0,0 +1,162 @@
+package io.vertx.mongo.service.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import org.bson.codecs.Codec;
+
+import java.util.ArrayDeque;
+
+/**
+ * Proxy side of a result of the service. The request is sent when the handler is set. Each chunk is acknowledged when
+ * its documents have been delivered, so at most one chunk is pending while the stream is paused.
+ * <p>Like other read streams, it must be used from the context of the handler.</p>
+ */
+class ChunkReadStream implements ReadStream<JsonObject> {
+
+    private final EventBus eventBus;
+    private final String address;
+    private final JsonObject request;
+    private final DeliveryOptions requestOptions;
+    private final DeliveryOptions ackOptions;
+    private final Codec<JsonObject> codec;
+    private final ArrayDeque<JsonObject> pending = new ArrayDeque<>();
+    private Handler<JsonObject> handler;
+    private Handler<Void> endHandler;
+    private Handler<Throwable> exceptionHandler;
+    private long demand = Long.MAX_VALUE;
+    private Message<Buffer> unacknowledged;
+    private boolean started;
+    private boolean ended;
+    private boolean closed;
+    private boolean emitting;
+
+    ChunkReadStream(EventBus eventBus, String address, JsonObject request, DeliveryOptions requestOptions, DeliveryOptions ackOptions, Codec<JsonObject> codec) {
+        this.eventBus = eventBus;
+        this.address = address;
+        this.request = request;
+        this.requestOptions = requestOptions;
+        this.ackOptions = ackOptions;
+        this.codec = codec;
+    }
+
+    @Override
+    public ReadStream<JsonObject> exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public ReadStream<JsonObject> handler(Handler<JsonObject> handler) {
+        this.handler = handler;
+        if (handler == null) {
+            cancel();
+        } else if (!started) {
+            started = true;
+            eventBus.<Buffer>request(address, request, requestOptions).onComplete(this::onChunk);
+        }
+        return this;
+    }
+
+    @Override
+    public ReadStream<JsonObject> pause() {
+        demand = 0;
+        return this;
+    }
+
+    @Override
+    public ReadStream<JsonObject> resume() {
+        return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public ReadStream<JsonObject> fetch(long amount) {
+        if (amount < 0)
+            throw new IllegalArgumentException("amount must be non-negative");
+        demand = demand + amount < 0 ? Long.MAX_VALUE : demand + amount;
+        drain();
+        return this;
+    }
+
+    @Override
+    public ReadStream<JsonObject> endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    private void cancel() {
+        closed = true;
+        pending.clear();
+        if (unacknowledged != null) {
+            unacknowledged.fail(MongoServiceHandler.CANCELLED, "cancelled");
+            unacknowledged = null;
+        }
+    }
+
+    private void onChunk(AsyncResult<Message<Buffer>> ar) {
+        if (closed) {
+            // cancelled while the chunk was in flight
+            if (ar.succeeded() && ar.result().headers().get(MongoServiceHandler.END_HEADER) == null)
+                ar.result().fail(MongoServiceHandler.CANCELLED, "cancelled");
+            return;
+        }
+        if (ar.failed()) {
+            fail(ar.cause());
+            return;
+        }
+        Message<Buffer> message = ar.result();
+        try {
+            BsonChunks.decode(message.body(), codec, pending::add);
+        } catch (RuntimeException e) {
+            if (message.headers().get(MongoServiceHandler.END_HEADER) == null)
+                message.fail(MongoServiceHandler.CANCELLED, "cancelled");
+            fail(e);
+            return;
+        }
+        if (message.headers().get(MongoServiceHandler.END_HEADER) != null)
+            ended = true;
+        else
+            unacknowledged = message;
+        drain();
+    }
+
+    private void fail(Throwable error) {
+        closed = true;
+        pending.clear();
+        Handler<Throwable> exceptionHandler = this.exceptionHandler;
+        if (exceptionHandler != null)
+            exceptionHandler.handle(error);
+    }
+
+    private void drain() {
+        if (emitting)
+            return;
+        emitting = true;
+        try {
+            while (demand > 0 && !pending.isEmpty() && !closed) {
+                if (demand != Long.MAX_VALUE)
+                    demand--;
+                handler.handle(pending.poll());
+            }
+        } finally {
+            emitting = false;
+        }
+        if (closed || !pending.isEmpty())
+            return;
+        if (unacknowledged != null) {
+            Message<Buffer> message = unacknowledged;
+            unacknowledged = null;
+            message.<Buffer>replyAndRequest(null, ackOptions).onComplete(this::onChunk);
+        } else if (ended) {
+            closed = true;
+            Handler<Void> endHandler = this.endHandler;
+            if (endHandler != null)
+                endHandler.handle(null);
+        }
+    }
+}
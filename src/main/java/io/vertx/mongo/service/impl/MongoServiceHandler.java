@@ -0,0 +1,156 @@
+package io.vertx.mongo.service.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.MongoCursor;
+import io.vertx.mongo.client.MongoCollection;
+import io.vertx.mongo.client.MongoDatabase;
+import io.vertx.mongo.service.MongoServiceOptions;
+import org.bson.RawBsonDocument;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Service side of the event bus service of a database.
+ * <p>Collections are read and written as {@link RawBsonDocument}: documents are copied from the driver buffers to the
+ * chunks as they are, without being decoded. A result is sent as replies chained with {@code replyAndRequest}: the
+ * next chunk replies to the acknowledgement of the previous one.</p>
+ */
+public class MongoServiceHandler implements Handler<Message<Object>> {
+
+    public static final String ACTION_HEADER = "action";
+    public static final String COLLECTION_HEADER = "collection";
+    // set on the last chunk of a result
+    public static final String END_HEADER = "end";
+
+    public static final String FIND = "find";
+    public static final String AGGREGATE = "aggregate";
+    public static final String INSERT = "insert";
+
+    public static final int BAD_REQUEST = 400;
+    public static final int CANCELLED = 499;
+    public static final int FAILURE = 500;
+
+    private final MongoDatabase database;
+    private final MongoServiceOptions options;
+    private final DeliveryOptions chunkOptions;
+    private final DeliveryOptions endOptions;
+
+    public MongoServiceHandler(MongoDatabase database, MongoServiceOptions options) {
+        this.database = database;
+        this.options = options;
+        this.chunkOptions = new DeliveryOptions().setSendTimeout(options.getTimeout());
+        this.endOptions = new DeliveryOptions().addHeader(END_HEADER, "true");
+    }
+
+    @Override
+    public void handle(Message<Object> message) {
+        String action = message.headers().get(ACTION_HEADER);
+        String collectionName = message.headers().get(COLLECTION_HEADER);
+        if (action == null || collectionName == null) {
+            message.fail(BAD_REQUEST, "action and collection headers are required");
+            return;
+        }
+        try {
+            MongoCollection<RawBsonDocument> collection = database.getCollection(collectionName, RawBsonDocument.class);
+            switch (action) {
+                case FIND: {
+                    JsonObject body = (JsonObject) message.body();
+                    JsonObject filter = body.getJsonObject("filter", new JsonObject());
+                    new ResultSender(message, collection.find(filter, OptionsCodec.findOptions(body.getJsonObject("options", new JsonObject()))).cursor(options.getPrefetch())).fetch();
+                    break;
+                }
+                case AGGREGATE: {
+                    JsonObject body = (JsonObject) message.body();
+                    JsonArray pipeline = body.getJsonArray("pipeline", new JsonArray());
+                    new ResultSender(message, collection.aggregate(pipeline, OptionsCodec.aggregateOptions(body.getJsonObject("options", new JsonObject()))).cursor(options.getPrefetch())).fetch();
+                    break;
+                }
+                case INSERT: {
+                    List<RawBsonDocument> documents = BsonChunks.split((Buffer) message.body());
+                    collection.insertMany(documents).onComplete(ar -> {
+                        if (ar.succeeded())
+                            message.reply(new JsonObject().put("insertedCount", documents.size()));
+                        else
+                            message.fail(FAILURE, describe(ar.cause()));
+                    });
+                    break;
+                }
+                default:
+                    message.fail(BAD_REQUEST, "unknown action: " + action);
+            }
+        } catch (RuntimeException e) {
+            message.fail(BAD_REQUEST, describe(e));
+        }
+    }
+
+    private static String describe(Throwable error) {
+        return error.getMessage() != null ? error.getMessage() : error.toString();
+    }
+
+    /**
+     * Sends the documents of a cursor in chunks, a chunk being sent when the previous one has been acknowledged
+     */
+    private class ResultSender {
+
+        private final MongoCursor<RawBsonDocument> cursor;
+        private Message<?> current;
+        private List<RawBsonDocument> batch = Collections.emptyList();
+        private int index;
+        private Buffer chunk = Buffer.buffer();
+
+        ResultSender(Message<?> request, MongoCursor<RawBsonDocument> cursor) {
+            this.current = request;
+            this.cursor = cursor;
+        }
+
+        void fetch() {
+            cursor.nextBatch().onComplete(ar -> {
+                if (ar.failed()) {
+                    cursor.close();
+                    current.fail(FAILURE, describe(ar.cause()));
+                    return;
+                }
+                batch = ar.result();
+                index = 0;
+                if (batch.isEmpty())
+                    current.reply(chunk, endOptions);
+                else
+                    fill();
+            });
+        }
+
+        private void fill() {
+            while (index < batch.size()) {
+                BsonChunks.append(chunk, batch.get(index++));
+                if (chunk.length() >= options.getMaxChunkSize()) {
+                    send();
+                    return;
+                }
+            }
+            if (cursor.isExhausted())
+                current.reply(chunk, endOptions);
+            else
+                fetch();
+        }
+
+        private void send() {
+            Buffer full = chunk;
+            chunk = Buffer.buffer();
+            current.replyAndRequest(full, chunkOptions).onComplete(ack -> {
+                // cancelled by the proxy, or not acknowledged in time
+                if (ack.failed()) {
+                    cursor.close();
+                    return;
+                }
+                current = ack.result();
+                fill();
+            });
+        }
+    }
+}
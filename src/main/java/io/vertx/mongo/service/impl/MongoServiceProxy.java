@@ -0,0 +1,90 @@
+package io.vertx.mongo.service.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.mongo.client.AggregateOptions;
+import io.vertx.mongo.client.FindOptions;
+import io.vertx.mongo.impl.codec.json.JsonObjectCodec;
+import io.vertx.mongo.service.MongoService;
+import io.vertx.mongo.service.MongoServiceOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Proxy side of the event bus service of a database: documents are encoded and decoded with the JSON codec of the
+ * clients.
+ */
+public class MongoServiceProxy implements MongoService {
+
+    private final Vertx vertx;
+    private final MongoServiceOptions options;
+    private final JsonObjectCodec codec;
+    private final DeliveryOptions ackOptions;
+
+    public MongoServiceProxy(Vertx vertx, MongoServiceOptions options) {
+        this.vertx = vertx;
+        this.options = options;
+        this.codec = new JsonObjectCodec(new JsonObject().put("useObjectId", options.isUseObjectIds()));
+        this.ackOptions = new DeliveryOptions().setSendTimeout(options.getTimeout());
+    }
+
+    private DeliveryOptions requestOptions(String action, String collection) {
+        return new DeliveryOptions()
+                .setSendTimeout(options.getTimeout())
+                .addHeader(MongoServiceHandler.ACTION_HEADER, action)
+                .addHeader(MongoServiceHandler.COLLECTION_HEADER, collection);
+    }
+
+    @Override
+    public ReadStream<JsonObject> find(String collection, JsonObject filter) {
+        return find(collection, filter, new FindOptions());
+    }
+
+    @Override
+    public ReadStream<JsonObject> find(String collection, JsonObject filter, FindOptions options) {
+        requireNonNull(collection, "collection is null");
+        requireNonNull(filter, "filter is null");
+        requireNonNull(options, "options is null");
+        JsonObject request = new JsonObject().put("filter", filter).put("options", OptionsCodec.toJson(options));
+        return new ChunkReadStream(vertx.eventBus(), this.options.getAddress(), request, requestOptions(MongoServiceHandler.FIND, collection), ackOptions, codec);
+    }
+
+    @Override
+    public ReadStream<JsonObject> aggregate(String collection, JsonArray pipeline) {
+        return aggregate(collection, pipeline, new AggregateOptions());
+    }
+
+    @Override
+    public ReadStream<JsonObject> aggregate(String collection, JsonArray pipeline, AggregateOptions options) {
+        requireNonNull(collection, "collection is null");
+        requireNonNull(pipeline, "pipeline is null");
+        requireNonNull(options, "options is null");
+        JsonObject request = new JsonObject().put("pipeline", pipeline).put("options", OptionsCodec.toJson(options));
+        return new ChunkReadStream(vertx.eventBus(), this.options.getAddress(), request, requestOptions(MongoServiceHandler.AGGREGATE, collection), ackOptions, codec);
+    }
+
+    @Override
+    public Future<List<Object>> insert(String collection, List<JsonObject> documents) {
+        requireNonNull(collection, "collection is null");
+        requireNonNull(documents, "documents is null");
+        List<Object> ids = new ArrayList<>(documents.size());
+        for (JsonObject document : documents) {
+            // ids are generated here, the service inserts the documents as they are
+            codec.generateIdIfAbsentFromDocument(document);
+            ids.add(document.getValue(JsonObjectCodec.ID_FIELD));
+        }
+        if (documents.isEmpty())
+            return Future.succeededFuture(ids);
+        Buffer chunk = BsonChunks.encode(documents, codec);
+        return vertx.eventBus().request(options.getAddress(), chunk, requestOptions(MongoServiceHandler.INSERT, collection))
+                .map(reply -> ids);
+    }
+}
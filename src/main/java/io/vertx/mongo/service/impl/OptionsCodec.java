@@ -0,0 +1,124 @@
+package io.vertx.mongo.service.impl;
+
+import com.mongodb.CursorType;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.client.AggregateOptions;
+import io.vertx.mongo.client.FindOptions;
+import io.vertx.mongo.client.model.Collation;
+
+/**
+ * JSON form of the options of the requests sent to the service
+ */
+final class OptionsCodec {
+
+    private OptionsCodec() {}
+
+    private static void put(JsonObject json, String key, Object value) {
+        if (value != null)
+            json.put(key, value);
+    }
+
+    static JsonObject toJson(FindOptions options) {
+        JsonObject json = new JsonObject();
+        put(json, "filter", options.getFilter());
+        put(json, "limit", options.getLimit());
+        put(json, "skip", options.getSkip());
+        put(json, "maxTime", options.getMaxTime());
+        put(json, "maxAwaitTime", options.getMaxAwaitTime());
+        put(json, "projection", options.getProjection());
+        put(json, "sort", options.getSort());
+        put(json, "noCursorTimeout", options.isNoCursorTimeout());
+        put(json, "partial", options.isPartial());
+        put(json, "cursorType", options.getCursorType() == null ? null : options.getCursorType().name());
+        put(json, "collation", options.getCollation() == null ? null : options.getCollation().toJson());
+        put(json, "comment", options.getComment());
+        put(json, "hint", options.getHint());
+        put(json, "hintString", options.getHintString());
+        put(json, "max", options.getMax());
+        put(json, "min", options.getMin());
+        put(json, "returnKey", options.isReturnKey());
+        put(json, "showRecordId", options.isShowRecordId());
+        put(json, "batchSize", options.getBatchSize());
+        put(json, "allowDiskUse", options.isAllowDiskUse());
+        return json;
+    }
+
+    static FindOptions findOptions(JsonObject json) {
+        FindOptions options = new FindOptions();
+        if (json.containsKey("filter"))
+            options.setFilter(json.getJsonObject("filter"));
+        if (json.containsKey("limit"))
+            options.setLimit(json.getInteger("limit"));
+        if (json.containsKey("skip"))
+            options.setSkip(json.getInteger("skip"));
+        if (json.containsKey("maxTime"))
+            options.setMaxTime(json.getLong("maxTime"));
+        if (json.containsKey("maxAwaitTime"))
+            options.setMaxAwaitTime(json.getLong("maxAwaitTime"));
+        if (json.containsKey("projection"))
+            options.setProjection(json.getJsonObject("projection"));
+        if (json.containsKey("sort"))
+            options.setSort(json.getJsonObject("sort"));
+        if (json.containsKey("noCursorTimeout"))
+            options.setNoCursorTimeout(json.getBoolean("noCursorTimeout"));
+        if (json.containsKey("partial"))
+            options.setPartial(json.getBoolean("partial"));
+        if (json.containsKey("cursorType"))
+            options.setCursorType(CursorType.valueOf(json.getString("cursorType")));
+        if (json.containsKey("collation"))
+            options.setCollation(new Collation(json.getJsonObject("collation")));
+        if (json.containsKey("comment"))
+            options.setComment(json.getString("comment"));
+        if (json.containsKey("hint"))
+            options.setHint(json.getJsonObject("hint"));
+        if (json.containsKey("hintString"))
+            options.setHintString(json.getString("hintString"));
+        if (json.containsKey("max"))
+            options.setMax(json.getJsonObject("max"));
+        if (json.containsKey("min"))
+            options.setMin(json.getJsonObject("min"));
+        if (json.containsKey("returnKey"))
+            options.setReturnKey(json.getBoolean("returnKey"));
+        if (json.containsKey("showRecordId"))
+            options.setShowRecordId(json.getBoolean("showRecordId"));
+        if (json.containsKey("batchSize"))
+            options.setBatchSize(json.getInteger("batchSize"));
+        if (json.containsKey("allowDiskUse"))
+            options.setAllowDiskUse(json.getBoolean("allowDiskUse"));
+        return options;
+    }
+
+    static JsonObject toJson(AggregateOptions options) {
+        JsonObject json = new JsonObject();
+        put(json, "allowDiskUse", options.isAllowDiskUse());
+        put(json, "maxTime", options.getMaxTime());
+        put(json, "maxAwaitTime", options.getMaxAwaitTime());
+        put(json, "bypassDocumentValidation", options.isBypassDocumentValidation());
+        put(json, "collation", options.getCollation() == null ? null : options.getCollation().toJson());
+        put(json, "comment", options.getComment());
+        put(json, "hint", options.getHint());
+        put(json, "batchSize", options.getBatchSize());
+        return json;
+    }
+
+    static AggregateOptions aggregateOptions(JsonObject json) {
+        AggregateOptions options = new AggregateOptions();
+        if (json.containsKey("allowDiskUse"))
+            options.setAllowDiskUse(json.getBoolean("allowDiskUse"));
+        if (json.containsKey("maxTime"))
+            options.setMaxTime(json.getLong("maxTime"));
+        if (json.containsKey("maxAwaitTime"))
+            options.setMaxAwaitTime(json.getLong("maxAwaitTime"));
+        if (json.containsKey("bypassDocumentValidation"))
+            options.setBypassDocumentValidation(json.getBoolean("bypassDocumentValidation"));
+        if (json.containsKey("collation"))
+            options.setCollation(new Collation(json.getJsonObject("collation")));
+        if (json.containsKey("comment"))
+            options.setComment(json.getString("comment"));
+        if (json.containsKey("hint"))
+            options.setHint(json.getJsonObject("hint"));
+        if (json.containsKey("batchSize"))
+            options.setBatchSize(json.getInteger("batchSize"));
+        return options;
+    }
+}
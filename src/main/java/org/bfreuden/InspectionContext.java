@@ -22,6 +22,7 @@ public class InspectionContext {
         String firstMethodName;
         String toCollectionMethodName;
         String batchSizePropertyName;
+        ClassName mappingPublisherClassName;
     }
     public Map<String, PublisherDesc> publisherDescriptions = new HashMap<>();
     public Map<String, String> publisherOptionsClasses = new HashMap<>();
@@ -13,10 +13,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class PublisherResultAPIClassGenerator extends APIClassGenerator {
 
+    // publishers having a hand-written io.vertx.mongo.impl.*MappingPublisher exposing first()
+    private static final Set<String> TYPED_MAPPING_PUBLISHERS = Set.of(
+            "com.mongodb.reactivestreams.client.AggregatePublisher",
+            "com.mongodb.reactivestreams.client.ChangeStreamPublisher",
+            "com.mongodb.reactivestreams.client.FindPublisher",
+            "com.mongodb.reactivestreams.client.gridfs.GridFSFindPublisher"
+    );
+
     boolean hasFirst = false;
     boolean hasOtherReactive = false;
     boolean hasToCollection = false;
@@ -80,6 +89,7 @@ public class PublisherResultAPIClassGenerator extends APIClassGenerator {
             InspectionContext.PublisherDesc publisherDesc = new InspectionContext.PublisherDesc();
             publisherDesc.firstMethodName = "first";
             publisherDesc.resultClassName = ClassName.bestGuess("io.vertx.mongo.MongoResult");
+            publisherDesc.mappingPublisherClassName = getMappingPublisherClassName();
             if (hasBatchSize)
                 publisherDesc.batchSizePropertyName = "batchSize";
             context.publisherDescriptions.put(classDoc.qualifiedTypeName(),publisherDesc);
@@ -88,6 +98,7 @@ public class PublisherResultAPIClassGenerator extends APIClassGenerator {
             publisherDesc.firstMethodName = "first";
             publisherDesc.toCollectionMethodName = "toCollection";
             publisherDesc.resultClassName = ClassName.bestGuess("io.vertx.mongo.MongoCollectionResult");
+            publisherDesc.mappingPublisherClassName = getMappingPublisherClassName();
             if (hasBatchSize)
                 publisherDesc.batchSizePropertyName = "batchSize";
             context.publisherDescriptions.put(classDoc.qualifiedTypeName(),publisherDesc);
@@ -102,6 +113,12 @@ public class PublisherResultAPIClassGenerator extends APIClassGenerator {
         }
     }
 
+    private ClassName getMappingPublisherClassName() {
+        if (!TYPED_MAPPING_PUBLISHERS.contains(classDoc.qualifiedTypeName()))
+            return null;
+        return ClassName.get("io.vertx.mongo.impl", classDoc.name().replace("Publisher", "MappingPublisher"));
+    }
+
     @Override
     protected List<JavaFile.Builder> getJavaFiles() {
         return Collections.emptyList();
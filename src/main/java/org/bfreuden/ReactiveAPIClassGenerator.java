@@ -4,6 +4,7 @@ import com.google.common.collect.Lists;
 import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
 import com.mongodb.reactivestreams.client.gridfs.GridFSBucket;
 import com.mongodb.reactivestreams.client.gridfs.GridFSBuckets;
 import com.squareup.javapoet.*;
@@ -12,10 +13,14 @@ import com.sun.javadoc.MethodDoc;
 import com.sun.javadoc.Type;
 import com.sun.javadoc.TypeVariable;
 import io.vertx.core.*;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.mongo.client.gridfs.impl.GridFSReadStreamPublisher;
 import io.vertx.mongo.impl.MappingPublisher;
 import org.bfreuden.mappers.DocumentIdFilterGenerator;
+import org.bfreuden.mappers.ImplMethodMapperGenerator;
 import org.bfreuden.mappers.MapperGenerator;
 import org.bson.BsonValue;
 import org.bson.Document;
@@ -27,10 +32,18 @@ import java.util.stream.Collectors;
 
 public class ReactiveAPIClassGenerator extends GenericAPIClassGenerator {
 
+    private static final Set<String> BLOCKING_CLASSES = Set.of("MongoCollection", "MongoDatabase", "GridFSBucket");
+    private static final Map<String, String> BLOCKING_TYPES = Map.of(
+            "io.vertx.mongo.client.MongoCollection", "io.vertx.mongo.client.BlockingMongoCollection",
+            "io.vertx.mongo.client.MongoDatabase", "io.vertx.mongo.client.BlockingMongoDatabase",
+            "io.vertx.mongo.client.gridfs.GridFSBucket", "io.vertx.mongo.client.gridfs.BlockingGridFSBucket"
+    );
+
     private ArrayList<TypeName> superInterfaces;
     private TypeName wrappedType;
     private boolean isMongoClient;
     private boolean isMongoCollection;
+    private boolean isMongoDatabase;
 
     public ReactiveAPIClassGenerator(InspectionContext context, ClassDoc classDoc) {
         super(context, classDoc);
@@ -65,6 +78,7 @@ public class ReactiveAPIClassGenerator extends GenericAPIClassGenerator {
         this.superInterfaces = new ArrayList<TypeName>();
         this.isMongoClient = classDoc.qualifiedTypeName().equals(MongoClient.class.getName());
         this.isMongoCollection = classDoc.qualifiedTypeName().equals(MongoCollection.class.getName());
+        this.isMongoDatabase = classDoc.qualifiedTypeName().equals(MongoDatabase.class.getName());
         for (ClassDoc inter : classDoc.interfaces()) {
             String superClassName = inter.qualifiedTypeName();
             if (isSupportedSuperClass(superClassName)) {
@@ -105,6 +119,8 @@ public class ReactiveAPIClassGenerator extends GenericAPIClassGenerator {
                 continue;
             }
             MongoMethod method = analyzeMethod(methodDoc);
+            if (method != null && getTargetClassName().equals("ClientEncryption"))
+                useEncryptionConversions(method);
             if (method != null)
                 methods.add(method);
             if (methodDoc.name().equals("replaceOne")) {
@@ -130,7 +146,10 @@ public class ReactiveAPIClassGenerator extends GenericAPIClassGenerator {
 
 
     protected List<JavaFile.Builder> getJavaFiles() {
-        return Lists.newArrayList(getInterfaceFile(), getImplFile());
+        ArrayList<JavaFile.Builder> files = Lists.newArrayList(getInterfaceFile(), getImplFile());
+        if (BLOCKING_CLASSES.contains(getTargetClassName()))
+            files.add(getBlockingFile());
+        return files;
     }
 
     private JavaFile.Builder getInterfaceFile() {
@@ -212,6 +231,15 @@ public class ReactiveAPIClassGenerator extends GenericAPIClassGenerator {
                             .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
                             .addJavadoc("Close the client and release its resources\n@param handler handler")
                             .build());
+
+            addWithTransactionMethods(typeBuilder);
+            typeBuilder.addMethod(MethodSpec.methodBuilder("getCompressionStats")
+                    .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                    .returns(ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class), ClassName.bestGuess("io.vertx.mongo.client.CompressionStats")))
+                    .addJavadoc("Returns the compressed and uncompressed sizes of the messages, per operation type, collected since the creation\n" +
+                            "of the client when {@link ClientConfig#setCompressionStatsEnabled} is set.\n" +
+                            "@return the statistics by command name, empty when statistics are not enabled\n")
+                    .build());
         }
         if (classDoc.name().equals("GridFSBucket")) {
             typeBuilder.addMethod(MethodSpec.methodBuilder("create")
@@ -242,6 +270,18 @@ public class ReactiveAPIClassGenerator extends GenericAPIClassGenerator {
 
         inflateType(typeBuilder, isImpl, null, null, null, null);
 
+        if (isMongoCollection) {
+            addPaginateMethods(typeBuilder);
+            addHedgedReadsMethod(typeBuilder);
+            addConcurrencyLimitMethods(typeBuilder);
+            addExportImportMethods(typeBuilder);
+            addIndexAdvisorMethods(typeBuilder);
+            addPipelineMethods(typeBuilder);
+            addPrepareMethod(typeBuilder);
+        }
+        if (getTargetClassName().equals("ClientEncryption"))
+            addEncryptManyMethods(typeBuilder);
+
         typeBuilder.addMethod(
                 MethodSpec.methodBuilder("toDriverClass")
                         .addParameter(ClassName.bestGuess("io.vertx.mongo.impl.MongoClientContext"), "clientContext")
@@ -255,6 +295,421 @@ public class ReactiveAPIClassGenerator extends GenericAPIClassGenerator {
         return builder;
     }
 
+    /**
+     * Transaction runner methods: implemented by {@code MongoClientBase}
+     */
+    private void addWithTransactionMethods(TypeSpec.Builder typeBuilder) {
+        TypeVariableName t = TypeVariableName.get("T");
+        TypeName bodyType = ParameterizedTypeName.get(ClassName.get(Function.class), ClassName.bestGuess("io.vertx.mongo.client.ClientSession"), ParameterizedTypeName.get(ClassName.get(Future.class), t));
+        TypeName handlerType = ParameterizedTypeName.get(ClassName.get(Handler.class), ParameterizedTypeName.get(ClassName.get(AsyncResult.class), t));
+        ClassName optionsType = ClassName.bestGuess("io.vertx.mongo.TransactionOptions");
+        String javadoc = "Runs the body in a transaction, using a session of the client session pool.\n" +
+                "<p>The whole transaction is retried when it fails with a {@code TransientTransactionError}, and the commit is retried\n" +
+                "when it fails with an {@code UnknownTransactionCommitResult}, with a jittered exponential backoff, for at most 2 minutes.\n" +
+                "The body must not commit the transaction, and can be called several times.</p>\n" +
+                "\n" +
+                "@param body the body of the transaction\n";
+        typeBuilder.addMethod(MethodSpec.methodBuilder("withTransaction")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addTypeVariable(t)
+                .returns(ParameterizedTypeName.get(ClassName.get(Future.class), t))
+                .addParameter(bodyType, "body")
+                .addJavadoc(javadoc + "@param <T> the type of the result of the body\n@return a future of the result of the body\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("withTransaction")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addTypeVariable(t)
+                .addParameter(bodyType, "body")
+                .addParameter(handlerType, "resultHandler")
+                .addJavadoc(javadoc + "@param resultHandler the handler called with the result of the body\n@param <T> the type of the result of the body\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("withTransaction")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addTypeVariable(t)
+                .returns(ParameterizedTypeName.get(ClassName.get(Future.class), t))
+                .addParameter(bodyType, "body")
+                .addParameter(optionsType, "options")
+                .addJavadoc(javadoc + "@param options the options of the transaction\n@param <T> the type of the result of the body\n@return a future of the result of the body\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("withTransaction")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addTypeVariable(t)
+                .addParameter(bodyType, "body")
+                .addParameter(optionsType, "options")
+                .addParameter(handlerType, "resultHandler")
+                .addJavadoc(javadoc + "@param options the options of the transaction\n@param resultHandler the handler called with the result of the body\n@param <T> the type of the result of the body\n")
+                .build());
+    }
+
+    /**
+     * Any JSON value can be encrypted: values are converted by {@code ClientEncryptionBase}, the conversions of the
+     * other classes are left as they are
+     */
+    private void useEncryptionConversions(MongoMethod method) {
+        if (method.mongoName.equals("encrypt")) {
+            for (MongoMethodParameter param : method.params)
+                if (param.name.equals("value"))
+                    param.type.mapper = new ImplMethodMapperGenerator("toEncryptableValue");
+        } else if (method.mongoName.equals("decrypt")) {
+            method.returnType.publishedType.mapper = new ImplMethodMapperGenerator("toDecryptedValue");
+        }
+    }
+
+    /**
+     * Batch encryption methods: implemented by {@code ClientEncryptionBase}
+     */
+    private void addEncryptManyMethods(TypeSpec.Builder typeBuilder) {
+        ClassName optionsType = ClassName.bestGuess("io.vertx.mongo.client.model.vault.EncryptOptions");
+        TypeName valuesType = ParameterizedTypeName.get(List.class, Object.class);
+        TypeName encryptedType = ParameterizedTypeName.get(ClassName.get(List.class), ArrayTypeName.of(TypeName.BYTE));
+        TypeName documentsType = ParameterizedTypeName.get(List.class, JsonObject.class);
+        TypeName fieldsType = ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class), optionsType);
+        String javadoc = "Explicitly encrypts values, with a bounded number of concurrent driver calls.\n" +
+                "<p>With the deterministic algorithm, each distinct value is encrypted once and the results are kept in a bounded\n" +
+                "cache for one minute.</p>\n" +
+                "@param values the values to encrypt\n" +
+                "@param options the options for data encryption\n";
+        String fieldsJavadoc = "Explicitly encrypts the given fields of the documents, typically before inserting them with {@code insertMany}.\n" +
+                "<p>Each field is encrypted in one batch like {@link #encryptMany}. Fields can be nested using dots,\n" +
+                "missing and null fields are left as is. The documents are copied.</p>\n" +
+                "@param documents the documents\n" +
+                "@param fields the options for data encryption of each field\n";
+        typeBuilder.addMethod(MethodSpec.methodBuilder("encryptMany")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(ParameterizedTypeName.get(ClassName.get(Future.class), encryptedType))
+                .addParameter(valuesType, "values")
+                .addParameter(optionsType, "options")
+                .addJavadoc(javadoc + "@return a future of the encrypted values, in the order of the values\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("encryptMany")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(valuesType, "values")
+                .addParameter(optionsType, "options")
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Handler.class), ParameterizedTypeName.get(ClassName.get(AsyncResult.class), encryptedType)), "resultHandler")
+                .addJavadoc(javadoc + "@param resultHandler the handler called with the encrypted values, in the order of the values\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("encryptFields")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(ParameterizedTypeName.get(ClassName.get(Future.class), documentsType))
+                .addParameter(documentsType, "documents")
+                .addParameter(fieldsType, "fields")
+                .addJavadoc(fieldsJavadoc + "@return a future of the documents with encrypted fields\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("encryptFields")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(documentsType, "documents")
+                .addParameter(fieldsType, "fields")
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Handler.class), ParameterizedTypeName.get(ClassName.get(AsyncResult.class), documentsType)), "resultHandler")
+                .addJavadoc(fieldsJavadoc + "@param resultHandler the handler called with the documents with encrypted fields\n")
+                .build());
+    }
+
+    /**
+     * Keyset pagination methods: implemented by {@code MongoCollectionBase}
+     */
+    private void addPaginateMethods(TypeSpec.Builder typeBuilder) {
+        TypeName pageType = ParameterizedTypeName.get(ClassName.bestGuess("io.vertx.mongo.MongoPage"), TypeVariableName.get("TDocument"));
+        TypeName futureType = ParameterizedTypeName.get(ClassName.get(Future.class), pageType);
+        TypeName handlerType = ParameterizedTypeName.get(ClassName.get(Handler.class), ParameterizedTypeName.get(ClassName.get(AsyncResult.class), pageType));
+        String javadoc = "Finds the first page of documents matching the filter using keyset pagination: next pages are requested\n" +
+                "with the continuation token of the page, and cost the same as the first page.\n" +
+                "<p>{@code _id} is appended to the sort, in the direction of its last field, to make it unique. The first call\n" +
+                "fails if no index supports the sort, appended {@code _id} included.</p>\n" +
+                "@param filter the query filter\n" +
+                "@param sort the sort criteria\n" +
+                "@param pageSize the maximum number of documents of the page\n";
+        String tokenJavadoc = "Finds the next page of documents matching the filter using keyset pagination.\n" +
+                "@param filter the query filter\n" +
+                "@param sort the sort criteria, must be the same as for the first page\n" +
+                "@param pageSize the maximum number of documents of the page\n" +
+                "@param continuationToken the continuation token of the previous page\n";
+        typeBuilder.addMethod(MethodSpec.methodBuilder("paginate")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(futureType)
+                .addParameter(JsonObject.class, "filter")
+                .addParameter(JsonObject.class, "sort")
+                .addParameter(TypeName.INT, "pageSize")
+                .addJavadoc(javadoc + "@return a future of the page\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("paginate")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(JsonObject.class, "filter")
+                .addParameter(JsonObject.class, "sort")
+                .addParameter(TypeName.INT, "pageSize")
+                .addParameter(handlerType, "resultHandler")
+                .addJavadoc(javadoc + "@param resultHandler the handler called with the page\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("paginate")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(futureType)
+                .addParameter(JsonObject.class, "filter")
+                .addParameter(JsonObject.class, "sort")
+                .addParameter(TypeName.INT, "pageSize")
+                .addParameter(String.class, "continuationToken")
+                .addJavadoc(tokenJavadoc + "@return a future of the page\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("paginate")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(JsonObject.class, "filter")
+                .addParameter(JsonObject.class, "sort")
+                .addParameter(TypeName.INT, "pageSize")
+                .addParameter(String.class, "continuationToken")
+                .addParameter(handlerType, "resultHandler")
+                .addJavadoc(tokenJavadoc + "@param resultHandler the handler called with the page\n")
+                .build());
+    }
+
+    /**
+     * Hedged reads method: implemented by {@code MongoCollectionBase}
+     */
+    private void addHedgedReadsMethod(TypeSpec.Builder typeBuilder) {
+        typeBuilder.addMethod(MethodSpec.methodBuilder("withHedgedReads")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(ParameterizedTypeName.get(ClassName.bestGuess("io.vertx.mongo.client.MongoCollection"), TypeVariableName.get("TDocument")))
+                .addParameter(ClassName.bestGuess("io.vertx.mongo.client.HedgeOptions"), "options")
+                .addJavadoc("Create a new MongoCollection instance hedging its reads: a {@code find}, {@code aggregate} or {@code countDocuments}\n" +
+                        "read that has not answered after a percentile of the latencies of the recent reads is sent again, and the first\n" +
+                        "answer wins.\n" +
+                        "<p>Reads of a session and aggregations ending with an output stage are not hedged. The latencies are those of the\n" +
+                        "returned instance: it should be kept rather than created for each read.</p>\n" +
+                        "@param options the hedge options\n" +
+                        "@return a new MongoCollection instance hedging its reads\n")
+                .build());
+    }
+
+    /**
+     * Concurrency limit methods: implemented by {@code MongoCollectionBase}
+     */
+    private void addConcurrencyLimitMethods(TypeSpec.Builder typeBuilder) {
+        typeBuilder.addMethod(MethodSpec.methodBuilder("withConcurrencyLimit")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(ParameterizedTypeName.get(ClassName.bestGuess("io.vertx.mongo.client.MongoCollection"), TypeVariableName.get("TDocument")))
+                .addParameter(ClassName.bestGuess("io.vertx.mongo.client.ConcurrencyLimitOptions"), "options")
+                .addJavadoc("Create a new MongoCollection instance limiting its concurrent operations: operations above the limits are queued,\n" +
+                        "and fail with a {@link ConcurrencyLimitExceededException} when the queue is full.\n" +
+                        "<p>Instances derived from the returned instance share its limits. Change streams are not limited.</p>\n" +
+                        "@param options the concurrency limit options\n" +
+                        "@return a new MongoCollection instance limiting its concurrent operations\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("getConcurrencyLimitStats")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(ClassName.bestGuess("io.vertx.mongo.client.ConcurrencyLimitStats"))
+                .addJavadoc("@return the statistics of the concurrency limit of the collection, null when it has no concurrency limit\n")
+                .build());
+    }
+
+    /**
+     * Export and import methods: implemented by {@code MongoCollectionBase}
+     */
+    private void addExportImportMethods(TypeSpec.Builder typeBuilder) {
+        TypeName outputType = ParameterizedTypeName.get(ClassName.get(WriteStream.class), ClassName.get(Buffer.class));
+        TypeName inputType = ParameterizedTypeName.get(ClassName.get(ReadStream.class), ClassName.get(Buffer.class));
+        ClassName exportOptionsType = ClassName.bestGuess("io.vertx.mongo.client.ExportOptions");
+        ClassName importOptionsType = ClassName.bestGuess("io.vertx.mongo.client.ImportOptions");
+        ClassName importResultType = ClassName.bestGuess("io.vertx.mongo.client.ImportResult");
+        String exportJavadoc = "Exports the documents of the collection as NDJSON or CSV text, and ends the output. Documents are read as raw BSON\n" +
+                "and encoded in batches on worker threads: the query is paused while the write queue of the output is full.\n" +
+                "@param output the output stream\n" +
+                "@param options the export options\n";
+        String importJavadoc = "Imports NDJSON or CSV text into the collection. Records are parsed in batches on worker threads, and each batch is\n" +
+                "written with one unordered {@code insertMany} or {@code bulkWrite}: the input is paused while too many batches are\n" +
+                "in progress. A failed batch fails the import, documents of the other batches may have been written.\n" +
+                "@param input the input stream\n" +
+                "@param options the import options\n";
+        typeBuilder.addMethod(MethodSpec.methodBuilder("exportTo")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(ParameterizedTypeName.get(ClassName.get(Future.class), ClassName.get(Long.class)))
+                .addParameter(outputType, "output")
+                .addParameter(exportOptionsType, "options")
+                .addJavadoc(exportJavadoc + "@return a future of the number of exported documents\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("exportTo")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(outputType, "output")
+                .addParameter(exportOptionsType, "options")
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Handler.class), ParameterizedTypeName.get(ClassName.get(AsyncResult.class), ClassName.get(Long.class))), "resultHandler")
+                .addJavadoc(exportJavadoc + "@param resultHandler the handler called with the number of exported documents\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("importFrom")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(ParameterizedTypeName.get(ClassName.get(Future.class), importResultType))
+                .addParameter(inputType, "input")
+                .addParameter(importOptionsType, "options")
+                .addJavadoc(importJavadoc + "@return a future of the result of the import\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("importFrom")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(inputType, "input")
+                .addParameter(importOptionsType, "options")
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Handler.class), ParameterizedTypeName.get(ClassName.get(AsyncResult.class), importResultType)), "resultHandler")
+                .addJavadoc(importJavadoc + "@param resultHandler the handler called with the result of the import\n")
+                .build());
+    }
+
+    /**
+     * Index advisor methods: implemented by {@code MongoCollectionBase}
+     */
+    private void addIndexAdvisorMethods(TypeSpec.Builder typeBuilder) {
+        TypeName adviceType = ParameterizedTypeName.get(ClassName.get(List.class), ClassName.bestGuess("io.vertx.mongo.client.IndexAdvice"));
+        TypeName indexesType = ParameterizedTypeName.get(ClassName.get(List.class), ClassName.bestGuess("io.vertx.mongo.client.model.IndexModel"));
+        String adviseJavadoc = "Compares the query shapes of the collection recorded by the index advisor of the client to the indexes of the\n" +
+                "collection. It fails with an {@link IllegalStateException} when the client has no index advisor.\n";
+        String suggestJavadoc = "Suggests the indexes supporting the query shapes of {@link #adviseIndexes()}, without the indexes whose keys are a\n" +
+                "prefix of the keys of another suggested index: they can be created with {@code createIndexes}.\n";
+        typeBuilder.addMethod(MethodSpec.methodBuilder("adviseIndexes")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(ParameterizedTypeName.get(ClassName.get(Future.class), adviceType))
+                .addJavadoc(adviseJavadoc + "@return a future of the shapes that no index supports, by decreasing cumulated latency\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("adviseIndexes")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Handler.class), ParameterizedTypeName.get(ClassName.get(AsyncResult.class), adviceType)), "resultHandler")
+                .addJavadoc(adviseJavadoc + "@param resultHandler the handler called with the shapes that no index supports, by decreasing cumulated latency\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("suggestIndexes")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(ParameterizedTypeName.get(ClassName.get(Future.class), indexesType))
+                .addJavadoc(suggestJavadoc + "@return a future of the suggested indexes\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("suggestIndexes")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Handler.class), ParameterizedTypeName.get(ClassName.get(AsyncResult.class), indexesType)), "resultHandler")
+                .addJavadoc(suggestJavadoc + "@param resultHandler the handler called with the suggested indexes\n")
+                .build());
+    }
+
+    private void addPipelineMethods(TypeSpec.Builder typeBuilder) {
+        TypeName resultType = ParameterizedTypeName.get(ClassName.bestGuess("io.vertx.mongo.MongoCollectionResult"), TypeVariableName.get("TDocument"));
+        ClassName pipelineType = ClassName.bestGuess("io.vertx.mongo.Pipeline");
+        String javadoc = "Aggregates documents according to a pipeline whose stages are encoded once: only the parameters are encoded by\n" +
+                "this call, and substituted to the placeholders of the stages.\n" +
+                "@param pipeline the aggregation pipeline\n" +
+                "@param params the values of the placeholders of the pipeline\n";
+        typeBuilder.addMethod(MethodSpec.methodBuilder("aggregate")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(pipelineType, "pipeline")
+                .addParameter(JsonObject.class, "params")
+                .returns(resultType)
+                .addJavadoc(javadoc + "@return a result containing the result of the aggregation operation\n")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("aggregate")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(pipelineType, "pipeline")
+                .addParameter(JsonObject.class, "params")
+                .addParameter(ClassName.bestGuess("io.vertx.mongo.client.AggregateOptions"), "options")
+                .returns(resultType)
+                .addJavadoc(javadoc + "@param options options\n@return a result containing the result of the aggregation operation\n")
+                .build());
+    }
+
+    private void addPrepareMethod(TypeSpec.Builder typeBuilder) {
+        typeBuilder.addMethod(MethodSpec.methodBuilder("prepare")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(JsonObject.class, "filterTemplate")
+                .addParameter(ClassName.bestGuess("io.vertx.mongo.client.FindOptions"), "options")
+                .returns(ParameterizedTypeName.get(ClassName.bestGuess("io.vertx.mongo.client.PreparedFind"), TypeVariableName.get("TDocument")))
+                .addJavadoc("Prepares a find whose filter, projection and sort are encoded once: executions only encode the values of\n" +
+                        "their placeholders.\n" +
+                        "@param filterTemplate the query filter, with placeholders\n" +
+                        "@param options the options of the find, whose projection and sort may have placeholders\n" +
+                        "@return the prepared find\n")
+                .build());
+    }
+
+    /**
+     * Generates a facade awaiting the futures of the interface: intended to be used from virtual threads
+     * (only the calling thread is parked, Vert.x threads are rejected by {@code Utils.await}).
+     */
+    private JavaFile.Builder getBlockingFile() {
+        TypeSpec.Builder asyncTypeBuilder = TypeSpec.interfaceBuilder(getTargetClassName());
+        staticImports.clear();
+        inflateType(asyncTypeBuilder, false, null, null, null, null);
+        if (isMongoCollection) {
+            addPaginateMethods(asyncTypeBuilder);
+            addHedgedReadsMethod(asyncTypeBuilder);
+            addConcurrencyLimitMethods(asyncTypeBuilder);
+            addExportImportMethods(asyncTypeBuilder);
+            addIndexAdvisorMethods(asyncTypeBuilder);
+            addPipelineMethods(asyncTypeBuilder);
+            addPrepareMethod(asyncTypeBuilder);
+        }
+        staticImports.clear();
+        staticImports.add("io.vertx.mongo.impl.Utils.await");
+        staticImports.add("java.util.Objects.requireNonNull");
+
+        TypeSpec.Builder typeBuilder = TypeSpec.classBuilder("Blocking" + getTargetClassName());
+        typeBuilder.addModifiers(Modifier.PUBLIC);
+        typeBuilder.addJavadoc("Blocking facade of {@link $T}: methods park the calling thread until the operation completes.\n" +
+                "<p>It is intended to be used from virtual threads and must not be used from Vert.x threads.</p>\n", ClassName.bestGuess(getTargetQualifiedClassName()));
+        for (TypeVariableName typeVariable : typeVariables)
+            typeBuilder.addTypeVariable(typeVariable);
+        typeBuilder.addField(FieldSpec.builder(fluentReturnType, "delegate").addModifiers(Modifier.PRIVATE, Modifier.FINAL).build());
+        typeBuilder.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(fluentReturnType, "delegate")
+                .addStatement("this.delegate = requireNonNull(delegate, $S)", "delegate is null")
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("getDelegate")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(fluentReturnType)
+                .addJavadoc("@return the asynchronous $L\n", getTargetClassName())
+                .addStatement("return delegate")
+                .build());
+
+        TypeSpec asyncType = asyncTypeBuilder.build();
+        for (MethodSpec asyncMethod : asyncType.methodSpecs) {
+            if (asyncMethod.parameters.stream().anyMatch(p -> p.name.equals("resultHandler")))
+                continue;
+            MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(asyncMethod.name)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addTypeVariables(asyncMethod.typeVariables)
+                    .addParameters(asyncMethod.parameters);
+            StringJoiner javadoc = new StringJoiner("\n", "", "\n");
+            javadoc.add(String.format("Blocking variant of {@link %s#%s}", getTargetClassName(), asyncMethod.name));
+            for (String line : asyncMethod.javadoc.toString().split("\n"))
+                if (line.trim().startsWith("@param"))
+                    javadoc.add(line.trim());
+            String call = "delegate." + asyncMethod.name + "(" + asyncMethod.parameters.stream().map(p -> p.name).collect(Collectors.joining(", ")) + ")";
+            TypeName returnType = asyncMethod.returnType;
+            TypeName rawReturnType = returnType instanceof ParameterizedTypeName ? ((ParameterizedTypeName) returnType).rawType : returnType;
+            String rawReturnTypeName = rawReturnType.toString();
+            if (rawReturnTypeName.equals(Future.class.getName())) {
+                TypeName futureType = ((ParameterizedTypeName) returnType).typeArguments.get(0);
+                if (futureType.equals(ClassName.get(Void.class))) {
+                    methodBuilder.addStatement("await(" + call + ")");
+                } else {
+                    javadoc.add("@return the result of the operation");
+                    methodBuilder.returns(futureType).addStatement("return await(" + call + ")");
+                }
+            } else if (rawReturnTypeName.equals("io.vertx.mongo.MongoResult") || rawReturnTypeName.equals("io.vertx.mongo.MongoCollectionResult")) {
+                TypeName publishedType = ((ParameterizedTypeName) returnType).typeArguments.get(0);
+                javadoc.add("@return the result of the operation");
+                methodBuilder.returns(ParameterizedTypeName.get(ClassName.bestGuess("io.vertx.mongo.BlockingMongoResult"), publishedType))
+                        .addStatement("return new $T<>(" + call + ")", ClassName.bestGuess("io.vertx.mongo.BlockingMongoResult"));
+            } else if (rawReturnTypeName.equals("io.vertx.mongo.client.gridfs.GridFSDownloadResult")) {
+                javadoc.add("@return the content of the file");
+                methodBuilder.returns(ParameterizedTypeName.get(ClassName.bestGuess("io.vertx.mongo.BlockingMongoResult"), ClassName.get(Buffer.class)))
+                        .addStatement("return new $T<>(" + call + ")", ClassName.bestGuess("io.vertx.mongo.BlockingMongoResult"));
+            } else if (BLOCKING_TYPES.containsKey(rawReturnTypeName)) {
+                ClassName blockingClassName = ClassName.bestGuess(BLOCKING_TYPES.get(rawReturnTypeName));
+                TypeName blockingType = returnType instanceof ParameterizedTypeName ?
+                        ParameterizedTypeName.get(blockingClassName, ((ParameterizedTypeName) returnType).typeArguments.toArray(new TypeName[0])) : blockingClassName;
+                javadoc.add("@return the blocking facade of the result");
+                methodBuilder.returns(blockingType)
+                        .addStatement("return new $T" + (returnType instanceof ParameterizedTypeName ? "<>" : "") + "(" + call + ")", blockingClassName);
+            } else {
+                javadoc.add("@return the result of the operation");
+                methodBuilder.returns(returnType).addStatement("return " + call);
+            }
+            methodBuilder.addJavadoc(javadoc.toString());
+            typeBuilder.addMethod(methodBuilder.build());
+        }
+
+        JavaFile.Builder builder = JavaFile.builder(getTargetPackage(), typeBuilder.build());
+        addStaticImports(builder);
+        return builder;
+    }
+
     private JavaFile.Builder getImplFile() {
         TypeSpec.Builder typeBuilder = TypeSpec.classBuilder(getTargetClassName() + "Impl");
         typeBuilder.addModifiers(Modifier.PUBLIC);
@@ -307,7 +762,7 @@ public class ReactiveAPIClassGenerator extends GenericAPIClassGenerator {
                         .addStatement("this.clazz = clazz")
                         .addStatement("this.inputMapper = clientContext.getConfig().getInputDocumentMapper(clazz)")
                         .addStatement("this.outputMapper = clientContext.getConfig().getOutputDocumentMapper(clazz)")
-                        .addStatement("this.idProvider = clientContext.getConfig().getDocumentIdProvider(clazz)")
+                        .addStatement("this.idProvider = clientContext.getConfig().getDocumentIdProvider(clazz, wrapped.getCodecRegistry())")
                         .build());
             } else {
                 typeBuilder.addMethod(MethodSpec.constructorBuilder()
@@ -397,7 +852,11 @@ public class ReactiveAPIClassGenerator extends GenericAPIClassGenerator {
                     methodBuilder.addStatement("$T __promise = clientContext.getVertx().promise()", ParameterizedTypeName.get(ClassName.get(Promise.class), method.returnType.publishedType.mongoType));
                 }
 
-                methodBuilder.addStatement("__publisher.subscribe(new $T<>(clientContext, __promise))", ClassName.bestGuess("io.vertx.mongo.impl.SingleResultSubscriber"));
+                String operationClass = getOperationClass(method);
+                if (operationClass != null)
+                    methodBuilder.addStatement("limit($T.$L, __publisher).subscribe(new $T<>(clientContext, __promise))", ClassName.bestGuess("io.vertx.mongo.client.OperationClass"), operationClass, ClassName.bestGuess("io.vertx.mongo.impl.SingleResultSubscriber"));
+                else
+                    methodBuilder.addStatement("__publisher.subscribe(new $T<>(clientContext, __promise))", ClassName.bestGuess("io.vertx.mongo.impl.SingleResultSubscriber"));
                 String publishedTypeString = method.returnType.publishedType.vertxType.toString();
                 String mapper = null;
                 String mapperCall = null;
@@ -453,25 +912,30 @@ public class ReactiveAPIClassGenerator extends GenericAPIClassGenerator {
                         } else {
                             mapperFirstParam = method.returnType.publishedType.mongoType;
                         }
+                        ClassName mappingPublisherClassName = getMappingPublisherClassName(method);
                         methodBuilder.addStatement(method.returnType.publishedType.mapper.asStatementFromLambdaOrMethodRef("$T __mappingPublisher = new $T<>(__publisher, %s)",
-                                ParameterizedTypeName.get(ClassName.get(MappingPublisher.class), mapperFirstParam, method.returnType.publishedType.vertxType),
-                                ClassName.get(MappingPublisher.class), null
+                                getMappingPublisherType(method, publisherType, mapperFirstParam),
+                                mappingPublisherClassName, null
                         ));
                     } else {
                         TypeName publisherType = method.returnType.mongoType;
                         methodBuilder.addStatement("$T __publisher = wrapped." + method.mongoName +  "(" + paramNames + ")", publisherType);
+                        ClassName mappingPublisherClassName = getMappingPublisherClassName(method);
                         methodBuilder.addStatement(method.returnType.publishedType.mapper.asStatementFromLambdaOrMethodRef("$T __mappingPublisher = new $T<>(__publisher, %s)",
-                                ParameterizedTypeName.get(ClassName.get(MappingPublisher.class), method.returnType.publishedType.mongoType, method.returnType.publishedType.vertxType),
-                                ClassName.get(MappingPublisher.class), null
+                                getMappingPublisherType(method, publisherType, method.returnType.publishedType.mongoType),
+                                mappingPublisherClassName, null
                         ));
                     }
                 } else {
                     methodBuilder.addStatement("$T __publisher = wrapped." + method.mongoName +  "(" + paramNames + ")", method.returnType.mongoType);
                 }
-                writePublisherMethod(method, methodBuilder, publisherVarName);
+                writePublisherMethod(method, methodBuilder, publisherVarName, getRawPublisherCall(method, paramNames.toString()));
             }
         } else {
-            if (method.mongoName.equals("getCollection") && method.params.size() == 1) {
+            CodeBlock cachedWrapperStatement = getCachedWrapperStatement(method, paramNames.toString());
+            if (cachedWrapperStatement != null) {
+                methodBuilder.addStatement(cachedWrapperStatement);
+            } else if (method.mongoName.equals("getCollection") && method.params.size() == 1) {
                 // special case
                 methodBuilder.addStatement("$T __wrapped = wrapped.getCollection(collectionName, $T.class)",
                         ParameterizedTypeName.get(ClassName.get(MongoCollection.class), ClassName.get(JsonObject.class)),
@@ -499,10 +963,67 @@ public class ReactiveAPIClassGenerator extends GenericAPIClassGenerator {
         }
     }
 
+    /**
+     * Database and collection wrappers are cached by the hand-written base classes, so that getting a collection
+     * in a handler does not allocate.
+     */
+    private CodeBlock getCachedWrapperStatement(MongoMethod method, String paramNames) {
+        if (isMongoClient && method.mongoName.equals("getDatabase"))
+            return CodeBlock.of("return getCachedDatabase(" + paramNames + ")");
+        if (isMongoDatabase && method.mongoName.equals("getCollection") && method.params.size() == 1)
+            return CodeBlock.of("return getCachedCollection(collectionName, $T.class)", JsonObject.class);
+        if (isMongoDatabase && method.mongoName.equals("getCollection"))
+            return CodeBlock.of("return getCachedCollection(" + paramNames + ")");
+        if (isMongoDatabase && method.mongoName.startsWith("with"))
+            return CodeBlock.of("return getCachedDerivedDatabase(" + paramNames + ")");
+        if (isMongoCollection && method.vertxName.equals("withDocumentClass"))
+            return CodeBlock.of("return getCachedCollectionWithDocumentClass(" + paramNames + ")");
+        if (isMongoCollection && method.mongoName.startsWith("with"))
+            return CodeBlock.of("return getCachedDerivedCollection(" + paramNames + ")");
+        return null;
+    }
+
+    private ClassName getMappingPublisherClassName(MongoMethod method) {
+        InspectionContext.PublisherDesc publisherDesc = context.publisherDescriptions.get(method.returnType.publisherClassName.toString());
+        if (publisherDesc != null && publisherDesc.mappingPublisherClassName != null)
+            return publisherDesc.mappingPublisherClassName;
+        if (publisherDesc != null && publisherDesc.firstMethodName != null)
+            throw new IllegalStateException("no typed mapping publisher for " + method.returnType.publisherClassName);
+        return ClassName.get(MappingPublisher.class);
+    }
+
+    private TypeName getMappingPublisherType(MongoMethod method, TypeName publisherType, TypeName mappedType) {
+        ClassName mappingPublisherClassName = getMappingPublisherClassName(method);
+        TypeName vertxType = method.returnType.publishedType.vertxType;
+        if (mappingPublisherClassName.equals(ClassName.get(MappingPublisher.class)))
+            return ParameterizedTypeName.get(mappingPublisherClassName, mappedType, vertxType);
+        // typed mapping publishers are parameterized like the driver publisher they wrap, plus the mapped type
+        if (publisherType instanceof ParameterizedTypeName) {
+            List<TypeName> typeArguments = new ArrayList<>(((ParameterizedTypeName) publisherType).typeArguments);
+            typeArguments.add(vertxType);
+            return ParameterizedTypeName.get(mappingPublisherClassName, typeArguments.toArray(new TypeName[0]));
+        }
+        return ParameterizedTypeName.get(mappingPublisherClassName, vertxType);
+    }
+
     private void writePublisherMethod(MongoMethod method, MethodSpec.Builder methodBuilder, String... publisherVarNames) {
-        String publisherVarName = "__publisher";
-        if (publisherVarNames.length > 0)
-            publisherVarName = publisherVarNames[0];
+        writePublisherMethod(method, methodBuilder, publisherVarNames.length > 0 ? publisherVarNames[0] : "__publisher", null);
+    }
+
+    /**
+     * @return the call creating the publisher of the raw documents of a collection read, null when the result has no
+     * raw publisher and encodes its items in {@code rawStream}
+     */
+    private String getRawPublisherCall(MongoMethod method, String paramNames) {
+        if (!isMongoCollection || !method.returnType.publishedType.vertxType.toString().equals("TDocument"))
+            return null;
+        if (!method.mongoName.equals("find") && !method.mongoName.equals("aggregate"))
+            return null;
+        String call = "getRawWrapped()." + method.mongoName + "(" + paramNames + ")";
+        return currentMethodHasPublisherOptions ? "raw(" + call + ", options)" : call;
+    }
+
+    private void writePublisherMethod(MongoMethod method, MethodSpec.Builder methodBuilder, String publisherVarName, String rawPublisherCall) {
         if (currentMethodHasPublisherOptions) {
             String optionsParamName = method.returnType.publisherClassName.toString().endsWith("GridFSDownloadPublisher") ? "controlOptions" : "options";
             methodBuilder.addStatement(String.format("%s.initializePublisher(clientContext, %s)", optionsParamName, "__publisher"));
@@ -529,15 +1050,49 @@ public class ReactiveAPIClassGenerator extends GenericAPIClassGenerator {
         if (publisherDesc != null && publisherDesc.firstMethodName != null)
             resultParamNames.add(String.format("%s::%s", publisherVarName, publisherDesc.firstMethodName));
         String publisherParamBracket = method.returnType.vertxType instanceof ParameterizedTypeName ? "<>" : "";
+        String rawPublisherSuffix = rawPublisherCall == null ? "" : ".withRawPublisher(() -> " + rawPublisherCall + ")";
+        String operationClass = getOperationClass(method);
+        String returnFormat = operationClass == null ? "return %s" : "return limit($T." + operationClass + ", %s)";
+        Object[] returnArgs = operationClass == null ? new Object[] {resultClassName} : new Object[] {ClassName.bestGuess("io.vertx.mongo.client.OperationClass"), resultClassName};
         if (publisherDesc != null && publisherDesc.batchSizePropertyName != null && currentMethodHasPublisherOptions) {
             methodBuilder.addStatement("Integer __batchSize = options.getBatchSize()");
             methodBuilder.beginControlFlow("if (__batchSize != null)");
-            methodBuilder.addStatement(String.format("return new $T%s("  + resultParamNames + ", __batchSize)", publisherParamBracket), resultClassName);
+            methodBuilder.addStatement(String.format(returnFormat, String.format("new $T%s("  + resultParamNames + ", __batchSize)%s", publisherParamBracket, rawPublisherSuffix)), returnArgs);
             methodBuilder.nextControlFlow("else");
-            methodBuilder.addStatement(String.format("return new $T%s("  + resultParamNames + ")", publisherParamBracket), resultClassName);
+            methodBuilder.addStatement(String.format(returnFormat, String.format("new $T%s("  + resultParamNames + ")%s", publisherParamBracket, rawPublisherSuffix)), returnArgs);
             methodBuilder.endControlFlow();
         } else {
-            methodBuilder.addStatement(String.format("return new $T%s("  + resultParamNames + ")", publisherParamBracket), resultClassName);
+            methodBuilder.addStatement(String.format(returnFormat, String.format("new $T%s("  + resultParamNames + ")%s", publisherParamBracket, rawPublisherSuffix)), returnArgs);
+        }
+    }
+
+    /**
+     * @return the operation class of a collection method for its concurrency limit, null when it is not limited
+     * (change streams would keep their permit while open)
+     */
+    private String getOperationClass(MongoMethod method) {
+        if (!isMongoCollection)
+            return null;
+        switch (method.mongoName) {
+            case "watch":
+                return null;
+            case "find":
+            case "aggregate":
+            case "countDocuments":
+            case "estimatedDocumentCount":
+            case "distinct":
+            case "listIndexes":
+            case "mapReduce":
+                return "READ";
+            case "createIndex":
+            case "createIndexes":
+            case "dropIndex":
+            case "dropIndexes":
+            case "drop":
+            case "renameCollection":
+                return "ADMIN";
+            default:
+                return "WRITE";
         }
     }
 
@@ -0,0 +1,342 @@
+package org.bfreuden.codecs;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Generates the {@code ObjectCodec} and the {@code ObjectCodecProvider} of a class.
+ * <p>Decoding dispatches on the field name with a switch over constants and builds the object directly: no reflection
+ * nor intermediate document is involved.</p>
+ */
+public class ObjectCodecGenerator {
+
+    static final ClassName OBJECT_CODEC = ClassName.get("io.vertx.mongo.codec", "ObjectCodec");
+    static final ClassName OBJECT_CODEC_PROVIDER = ClassName.get("io.vertx.mongo.codec", "ObjectCodecProvider");
+    private static final ClassName CODEC = ClassName.get("org.bson.codecs", "Codec");
+    private static final ClassName CODEC_REGISTRY = ClassName.get("org.bson.codecs.configuration", "CodecRegistry");
+    private static final ClassName BSON_READER = ClassName.get("org.bson", "BsonReader");
+    private static final ClassName BSON_WRITER = ClassName.get("org.bson", "BsonWriter");
+    private static final ClassName BSON_TYPE = ClassName.get("org.bson", "BsonType");
+    private static final ClassName BSON_VALUE = ClassName.get("org.bson", "BsonValue");
+    private static final ClassName DECODER_CONTEXT = ClassName.get("org.bson.codecs", "DecoderContext");
+    private static final ClassName ENCODER_CONTEXT = ClassName.get("org.bson.codecs", "EncoderContext");
+    private static final ClassName OBJECT_ID = ClassName.get("org.bson.types", "ObjectId");
+
+    private final Types types;
+    private final ObjectCodecModel model;
+    private final ClassName className;
+    private final ClassName codecClassName;
+    private final ClassName providerClassName;
+
+    public ObjectCodecGenerator(Types types, ObjectCodecModel model) {
+        this.types = types;
+        this.model = model;
+        this.className = ClassName.get(model.getElement());
+        String simpleName = String.join("", className.simpleNames());
+        this.codecClassName = ClassName.get(className.packageName(), simpleName + "Codec");
+        this.providerClassName = ClassName.get(className.packageName(), simpleName + "CodecProvider");
+    }
+
+    public ClassName getProviderClassName() {
+        return providerClassName;
+    }
+
+    public JavaFile getCodecFile() {
+        TypeSpec.Builder typeBuilder = TypeSpec.classBuilder(codecClassName)
+                .addModifiers(Modifier.PUBLIC)
+                .superclass(ParameterizedTypeName.get(OBJECT_CODEC, className))
+                .addJavadoc("Codec of {@link $T}, generated at compile time.\n", className);
+        for (ObjectCodecModel.Property property : model.getProperties()) {
+            if (property.isId())
+                continue;
+            typeBuilder.addField(FieldSpec.builder(String.class, constantName(property), Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$S", property.getFieldName())
+                    .build());
+        }
+        typeBuilder.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(CODEC_REGISTRY, "registry")
+                .addStatement("super($T.class, registry)", className)
+                .build());
+        typeBuilder.addMethod(getDecodeMethod());
+        typeBuilder.addMethod(getEncodeMethod());
+        ObjectCodecModel.Property id = model.getIdProperty();
+        if (id != null)
+            addIdMethods(typeBuilder, id);
+        return JavaFile.builder(codecClassName.packageName(), typeBuilder.build()).build();
+    }
+
+    public JavaFile getProviderFile() {
+        TypeVariableName t = TypeVariableName.get("T");
+        TypeSpec type = TypeSpec.classBuilder(providerClassName)
+                .addModifiers(Modifier.PUBLIC)
+                .addSuperinterface(OBJECT_CODEC_PROVIDER)
+                .addJavadoc("Provides the {@link $T} of {@link $T}.\n", codecClassName, className)
+                .addMethod(MethodSpec.methodBuilder("get")
+                        .addAnnotation(Override.class)
+                        .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
+                        .addModifiers(Modifier.PUBLIC)
+                        .addTypeVariable(t)
+                        .returns(ParameterizedTypeName.get(CODEC, t))
+                        .addParameter(ParameterizedTypeName.get(ClassName.get(Class.class), t), "clazz")
+                        .addParameter(CODEC_REGISTRY, "registry")
+                        .beginControlFlow("if (clazz == $T.class)", className)
+                        .addStatement("return ($T) new $T(registry)", ParameterizedTypeName.get(CODEC, t), codecClassName)
+                        .endControlFlow()
+                        .addStatement("return null")
+                        .build())
+                .build();
+        return JavaFile.builder(providerClassName.packageName(), type).build();
+    }
+
+    private MethodSpec getDecodeMethod() {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("decode")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(className)
+                .addParameter(BSON_READER, "reader")
+                .addParameter(DECODER_CONTEXT, "decoderContext");
+        boolean unchecked = false;
+        List<ObjectCodecModel.Property> properties = model.getProperties();
+        if (model.isRecord()) {
+            for (ObjectCodecModel.Property property : properties)
+                method.addStatement("$T $N = null", TypeName.get(property.getType()).box(), property.getName());
+        } else {
+            method.addStatement("$T object = new $T()", className, className);
+        }
+        method.addStatement("reader.readStartDocument()");
+        method.beginControlFlow("while (reader.readBsonType() != $T.END_OF_DOCUMENT)", BSON_TYPE);
+        method.beginControlFlow("switch (reader.readName())");
+        for (ObjectCodecModel.Property property : properties) {
+            method.addCode("case $N:\n", property.isId() ? "ID_FIELD" : constantName(property));
+            method.addCode("$>");
+            CodeBlock read = readExpression(property.getType());
+            unchecked |= isUnchecked(property.getType());
+            if (model.isRecord()) {
+                method.addStatement("$N = $L", property.getName(), read);
+            } else if (property.getType().getKind().isPrimitive()) {
+                String local = property.getName() + "Value";
+                method.addStatement("$T $N = $L", TypeName.get(property.getType()).box(), local, read);
+                method.beginControlFlow("if ($N != null)", local);
+                method.addStatement("object.$N($N)", property.getSetter().getSimpleName(), local);
+                method.endControlFlow();
+            } else {
+                method.addStatement("object.$N($L)", property.getSetter().getSimpleName(), read);
+            }
+            method.addStatement("break");
+            method.addCode("$<");
+        }
+        method.addCode("default:\n$>");
+        method.addStatement("reader.skipValue()");
+        method.addCode("$<");
+        method.endControlFlow();
+        method.endControlFlow();
+        method.addStatement("reader.readEndDocument()");
+        if (model.isRecord()) {
+            CodeBlock.Builder arguments = CodeBlock.builder();
+            for (int i = 0; i < properties.size(); i++) {
+                ObjectCodecModel.Property property = properties.get(i);
+                if (i > 0)
+                    arguments.add(", ");
+                if (property.getType().getKind().isPrimitive())
+                    arguments.add("$N != null ? $N : $L", property.getName(), property.getName(), defaultValue(property.getType()));
+                else
+                    arguments.add("$N", property.getName());
+            }
+            method.addStatement("return new $T($L)", className, arguments.build());
+        } else {
+            method.addStatement("return object");
+        }
+        if (unchecked)
+            method.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build());
+        return method.build();
+    }
+
+    private MethodSpec getEncodeMethod() {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("encode")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(BSON_WRITER, "writer")
+                .addParameter(className, "value")
+                .addParameter(ENCODER_CONTEXT, "encoderContext");
+        method.addStatement("writer.writeStartDocument()");
+        ObjectCodecModel.Property id = model.getIdProperty();
+        if (id != null) {
+            // the _id goes first, and is left to the driver when absent
+            CodeBlock getter = CodeBlock.of("value.$N()", id.getGetter().getSimpleName());
+            if (id.getType().getKind().isPrimitive()) {
+                method.addStatement(writeStatement(id, "ID_FIELD", getter));
+            } else {
+                method.beginControlFlow("if ($L != null)", getter);
+                method.addStatement(writeStatement(id, "ID_FIELD", getter));
+                method.endControlFlow();
+            }
+        }
+        for (ObjectCodecModel.Property property : model.getProperties()) {
+            if (property.isId())
+                continue;
+            method.addStatement(writeStatement(property, constantName(property), CodeBlock.of("value.$N()", property.getGetter().getSimpleName())));
+        }
+        method.addStatement("writer.writeEndDocument()");
+        return method.build();
+    }
+
+    private void addIdMethods(TypeSpec.Builder typeBuilder, ObjectCodecModel.Property id) {
+        boolean primitive = id.getType().getKind().isPrimitive();
+        CodeBlock getter = CodeBlock.of("document.$N()", id.getGetter().getSimpleName());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("documentHasId")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(boolean.class)
+                .addParameter(className, "document")
+                .addStatement(primitive ? CodeBlock.of("return true") : CodeBlock.of("return $L != null", getter))
+                .build());
+        typeBuilder.addMethod(MethodSpec.methodBuilder("getDocumentId")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(BSON_VALUE)
+                .addParameter(className, "document")
+                .beginControlFlow("if (!documentHasId(document))")
+                .addStatement("throw new $T($S)", IllegalStateException.class, "the document has no _id")
+                .endControlFlow()
+                .addStatement("return idValue($L)", getter)
+                .build());
+        String idType = id.getType().toString();
+        boolean generated = idType.equals(OBJECT_ID.canonicalName()) || idType.equals(String.class.getName());
+        if (id.getSetter() != null && generated) {
+            // immutable objects are left as is: the driver adds an _id to the inserted document
+            typeBuilder.addMethod(MethodSpec.methodBuilder("generateIdIfAbsentFromDocument")
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(className)
+                    .addParameter(className, "document")
+                    .beginControlFlow("if (!documentHasId(document))")
+                    .addStatement(idType.equals(OBJECT_ID.canonicalName()) ? CodeBlock.of("document.$N(new $T())", id.getSetter().getSimpleName(), OBJECT_ID)
+                            : CodeBlock.of("document.$N(new $T().toHexString())", id.getSetter().getSimpleName(), OBJECT_ID))
+                    .endControlFlow()
+                    .addStatement("return document")
+                    .build());
+        }
+    }
+
+    private CodeBlock readExpression(TypeMirror type) {
+        String helper = helperName(type);
+        if (helper != null)
+            return CodeBlock.of("read$L(reader)", helper);
+        if (isEnum(type))
+            return CodeBlock.of("readEnum(reader, $T.class)", type);
+        TypeMirror elementType = listElementType(type);
+        if (elementType != null)
+            return CodeBlock.of("readList(reader, $T.class, decoderContext)", types.erasure(elementType));
+        TypeName erasure = TypeName.get(types.erasure(type));
+        if (isUnchecked(type))
+            return CodeBlock.of("($T) readValue(reader, $T.class, decoderContext)", type, erasure);
+        return CodeBlock.of("readValue(reader, $T.class, decoderContext)", erasure);
+    }
+
+    private CodeBlock writeStatement(ObjectCodecModel.Property property, String constant, CodeBlock value) {
+        TypeMirror type = property.getType();
+        String helper = helperName(type);
+        if (helper != null)
+            return CodeBlock.of("write$L(writer, $N, $L)", helper, constant, value);
+        if (isEnum(type))
+            return CodeBlock.of("writeEnum(writer, $N, $L)", constant, value);
+        if (listElementType(type) != null)
+            return CodeBlock.of("writeList(writer, $N, $L, encoderContext)", constant, value);
+        return CodeBlock.of("writeValue(writer, $N, $L, encoderContext)", constant, value);
+    }
+
+    /**
+     * @return the suffix of the {@code ObjectCodec} read and write helpers handling the type, or null
+     */
+    private String helperName(TypeMirror type) {
+        TypeKind kind = type.getKind();
+        if (kind.isPrimitive())
+            type = types.boxedClass(types.getPrimitiveType(kind)).asType();
+        if (type.getKind() != TypeKind.DECLARED)
+            return null;
+        switch (((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString()) {
+            case "java.lang.String":
+                return "String";
+            case "java.lang.Integer":
+                return "Integer";
+            case "java.lang.Long":
+                return "Long";
+            case "java.lang.Double":
+                return "Double";
+            case "java.lang.Float":
+                return "Float";
+            case "java.lang.Short":
+                return "Short";
+            case "java.lang.Boolean":
+                return "Boolean";
+            case "java.math.BigDecimal":
+                return "BigDecimal";
+            case "java.time.Instant":
+                return "Instant";
+            case "org.bson.types.ObjectId":
+                return "ObjectId";
+            default:
+                return null;
+        }
+    }
+
+    private boolean isEnum(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM;
+    }
+
+    private TypeMirror listElementType(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED)
+            return null;
+        DeclaredType declaredType = (DeclaredType) type;
+        if (!((TypeElement) declaredType.asElement()).getQualifiedName().contentEquals(List.class.getName()))
+            return null;
+        if (declaredType.getTypeArguments().size() != 1 || declaredType.getTypeArguments().get(0).getKind() != TypeKind.DECLARED)
+            return null;
+        return declaredType.getTypeArguments().get(0);
+    }
+
+    private boolean isUnchecked(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && listElementType(type) == null && !((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "false";
+            case LONG:
+                return "0L";
+            case FLOAT:
+                return "0f";
+            case DOUBLE:
+                return "0d";
+            case SHORT:
+                return "(short) 0";
+            default:
+                return "0";
+        }
+    }
+
+    private static String constantName(ObjectCodecModel.Property property) {
+        return property.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT) + "_FIELD";
+    }
+
+}
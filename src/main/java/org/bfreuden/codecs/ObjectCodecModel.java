@@ -0,0 +1,177 @@
+package org.bfreuden.codecs;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Properties of a class handled by a generated codec.
+ * <p>Records are read through their components and built with their canonical constructor. Other classes are
+ * built with their public no-arg constructor and populated through their setters.</p>
+ */
+public class ObjectCodecModel {
+
+    private static final String ID_FIELD = "_id";
+
+    public static class Property {
+
+        private final String name;
+        private final TypeMirror type;
+        private final ExecutableElement getter;
+        private final ExecutableElement setter;
+
+        Property(String name, TypeMirror type, ExecutableElement getter, ExecutableElement setter) {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the name of the BSON field
+         */
+        public String getFieldName() {
+            return isId() ? ID_FIELD : name;
+        }
+
+        public boolean isId() {
+            return name.equals("id") || name.equals(ID_FIELD);
+        }
+
+        public TypeMirror getType() {
+            return type;
+        }
+
+        public ExecutableElement getGetter() {
+            return getter;
+        }
+
+        /**
+         * @return the setter, null for records
+         */
+        public ExecutableElement getSetter() {
+            return setter;
+        }
+    }
+
+    private final TypeElement element;
+    private final boolean record;
+    private final List<Property> properties;
+
+    private ObjectCodecModel(TypeElement element, boolean record, List<Property> properties) {
+        this.element = element;
+        this.record = record;
+        this.properties = Collections.unmodifiableList(properties);
+    }
+
+    /**
+     * @param element annotated class
+     * @return the model of the class
+     * @throws IllegalArgumentException if the class is not supported, with a message suitable for the compiler output
+     */
+    public static ObjectCodecModel of(Elements elements, Types types, TypeElement element) {
+        if (element.getKind() != ElementKind.CLASS && !isRecord(element))
+            throw new IllegalArgumentException("codecs can only be generated for classes and records");
+        if (!element.getTypeParameters().isEmpty())
+            throw new IllegalArgumentException("codecs cannot be generated for generic classes");
+        if (!element.getModifiers().contains(Modifier.PUBLIC) || element.getModifiers().contains(Modifier.ABSTRACT))
+            throw new IllegalArgumentException("codecs can only be generated for public concrete classes");
+        if (element.getNestingKind().isNested() && !element.getModifiers().contains(Modifier.STATIC) && !isRecord(element))
+            throw new IllegalArgumentException("codecs cannot be generated for inner classes");
+        List<Property> properties = isRecord(element) ? recordProperties(element) : beanProperties(elements, types, element);
+        if (properties.stream().filter(Property::isId).count() > 1)
+            throw new IllegalArgumentException("both id and _id properties are declared");
+        return new ObjectCodecModel(element, isRecord(element), properties);
+    }
+
+    static boolean isRecord(Element element) {
+        // ElementKind.RECORD only exists in Java 16+
+        return element.getKind().name().equals("RECORD");
+    }
+
+    private static List<Property> recordProperties(TypeElement element) {
+        Map<String, ExecutableElement> accessors = new LinkedHashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(element.getEnclosedElements())) {
+            if (method.getParameters().isEmpty())
+                accessors.put(method.getSimpleName().toString(), method);
+        }
+        List<Property> properties = new ArrayList<>();
+        for (Element enclosed : element.getEnclosedElements()) {
+            if (!enclosed.getKind().name().equals("RECORD_COMPONENT"))
+                continue;
+            String name = enclosed.getSimpleName().toString();
+            properties.add(new Property(name, enclosed.asType(), accessors.get(name), null));
+        }
+        return properties;
+    }
+
+    private static List<Property> beanProperties(Elements elements, Types types, TypeElement element) {
+        boolean defaultConstructor = ElementFilter.constructorsIn(element.getEnclosedElements()).stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC));
+        if (!defaultConstructor)
+            throw new IllegalArgumentException("a public no-arg constructor is required");
+        Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+        Map<String, ExecutableElement> setters = new LinkedHashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(element))) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC))
+                continue;
+            String name = method.getSimpleName().toString();
+            if (method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID) {
+                if (name.startsWith("get") && name.length() > 3)
+                    getters.put(decapitalize(name.substring(3)), method);
+                else if (name.startsWith("is") && name.length() > 2 && method.getReturnType().getKind() == TypeKind.BOOLEAN)
+                    getters.put(decapitalize(name.substring(2)), method);
+            } else if (method.getParameters().size() == 1 && name.startsWith("set") && name.length() > 3) {
+                setters.put(decapitalize(name.substring(3)), method);
+            }
+        }
+        List<Property> properties = new ArrayList<>();
+        for (Map.Entry<String, ExecutableElement> getter : getters.entrySet()) {
+            ExecutableElement setter = setters.get(getter.getKey());
+            TypeMirror type = getter.getValue().getReturnType();
+            // fluent setters of data objects are fine, as long as they take the type of the getter
+            if (setter != null && types.isSameType(setter.getParameters().get(0).asType(), type))
+                properties.add(new Property(getter.getKey(), type, getter.getValue(), setter));
+        }
+        return properties;
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    public TypeElement getElement() {
+        return element;
+    }
+
+    public boolean isRecord() {
+        return record;
+    }
+
+    public List<Property> getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return the property stored in the {@code _id} field, or null
+     */
+    public Property getIdProperty() {
+        return properties.stream().filter(Property::isId).findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,106 @@
+package org.bfreuden.codecs;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor generating an {@code ObjectCodec} for each {@code @MongoCodec} record or class.
+ * <p>The generated providers are listed in {@code META-INF/services/io.vertx.mongo.codec.ObjectCodecProvider}, so that
+ * the clients add them to their codec registry. The processor is declared as a service, it runs as soon as this
+ * artifact is on the annotation processor path, but it only claims {@code @MongoCodec}: {@code @DataObject} classes
+ * get a codec when the {@code -Avertx.mongo.codecs.dataObjects=true} option is set, and the ones that are not
+ * supported are skipped with a warning.</p>
+ */
+@SupportedOptions(ObjectCodecProcessor.DATA_OBJECTS_OPTION)
+public class ObjectCodecProcessor extends AbstractProcessor {
+
+    static final String DATA_OBJECT = "io.vertx.codegen.annotations.DataObject";
+    static final String MONGO_CODEC = "io.vertx.mongo.codec.MongoCodec";
+    static final String DATA_OBJECTS_OPTION = "vertx.mongo.codecs.dataObjects";
+    private static final String SERVICES_FILE = "META-INF/services/" + ObjectCodecGenerator.OBJECT_CODEC_PROVIDER.canonicalName();
+
+    private final Set<String> providers = new TreeSet<>();
+    private final Set<String> processed = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        if (Boolean.parseBoolean(processingEnv.getOptions().get(DATA_OBJECTS_OPTION)))
+            return Set.of(MONGO_CODEC, DATA_OBJECT);
+        return Collections.singleton(MONGO_CODEC);
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (!(element instanceof TypeElement))
+                    continue;
+                TypeElement typeElement = (TypeElement) element;
+                // a class can be annotated with both annotations
+                if (processed.add(typeElement.getQualifiedName().toString()))
+                    generate(typeElement);
+            }
+        }
+        if (roundEnv.processingOver() && !providers.isEmpty())
+            writeServicesFile();
+        // @DataObject is also handled by the vert.x code generator
+        return false;
+    }
+
+    private void generate(TypeElement element) {
+        try {
+            ObjectCodecModel model = ObjectCodecModel.of(processingEnv.getElementUtils(), processingEnv.getTypeUtils(), element);
+            ObjectCodecGenerator generator = new ObjectCodecGenerator(processingEnv.getTypeUtils(), model);
+            generator.getCodecFile().writeTo(processingEnv.getFiler());
+            generator.getProviderFile().writeTo(processingEnv.getFiler());
+            providers.add(generator.getProviderClassName().reflectionName());
+        } catch (IllegalArgumentException e) {
+            // data objects did not ask for a codec, they may well be unsupported
+            Diagnostic.Kind kind = isMongoCodec(element) ? Diagnostic.Kind.ERROR : Diagnostic.Kind.WARNING;
+            processingEnv.getMessager().printMessage(kind, "cannot generate the codec: " + e.getMessage(), element);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "cannot write the codec: " + e, element);
+        }
+    }
+
+    private static boolean isMongoCodec(TypeElement element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(MONGO_CODEC))
+                return true;
+        }
+        return false;
+    }
+
+    private void writeServicesFile() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICES_FILE);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String provider : providers)
+                    writer.write(provider + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "cannot write " + SERVICES_FILE + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.bfreuden.mappers;
+
+import java.util.Collections;
+
+/**
+ * Conversion implemented by a method of the generated class or of its base class.
+ */
+public class ImplMethodMapperGenerator extends MapperGenerator {
+
+    private final String conversionMethod;
+
+    public ImplMethodMapperGenerator(String conversionMethod) {
+        this.conversionMethod = conversionMethod;
+    }
+
+    @Override
+    public CodeBlockSource getExpressionSource(String value) {
+        return new CodeBlockSource(
+            String.format("%s(%s)", conversionMethod, value),
+            Collections.emptyList()
+        );
+    }
+
+    @Override
+    public CodeBlockSource getMapperSource() {
+        return new CodeBlockSource(
+            String.format("this::%s", conversionMethod),
+            Collections.emptyList()
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package io.vertx.ext.mongo;
 
+import com.mongodb.MongoNamespace;
 import com.mongodb.client.model.changestream.FullDocument;
 import com.mongodb.client.model.changestream.OperationType;
 import com.mongodb.reactivestreams.client.MongoClients;
@@ -18,6 +19,7 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicLong;
@@ -353,6 +355,53 @@ public class MongoClientTest extends MongoClientTestBase {
     streamReference.get().handler(null);
   }
 
+  @Test
+  public void testMaterializedView() {
+    String source = randomCollection();
+    String target = randomCollection();
+    String checkpoints = randomCollection();
+    MaterializedViewOptions options = new MaterializedViewOptions()
+      .setBatchSize(2)
+      .setBatchDelay(50)
+      .setCheckpointDatabase(getDatabaseName())
+      .setCheckpointCollection(checkpoints);
+    ViewProjection projection = ViewProjection.of(doc -> new JsonObject().put("counter", doc.getInteger("counter")));
+    MaterializedView view = MaterializedView.create(vertx, mongoClient, "view", new MongoNamespace(getDatabaseName(), source),
+      new MongoNamespace(getDatabaseName(), target), projection, options);
+    view.exceptionHandler(this::fail);
+    MongoCollection<JsonObject> sourceColl = mongoDatabase.getCollection(source);
+    MongoCollection<JsonObject> targetColl = mongoDatabase.getCollection(target);
+    AtomicLong counter = new AtomicLong();
+    mongoDatabase.createCollection(source)
+      .compose(res -> view.start())
+      .onComplete(onSuccess(res -> {
+        // inserts until the change stream is open and the view has received them
+        long insertTimerId = vertx.setPeriodic(100, l -> sourceColl.insertOne(createDoc((int) counter.getAndIncrement())));
+        vertx.setPeriodic(100, timerId -> targetColl.countDocuments().onSuccess(count -> {
+          if (count < 3)
+            return;
+          vertx.cancelTimer(timerId);
+          vertx.cancelTimer(insertTimerId);
+          view.stop()
+            .compose(v -> targetColl.find().first())
+            .compose(doc -> {
+              assertEquals(new HashSet<>(Arrays.asList("_id", "counter")), doc.fieldNames());
+              MaterializedViewStats stats = view.getStats();
+              assertTrue(stats.getWrites() >= 3);
+              assertEquals(0, stats.getPendingWrites());
+              assertNotNull(stats.getResumeToken());
+              return mongoDatabase.getCollection(checkpoints).find(new JsonObject().put("_id", "view")).first()
+                .map(checkpoint -> {
+                  assertEquals(stats.getResumeToken(), checkpoint.getJsonObject("resumeToken"));
+                  return checkpoint;
+                });
+            })
+            .onComplete(onSuccess(checkpoint -> testComplete()));
+        }));
+      }));
+    await();
+  }
+
 //  private void upsertDoc(String collection, JsonObject docToInsert, String expectedId, Consumer<JsonObject> doneFunction) {
 //    JsonObject insertStatement = new JsonObject()
 //      .put("$setOnInsert", docToInsert);
@@ -1,23 +1,62 @@
 package io.vertx.ext.mongo;
 
+import com.mongodb.MongoException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
 import com.mongodb.WriteConcern;
 import com.mongodb.client.model.CollationStrength;
 import com.mongodb.client.model.ReturnDocument;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.mongo.MongoCursor;
+import io.vertx.mongo.Pipeline;
 import io.vertx.mongo.bulk.BulkWriteResult;
 import io.vertx.mongo.bulk.BulkWriteUpsert;
+import io.vertx.mongo.client.AggregateOptions;
+import io.vertx.mongo.client.CircuitBreakerOpenException;
+import io.vertx.mongo.client.CircuitBreakerOptions;
+import io.vertx.mongo.client.CircuitState;
+import io.vertx.mongo.client.ClientConfig;
+import io.vertx.mongo.client.ClientSession;
+import io.vertx.mongo.client.CompressionPolicy;
+import io.vertx.mongo.client.CompressionStats;
+import io.vertx.mongo.client.ConcurrencyLimitExceededException;
+import io.vertx.mongo.client.ConcurrencyLimitOptions;
+import io.vertx.mongo.client.ConcurrencyLimitStats;
+import io.vertx.mongo.client.DataFormat;
+import io.vertx.mongo.client.ExportOptions;
 import io.vertx.mongo.client.FindOptions;
+import io.vertx.mongo.client.HedgeOptions;
+import io.vertx.mongo.client.ImportOptions;
+import io.vertx.mongo.client.IndexAdvice;
+import io.vertx.mongo.client.IndexAdvisorOptions;
+import io.vertx.mongo.client.IndexRollout;
+import io.vertx.mongo.client.IndexRolloutOptions;
+import io.vertx.mongo.client.MaterializationJob;
+import io.vertx.mongo.client.MaterializationOptions;
 import io.vertx.mongo.client.MongoClient;
 import io.vertx.mongo.client.MongoCollection;
 import io.vertx.mongo.client.MongoDatabase;
+import io.vertx.mongo.client.PreparedFind;
+import io.vertx.mongo.client.impl.HedgedMongoCollectionImpl;
 import io.vertx.mongo.client.model.*;
 import io.vertx.mongo.client.result.InsertOneResult;
+import io.vertx.mongo.codec.ExtendedJsonTranscoder;
 import io.vertx.mongo.impl.codec.json.JsonObjectCodec;
+import io.vertx.mongo.service.MongoService;
+import io.vertx.mongo.service.MongoServiceOptions;
 import io.vertx.test.core.TestUtils;
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.junit.Test;
 
@@ -25,7 +64,9 @@ import java.io.*;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.mongodb.WriteConcern.ACKNOWLEDGED;
@@ -2037,4 +2078,803 @@ public abstract class MongoClientTestBase extends MongoTestBase {
     }));
     await();
   }
+
+  @Test
+  public void testCursorNextBatch() {
+    String collection = randomCollection();
+    int prefetch = 10;
+    insertDocs(mongoClient, collection, 25, this::createDoc, onSuccess(res -> {
+      MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+      // driver batches smaller than the prefetch size: the cursor spans several of them
+      FindOptions options = new FindOptions().setSort(new JsonObject().put("counter", 1)).setBatchSize(4);
+      MongoCursor<JsonObject> cursor = coll.find(new JsonObject(), options).cursor(prefetch);
+      List<Integer> counters = new ArrayList<>();
+      drainCursor(cursor, prefetch, counters).onComplete(onSuccess(v -> {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 25; i++)
+          expected.add(i);
+        assertEquals(expected, counters);
+        assertTrue(cursor.isExhausted());
+        cursor.nextBatch().onComplete(onSuccess(batch -> {
+          assertTrue(batch.isEmpty());
+          testComplete();
+        }));
+      }));
+    }));
+    await();
+  }
+
+  private Future<Void> drainCursor(MongoCursor<JsonObject> cursor, int prefetch, List<Integer> counters) {
+    return cursor.nextBatch().compose(batch -> {
+      if (batch.isEmpty())
+        return Future.succeededFuture();
+      assertTrue(batch.size() <= prefetch);
+      batch.forEach(doc -> counters.add(doc.getInteger("counter")));
+      return drainCursor(cursor, prefetch, counters);
+    });
+  }
+
+  @Test
+  public void testCursorNext() {
+    String collection = randomCollection();
+    insertDocs(mongoClient, collection, 7, this::createDoc, onSuccess(res -> {
+      MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+      FindOptions options = new FindOptions().setSort(new JsonObject().put("counter", 1)).setBatchSize(2);
+      MongoCursor<JsonObject> cursor = coll.find(new JsonObject(), options).cursor(3);
+      List<Integer> counters = new ArrayList<>();
+      nextUntilExhausted(cursor, counters).onComplete(onSuccess(v -> {
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), counters);
+        assertTrue(cursor.isExhausted());
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  private Future<Void> nextUntilExhausted(MongoCursor<JsonObject> cursor, List<Integer> counters) {
+    return cursor.next().compose(doc -> {
+      if (doc == null)
+        return Future.succeededFuture();
+      counters.add(doc.getInteger("counter"));
+      return nextUntilExhausted(cursor, counters);
+    });
+  }
+
+  @Test
+  public void testCursorCloseMidStream() {
+    String collection = randomCollection();
+    insertDocs(mongoClient, collection, 25, this::createDoc, onSuccess(res -> {
+      MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+      MongoCursor<JsonObject> cursor = coll.find(new JsonObject(), new FindOptions().setBatchSize(5)).cursor(5);
+      cursor.nextBatch()
+        .compose(batch -> {
+          assertFalse(batch.isEmpty());
+          assertTrue(batch.size() <= 5);
+          assertFalse(cursor.isExhausted());
+          cursor.close();
+          return cursor.nextBatch();
+        })
+        .compose(batch -> {
+          // the items fetched ahead are discarded
+          assertTrue(batch.isEmpty());
+          assertTrue(cursor.isExhausted());
+          return cursor.next();
+        })
+        .onComplete(onSuccess(doc -> {
+          assertNull(doc);
+          testComplete();
+        }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testCursorPrefetchMustBePositive() {
+    MongoCollection<JsonObject> coll = mongoDatabase.getCollection(randomCollection());
+    try {
+      coll.find().cursor(0);
+      fail("expected an exception");
+    } catch (IllegalArgumentException ignore) {
+    }
+  }
+
+  @Test
+  public void testPaginate() {
+    String collection = randomCollection();
+    int numDocs = 25;
+    insertDocs(mongoClient, collection, numDocs, this::createDoc, onSuccess(res -> {
+      MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+      JsonObject sort = new JsonObject().put("counter", -1);
+      coll.createIndex(new JsonObject().put("counter", -1).put("_id", -1)).onComplete(onSuccess(index -> {
+        List<Integer> counters = new ArrayList<>();
+        coll.paginate(new JsonObject(), sort, 10)
+          .compose(page1 -> {
+            assertEquals(10, page1.getItems().size());
+            assertTrue(page1.hasNext());
+            page1.getItems().forEach(doc -> counters.add(doc.getInteger("counter")));
+            return coll.paginate(new JsonObject(), sort, 10, page1.getContinuationToken());
+          })
+          .compose(page2 -> {
+            assertEquals(10, page2.getItems().size());
+            page2.getItems().forEach(doc -> counters.add(doc.getInteger("counter")));
+            return coll.paginate(new JsonObject(), sort, 10, page2.getContinuationToken());
+          })
+          .onComplete(onSuccess(page3 -> {
+            assertEquals(5, page3.getItems().size());
+            assertFalse(page3.hasNext());
+            page3.getItems().forEach(doc -> counters.add(doc.getInteger("counter")));
+            List<Integer> expected = new ArrayList<>();
+            for (int i = numDocs - 1; i >= 0; i--)
+              expected.add(i);
+            assertEquals(expected, counters);
+            testComplete();
+          }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testPaginateWithoutIndex() {
+    String collection = randomCollection();
+    insertDocs(mongoClient, collection, 3, this::createDoc, onSuccess(res -> {
+      MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+      coll.paginate(new JsonObject(), new JsonObject().put("counter", 1), 10, onFailure(ex -> {
+        assertTrue(ex instanceof IllegalStateException);
+        testComplete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testPaginateWithNullSortKeys() {
+    String collection = randomCollection();
+    MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+    List<JsonObject> docs = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      JsonObject doc = new JsonObject().put("i", i);
+      // missing and null ranks sort first
+      if (i % 4 == 1)
+        doc.putNull("rank");
+      else if (i % 4 == 2)
+        doc.put("rank", i);
+      else if (i % 4 == 3)
+        doc.put("rank", 10 - i);
+      docs.add(doc);
+    }
+    coll.insertMany(docs)
+      .compose(res -> coll.createIndex(new JsonObject().put("rank", 1).put("_id", 1)))
+      .compose(index -> paginateAll(coll, new JsonObject().put("rank", 1), null, new ArrayList<>()))
+      .compose(ascending -> {
+        assertEquals(8, ascending.size());
+        assertEquals(8, ascending.stream().map(doc -> doc.getValue("_id")).distinct().count());
+        assertEquals(Arrays.asList(null, null, null, null, 2, 3, 6, 7), ascending.stream().map(doc -> doc.getInteger("rank")).collect(Collectors.toList()));
+        return paginateAll(coll, new JsonObject().put("rank", -1), null, new ArrayList<>());
+      })
+      .onComplete(onSuccess(descending -> {
+        assertEquals(8, descending.size());
+        assertEquals(8, descending.stream().map(doc -> doc.getValue("_id")).distinct().count());
+        assertEquals(Arrays.asList(7, 6, 3, 2, null, null, null, null), descending.stream().map(doc -> doc.getInteger("rank")).collect(Collectors.toList()));
+        testComplete();
+      }));
+    await();
+  }
+
+  private Future<List<JsonObject>> paginateAll(MongoCollection<JsonObject> coll, JsonObject sort, String continuationToken, List<JsonObject> items) {
+    // pages of 3 documents, so that page boundaries fall between null keys
+    return coll.paginate(new JsonObject(), sort, 3, continuationToken).compose(page -> {
+      items.addAll(page.getItems());
+      return page.hasNext() ? paginateAll(coll, sort, page.getContinuationToken(), items) : Future.succeededFuture(items);
+    });
+  }
+
+  @Test
+  public void testPaginateChecksTheWholeSort() {
+    String collection = randomCollection();
+    insertDocs(mongoClient, collection, 3, this::createDoc, onSuccess(res -> {
+      MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+      JsonObject sort = new JsonObject().put("counter", 1);
+      coll.createIndex(new JsonObject().put("counter", 1)).onComplete(onSuccess(index -> {
+        // the _id added as a tie-breaker must be indexed too
+        coll.paginate(new JsonObject(), sort, 10, onFailure(ex -> {
+          assertTrue(ex instanceof IllegalStateException);
+          coll.createIndex(new JsonObject().put("counter", 1).put("_id", 1))
+            .compose(index2 -> coll.paginate(new JsonObject(), sort, 10))
+            .onComplete(onSuccess(page -> {
+              assertEquals(3, page.getItems().size());
+              coll.paginate(new JsonObject(), sort.copy().put("_id", 1).put("num", 1), 10, onFailure(ex2 -> {
+                assertTrue(ex2 instanceof IllegalStateException);
+                testComplete();
+              }));
+            }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testWithTransactionCommits() {
+    String collection = randomCollection();
+    MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+    // collections cannot be created in a transaction
+    mongoDatabase.createCollection(collection)
+      .compose(v -> mongoClient.withTransaction(session -> coll.insertOne(session, createDoc(1))
+        .compose(res -> coll.insertOne(session, createDoc(2)))
+        .map("done")))
+      .compose(result -> {
+        assertEquals("done", result);
+        return coll.countDocuments();
+      })
+      .onComplete(onSuccess(count -> {
+        assertEquals(2, (long) count);
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testWithTransactionAbortsOnFailure() {
+    String collection = randomCollection();
+    MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+    IllegalStateException failure = new IllegalStateException("expected");
+    AtomicInteger attempts = new AtomicInteger();
+    mongoDatabase.createCollection(collection)
+      .compose(v -> mongoClient.<Void>withTransaction(session -> {
+        attempts.incrementAndGet();
+        return coll.insertOne(session, createDoc(1)).compose(res -> Future.failedFuture(failure));
+      }))
+      .onComplete(onFailure(ex -> {
+        // errors without the TransientTransactionError label are not retried
+        assertSame(failure, ex);
+        assertEquals(1, attempts.get());
+        coll.countDocuments().onComplete(onSuccess(count -> {
+          assertEquals(0, (long) count);
+          testComplete();
+        }));
+      }));
+    await();
+  }
+
+  @Test
+  public void testWithTransactionRetriesTransientErrors() {
+    String collection = randomCollection();
+    MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+    AtomicInteger attempts = new AtomicInteger();
+    mongoDatabase.createCollection(collection)
+      .compose(v -> mongoClient.withTransaction(session -> coll.insertOne(session, createDoc(attempts.get()))
+        .compose(res -> {
+          if (attempts.incrementAndGet() < 3) {
+            MongoException conflict = new MongoException("write conflict");
+            conflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+            return Future.failedFuture(conflict);
+          }
+          return Future.succeededFuture(attempts.get());
+        })))
+      .compose(result -> {
+        assertEquals(3, (int) result);
+        return coll.find().all();
+      })
+      .onComplete(onSuccess(docs -> {
+        // the inserts of the failed attempts have been aborted
+        assertEquals(1, docs.size());
+        assertEquals(2, (int) docs.get(0).getInteger("counter"));
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testWithTransactionReusesSessions() {
+    String collection = randomCollection();
+    MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+    List<ClientSession> sessions = new ArrayList<>();
+    Function<ClientSession, Future<InsertOneResult>> body = session -> {
+      sessions.add(session);
+      return coll.insertOne(session, createDoc());
+    };
+    mongoDatabase.createCollection(collection)
+      .compose(v -> mongoClient.withTransaction(body))
+      .compose(res -> mongoClient.withTransaction(body))
+      .onComplete(onSuccess(res -> {
+        assertEquals(2, sessions.size());
+        assertSame(sessions.get(0), sessions.get(1));
+        assertFalse(sessions.get(1).hasActiveTransaction());
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testWithTransactionWithoutSessionPool() {
+    String collection = randomCollection();
+    MongoClient client = MongoClient.create(vertx, getConfig().setSessionPoolSize(0));
+    MongoCollection<JsonObject> coll = client.getDatabase(getDatabaseName()).getCollection(collection);
+    List<ClientSession> sessions = new ArrayList<>();
+    Function<ClientSession, Future<InsertOneResult>> body = session -> {
+      sessions.add(session);
+      return coll.insertOne(session, createDoc());
+    };
+    mongoDatabase.createCollection(collection)
+      .compose(v -> client.withTransaction(body))
+      .compose(res -> client.withTransaction(body))
+      .onComplete(onSuccess(res -> {
+        assertEquals(2, sessions.size());
+        assertNotSame(sessions.get(0), sessions.get(1));
+        client.close();
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testCompressionStats() {
+    MongoClient client = MongoClient.create(vertx, getConfig()
+      .setCompressionPolicy(CompressionPolicy.of(CompressionPolicy.ZLIB))
+      .setCompressionStatsEnabled(true));
+    MongoCollection<JsonObject> coll = client.getDatabase(getDatabaseName()).getCollection(randomCollection());
+    // a repetitive document compresses well
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 1000; i++)
+      text.append("compressible ");
+    JsonObject doc = new JsonObject().put("text", text.toString());
+    assertTrue(client.getCompressionStats().isEmpty());
+    coll.insertOne(doc)
+      .compose(res -> coll.find().first())
+      .onComplete(onSuccess(found -> {
+        assertEquals(text.toString(), found.getString("text"));
+        Map<String, CompressionStats> stats = client.getCompressionStats();
+        CompressionStats insert = stats.get("insert");
+        assertNotNull(insert);
+        assertEquals(1, insert.getCount());
+        assertTrue(insert.getCompressedBytesSent() < insert.getUncompressedBytesSent());
+        assertTrue(insert.getUncompressedBytesSent() > text.length());
+        CompressionStats find = stats.get("find");
+        assertNotNull(find);
+        assertEquals(1, find.getCount());
+        assertTrue(find.getCompressedBytesReceived() < find.getUncompressedBytesReceived());
+        assertTrue(find.getUncompressedBytesReceived() > text.length());
+        assertTrue(find.getCompressionRatio() > 1);
+        client.close();
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testWrappersAreCached() {
+    String collection = randomCollection();
+    assertSame(mongoClient.getDatabase(getDatabaseName()), mongoClient.getDatabase(getDatabaseName()));
+    MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+    assertSame(coll, mongoDatabase.getCollection(collection));
+    assertSame(coll, mongoDatabase.getCollection(collection, JsonObject.class));
+    assertNotSame(coll, mongoDatabase.getCollection(collection, String.class));
+    assertSame(coll.withWriteConcern(UNACKNOWLEDGED), coll.withWriteConcern(UNACKNOWLEDGED));
+    assertEquals(UNACKNOWLEDGED, coll.withWriteConcern(UNACKNOWLEDGED).getWriteConcern());
+    assertSame(mongoDatabase.withWriteConcern(ACKNOWLEDGED), mongoDatabase.withWriteConcern(ACKNOWLEDGED));
+  }
+
+  @Test
+  public void testHedgedReads() {
+    String collection = randomCollection();
+    int numDocs = 10;
+    insertDocs(mongoClient, collection, numDocs, this::createDoc, onSuccess(res -> {
+      // hedges every read that does not answer within a millisecond
+      MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection)
+        .withHedgedReads(new HedgeOptions().setMinDelay(1).setMaxDelay(1).setReadPreference(ReadPreference.nearest()));
+      coll.find(new JsonObject(), new FindOptions().setSort(new JsonObject().put("counter", 1))).all(onSuccess(docs -> {
+        assertEquals(numDocs, docs.size());
+        for (int i = 0; i < numDocs; i++)
+          assertEquals(i, (int) docs.get(i).getInteger("counter"));
+        coll.countDocuments(new JsonObject(), onSuccess(count -> {
+          assertEquals(numDocs, (long) count);
+          coll.find().first(onSuccess(doc -> {
+            assertNotNull(doc);
+            testComplete();
+          }));
+        }));
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testHedgedReadsOfDerivedCollections() {
+    MongoCollection<JsonObject> coll = mongoDatabase.getCollection(randomCollection());
+    HedgeOptions options = new HedgeOptions().setReadPreference(ReadPreference.nearest());
+    MongoCollection<JsonObject> hedged = coll.withHedgedReads(options);
+    assertTrue(hedged instanceof HedgedMongoCollectionImpl);
+    // the same options share the hedge policy
+    assertSame(hedged, coll.withHedgedReads(new HedgeOptions(options)));
+    assertNotSame(hedged, coll.withHedgedReads(new HedgeOptions(options).setMaxDelay(100)));
+    // derived collections are hedged too
+    assertTrue(hedged.withReadPreference(ReadPreference.primaryPreferred()) instanceof HedgedMongoCollectionImpl);
+    assertTrue(hedged.withReadConcern(ReadConcern.MAJORITY) instanceof HedgedMongoCollectionImpl);
+    assertTrue(hedged.withWriteConcern(WriteConcern.MAJORITY) instanceof HedgedMongoCollectionImpl);
+    assertTrue(hedged.withDocumentClass(Document.class) instanceof HedgedMongoCollectionImpl);
+    assertTrue(hedged.withConcurrencyLimit(new ConcurrencyLimitOptions()) instanceof HedgedMongoCollectionImpl);
+    assertFalse(coll.withReadPreference(ReadPreference.primaryPreferred()) instanceof HedgedMongoCollectionImpl);
+  }
+
+  @Test
+  public void testConcurrencyLimit() throws Exception {
+    String collection = randomCollection();
+    MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection)
+      .withConcurrencyLimit(new ConcurrencyLimitOptions().setMaxConcurrency(1).setMaxQueueSize(1));
+    // the first insert runs, the second one is queued and the third one is rejected
+    CountDownLatch latch = new CountDownLatch(2);
+    coll.insertOne(createDoc(), onSuccess(res -> latch.countDown()));
+    coll.insertOne(createDoc(), onSuccess(res -> latch.countDown()));
+    coll.insertOne(createDoc(), onFailure(ex -> {
+      assertTrue(ex instanceof ConcurrencyLimitExceededException);
+      assertEquals(1, ((ConcurrencyLimitExceededException) ex).getQueueSize());
+    }));
+    awaitLatch(latch);
+    coll.countDocuments(onSuccess(count -> {
+      assertEquals(2, (long) count);
+      ConcurrencyLimitStats stats = coll.getConcurrencyLimitStats();
+      assertEquals(3, stats.getStarted());
+      assertEquals(1, stats.getRejected());
+      assertEquals(1, stats.getQueuedOperations());
+      assertNull(mongoDatabase.getCollection(collection).getConcurrencyLimitStats());
+      testComplete();
+    }));
+    await();
+  }
+
+  @Test
+  public void testCircuitBreaker() {
+    // no server listens: server selection times out, which opens the circuit of the collection
+    ClientConfig config = new ClientConfig()
+      .setConnectionString("mongodb://localhost:1/?serverSelectionTimeoutMS=100")
+      .setCircuitBreakerOptions(new CircuitBreakerOptions().setMinimumCalls(1).setOpenDuration(60000));
+    MongoClient client = MongoClient.create(vertx, config);
+    MongoCollection<JsonObject> coll = client.getDatabase("db").getCollection("coll");
+    waitFor(2);
+    vertx.eventBus().<JsonObject>consumer(CircuitBreakerOptions.DEFAULT_NOTIFICATION_ADDRESS, msg -> {
+      assertEquals("db.coll", msg.body().getString("name"));
+      assertEquals("collection", msg.body().getString("type"));
+      assertEquals(CircuitState.OPEN.name(), msg.body().getString("state"));
+      complete();
+    });
+    coll.countDocuments(onFailure(ex -> {
+      assertTrue(ex instanceof MongoTimeoutException);
+      coll.countDocuments(onFailure(ex2 -> {
+        assertTrue(ex2 instanceof CircuitBreakerOpenException);
+        assertEquals(CircuitState.OPEN, ((CircuitBreakerOpenException) ex2).getState());
+        client.close();
+        complete();
+      }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testMongoService() {
+    String collection = randomCollection();
+    // clustered stand-in: the service and its proxy run on two nodes of a fake cluster
+    startNodes(2);
+    MongoClient serviceClient = MongoClient.create(vertices[0], getConfig());
+    MessageConsumer<Object> consumer = MongoService.register(vertices[0], serviceClient.getDatabase(getDatabaseName()), new MongoServiceOptions());
+    // a chunk per document
+    MongoService proxy = MongoService.createProxy(vertices[1], new MongoServiceOptions().setMaxChunkSize(1).setUseObjectIds(true));
+    List<JsonObject> docs = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      docs.add(new JsonObject().put("counter", i));
+    consumer.completionHandler(onSuccess(registered -> proxy.insert(collection, docs, onSuccess(ids -> {
+      assertEquals(10, ids.size());
+      List<JsonObject> found = new ArrayList<>();
+      ReadStream<JsonObject> stream = proxy.find(collection, new JsonObject(), new FindOptions().setSort(new JsonObject().put("counter", 1)));
+      stream.exceptionHandler(this::fail);
+      stream.endHandler(end -> {
+        assertEquals(10, found.size());
+        for (int i = 0; i < 10; i++) {
+          assertEquals(i, (int) found.get(i).getInteger("counter"));
+          assertEquals(ids.get(i), found.get(i).getValue("_id"));
+        }
+        JsonArray pipeline = new JsonArray().add(new JsonObject().put("$match", new JsonObject().put("counter", new JsonObject().put("$gte", 5))));
+        List<JsonObject> matched = new ArrayList<>();
+        ReadStream<JsonObject> aggregated = proxy.aggregate(collection, pipeline);
+        aggregated.exceptionHandler(this::fail);
+        aggregated.endHandler(end2 -> {
+          assertEquals(5, matched.size());
+          serviceClient.close();
+          testComplete();
+        });
+        // one document at a time: the next chunk is acknowledged once the previous one is consumed
+        aggregated.pause();
+        aggregated.handler(doc -> {
+          matched.add(doc);
+          aggregated.fetch(1);
+        });
+        aggregated.fetch(1);
+      });
+      stream.handler(found::add);
+    }))));
+    await();
+  }
+
+  @Test
+  public void testRawStream() {
+    String collection = randomCollection();
+    int numDocs = 10;
+    insertDocs(mongoClient, collection, numDocs, this::createDoc, onSuccess(res -> {
+      MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+      List<Buffer> docs = new ArrayList<>();
+      ReadStream<Buffer> stream = coll.find(new JsonObject(), new FindOptions().setSort(new JsonObject().put("counter", 1))).rawStream();
+      stream.exceptionHandler(this::fail);
+      stream.endHandler(end -> {
+        assertEquals(numDocs, docs.size());
+        ExtendedJsonTranscoder relaxed = ExtendedJsonTranscoder.relaxed();
+        for (int i = 0; i < numDocs; i++)
+          assertEquals(i, (int) new JsonObject(relaxed.toJson(docs.get(i))).getInteger("counter"));
+        JsonObject canonical = new JsonObject(ExtendedJsonTranscoder.canonical().toJson(docs.get(1)));
+        assertEquals("1", canonical.getJsonObject("counter").getString("$numberInt"));
+        testComplete();
+      });
+      stream.handler(docs::add);
+    }));
+    await();
+  }
+
+  @Test
+  public void testExportImport() throws Exception {
+    String collection = randomCollection();
+    String target = randomCollection();
+    int numDocs = 25;
+    String ndjson = File.createTempFile("export", ".ndjson").getAbsolutePath();
+    String csv = File.createTempFile("export", ".csv").getAbsolutePath();
+    insertDocs(mongoClient, collection, numDocs, this::createDoc, onSuccess(res -> {
+      MongoCollection<JsonObject> coll = mongoDatabase.getCollection(collection);
+      ExportOptions exportOptions = new ExportOptions().setBatchSize(4).setParallelism(2);
+      vertx.fileSystem().open(ndjson, new OpenOptions())
+        .compose(file -> coll.exportTo(file, exportOptions))
+        .compose(exported -> {
+          assertEquals(numDocs, (long) exported);
+          return vertx.fileSystem().open(ndjson, new OpenOptions());
+        })
+        .compose(file -> mongoDatabase.getCollection(target).importFrom(file, new ImportOptions().setBatchSize(7)))
+        .compose(result -> {
+          assertEquals(numDocs, result.getDocuments());
+          assertEquals(numDocs, result.getInserted());
+          return mongoDatabase.getCollection(target).countDocuments(new JsonObject().put("counter", new JsonObject().put("$gte", 0)));
+        })
+        .compose(count -> {
+          assertEquals(numDocs, (long) count);
+          ExportOptions csvOptions = new ExportOptions().setFormat(DataFormat.CSV)
+            .setFields(Arrays.asList("counter", "missing"))
+            .setSort(new JsonObject().put("counter", 1));
+          return vertx.fileSystem().open(csv, new OpenOptions()).compose(file -> coll.exportTo(file, csvOptions));
+        })
+        .compose(exported -> vertx.fileSystem().readFile(csv))
+        .onComplete(onSuccess(content -> {
+          String[] lines = content.toString().split("\n");
+          assertEquals(numDocs + 1, lines.length);
+          assertEquals("counter,missing", lines[0]);
+          assertEquals("3,", lines[4]);
+          testComplete();
+        }));
+    }));
+    await();
+  }
+
+  @Test
+  public void testIndexAdvisor() {
+    String collection = randomCollection();
+    MongoClient client = MongoClient.create(vertx, getConfig().setIndexAdvisorOptions(new IndexAdvisorOptions()));
+    MongoCollection<JsonObject> coll = client.getDatabase(getDatabaseName()).getCollection(collection);
+    JsonObject filter = new JsonObject().put("foo", "bar1").put("num", new JsonObject().put("$gt", 100));
+    FindOptions options = new FindOptions().setSort(new JsonObject().put("counter", -1));
+    coll.insertOne(createDoc(1))
+      .compose(res -> coll.createIndex(new JsonObject().put("foo", 1)))
+      .compose(res -> coll.find(filter, options).all())
+      .compose(res -> coll.find(new JsonObject().put("foo", "bar2"), options).all())
+      .compose(res -> coll.find(new JsonObject().put("foo", "bar3")).all())
+      .compose(res -> coll.adviseIndexes())
+      .compose(advice -> {
+        // {foo: 1} supports the third query, the second shape is a prefix of the first one
+        assertEquals(2, advice.size());
+        for (IndexAdvice item : advice) {
+          assertEquals("foo_1", item.getPartialIndex());
+          assertEquals(1, item.getExecutions());
+        }
+        return coll.suggestIndexes();
+      })
+      .onComplete(onSuccess(indexes -> {
+        assertEquals(1, indexes.size());
+        assertEquals(new JsonObject().put("foo", 1).put("counter", -1).put("num", 1), indexes.get(0).getKeys());
+        client.close();
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testIndexAdvisorCoveredQueries() {
+    String collection = randomCollection();
+    MongoClient client = MongoClient.create(vertx, getConfig().setIndexAdvisorOptions(new IndexAdvisorOptions().setCoveredQueries(true)));
+    MongoCollection<JsonObject> coll = client.getDatabase(getDatabaseName()).getCollection(collection);
+    JsonObject filter = new JsonObject().put("foo", "bar1");
+    FindOptions options = new FindOptions().setProjection(new JsonObject().put("num", 1).put("_id", 0));
+    coll.insertOne(createDoc(1))
+      .compose(res -> coll.createIndex(new JsonObject().put("foo", 1)))
+      .compose(res -> coll.find(filter, options).all())
+      .compose(res -> coll.adviseIndexes())
+      .compose(advice -> {
+        // {foo: 1} supports the query but does not cover its projection
+        assertEquals(1, advice.size());
+        assertTrue(advice.get(0).isSupported());
+        assertEquals("foo_1", advice.get(0).getPartialIndex());
+        assertEquals(Collections.singletonList("num"), advice.get(0).getProjectedFields());
+        return coll.createIndex(advice.get(0).getSuggestedIndex().getKeys());
+      })
+      .compose(res -> coll.adviseIndexes())
+      .onComplete(onSuccess(advice -> {
+        assertTrue(advice.isEmpty());
+        client.close();
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testIndexRollout() {
+    List<String> collections = Arrays.asList(randomCollection(), randomCollection(), randomCollection());
+    IndexRolloutOptions options = new IndexRolloutOptions()
+      .setMaxConcurrentBuilds(2)
+      .setCheckpointDatabase(getDatabaseName())
+      .setCheckpointCollection(randomCollection());
+    String id = TestUtils.randomAlphaString(10);
+    List<IndexModel> indexes = Collections.singletonList(new IndexModel(new JsonObject().put("counter", 1)));
+    IndexRollout rollout = IndexRollout.create(vertx, mongoClient, id, options);
+    for (String collection : collections)
+      rollout.add(getDatabaseName(), collection, indexes);
+    rollout.run()
+      .compose(progress -> {
+        assertEquals(3, progress.getCompleted());
+        assertEquals(0, progress.getSkipped());
+        assertTrue(progress.getFailed().isEmpty());
+        return mongoDatabase.getCollection(collections.get(2)).listIndexes().all();
+      })
+      .compose(listed -> {
+        assertTrue(listed.stream().anyMatch(index -> index.getString("name").equals("counter_1")));
+        // the same rollout run again, as after a restart
+        IndexRollout resumed = IndexRollout.create(vertx, mongoClient, id, options);
+        for (String collection : collections)
+          resumed.add(getDatabaseName(), collection, indexes);
+        return resumed.run();
+      })
+      .onComplete(onSuccess(progress -> {
+        assertEquals(3, progress.getSkipped());
+        assertEquals(0, progress.getCompleted());
+        assertEquals(0, progress.getPending());
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testPipeline() {
+    MongoCollection<JsonObject> coll = mongoDatabase.getCollection(randomCollection());
+    List<JsonObject> docs = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      docs.add(createDoc(i));
+    Pipeline pipeline = Pipeline.builder()
+      .match(new JsonObject().put("counter", new JsonObject().put("$gte", Pipeline.param("min"))).put("num", 123))
+      .sort(new JsonObject().put("counter", 1))
+      .limit("n")
+      .project(new JsonObject().put("_id", 0).put("counter", 1))
+      .build();
+    assertEquals(new HashSet<>(Arrays.asList("min", "n")), pipeline.getParameters());
+    try {
+      coll.aggregate(pipeline, new JsonObject().put("min", 3));
+      fail();
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    coll.insertMany(docs)
+      .compose(res -> coll.aggregate(pipeline, new JsonObject().put("min", 3).put("n", 4)).all())
+      .compose(res -> {
+        assertEquals(Arrays.asList(3, 4, 5, 6), res.stream().map(doc -> doc.getInteger("counter")).collect(Collectors.toList()));
+        return coll.aggregate(pipeline, new JsonObject().put("min", 8).put("n", 4), new AggregateOptions().setBatchSize(1)).all();
+      })
+      .onComplete(onSuccess(res -> {
+        assertEquals(Arrays.asList(8, 9), res.stream().map(doc -> doc.getInteger("counter")).collect(Collectors.toList()));
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testPreparedFind() {
+    MongoCollection<JsonObject> coll = mongoDatabase.getCollection(randomCollection());
+    List<JsonObject> docs = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      docs.add(createDoc(i));
+    FindOptions options = new FindOptions()
+      .setProjection(new JsonObject().put("_id", 0).put("counter", 1))
+      .setSort(new JsonObject().put("counter", PreparedFind.param("order")))
+      .setLimit(3);
+    PreparedFind<JsonObject> find = coll.prepare(new JsonObject().put("counter", new JsonObject().put("$lt", PreparedFind.param("max"))), options);
+    assertEquals(new HashSet<>(Arrays.asList("max", "order")), find.getParameters());
+    coll.insertMany(docs)
+      .compose(res -> find.find(new JsonObject().put("max", 5).put("order", -1)).all())
+      .compose(res -> {
+        assertEquals(Arrays.asList(4, 3, 2), res.stream().map(doc -> doc.getInteger("counter")).collect(Collectors.toList()));
+        return find.find(new JsonObject().put("max", 2).put("order", 1)).all();
+      })
+      .onComplete(onSuccess(res -> {
+        assertEquals(Arrays.asList(0, 1), res.stream().map(doc -> doc.getInteger("counter")).collect(Collectors.toList()));
+        assertEquals(Collections.singleton("counter"), res.get(0).fieldNames());
+        testComplete();
+      }));
+    await();
+  }
+
+  @Test
+  public void testPreparedFindById() {
+    MongoCollection<JsonObject> coll = mongoDatabase.getCollection(randomCollection());
+    PreparedFind<JsonObject> find = coll.prepare(new JsonObject().put("_id", PreparedFind.param("id")), new FindOptions());
+    coll.insertOne(createDoc(1))
+      .compose(res -> {
+        // bound as the _id of the filters of find
+        Object id = resultToId(res);
+        return coll.find(idFilter(id)).all()
+          .compose(expected -> find.find(new JsonObject().put("id", id)).all().map(found -> {
+            assertEquals(1, expected.size());
+            assertEquals(expected, found);
+            return found;
+          }));
+      })
+      .onComplete(onSuccess(res -> testComplete()));
+    await();
+  }
+
+  @Test
+  public void testMaterializationJob() {
+    String source = randomCollection();
+    String target = randomCollection();
+    List<JsonObject> docs = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      docs.add(createDoc(i));
+    JsonArray pipeline = new JsonArray()
+      .add(new JsonObject().put("$project", new JsonObject().put("counter", 1).put("date", 1)))
+      .add(new JsonObject().put("$merge", new JsonObject().put("into", target)));
+    MaterializationJob job = MaterializationJob.create(vertx, mongoClient, getDatabaseName(), source, pipeline,
+      new MaterializationOptions().setTimestampField("date").setMaxTime(60000L));
+    MongoCollection<JsonObject> sourceColl = mongoDatabase.getCollection(source);
+    MongoCollection<JsonObject> targetColl = mongoDatabase.getCollection(target);
+    sourceColl.insertMany(docs)
+      .compose(res -> job.run())
+      .compose(progress -> {
+        assertFalse(progress.isRunning());
+        assertNull(progress.getWindowStart());
+        assertEquals(progress.getWindowEnd(), progress.getWatermark());
+        JsonObject doc = createDoc(10).put("date", new JsonObject().put("$date", Instant.now().toString()));
+        return targetColl.countDocuments()
+          .compose(count -> {
+            assertEquals(10L, (long) count);
+            return sourceColl.insertOne(doc);
+          })
+          .compose(res -> sourceColl.updateMany(new JsonObject(), new JsonObject().put("$set", new JsonObject().put("counter", -1))))
+          .compose(res -> job.run())
+          .compose(next -> {
+            assertEquals(progress.getWatermark(), next.getWindowStart());
+            return targetColl.find(new JsonObject().put("counter", -1)).all();
+          });
+      })
+      .onComplete(onSuccess(res -> {
+        // only the document of the second window is materialized again
+        assertEquals(1, res.size());
+        try {
+          MaterializationJob.create(vertx, mongoClient, getDatabaseName(), source, new JsonArray(), new MaterializationOptions());
+          fail();
+        } catch (IllegalArgumentException e) {
+          // expected
+        }
+        testComplete();
+      }));
+    await();
+  }
 }
@@ -0,0 +1,82 @@
+package io.vertx.mongo.client;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.BlockingCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs 10k concurrent tasks against a local server using the blocking facade.
+ * Tasks run on virtual threads when the JVM supports them (Java 21+), otherwise on a bounded platform thread pool.
+ * Only the calling (virtual) threads are parked: event loops keep serving the driver callbacks.
+ */
+public class BlockingFacadeBenchmark {
+
+    private static final int TASKS = Integer.getInteger("tasks", 10_000);
+    private static final int PLATFORM_THREADS = 200;
+
+    public static void main(String[] args) throws Exception {
+        Vertx vertx = Vertx.vertx();
+        MongoClient mongoClient = MongoClient.create(vertx, new ClientConfig().useObjectIds(true));
+        ExecutorService executor = newExecutor();
+        try {
+            BlockingMongoCollection<JsonObject> collection = new BlockingMongoDatabase(mongoClient.getDatabase("vertx_mongo_benchmark"))
+                    .getCollection("blocking_facade");
+            collection.drop();
+            long start = System.nanoTime();
+            List<Future<Long>> latencies = new ArrayList<>(TASKS);
+            for (int i = 0; i < TASKS; i++) {
+                int task = i;
+                latencies.add(executor.submit(() -> {
+                    long taskStart = System.nanoTime();
+                    collection.insertOne(new JsonObject().put("task", task));
+                    collection.find(new JsonObject().put("task", task)).first();
+                    return System.nanoTime() - taskStart;
+                }));
+            }
+            long[] nanos = new long[TASKS];
+            for (int i = 0; i < TASKS; i++)
+                nanos[i] = latencies.get(i).get();
+            long elapsed = System.nanoTime() - start;
+            Arrays.sort(nanos);
+            System.out.printf("%d tasks in %d ms: %.0f tasks/s, p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                    TASKS,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    TASKS / (elapsed / 1e9),
+                    nanos[TASKS / 2] / 1e6,
+                    nanos[TASKS * 99 / 100] / 1e6,
+                    nanos[TASKS - 1] / 1e6);
+            long count = 0;
+            try (BlockingCursor<JsonObject> cursor = collection.find().iterator(64)) {
+                while (cursor.hasNext()) {
+                    cursor.next();
+                    count++;
+                }
+            }
+            System.out.println("documents read back with a cursor: " + count);
+            collection.drop();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+            mongoClient.close();
+            vertx.close();
+        }
+    }
+
+    private static ExecutorService newExecutor() {
+        try {
+            // Java 21+: the facade parks virtual threads only
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.out.println("virtual threads not available, using " + PLATFORM_THREADS + " platform threads");
+            return Executors.newFixedThreadPool(PLATFORM_THREADS);
+        }
+    }
+}
@@ -69,6 +69,13 @@ public class SimpleTest {
                     .onSuccess(res -> System.out.println("result is:" + res))
                     .onFailure(Throwable::printStackTrace);
 
+            // test transaction runner
+            mongoClient
+                    .withTransaction(session -> collection.insertOne(session, new JsonObject().put("foo", "baz")))
+                    .map(res -> "transaction result is: " + res)
+                    .onFailure(Throwable::printStackTrace)
+                    .onSuccess(System.out::println);
+
             // hang to wait for results
             synchronized (vertx) {
                 vertx.wait();
@@ -0,0 +1,329 @@
+package io.vertx.mongo.client.impl;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.AsyncCompletionHandler;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.connection.SocketSettings;
+import com.mongodb.connection.SslSettings;
+import com.mongodb.connection.Stream;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.vertx.mongo.client.CompressionStats;
+import org.bson.BsonDocument;
+import org.bson.ByteBuf;
+import org.bson.ByteBufNIO;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompressionStatsCollectorTest {
+
+    private static final int OP_COMPRESSED = 2012;
+    private static final int OP_MSG = 2013;
+    private static final byte ZLIB = 2;
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    /**
+     * Stream recording the written messages and serving the queued reads
+     */
+    private static class FakeStream implements Stream {
+
+        final List<List<ByteBuf>> written = new ArrayList<>();
+        final Queue<ByteBuf> reads = new ArrayDeque<>();
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void openAsync(AsyncCompletionHandler<Void> handler) {
+            handler.completed(null);
+        }
+
+        @Override
+        public void write(List<ByteBuf> buffers) {
+            written.add(buffers);
+        }
+
+        @Override
+        public ByteBuf read(int numBytes) {
+            return reads.remove();
+        }
+
+        @Override
+        public boolean supportsAdditionalTimeout() {
+            return false;
+        }
+
+        @Override
+        public ByteBuf read(int numBytes, int additionalTimeout) {
+            return reads.remove();
+        }
+
+        @Override
+        public void writeAsync(List<ByteBuf> buffers, AsyncCompletionHandler<Void> handler) {
+            written.add(buffers);
+            handler.completed(null);
+        }
+
+        @Override
+        public void readAsync(int numBytes, AsyncCompletionHandler<ByteBuf> handler) {
+            if (reads.isEmpty())
+                handler.failed(new IOException("connection closed"));
+            else
+                handler.completed(reads.remove());
+        }
+
+        @Override
+        public ServerAddress getAddress() {
+            return new ServerAddress();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean isClosed() {
+            return false;
+        }
+
+        @Override
+        public ByteBuf getBuffer(int size) {
+            return new ByteBufNIO(ByteBuffer.allocate(size));
+        }
+    }
+
+    private FakeStream fakeStream;
+    private CompressionStatsCollector collector;
+    private Stream stream;
+
+    @Before
+    public void setUp() {
+        fakeStream = new FakeStream();
+        collector = new CompressionStatsCollector((socketSettings, sslSettings) -> serverAddress -> fakeStream);
+        stream = collector.create(SocketSettings.builder().build(), SslSettings.builder().build()).create(new ServerAddress());
+    }
+
+    private static ByteBuffer header(int messageLength, int requestId, int responseTo, int opCode) {
+        ByteBuffer buffer = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(messageLength).putInt(requestId).putInt(responseTo).putInt(opCode);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return the body of an {@code OP_COMPRESSED} message, the compressed bytes being zeros
+     */
+    private static ByteBuffer compressedBody(int uncompressedSize, int compressedSize) {
+        ByteBuffer buffer = ByteBuffer.allocate(9 + compressedSize).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(OP_MSG).putInt(uncompressedSize).put(ZLIB);
+        buffer.position(buffer.limit());
+        buffer.flip();
+        return buffer;
+    }
+
+    private static ByteBuf buf(ByteBuffer buffer) {
+        return new ByteBufNIO(buffer);
+    }
+
+    /**
+     * @return the bytes of the buffers, split in buffers of the sizes
+     */
+    private static List<ByteBuf> split(int[] sizes, ByteBuffer... buffers) {
+        int length = 0;
+        for (ByteBuffer buffer : buffers)
+            length += buffer.remaining();
+        ByteBuffer all = ByteBuffer.allocate(length);
+        for (ByteBuffer buffer : buffers)
+            all.put(buffer.duplicate());
+        all.flip();
+        List<ByteBuf> result = new ArrayList<>();
+        for (int size : sizes) {
+            ByteBuffer slice = all.slice();
+            slice.limit(size);
+            all.position(all.position() + size);
+            result.add(buf(slice));
+        }
+        if (all.hasRemaining())
+            result.add(buf(all.slice()));
+        return result;
+    }
+
+    private void started(int requestId, String commandName) {
+        collector.commandStarted(new CommandStartedEvent(requestId, CONNECTION, "db", commandName, new BsonDocument()));
+    }
+
+    private void succeeded(int requestId, String commandName) {
+        collector.commandSucceeded(new CommandSucceededEvent(requestId, CONNECTION, commandName, new BsonDocument(), 0));
+    }
+
+    private void failed(int requestId, String commandName) {
+        collector.commandFailed(new CommandFailedEvent(requestId, CONNECTION, commandName, 0, new RuntimeException()));
+    }
+
+    private static <T> AsyncCompletionHandler<T> ignore() {
+        return new AsyncCompletionHandler<T>() {
+            @Override
+            public void completed(T t) {
+            }
+
+            @Override
+            public void failed(Throwable t) {
+                throw new AssertionError(t);
+            }
+        };
+    }
+
+    @Test
+    public void testCompressedRoundTrip() {
+        started(1, "find");
+        // the header of the request spans several buffers
+        stream.writeAsync(split(new int[]{6, 12}, header(16 + 9 + 40, 1, 0, OP_COMPRESSED), compressedBody(200, 40)), ignore());
+        fakeStream.reads.add(buf(header(16 + 9 + 100, 7, 1, OP_COMPRESSED)));
+        fakeStream.reads.add(buf(compressedBody(500, 100)));
+        stream.readAsync(16, ignore());
+        stream.readAsync(9 + 100, ignore());
+        succeeded(1, "find");
+        Map<String, CompressionStats> stats = collector.getStats();
+        assertEquals(Collections.singleton("find"), stats.keySet());
+        CompressionStats find = stats.get("find");
+        assertEquals(1, find.getCount());
+        assertEquals(65, find.getCompressedBytesSent());
+        assertEquals(216, find.getUncompressedBytesSent());
+        assertEquals(125, find.getCompressedBytesReceived());
+        assertEquals(516, find.getUncompressedBytesReceived());
+        assertTrue(find.getEncodingNanos() >= 0);
+        assertTrue(find.getDecodingNanos() >= 0);
+    }
+
+    @Test
+    public void testUncompressedRoundTrip() throws Exception {
+        started(1, "insert");
+        ByteBuffer body = ByteBuffer.allocate(84);
+        stream.write(Arrays.asList(buf(header(100, 1, 0, OP_MSG)), buf(body)));
+        fakeStream.reads.add(buf(header(50, 2, 1, OP_MSG)));
+        fakeStream.reads.add(buf(ByteBuffer.allocate(34)));
+        stream.read(16);
+        stream.read(34);
+        succeeded(1, "insert");
+        CompressionStats insert = collector.getStats().get("insert");
+        assertNotNull(insert);
+        assertEquals(1, insert.getCount());
+        assertEquals(100, insert.getCompressedBytesSent());
+        assertEquals(100, insert.getUncompressedBytesSent());
+        assertEquals(50, insert.getCompressedBytesReceived());
+        assertEquals(50, insert.getUncompressedBytesReceived());
+    }
+
+    @Test
+    public void testStatsAccumulatePerCommand() {
+        for (int requestId = 1; requestId <= 3; requestId++) {
+            started(requestId, "find");
+            stream.writeAsync(Arrays.asList(buf(header(16 + 9 + 10, requestId, 0, OP_COMPRESSED)), buf(compressedBody(30, 10))), ignore());
+            fakeStream.reads.add(buf(header(16 + 9 + 20, 100 + requestId, requestId, OP_COMPRESSED)));
+            fakeStream.reads.add(buf(compressedBody(60, 20)));
+            stream.readAsync(16, ignore());
+            stream.readAsync(9 + 20, ignore());
+            succeeded(requestId, "find");
+        }
+        CompressionStats find = collector.getStats().get("find");
+        assertEquals(3, find.getCount());
+        assertEquals(3 * 35, find.getCompressedBytesSent());
+        assertEquals(3 * 46, find.getUncompressedBytesSent());
+        assertEquals(3 * 45, find.getCompressedBytesReceived());
+        assertEquals(3 * 76, find.getUncompressedBytesReceived());
+    }
+
+    @Test
+    public void testFailedCommandWithoutReply() {
+        started(1, "find");
+        stream.writeAsync(Arrays.asList(buf(header(16 + 9 + 10, 1, 0, OP_COMPRESSED)), buf(compressedBody(30, 10))), ignore());
+        failed(1, "find");
+        CompressionStats find = collector.getStats().get("find");
+        assertEquals(1, find.getCount());
+        assertEquals(35, find.getCompressedBytesSent());
+        assertEquals(46, find.getUncompressedBytesSent());
+        assertEquals(0, find.getCompressedBytesReceived());
+        assertEquals(0, find.getUncompressedBytesReceived());
+        assertEquals(0, find.getDecodingNanos());
+    }
+
+    @Test
+    public void testMessagesOfUnknownCommandsAreIgnored() {
+        // e.g. the handshake and the heartbeats of the monitors, which have no command events
+        stream.writeAsync(Arrays.asList(buf(header(16 + 9 + 10, 1, 0, OP_COMPRESSED)), buf(compressedBody(30, 10))), ignore());
+        fakeStream.reads.add(buf(header(50, 2, 1, OP_MSG)));
+        fakeStream.reads.add(buf(ByteBuffer.allocate(34)));
+        stream.readAsync(16, ignore());
+        stream.readAsync(34, ignore());
+        assertTrue(collector.getStats().isEmpty());
+        // the stream expects a header again
+        started(3, "find");
+        stream.writeAsync(Arrays.asList(buf(header(100, 3, 0, OP_MSG)), buf(ByteBuffer.allocate(84))), ignore());
+        fakeStream.reads.add(buf(header(16 + 9 + 20, 4, 3, OP_COMPRESSED)));
+        fakeStream.reads.add(buf(compressedBody(60, 20)));
+        stream.readAsync(16, ignore());
+        stream.readAsync(9 + 20, ignore());
+        succeeded(3, "find");
+        CompressionStats find = collector.getStats().get("find");
+        assertEquals(1, find.getCount());
+        assertEquals(45, find.getCompressedBytesReceived());
+        assertEquals(76, find.getUncompressedBytesReceived());
+    }
+
+    @Test
+    public void testCommandNotSentIsNotCounted() {
+        started(1, "find");
+        succeeded(1, "find");
+        assertTrue(collector.getStats().isEmpty());
+    }
+
+    @Test
+    public void testReadsRestartAfterFailure() {
+        started(1, "find");
+        stream.writeAsync(Arrays.asList(buf(header(100, 1, 0, OP_MSG)), buf(ByteBuffer.allocate(84))), ignore());
+        fakeStream.reads.add(buf(header(50, 2, 1, OP_MSG)));
+        stream.readAsync(16, ignore());
+        // the read of the body fails: the next read is a header
+        stream.readAsync(34, new AsyncCompletionHandler<ByteBuf>() {
+            @Override
+            public void completed(ByteBuf byteBuf) {
+                throw new AssertionError();
+            }
+
+            @Override
+            public void failed(Throwable t) {
+            }
+        });
+        failed(1, "find");
+        started(3, "find");
+        stream.writeAsync(Arrays.asList(buf(header(100, 3, 0, OP_MSG)), buf(ByteBuffer.allocate(84))), ignore());
+        fakeStream.reads.add(buf(header(60, 4, 3, OP_MSG)));
+        fakeStream.reads.add(buf(ByteBuffer.allocate(44)));
+        stream.readAsync(16, ignore());
+        stream.readAsync(44, ignore());
+        succeeded(3, "find");
+        CompressionStats find = collector.getStats().get("find");
+        assertEquals(2, find.getCount());
+        assertEquals(60, find.getCompressedBytesReceived());
+    }
+}
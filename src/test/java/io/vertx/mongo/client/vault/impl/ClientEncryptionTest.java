@@ -0,0 +1,211 @@
+package io.vertx.mongo.client.vault.impl;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.model.vault.DataKeyOptions;
+import io.vertx.core.Future;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.client.ClientConfig;
+import io.vertx.mongo.client.model.vault.EncryptOptions;
+import io.vertx.mongo.impl.MongoClientContext;
+import io.vertx.mongo.impl.codec.json.JsonObjectCodec;
+import io.vertx.test.core.VertxTestBase;
+import org.bson.BsonArray;
+import org.bson.BsonBinary;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the encryption of the client over a fake driver, whose ciphertexts are the BSON of the values.
+ */
+public class ClientEncryptionTest extends VertxTestBase {
+
+    private static final String DETERMINISTIC = "AEAD_AES_256_CBC_HMAC_SHA_512-Deterministic";
+    private static final String RANDOM = "AEAD_AES_256_CBC_HMAC_SHA_512-Random";
+    private static final byte ENCRYPTED_SUBTYPE = 6;
+
+    private static class FakeDriverEncryption implements com.mongodb.reactivestreams.client.vault.ClientEncryption {
+
+        private final AtomicInteger encryptions = new AtomicInteger();
+
+        @Override
+        public Publisher<BsonBinary> createDataKey(String kmsProvider) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Publisher<BsonBinary> createDataKey(String kmsProvider, DataKeyOptions dataKeyOptions) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Publisher<BsonBinary> encrypt(BsonValue value, com.mongodb.client.model.vault.EncryptOptions options) {
+            encryptions.incrementAndGet();
+            BasicOutputBuffer buffer = new BasicOutputBuffer();
+            try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+                new BsonDocumentCodec().encode(writer, new BsonDocument("v", value), EncoderContext.builder().build());
+            }
+            return just(new BsonBinary(ENCRYPTED_SUBTYPE, buffer.toByteArray()));
+        }
+
+        @Override
+        public Publisher<BsonValue> decrypt(BsonBinary value) {
+            return just(decryptValue(value.getData()));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static BsonValue decryptValue(byte[] ciphertext) {
+        return new RawBsonDocument(ciphertext).toBsonDocument(BsonDocument.class, null).get("v");
+    }
+
+    private static <T> Publisher<T> just(T value) {
+        return subscriber -> subscriber.onSubscribe(new Subscription() {
+            private boolean done;
+
+            @Override
+            public void request(long n) {
+                if (done)
+                    return;
+                done = true;
+                subscriber.onNext(value);
+                subscriber.onComplete();
+            }
+
+            @Override
+            public void cancel() {
+                done = true;
+            }
+        });
+    }
+
+    private static EncryptOptions options(String algorithm) {
+        // the generated options have no setter for their mandatory algorithm
+        EncryptOptions options = new EncryptOptions().setKeyAltName("key");
+        try {
+            Field field = EncryptOptions.class.getDeclaredField("algorithm");
+            field.setAccessible(true);
+            field.set(options, algorithm);
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(e);
+        }
+        return options;
+    }
+
+    private FakeDriverEncryption driver;
+    private ClientEncryptionImpl encryption;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        MongoClientContext clientContext = new MongoClientContext((VertxInternal) vertx, (ContextInternal) vertx.getOrCreateContext(),
+                // JsonObject codec first: the default registry would encode JsonObjects as iterables
+                CodecRegistries.fromRegistries(CodecRegistries.fromCodecs(new JsonObjectCodec(new JsonObject())), MongoClientSettings.getDefaultCodecRegistry()),
+                new ClientConfig());
+        driver = new FakeDriverEncryption();
+        encryption = new ClientEncryptionImpl(clientContext, driver);
+    }
+
+    @Test
+    public void testEncryptFields() {
+        List<JsonObject> documents = Arrays.asList(
+                new JsonObject().put("name", "a").put("address", new JsonObject().put("city", "Paris").put("zip", 75001)),
+                new JsonObject().put("name", "b").put("address", new JsonObject().put("city", "Paris")),
+                new JsonObject().putNull("name"));
+        Map<String, EncryptOptions> fields = new LinkedHashMap<>();
+        fields.put("name", options(RANDOM));
+        fields.put("address.city", options(DETERMINISTIC));
+        encryption.encryptFields(documents, fields).onComplete(onSuccess(encrypted -> {
+            assertEquals(3, encrypted.size());
+            // the documents are copied
+            assertEquals("a", documents.get(0).getString("name"));
+            JsonObject name = encrypted.get(0).getJsonObject("name");
+            assertEquals(ENCRYPTED_SUBTYPE, (int) name.getInteger(JsonObjectCodec.TYPE_FIELD));
+            assertEquals(new BsonString("a"), decryptValue(name.getBinary(JsonObjectCodec.BINARY_FIELD)));
+            assertEquals(new BsonString("b"), decryptValue(encrypted.get(1).getJsonObject("name").getBinary(JsonObjectCodec.BINARY_FIELD)));
+            JsonObject city = encrypted.get(1).getJsonObject("address").getJsonObject("city");
+            assertEquals(new BsonString("Paris"), decryptValue(city.getBinary(JsonObjectCodec.BINARY_FIELD)));
+            assertEquals(encrypted.get(0).getJsonObject("address").getJsonObject("city"), city);
+            // other fields, and null fields, are left as is
+            assertEquals(75001, (int) encrypted.get(0).getJsonObject("address").getInteger("zip"));
+            assertTrue(encrypted.get(2).containsKey("name"));
+            assertNull(encrypted.get(2).getValue("name"));
+            // two random encryptions, the deterministic one is done once
+            assertEquals(3, driver.encryptions.get());
+            testComplete();
+        }));
+        await();
+    }
+
+    @Test
+    public void testEncryptManyDeduplicatesDeterministicValues() {
+        String id = new ObjectId().toHexString();
+        List<Object> values = Arrays.asList("a", "b", "a", 1, 1.5, true, new JsonObject().put("x", 1), new JsonArray().add(1),
+                new JsonObject().put(JsonObjectCodec.OID_FIELD, id));
+        List<BsonValue> expected = Arrays.asList(new BsonString("a"), new BsonString("b"), new BsonString("a"), new BsonInt32(1),
+                new BsonDouble(1.5), BsonBoolean.TRUE, new BsonDocument("x", new BsonInt32(1)), new BsonArray(Arrays.asList(new BsonInt32(1))),
+                new BsonObjectId(new ObjectId(id)));
+        encryption.encryptMany(values, options(DETERMINISTIC))
+                .compose(encrypted -> {
+                    assertEquals(values.size(), encrypted.size());
+                    for (int i = 0; i < values.size(); i++)
+                        assertEquals(expected.get(i), decryptValue(encrypted.get(i)));
+                    assertEquals(values.size() - 1, driver.encryptions.get());
+                    return encryption.encryptMany(values, options(DETERMINISTIC));
+                })
+                .compose(encrypted -> {
+                    // cached
+                    assertEquals(values.size() - 1, driver.encryptions.get());
+                    return encryption.encryptMany(Arrays.asList("a", "a"), options(RANDOM));
+                })
+                .onComplete(onSuccess(encrypted -> {
+                    assertEquals(values.size() + 1, driver.encryptions.get());
+                    testComplete();
+                }));
+        await();
+    }
+
+    @Test
+    public void testDecrypt() {
+        List<Object> values = Arrays.asList("a", 12, 3L, 1.5, true, new JsonObject().put("x", 1), new JsonArray().add("y"));
+        Future<Void> future = Future.succeededFuture();
+        for (Object value : values) {
+            future = future
+                    .compose(v -> encryption.encrypt(value, options(RANDOM)))
+                    .compose(encryption::decrypt)
+                    .map(decrypted -> {
+                        assertEquals(value, decrypted);
+                        return null;
+                    });
+        }
+        future.onComplete(onSuccess(v -> testComplete()));
+        await();
+    }
+}
@@ -0,0 +1,70 @@
+package io.vertx.mongo.client.vault.impl;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ExpiringCacheTest {
+
+    @Test
+    public void testGet() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, TimeUnit.MINUTES.toNanos(1));
+        assertNull(cache.get("a"));
+        cache.put("a", 1);
+        assertEquals(1, (int) cache.get("a"));
+        cache.put("a", 2);
+        assertEquals(2, (int) cache.get("a"));
+        cache.clear();
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void testExpiry() throws InterruptedException {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, TimeUnit.MILLISECONDS.toNanos(50));
+        cache.put("a", 1);
+        assertEquals(1, (int) cache.get("a"));
+        Thread.sleep(100);
+        assertNull(cache.get("a"));
+        // a new value is kept for the whole lifetime again
+        cache.put("a", 2);
+        assertEquals(2, (int) cache.get("a"));
+    }
+
+    @Test
+    public void testExpiryIsNotExtendedByReads() throws InterruptedException {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, TimeUnit.MILLISECONDS.toNanos(100));
+        cache.put("a", 1);
+        for (int i = 0; i < 3; i++) {
+            Thread.sleep(20);
+            cache.get("a");
+        }
+        Thread.sleep(100);
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(2, TimeUnit.MINUTES.toNanos(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        // a becomes the most recently used entry
+        cache.get("a");
+        cache.put("c", 3);
+        assertNull(cache.get("b"));
+        assertEquals(1, (int) cache.get("a"));
+        assertEquals(3, (int) cache.get("c"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxSizeMustBePositive() {
+        new ExpiringCache<String, Integer>(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTtlMustBePositive() {
+        new ExpiringCache<String, Integer>(1, 0);
+    }
+}
@@ -0,0 +1,299 @@
+package io.vertx.mongo.codec;
+
+import com.mongodb.MongoClientSettings;
+import io.vertx.mongo.client.ClientConfig;
+import io.vertx.mongo.client.MongoClient;
+import io.vertx.mongo.client.MongoCollection;
+import io.vertx.mongo.inmemory.InMemoryMongo;
+import io.vertx.test.core.VertxTestBase;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonNull;
+import org.bson.BsonObjectId;
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+public class ObjectCodecTest extends VertxTestBase {
+
+    public enum Status {
+        ACTIVE, INACTIVE
+    }
+
+    public static class Person {
+
+        private String id;
+        private String name;
+        private Integer age;
+        private Double score;
+        private List<String> tags;
+        private Instant created;
+        private Status status;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+
+        public Double getScore() {
+            return score;
+        }
+
+        public void setScore(Double score) {
+            this.score = score;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public Instant getCreated() {
+            return created;
+        }
+
+        public void setCreated(Instant created) {
+            this.created = created;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+    }
+
+    /**
+     * Codec written like the generated ones
+     */
+    public static class PersonCodec extends ObjectCodec<Person> {
+
+        public PersonCodec(CodecRegistry registry) {
+            super(Person.class, registry);
+        }
+
+        @Override
+        public Person decode(BsonReader reader, DecoderContext decoderContext) {
+            Person person = new Person();
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                switch (reader.readName()) {
+                    case ID_FIELD:
+                        person.setId(readString(reader));
+                        break;
+                    case "name":
+                        person.setName(readString(reader));
+                        break;
+                    case "age":
+                        person.setAge(readInteger(reader));
+                        break;
+                    case "score":
+                        person.setScore(readDouble(reader));
+                        break;
+                    case "tags":
+                        person.setTags(readList(reader, String.class, decoderContext));
+                        break;
+                    case "created":
+                        person.setCreated(readInstant(reader));
+                        break;
+                    case "status":
+                        person.setStatus(readEnum(reader, Status.class));
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+            return person;
+        }
+
+        @Override
+        public void encode(BsonWriter writer, Person value, EncoderContext encoderContext) {
+            writer.writeStartDocument();
+            if (value.getId() != null)
+                writeString(writer, ID_FIELD, value.getId());
+            writeString(writer, "name", value.getName());
+            writeInteger(writer, "age", value.getAge());
+            writeDouble(writer, "score", value.getScore());
+            writeList(writer, "tags", value.getTags(), encoderContext);
+            writeInstant(writer, "created", value.getCreated());
+            writeEnum(writer, "status", value.getStatus());
+            writer.writeEndDocument();
+        }
+
+        @Override
+        public boolean documentHasId(Person document) {
+            return document.getId() != null;
+        }
+
+        @Override
+        public org.bson.BsonValue getDocumentId(Person document) {
+            return idValue(document.getId());
+        }
+
+        @Override
+        public Person generateIdIfAbsentFromDocument(Person document) {
+            if (document.getId() == null)
+                document.setId(new ObjectId().toHexString());
+            return document;
+        }
+    }
+
+    public static class PersonCodecProvider implements ObjectCodecProvider {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+            return clazz == Person.class ? (Codec<T>) new PersonCodec(registry) : null;
+        }
+    }
+
+    private final PersonCodec codec = new PersonCodec(MongoClientSettings.getDefaultCodecRegistry());
+
+    private BsonDocument encode(Person person) {
+        BsonDocumentWriter writer = new BsonDocumentWriter(new BsonDocument());
+        codec.encode(writer, person, EncoderContext.builder().build());
+        return writer.getDocument();
+    }
+
+    private Person decode(BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Person person = new Person();
+        person.setId("person-1");
+        person.setName("Ada");
+        person.setAge(36);
+        person.setScore(9.5);
+        person.setTags(Arrays.asList("a", "b"));
+        person.setCreated(Instant.ofEpochMilli(1_600_000_000_000L));
+        person.setStatus(Status.ACTIVE);
+        BsonDocument document = encode(person);
+        assertEquals("_id", document.getFirstKey());
+        assertEquals(new BsonString("person-1"), document.get("_id"));
+        assertTrue(document.get("age").isInt32());
+        assertTrue(document.get("created").isDateTime());
+        assertEquals(new BsonString("ACTIVE"), document.get("status"));
+        Person decoded = decode(document);
+        assertEquals("person-1", decoded.getId());
+        assertEquals("Ada", decoded.getName());
+        assertEquals(36, (int) decoded.getAge());
+        assertEquals(9.5, decoded.getScore(), 0);
+        assertEquals(Arrays.asList("a", "b"), decoded.getTags());
+        assertEquals(person.getCreated(), decoded.getCreated());
+        assertEquals(Status.ACTIVE, decoded.getStatus());
+        assertEquals(document, encode(decoded));
+    }
+
+    @Test
+    public void testNulls() {
+        Person decoded = decode(encode(new Person()));
+        assertNull(decoded.getId());
+        assertNull(decoded.getName());
+        assertNull(decoded.getAge());
+        assertNull(decoded.getTags());
+        assertNull(decoded.getStatus());
+        assertEquals(BsonNull.VALUE, encode(new Person()).get("name"));
+    }
+
+    @Test
+    public void testObjectIdKeepsItsType() {
+        ObjectId id = new ObjectId();
+        BsonDocument document = new BsonDocument("_id", new BsonObjectId(id)).append("name", new BsonString("Ada"));
+        Person decoded = decode(document);
+        assertEquals(id.toHexString(), decoded.getId());
+        assertEquals(new BsonObjectId(id), encode(decoded).get("_id"));
+        assertEquals(new BsonObjectId(id), codec.getDocumentId(decoded));
+        // only the _id is converted
+        decoded.setName(id.toHexString());
+        assertEquals(new BsonString(id.toHexString()), encode(decoded).get("name"));
+    }
+
+    @Test
+    public void testReplaceByObjectId() {
+        InMemoryMongo server = new InMemoryMongo();
+        MongoClient client = MongoClient.create(vertx, new ClientConfig()
+                .addObjectCodecProvider(new PersonCodecProvider())
+                .setDriverClientFactory(server.driverClientFactory()));
+        MongoCollection<Person> people = client.getDatabase("test").getCollection("people", Person.class);
+        Person person = new Person();
+        person.setName("Ada");
+        people.insertOne(person)
+                .compose(inserted -> people.find().first())
+                .compose(found -> {
+                    found.setName("Grace");
+                    return people.replaceOne(found);
+                })
+                .onComplete(onSuccess(replaced -> {
+                    assertEquals(1, replaced.getMatchedCount());
+                    BsonDocument stored = server.getCollection("test", "people").find(null, null, null, 0, 0).get(0);
+                    assertTrue(stored.get("_id").isObjectId());
+                    assertEquals(new BsonString("Grace"), stored.get("name"));
+                    client.close();
+                    server.close();
+                    testComplete();
+                }));
+        await();
+    }
+
+    @Test
+    public void testObjectCodecsWithMongoSettings() {
+        InMemoryMongo server = new InMemoryMongo();
+        // the object codecs are added to the registry of the settings
+        MongoClient client = MongoClient.create(vertx, new ClientConfig()
+                .setMongoSettings(MongoClientSettings.builder().build())
+                .addObjectCodecProvider(new PersonCodecProvider())
+                .setDriverClientFactory(server.driverClientFactory()));
+        MongoCollection<Person> people = client.getDatabase("test").getCollection("people", Person.class);
+        Person person = new Person();
+        person.setName("Ada");
+        people.insertOne(person)
+                .compose(inserted -> people.find().first())
+                .onComplete(onSuccess(found -> {
+                    assertEquals("Ada", found.getName());
+                    assertNotNull(found.getId());
+                    client.close();
+                    server.close();
+                    testComplete();
+                }));
+        await();
+    }
+}
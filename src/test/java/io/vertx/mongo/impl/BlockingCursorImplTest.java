@@ -0,0 +1,93 @@
+package io.vertx.mongo.impl;
+
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BlockingCursorImplTest {
+
+    /**
+     * Subscription recording the demand and the cancellation of the cursor
+     */
+    private static class RecordingSubscription implements Subscription {
+
+        private long requested;
+        private boolean cancelled;
+
+        @Override
+        public void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    @Test
+    public void testItemsAndDemand() {
+        BlockingCursorImpl<Integer, String> cursor = new BlockingCursorImpl<>(String::valueOf, 2);
+        RecordingSubscription subscription = new RecordingSubscription();
+        cursor.onSubscribe(subscription);
+        assertEquals(2, subscription.requested);
+        cursor.onNext(1);
+        cursor.onNext(2);
+        assertEquals("1", cursor.next());
+        assertEquals(3, subscription.requested);
+        assertEquals("2", cursor.next());
+        cursor.onComplete();
+        assertFalse(cursor.hasNext());
+        assertFalse(subscription.cancelled);
+    }
+
+    @Test
+    public void testFailure() {
+        BlockingCursorImpl<Integer, Integer> cursor = new BlockingCursorImpl<>(null, 1);
+        cursor.onSubscribe(new RecordingSubscription());
+        cursor.onNext(1);
+        cursor.onError(new IllegalStateException("failed"));
+        assertEquals(1, (int) cursor.next());
+        try {
+            cursor.hasNext();
+            throw new AssertionError();
+        } catch (IllegalStateException e) {
+            assertEquals("failed", e.getMessage());
+        }
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void testCloseCancels() {
+        BlockingCursorImpl<Integer, Integer> cursor = new BlockingCursorImpl<>(null, 1);
+        RecordingSubscription subscription = new RecordingSubscription();
+        cursor.onSubscribe(subscription);
+        cursor.close();
+        assertTrue(subscription.cancelled);
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextAfterClose() {
+        BlockingCursorImpl<Integer, Integer> cursor = new BlockingCursorImpl<>(null, 1);
+        cursor.close();
+        cursor.next();
+    }
+
+    @Test
+    public void testCloseBeforeSubscription() {
+        BlockingCursorImpl<Integer, Integer> cursor = new BlockingCursorImpl<>(null, 1);
+        cursor.close();
+        // the subscription given after close is cancelled instead of requested
+        RecordingSubscription subscription = new RecordingSubscription();
+        cursor.onSubscribe(subscription);
+        assertTrue(subscription.cancelled);
+        assertEquals(0, subscription.requested);
+        assertFalse(cursor.hasNext());
+    }
+}
@@ -0,0 +1,81 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.impl.codec.json.JsonObjectCodec;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class BsonTemplateTest {
+
+    private final ConversionUtils mapper = new ConversionUtilsImpl(
+            CodecRegistries.fromCodecs(new JsonObjectCodec(new JsonObject())), false, null, null);
+
+    private static BsonDocument parse(String json) {
+        return BsonDocument.parse(json);
+    }
+
+    private static void assertExactBytes(Bson bson) {
+        RawBsonDocument document = (RawBsonDocument) bson;
+        // the declared length of the document matches the bytes it is made of
+        assertEquals(document.getByteBuffer().getInt(0), document.getByteBuffer().remaining());
+    }
+
+    @Test
+    public void testConstantDocument() {
+        BsonTemplate template = new BsonTemplate(mapper, List.of(new JsonObject().put("a", 1)));
+        List<Bson> first = template.bind(new JsonObject());
+        assertExactBytes(first.get(0));
+        assertEquals(parse("{a: 1}"), first.get(0));
+        assertSame(first.get(0), template.bind(new JsonObject()).get(0));
+    }
+
+    @Test
+    public void testBind() {
+        BsonTemplate template = new BsonTemplate(mapper, Arrays.asList(
+                new JsonObject().put("$match", new JsonObject().put("name", BsonTemplate.param("name")).put("n", new JsonObject().put("$gt", BsonTemplate.param("min")))),
+                new JsonObject().put("$limit", 10)));
+        List<Bson> stages = template.bind(new JsonObject().put("name", "a longer value than the placeholder").put("min", 3));
+        assertExactBytes(stages.get(0));
+        assertEquals(parse("{$match: {name: 'a longer value than the placeholder', n: {$gt: 3}}}"), stages.get(0));
+        assertEquals(parse("{$limit: 10}"), stages.get(1));
+        stages = template.bind(new JsonObject().put("name", "b").put("min", new JsonArray().add(1)));
+        assertExactBytes(stages.get(0));
+        assertEquals(parse("{$match: {name: 'b', n: {$gt: [1]}}}"), stages.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingParameter() {
+        new BsonTemplate(mapper, List.of(new JsonObject().put("a", BsonTemplate.param("a")))).bind(new JsonObject());
+    }
+
+    @Test
+    public void testBindObjectIdAtId() {
+        ConversionUtils objectIdMapper = new ConversionUtilsImpl(
+                CodecRegistries.fromCodecs(new JsonObjectCodec(new JsonObject())), false, new ObjectIdInputMapper(), null);
+        String hex = new ObjectId().toHexString();
+        BsonTemplate template = new BsonTemplate(objectIdMapper, Arrays.asList(
+                new JsonObject().put("_id", BsonTemplate.param("id")).put("ref", BsonTemplate.param("id"))));
+        List<Bson> filter = template.bind(new JsonObject().put("id", hex));
+        assertExactBytes(filter.get(0));
+        // as the filters of find: the _id is an object id, the other fields are not converted
+        assertEquals(new BsonDocument("_id", new BsonObjectId(new ObjectId(hex))).append("ref", new BsonString(hex)), filter.get(0));
+        assertEquals(objectIdMapper.toBsonDocument(new JsonObject().put("_id", hex).put("ref", hex)), filter.get(0));
+        // only the _id of the documents is converted
+        template = new BsonTemplate(objectIdMapper, Arrays.asList(
+                new JsonObject().put("$match", new JsonObject().put("_id", BsonTemplate.param("id")))));
+        assertEquals(parse("{$match: {_id: '" + hex + "'}}"), template.bind(new JsonObject().put("id", hex)).get(0));
+    }
+}
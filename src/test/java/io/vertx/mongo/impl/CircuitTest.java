@@ -0,0 +1,151 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.client.CircuitBreakerOptions;
+import io.vertx.mongo.client.CircuitState;
+import io.vertx.test.core.VertxTestBase;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+public class CircuitTest extends VertxTestBase {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(10);
+
+    private final List<JsonObject> notifications = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        vertx.eventBus().<JsonObject>consumer(CircuitBreakerOptions.DEFAULT_NOTIFICATION_ADDRESS, msg -> notifications.add(msg.body()));
+    }
+
+    private Circuit circuit(CircuitBreakerOptions options) {
+        return new CircuitBreaker(vertx, options, null).getCollectionCircuit("db.coll");
+    }
+
+    private static CircuitBreakerOptions options() {
+        return new CircuitBreakerOptions().setMinimumCalls(4).setWindowSize(4).setFailureRateThreshold(50)
+                .setSlowCallDuration(1000).setOpenDuration(100).setHalfOpenProbes(2);
+    }
+
+    private void record(Circuit circuit, boolean failed, long nanos) {
+        assertTrue(circuit.tryAcquire());
+        circuit.record(failed, nanos);
+    }
+
+    private JsonObject notification(int index, CircuitState state) {
+        waitUntil(() -> notifications.size() > index);
+        JsonObject notification = notifications.get(index);
+        assertEquals("db.coll", notification.getString("name"));
+        assertEquals(CircuitBreaker.COLLECTION, notification.getString("type"));
+        assertEquals(state.name(), notification.getString("state"));
+        return notification;
+    }
+
+    private void open(Circuit circuit) {
+        record(circuit, true, FAST);
+        record(circuit, false, FAST);
+        record(circuit, false, FAST);
+        assertEquals(CircuitState.CLOSED, circuit.getState());
+        record(circuit, true, FAST);
+        assertEquals(CircuitState.OPEN, circuit.getState());
+    }
+
+    private void halfOpen(Circuit circuit) throws InterruptedException {
+        Thread.sleep(150);
+        assertTrue(circuit.tryAcquire());
+        assertEquals(CircuitState.HALF_OPEN, circuit.getState());
+    }
+
+    @Test
+    public void testClosedOpenHalfOpenClosed() throws Exception {
+        Circuit circuit = circuit(options());
+        open(circuit);
+        assertEquals(50.0, notification(0, CircuitState.OPEN).getDouble("failureRate"), 0);
+        // calls fail fast until the open duration has elapsed
+        assertFalse(circuit.tryAcquire());
+        halfOpen(circuit);
+        notification(1, CircuitState.HALF_OPEN);
+        // as many probes as configured
+        assertTrue(circuit.tryAcquire());
+        assertFalse(circuit.tryAcquire());
+        circuit.record(false, FAST);
+        assertEquals(CircuitState.HALF_OPEN, circuit.getState());
+        circuit.record(false, FAST);
+        assertEquals(CircuitState.CLOSED, circuit.getState());
+        assertEquals(0.0, notification(2, CircuitState.CLOSED).getDouble("failureRate"), 0);
+        // the window restarts empty
+        record(circuit, true, FAST);
+        record(circuit, true, FAST);
+        record(circuit, true, FAST);
+        assertEquals(CircuitState.CLOSED, circuit.getState());
+        assertEquals(3, notifications.size());
+    }
+
+    @Test
+    public void testHalfOpenToOpenOnFailure() throws Exception {
+        Circuit circuit = circuit(options());
+        open(circuit);
+        halfOpen(circuit);
+        circuit.record(false, FAST);
+        assertTrue(circuit.tryAcquire());
+        circuit.record(true, FAST);
+        assertEquals(CircuitState.OPEN, circuit.getState());
+        assertFalse(circuit.tryAcquire());
+        notification(0, CircuitState.OPEN);
+        notification(1, CircuitState.HALF_OPEN);
+        notification(2, CircuitState.OPEN);
+        // a slow probe opens the circuit too
+        halfOpen(circuit);
+        circuit.record(false, SLOW);
+        assertEquals(CircuitState.OPEN, circuit.getState());
+        notification(4, CircuitState.OPEN);
+    }
+
+    @Test
+    public void testReleasedProbe() throws Exception {
+        Circuit circuit = circuit(options().setHalfOpenProbes(1));
+        open(circuit);
+        halfOpen(circuit);
+        assertFalse(circuit.tryAcquire());
+        // a cancelled probe lets another probe through
+        circuit.release();
+        assertTrue(circuit.tryAcquire());
+        circuit.record(false, FAST);
+        assertEquals(CircuitState.CLOSED, circuit.getState());
+    }
+
+    @Test
+    public void testSlidingWindow() {
+        Circuit circuit = circuit(options());
+        // not enough calls
+        record(circuit, true, FAST);
+        record(circuit, true, FAST);
+        record(circuit, true, FAST);
+        assertEquals(CircuitState.CLOSED, circuit.getState());
+        Circuit other = circuit(options().setFailureRateThreshold(100).setSlowCallRateThreshold(75));
+        record(other, true, FAST);
+        for (int i = 0; i < 4; i++)
+            record(other, false, FAST);
+        // the failure has left the window
+        record(other, true, SLOW);
+        record(other, false, SLOW);
+        assertEquals(CircuitState.CLOSED, other.getState());
+        record(other, false, SLOW);
+        assertEquals(CircuitState.OPEN, other.getState());
+        assertEquals(75.0, notification(0, CircuitState.OPEN).getDouble("slowCallRate"), 0);
+        assertEquals(25.0, notifications.get(0).getDouble("failureRate"), 0);
+    }
+
+    @Test
+    public void testNoNotificationAddress() throws Exception {
+        Circuit circuit = circuit(options().setNotificationAddress(null));
+        open(circuit);
+        Thread.sleep(100);
+        assertTrue(notifications.isEmpty());
+    }
+}
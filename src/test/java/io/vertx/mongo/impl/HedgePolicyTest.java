@@ -0,0 +1,82 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.mongo.client.HedgeOptions;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class HedgePolicyTest {
+
+    private static HedgePolicy policy(HedgeOptions options) {
+        // Vert.x is only used by the timers of the hedged publishers
+        return new HedgePolicy(null, options);
+    }
+
+    private static void record(HedgePolicy policy, long... millis) {
+        for (long latency : millis)
+            policy.record(TimeUnit.MILLISECONDS.toNanos(latency));
+    }
+
+    private static long[] range(int from, int to) {
+        long[] result = new long[to - from + 1];
+        for (int i = 0; i < result.length; i++)
+            result[i] = from + i;
+        return result;
+    }
+
+    @Test
+    public void testMaxDelayUntilTheBufferIsFull() {
+        HedgePolicy policy = policy(new HedgeOptions().setSampleSize(16).setPercentile(50).setMinDelay(1).setMaxDelay(1000));
+        record(policy, range(1, 15));
+        assertEquals(1000, policy.getDelay());
+        record(policy, 16);
+        // 8 of the 16 latencies are at most 8 ms
+        assertEquals(8, policy.getDelay());
+    }
+
+    @Test
+    public void testPercentile() {
+        HedgePolicy policy = policy(new HedgeOptions().setSampleSize(100).setPercentile(95).setMinDelay(1).setMaxDelay(1000));
+        record(policy, range(1, 100));
+        assertEquals(95, policy.getDelay());
+        policy = policy(new HedgeOptions().setSampleSize(100).setPercentile(100).setMinDelay(1).setMaxDelay(1000));
+        record(policy, range(1, 100));
+        assertEquals(100, policy.getDelay());
+        policy = policy(new HedgeOptions().setSampleSize(100).setPercentile(0.5).setMinDelay(1).setMaxDelay(1000));
+        record(policy, range(1, 100));
+        assertEquals(1, policy.getDelay());
+    }
+
+    @Test
+    public void testDelayIsBounded() {
+        HedgePolicy policy = policy(new HedgeOptions().setSampleSize(16).setMinDelay(5).setMaxDelay(50));
+        record(policy, new long[16]);
+        assertEquals(5, policy.getDelay());
+        record(policy, range(1000, 1015));
+        assertEquals(50, policy.getDelay());
+    }
+
+    @Test
+    public void testRecentLatenciesReplaceOldOnes() {
+        // refreshed every 4 latencies
+        HedgePolicy policy = policy(new HedgeOptions().setSampleSize(64).setPercentile(50).setMinDelay(1).setMaxDelay(1000));
+        record(policy, range(1, 64));
+        assertEquals(32, policy.getDelay());
+        for (int i = 0; i < 3; i++)
+            record(policy, 500);
+        assertEquals(32, policy.getDelay());
+        record(policy, 500);
+        // 1..4 replaced by 500: the median is 36
+        assertEquals(36, policy.getDelay());
+        for (int i = 0; i < 2 * 64; i++)
+            record(policy, 200);
+        assertEquals(200, policy.getDelay());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMinDelayAboveMaxDelay() {
+        policy(new HedgeOptions().setMinDelay(10).setMaxDelay(5));
+    }
+}
@@ -0,0 +1,219 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.mongo.client.HedgeOptions;
+import io.vertx.test.core.VertxTestBase;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class HedgedPublisherTest extends VertxTestBase {
+
+    /**
+     * Publisher whose signals are sent by the test, recording the demand and the cancellation of its subscriber
+     */
+    private static class ManualPublisher implements Publisher<String>, Subscription {
+
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile Subscriber<? super String> subscriber;
+
+        @Override
+        public void subscribe(Subscriber<? super String> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            requested.addAndGet(n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled.set(true);
+        }
+
+        boolean isSubscribed() {
+            return subscriber != null;
+        }
+    }
+
+    /**
+     * Subscriber recording the signals of the hedged publisher
+     */
+    private static class RecordingSubscriber implements Subscriber<String> {
+
+        private final List<String> items = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile Subscription subscription;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed.set(true);
+        }
+    }
+
+    private HedgePolicy policy(long delay) {
+        // the delay is the max delay until the policy has recorded enough latencies
+        return new HedgePolicy(vertx, new HedgeOptions().setMinDelay(delay).setMaxDelay(delay));
+    }
+
+    private RecordingSubscriber subscribe(HedgePolicy policy, ManualPublisher primary, ManualPublisher hedge, AtomicInteger hedges) {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new HedgedPublisher<>(policy, primary, () -> {
+            hedges.incrementAndGet();
+            return hedge;
+        }).subscribe(subscriber);
+        subscriber.subscription.request(10);
+        return subscriber;
+    }
+
+    @Test
+    public void testPrimaryAnswersBeforeTheDelay() throws Exception {
+        ManualPublisher primary = new ManualPublisher();
+        ManualPublisher hedge = new ManualPublisher();
+        AtomicInteger hedges = new AtomicInteger();
+        RecordingSubscriber subscriber = subscribe(policy(100), primary, hedge, hedges);
+        assertEquals(10, primary.requested.get());
+        primary.subscriber.onNext("primary");
+        primary.subscriber.onComplete();
+        Thread.sleep(300);
+        // the timer is cancelled: no hedge is sent
+        assertEquals(0, hedges.get());
+        assertEquals(List.of("primary"), subscriber.items);
+        assertTrue(subscriber.completed.get());
+        assertFalse(primary.cancelled.get());
+    }
+
+    @Test
+    public void testHedgeWins() {
+        ManualPublisher primary = new ManualPublisher();
+        ManualPublisher hedge = new ManualPublisher();
+        AtomicInteger hedges = new AtomicInteger();
+        RecordingSubscriber subscriber = subscribe(policy(10), primary, hedge, hedges);
+        waitUntil(hedge::isSubscribed);
+        assertEquals(1, hedges.get());
+        // the demand is forwarded to both reads until one of them wins
+        assertEquals(10, hedge.requested.get());
+        subscriber.subscription.request(5);
+        assertEquals(15, primary.requested.get());
+        assertEquals(15, hedge.requested.get());
+        hedge.subscriber.onNext("hedge");
+        assertTrue(primary.cancelled.get());
+        assertFalse(hedge.cancelled.get());
+        // late signals of the loser are ignored
+        primary.subscriber.onNext("primary");
+        primary.subscriber.onComplete();
+        assertFalse(subscriber.completed.get());
+        subscriber.subscription.request(1);
+        assertEquals(15, primary.requested.get());
+        assertEquals(16, hedge.requested.get());
+        hedge.subscriber.onNext("hedge2");
+        hedge.subscriber.onComplete();
+        assertEquals(List.of("hedge", "hedge2"), subscriber.items);
+        assertTrue(subscriber.completed.get());
+        assertNull(subscriber.error.get());
+    }
+
+    @Test
+    public void testPrimaryWinsAfterTheHedge() {
+        ManualPublisher primary = new ManualPublisher();
+        ManualPublisher hedge = new ManualPublisher();
+        AtomicInteger hedges = new AtomicInteger();
+        RecordingSubscriber subscriber = subscribe(policy(10), primary, hedge, hedges);
+        waitUntil(hedge::isSubscribed);
+        primary.subscriber.onComplete();
+        assertTrue(hedge.cancelled.get());
+        assertFalse(primary.cancelled.get());
+        hedge.subscriber.onNext("hedge");
+        assertTrue(subscriber.items.isEmpty());
+        assertTrue(subscriber.completed.get());
+    }
+
+    @Test
+    public void testFailureWaitsForTheOtherRead() {
+        ManualPublisher primary = new ManualPublisher();
+        ManualPublisher hedge = new ManualPublisher();
+        AtomicInteger hedges = new AtomicInteger();
+        RecordingSubscriber subscriber = subscribe(policy(10), primary, hedge, hedges);
+        waitUntil(hedge::isSubscribed);
+        primary.subscriber.onError(new RuntimeException("primary"));
+        assertNull(subscriber.error.get());
+        hedge.subscriber.onNext("hedge");
+        hedge.subscriber.onComplete();
+        assertEquals(List.of("hedge"), subscriber.items);
+        assertTrue(subscriber.completed.get());
+        assertNull(subscriber.error.get());
+    }
+
+    @Test
+    public void testFailureOfBothReads() {
+        ManualPublisher primary = new ManualPublisher();
+        ManualPublisher hedge = new ManualPublisher();
+        AtomicInteger hedges = new AtomicInteger();
+        RecordingSubscriber subscriber = subscribe(policy(10), primary, hedge, hedges);
+        waitUntil(hedge::isSubscribed);
+        hedge.subscriber.onError(new RuntimeException("hedge"));
+        assertNull(subscriber.error.get());
+        primary.subscriber.onError(new RuntimeException("primary"));
+        assertEquals("primary", subscriber.error.get().getMessage());
+    }
+
+    @Test
+    public void testCancelCancelsBothReads() throws Exception {
+        ManualPublisher primary = new ManualPublisher();
+        ManualPublisher hedge = new ManualPublisher();
+        AtomicInteger hedges = new AtomicInteger();
+        RecordingSubscriber subscriber = subscribe(policy(10), primary, hedge, hedges);
+        waitUntil(hedge::isSubscribed);
+        subscriber.subscription.cancel();
+        assertTrue(primary.cancelled.get());
+        assertTrue(hedge.cancelled.get());
+        // cancelled before the delay: no hedge is sent
+        ManualPublisher primary2 = new ManualPublisher();
+        ManualPublisher hedge2 = new ManualPublisher();
+        AtomicInteger hedges2 = new AtomicInteger();
+        RecordingSubscriber subscriber2 = subscribe(policy(50), primary2, hedge2, hedges2);
+        subscriber2.subscription.cancel();
+        assertTrue(primary2.cancelled.get());
+        Thread.sleep(200);
+        assertEquals(0, hedges2.get());
+    }
+
+    @Test
+    public void testWinnerLatencyIsRecorded() {
+        HedgePolicy policy = new HedgePolicy(vertx, new HedgeOptions().setMinDelay(1).setMaxDelay(10000).setSampleSize(1));
+        ManualPublisher primary = new ManualPublisher();
+        ManualPublisher hedge = new ManualPublisher();
+        RecordingSubscriber subscriber = subscribe(policy, primary, hedge, new AtomicInteger());
+        assertEquals(10000, policy.getDelay());
+        primary.subscriber.onComplete();
+        assertTrue(subscriber.completed.get());
+        // the latency of the winner, a few milliseconds at most, is the new delay, within its bounds
+        assertTrue(policy.getDelay() >= 1 && policy.getDelay() < 10000);
+    }
+}
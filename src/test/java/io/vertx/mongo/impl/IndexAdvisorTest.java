@@ -0,0 +1,149 @@
+package io.vertx.mongo.impl;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.client.IndexAdvice;
+import io.vertx.mongo.client.IndexAdvisorOptions;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IndexAdvisorTest {
+
+    private static final String NAMESPACE = "db.coll";
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private int requestId;
+
+    private void find(IndexAdvisor advisor, String filter, String sort, String projection) {
+        BsonDocument command = new BsonDocument("find", new BsonString("coll"))
+                .append("filter", BsonDocument.parse(filter));
+        if (sort != null)
+            command.append("sort", BsonDocument.parse(sort));
+        if (projection != null)
+            command.append("projection", BsonDocument.parse(projection));
+        run(advisor, "find", command);
+    }
+
+    private void run(IndexAdvisor advisor, String commandName, BsonDocument command) {
+        int id = ++requestId;
+        advisor.commandStarted(new CommandStartedEvent(id, CONNECTION, "db", commandName, command));
+        advisor.commandSucceeded(new CommandSucceededEvent(id, CONNECTION, commandName, new BsonDocument(), 1000));
+    }
+
+    private static JsonObject index(String name, String key) {
+        return new JsonObject().put("name", name).put("key", new JsonObject(key));
+    }
+
+    private static List<JsonObject> indexes(JsonObject... indexes) {
+        return Arrays.asList(indexes);
+    }
+
+    @Test
+    public void testProjectedFields() {
+        BsonDocument filter = BsonDocument.parse("{a: 1}");
+        assertEquals(Arrays.asList("_id", "b"), QueryShape.of(NAMESPACE, filter, null, BsonDocument.parse("{b: 1}")).getProjectedFields());
+        assertEquals(Arrays.asList("a", "b"), QueryShape.of(NAMESPACE, filter, null, BsonDocument.parse("{b: true, a: 1, _id: 0}")).getProjectedFields());
+        assertEquals(Collections.singletonList("_id"), QueryShape.of(NAMESPACE, filter, null, BsonDocument.parse("{_id: 1}")).getProjectedFields());
+        // whole documents, exclusions and operators can't be covered
+        assertNull(QueryShape.of(NAMESPACE, filter, null, null).getProjectedFields());
+        assertNull(QueryShape.of(NAMESPACE, filter, null, BsonDocument.parse("{}")).getProjectedFields());
+        assertNull(QueryShape.of(NAMESPACE, filter, null, BsonDocument.parse("{_id: 0}")).getProjectedFields());
+        assertNull(QueryShape.of(NAMESPACE, filter, null, BsonDocument.parse("{b: 0}")).getProjectedFields());
+        assertNull(QueryShape.of(NAMESPACE, filter, null, BsonDocument.parse("{b: {$slice: 2}}")).getProjectedFields());
+        assertNull(QueryShape.of(NAMESPACE, filter, null, BsonDocument.parse("{'b.$': 1}")).getProjectedFields());
+        assertNull(QueryShape.of(NAMESPACE, filter, null, BsonDocument.parse("{b: '$c'}")).getProjectedFields());
+    }
+
+    @Test
+    public void testProjectionIsPartOfTheShape() {
+        BsonDocument filter = BsonDocument.parse("{a: 1}");
+        assertFalse(QueryShape.of(NAMESPACE, filter, null, BsonDocument.parse("{b: 1}"))
+                .equals(QueryShape.of(NAMESPACE, filter, null, BsonDocument.parse("{c: 1}"))));
+        assertEquals(QueryShape.of(NAMESPACE, filter, null, BsonDocument.parse("{b: 1, c: 1}")),
+                QueryShape.of(NAMESPACE, filter, null, BsonDocument.parse("{c: 1, b: 1}")));
+    }
+
+    @Test
+    public void testCoveredBy() {
+        QueryShape shape = QueryShape.of(NAMESPACE, BsonDocument.parse("{a: 1}"), BsonDocument.parse("{b: -1}"),
+                BsonDocument.parse("{a: 1, c: 1, _id: 0}"));
+        assertTrue(shape.isCoveredBy(new JsonObject("{\"a\": 1, \"b\": 1, \"c\": 1}")));
+        assertFalse(shape.isCoveredBy(new JsonObject("{\"a\": 1, \"b\": 1}")));
+        assertFalse(shape.isCoveredBy(new JsonObject("{\"a\": 1, \"b\": 1, \"c\": \"hashed\"}")));
+        assertEquals(new JsonObject("{\"a\": 1, \"b\": -1, \"c\": 1}"), shape.coveringIndexKey());
+        assertEquals(new JsonObject("{\"a\": 1, \"b\": -1}"), shape.indexKey());
+    }
+
+    @Test
+    public void testSupportedShapesAreNotAdvisedByDefault() {
+        IndexAdvisor advisor = new IndexAdvisor(new IndexAdvisorOptions());
+        find(advisor, "{a: 1}", null, "{a: 1, b: 1, _id: 0}");
+        find(advisor, "{c: 1}", null, "{c: 1, _id: 0}");
+        List<IndexAdvice> advice = advisor.advise(NAMESPACE, indexes(index("a_1", "{\"a\": 1}")));
+        assertEquals(1, advice.size());
+        IndexAdvice item = advice.get(0);
+        assertEquals(Collections.singletonList("c"), item.getEqualityFields());
+        assertEquals(Collections.singletonList("c"), item.getProjectedFields());
+        assertFalse(item.isSupported());
+        assertNull(item.getPartialIndex());
+        assertEquals(new JsonObject().put("c", 1), item.getSuggestedIndex().getKeys());
+    }
+
+    @Test
+    public void testCoveredQueries() {
+        IndexAdvisor advisor = new IndexAdvisor(new IndexAdvisorOptions().setCoveredQueries(true));
+        // supported by a_1, covered by a_1_b_1
+        find(advisor, "{a: 1}", null, "{a: 1, b: 1, _id: 0}");
+        // supported by a_1, not covered: _id is projected
+        find(advisor, "{a: 1}", null, "{b: 1}");
+        // supported by a_1, whole documents
+        find(advisor, "{a: 1}", null, null);
+        // not supported: suggested covering index
+        find(advisor, "{c: 1}", "{d: -1}", "{e: 1, _id: 0}");
+        List<IndexAdvice> advice = advisor.advise(NAMESPACE, indexes(
+                index("_id_", "{\"_id\": 1}"),
+                index("a_1", "{\"a\": 1}"),
+                index("a_1_b_1", "{\"a\": 1, \"b\": 1}")));
+        assertEquals(2, advice.size());
+        IndexAdvice uncovered = advice.stream().filter(IndexAdvice::isSupported).findFirst().get();
+        assertEquals(Arrays.asList("_id", "b"), uncovered.getProjectedFields());
+        assertEquals("a_1", uncovered.getPartialIndex());
+        assertEquals(new JsonObject().put("a", 1).put("_id", 1).put("b", 1), uncovered.getSuggestedIndex().getKeys());
+        IndexAdvice unsupported = advice.stream().filter(item -> !item.isSupported()).findFirst().get();
+        assertEquals(Collections.singletonList("e"), unsupported.getProjectedFields());
+        assertEquals(new JsonObject().put("c", 1).put("d", -1).put("e", 1), unsupported.getSuggestedIndex().getKeys());
+    }
+
+    @Test
+    public void testAggregationProjection() {
+        IndexAdvisor advisor = new IndexAdvisor(new IndexAdvisorOptions().setCoveredQueries(true));
+        BsonArray pipeline = new BsonArray(Arrays.asList(
+                BsonDocument.parse("{$match: {a: 1}}"),
+                BsonDocument.parse("{$sort: {b: 1}}"),
+                BsonDocument.parse("{$project: {b: 1, c: 1, _id: 0}}")));
+        run(advisor, "aggregate", new BsonDocument("aggregate", new BsonString("coll")).append("pipeline", pipeline));
+        List<IndexAdvice> advice = advisor.advise(NAMESPACE, indexes(index("a_1_b_1", "{\"a\": 1, \"b\": 1}")));
+        assertEquals(1, advice.size());
+        assertTrue(advice.get(0).isSupported());
+        assertEquals(Arrays.asList("b", "c"), advice.get(0).getProjectedFields());
+        assertEquals(new JsonObject().put("a", 1).put("b", 1).put("c", 1), advice.get(0).getSuggestedIndex().getKeys());
+        assertTrue(advisor.advise(NAMESPACE, indexes(index("a_1_b_1_c_1", "{\"a\": 1, \"b\": 1, \"c\": 1}"))).isEmpty());
+    }
+}
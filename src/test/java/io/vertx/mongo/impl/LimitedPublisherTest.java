@@ -0,0 +1,193 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.mongo.client.ConcurrencyLimitExceededException;
+import io.vertx.mongo.client.ConcurrencyLimitOptions;
+import io.vertx.mongo.client.OperationClass;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LimitedPublisherTest {
+
+    /**
+     * Publisher whose signals are sent by the test, recording the demand and the cancellation of its subscriber
+     */
+    private static class ManualPublisher implements Publisher<String>, Subscription {
+
+        private long requested;
+        private boolean cancelled;
+        private Subscriber<? super String> subscriber;
+
+        @Override
+        public void subscribe(Subscriber<? super String> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Subscriber recording the signals of the limited publisher
+     */
+    private static class RecordingSubscriber implements Subscriber<String> {
+
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String item) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    private static RecordingSubscriber subscribe(ConcurrencyLimiter limiter, Publisher<String> source) {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new LimitedPublisher<>(limiter, OperationClass.READ, source).subscribe(subscriber);
+        return subscriber;
+    }
+
+    /**
+     * Takes the only permit of the client budget
+     */
+    private static void block(ConcurrencyLimiter limiter) {
+        assertNull(limiter.acquire(OperationClass.READ, () -> {
+        }, error -> {
+        }));
+    }
+
+    @Test
+    public void testDemandOfAQueuedOperation() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new ConcurrencyScheduler(1), "db.coll", new ConcurrencyLimitOptions());
+        block(limiter);
+        ManualPublisher source = new ManualPublisher();
+        RecordingSubscriber subscriber = subscribe(limiter, source);
+        // the subscription is given before the operation starts
+        assertNotNull(subscriber.subscription);
+        assertEquals(1, limiter.getStats().getQueued());
+        subscriber.subscription.request(3);
+        subscriber.subscription.request(2);
+        assertNull(source.subscriber);
+        limiter.release(OperationClass.READ);
+        assertNotNull(source.subscriber);
+        assertEquals(5, source.requested);
+        subscriber.subscription.request(1);
+        assertEquals(6, source.requested);
+        source.subscriber.onComplete();
+        assertTrue(subscriber.completed);
+        assertEquals(0, limiter.getStats().getActive());
+    }
+
+    @Test
+    public void testCancelAQueuedOperation() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new ConcurrencyScheduler(1), "db.coll", new ConcurrencyLimitOptions());
+        block(limiter);
+        ManualPublisher cancelledSource = new ManualPublisher();
+        RecordingSubscriber cancelled = subscribe(limiter, cancelledSource);
+        ManualPublisher source = new ManualPublisher();
+        RecordingSubscriber subscriber = subscribe(limiter, source);
+        assertEquals(2, limiter.getStats().getQueued());
+        cancelled.subscription.request(1);
+        cancelled.subscription.cancel();
+        assertEquals(1, limiter.getStats().getQueued());
+        limiter.release(OperationClass.READ);
+        // the cancelled operation never starts and doesn't hold the permit
+        assertNull(cancelledSource.subscriber);
+        assertNotNull(source.subscriber);
+        assertEquals(0, limiter.getStats().getQueued());
+        assertEquals(2, limiter.getStats().getStarted());
+        subscriber.subscription.cancel();
+        assertTrue(source.cancelled);
+        assertEquals(0, limiter.getStats().getActive());
+        ManualPublisher next = new ManualPublisher();
+        subscribe(limiter, next);
+        assertNotNull(next.subscriber);
+    }
+
+    @Test
+    public void testRejectedOperation() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new ConcurrencyScheduler(1), "db.coll", new ConcurrencyLimitOptions().setMaxQueueSize(0));
+        block(limiter);
+        ManualPublisher source = new ManualPublisher();
+        RecordingSubscriber subscriber = subscribe(limiter, source);
+        assertNotNull(subscriber.subscription);
+        assertTrue(subscriber.error instanceof ConcurrencyLimitExceededException);
+        assertNull(source.subscriber);
+        assertEquals(1, limiter.getStats().getRejected());
+    }
+
+    @Test
+    public void testInvalidDemandOfAQueuedOperation() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new ConcurrencyScheduler(1), "db.coll", new ConcurrencyLimitOptions());
+        block(limiter);
+        ManualPublisher source = new ManualPublisher();
+        RecordingSubscriber subscriber = subscribe(limiter, source);
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertEquals(0, limiter.getStats().getQueued());
+        limiter.release(OperationClass.READ);
+        assertNull(source.subscriber);
+    }
+
+    @Test
+    public void testPermitsAreSharedByWeight() {
+        ConcurrencyScheduler scheduler = new ConcurrencyScheduler(1);
+        ConcurrencyLimiter light = new ConcurrencyLimiter(scheduler, "db.light", new ConcurrencyLimitOptions().setWeight(1));
+        ConcurrencyLimiter heavy = new ConcurrencyLimiter(scheduler, "db.heavy", new ConcurrencyLimitOptions().setWeight(3));
+        block(light);
+        List<String> starts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            for (ConcurrencyLimiter limiter : new ConcurrencyLimiter[]{light, heavy}) {
+                String namespace = limiter == light ? "light" : "heavy";
+                // operations ending as soon as they start
+                subscribe(limiter, subscriber -> {
+                    starts.add(namespace);
+                    subscriber.onSubscribe(LimitedPublisher.EMPTY_SUBSCRIPTION);
+                    subscriber.onComplete();
+                });
+            }
+        }
+        assertTrue(starts.isEmpty());
+        light.release(OperationClass.READ);
+        assertEquals(16, starts.size());
+        // the heavy collection gets 3 permits for each permit of the light one while both have queued operations
+        List<String> first = starts.subList(0, 8);
+        assertEquals(2, Collections.frequency(first, "light"));
+        assertEquals(6, Collections.frequency(first, "heavy"));
+        assertFalse(scheduler.hasWaiters());
+    }
+}
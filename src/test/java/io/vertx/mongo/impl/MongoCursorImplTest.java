@@ -0,0 +1,181 @@
+package io.vertx.mongo.impl;
+
+import io.vertx.core.Future;
+import io.vertx.test.core.VertxTestBase;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MongoCursorImplTest extends VertxTestBase {
+
+    /**
+     * Publisher whose items are emitted by the test, recording the demand of its subscriber
+     */
+    private static class ManualPublisher implements Publisher<Integer>, Subscription {
+
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private Subscriber<? super Integer> subscriber;
+        private int emitted;
+
+        @Override
+        public void subscribe(Subscriber<? super Integer> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            requested.addAndGet(n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled.set(true);
+        }
+
+        void emit(int count) {
+            for (int i = 0; i < count; i++) {
+                if (emitted >= requested.get())
+                    throw new IllegalStateException("no demand");
+                subscriber.onNext(emitted++);
+            }
+        }
+
+        void complete() {
+            subscriber.onComplete();
+        }
+    }
+
+    private MongoCursorImpl<Integer, Integer> cursor(ManualPublisher publisher, int prefetch) {
+        MongoCursorImpl<Integer, Integer> cursor = new MongoCursorImpl<>(vertx.getOrCreateContext(), null, prefetch);
+        publisher.subscribe(cursor);
+        waitUntil(() -> publisher.requested.get() == prefetch);
+        return cursor;
+    }
+
+    @Test
+    public void testDemandIsBoundedByPrefetch() {
+        ManualPublisher publisher = new ManualPublisher();
+        MongoCursorImpl<Integer, Integer> cursor = cursor(publisher, 4);
+        publisher.emit(4);
+        cursor.nextBatch()
+                .compose(batch -> {
+                    assertEquals(List.of(0, 1, 2, 3), batch);
+                    // the demand is replenished as items leave the buffer
+                    assertEquals(8, publisher.requested.get());
+                    publisher.emit(3);
+                    return cursor.next();
+                })
+                .compose(item -> {
+                    assertEquals(4, (int) item);
+                    assertEquals(9, publisher.requested.get());
+                    return cursor.nextBatch();
+                })
+                .compose(batch -> {
+                    // only the items already fetched, without waiting for a full batch
+                    assertEquals(List.of(5, 6), batch);
+                    assertEquals(11, publisher.requested.get());
+                    assertFalse(cursor.isExhausted());
+                    publisher.complete();
+                    return cursor.nextBatch();
+                })
+                .onComplete(onSuccess(batch -> {
+                    assertTrue(batch.isEmpty());
+                    assertTrue(cursor.isExhausted());
+                    testComplete();
+                }));
+        await();
+    }
+
+    @Test
+    public void testNextBatchWaitsForItems() {
+        ManualPublisher publisher = new ManualPublisher();
+        MongoCursorImpl<Integer, Integer> cursor = cursor(publisher, 4);
+        cursor.nextBatch().onComplete(onSuccess(batch -> {
+            assertEquals(List.of(0), batch);
+            testComplete();
+        }));
+        publisher.emit(1);
+        await();
+    }
+
+    @Test
+    public void testOnlyOneCallCanBePending() {
+        ManualPublisher publisher = new ManualPublisher();
+        MongoCursorImpl<Integer, Integer> cursor = cursor(publisher, 4);
+        Future<Integer> first = cursor.next();
+        cursor.next().onComplete(onFailure(ex -> {
+            assertTrue(ex instanceof IllegalStateException);
+            publisher.emit(1);
+            first.onComplete(onSuccess(item -> {
+                assertEquals(0, (int) item);
+                testComplete();
+            }));
+        }));
+        await();
+    }
+
+    @Test
+    public void testCloseMidStream() {
+        ManualPublisher publisher = new ManualPublisher();
+        MongoCursorImpl<Integer, Integer> cursor = cursor(publisher, 4);
+        publisher.emit(2);
+        cursor.next()
+                .compose(item -> {
+                    assertEquals(0, (int) item);
+                    cursor.close();
+                    return cursor.nextBatch();
+                })
+                .onComplete(onSuccess(batch -> {
+                    // the buffered item is discarded
+                    assertTrue(batch.isEmpty());
+                    assertTrue(cursor.isExhausted());
+                    assertTrue(publisher.cancelled.get());
+                    testComplete();
+                }));
+        await();
+    }
+
+    @Test
+    public void testCloseCompletesPendingCall() {
+        ManualPublisher publisher = new ManualPublisher();
+        MongoCursorImpl<Integer, Integer> cursor = cursor(publisher, 4);
+        cursor.nextBatch().onComplete(onSuccess(batch -> {
+            assertTrue(batch.isEmpty());
+            assertTrue(publisher.cancelled.get());
+            testComplete();
+        }));
+        cursor.close();
+        await();
+    }
+
+    @Test
+    public void testFailure() {
+        ManualPublisher publisher = new ManualPublisher();
+        MongoCursorImpl<Integer, Integer> cursor = cursor(publisher, 4);
+        publisher.emit(1);
+        RuntimeException failure = new RuntimeException("expected");
+        cursor.next()
+                .compose(item -> {
+                    publisher.subscriber.onError(failure);
+                    return cursor.next();
+                })
+                .onComplete(onFailure(ex -> {
+                    assertSame(failure, ex);
+                    assertTrue(cursor.isExhausted());
+                    testComplete();
+                }));
+        await();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrefetchMustBePositive() {
+        new MongoCursorImpl<Integer, Integer>(vertx.getOrCreateContext(), null, 0);
+    }
+}
@@ -0,0 +1,122 @@
+package io.vertx.mongo.impl;
+
+import com.mongodb.MongoClientSettings;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.MongoResult;
+import io.vertx.mongo.client.ClientConfig;
+import io.vertx.mongo.impl.codec.json.JsonObjectCodec;
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Measures the per-item overhead of the result pipeline (mapping publisher + output mapper + delivery)
+ * using an in-memory publisher, so that no server is required.
+ */
+public class ResultPipelineBenchmark {
+
+    private static final int ITEMS = 10_000;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int ITERATIONS = 500;
+
+    public static void main(String[] args) throws Exception {
+        Vertx vertx = Vertx.vertx();
+        try {
+            ContextInternal context = (ContextInternal) vertx.getOrCreateContext();
+            MongoClientContext clientContext = new MongoClientContext((VertxInternal) vertx, context, MongoClientSettings.getDefaultCodecRegistry(), new ClientConfig());
+            List<JsonObject> documents = new ArrayList<>(ITEMS);
+            for (int i = 0; i < ITEMS; i++)
+                documents.add(new JsonObject().put("_id", new JsonObject().put(JsonObjectCodec.OID_FIELD, new ObjectId().toHexString())).put("i", i));
+            Function<JsonObject, JsonObject> driverMapper = JsonObject::copy;
+            Function<JsonObject, JsonObject> outputMapper = new ObjectIdOutputMapper();
+
+            // no mapping at all: cost of the subscription and delivery
+            run("source only", () -> new MongoResultImpl<>(clientContext, new ListPublisher<>(documents)));
+            // mapping publisher + output mapper, fused into a single function
+            run("fused", () -> new MongoResultImpl<>(clientContext, new MappingPublisher<>(new ListPublisher<>(documents), driverMapper), outputMapper));
+            // mapping publisher hidden behind another publisher: one extra subscriber per layer
+            run("stacked", () -> {
+                MappingPublisher<JsonObject, JsonObject> mappingPublisher = new MappingPublisher<>(new ListPublisher<>(documents), driverMapper);
+                Publisher<JsonObject> opaque = mappingPublisher::subscribe;
+                return new MongoResultImpl<>(clientContext, opaque, outputMapper);
+            });
+        } finally {
+            vertx.close();
+        }
+    }
+
+    private static void run(String name, Supplier<MongoResult<JsonObject>> results) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++)
+            consume(results.get());
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+            consume(results.get());
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-12s %8.1f ns/item%n", name, (double) elapsed / ((long) ITERATIONS * ITEMS));
+    }
+
+    private static void consume(MongoResult<JsonObject> result) throws Exception {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        result.stream(256)
+                .exceptionHandler(done::completeExceptionally)
+                .endHandler(v -> done.complete(null))
+                .handler(item -> {});
+        done.get();
+    }
+
+    /**
+     * Publisher emitting the items of a list synchronously, honoring the requested demand.
+     */
+    private static class ListPublisher<T> implements Publisher<T> {
+
+        private final List<T> items;
+
+        ListPublisher(List<T> items) {
+            this.items = items;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super T> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private int index;
+                private long demand;
+                private boolean emitting;
+                private boolean cancelled;
+
+                @Override
+                public void request(long n) {
+                    demand += n;
+                    if (demand < 0)
+                        demand = Long.MAX_VALUE;
+                    if (emitting)
+                        return;
+                    emitting = true;
+                    while (demand > 0 && index < items.size() && !cancelled) {
+                        demand--;
+                        subscriber.onNext(items.get(index++));
+                    }
+                    emitting = false;
+                    if (index == items.size() && !cancelled) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package io.vertx.mongo.inmemory;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonDouble;
+import org.bson.BsonNull;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Subset of the query language evaluated on documents: comparison, element and logical query operators, top-level
+ * projections, sorts and the {@code $set}, {@code $unset}, {@code $inc}, {@code $push} and {@code $setOnInsert}
+ * update operators. Other operators fail with an {@link UnsupportedOperationException}.
+ */
+final class BsonQuery {
+
+    private BsonQuery() {}
+
+    static boolean matches(BsonDocument document, BsonDocument filter) {
+        for (Map.Entry<String, BsonValue> entry : filter.entrySet()) {
+            String key = entry.getKey();
+            BsonValue condition = entry.getValue();
+            switch (key) {
+                case "$and":
+                    for (BsonValue item : condition.asArray())
+                        if (!matches(document, item.asDocument()))
+                            return false;
+                    break;
+                case "$or":
+                    if (!anyMatches(document, condition.asArray()))
+                        return false;
+                    break;
+                case "$nor":
+                    if (anyMatches(document, condition.asArray()))
+                        return false;
+                    break;
+                default:
+                    if (key.startsWith("$"))
+                        throw new UnsupportedOperationException("unsupported query operator: " + key);
+                    if (!matchesField(get(document, key), condition))
+                        return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean anyMatches(BsonDocument document, BsonArray filters) {
+        for (BsonValue item : filters)
+            if (matches(document, item.asDocument()))
+                return true;
+        return false;
+    }
+
+    private static boolean isOperatorDocument(BsonValue condition) {
+        return condition.isDocument() && !condition.asDocument().isEmpty() && condition.asDocument().getFirstKey().startsWith("$");
+    }
+
+    private static boolean matchesField(BsonValue value, BsonValue condition) {
+        if (!isOperatorDocument(condition))
+            return matchesValue(value, v -> equal(v, condition));
+        for (Map.Entry<String, BsonValue> entry : condition.asDocument().entrySet()) {
+            BsonValue operand = entry.getValue();
+            boolean matched;
+            switch (entry.getKey()) {
+                case "$eq":
+                    matched = matchesValue(value, v -> equal(v, operand));
+                    break;
+                case "$ne":
+                    matched = !matchesValue(value, v -> equal(v, operand));
+                    break;
+                case "$gt":
+                    matched = matchesValue(value, v -> comparable(v, operand) && compare(v, operand) > 0);
+                    break;
+                case "$gte":
+                    matched = matchesValue(value, v -> comparable(v, operand) && compare(v, operand) >= 0);
+                    break;
+                case "$lt":
+                    matched = matchesValue(value, v -> comparable(v, operand) && compare(v, operand) < 0);
+                    break;
+                case "$lte":
+                    matched = matchesValue(value, v -> comparable(v, operand) && compare(v, operand) <= 0);
+                    break;
+                case "$in":
+                    matched = matchesValue(value, v -> contains(operand.asArray(), v));
+                    break;
+                case "$nin":
+                    matched = !matchesValue(value, v -> contains(operand.asArray(), v));
+                    break;
+                case "$exists":
+                    matched = (value != null) == (operand.isBoolean() ? operand.asBoolean().getValue() : operand.isNumber() && operand.asNumber().doubleValue() != 0);
+                    break;
+                case "$not":
+                    matched = !matchesField(value, operand);
+                    break;
+                default:
+                    throw new UnsupportedOperationException("unsupported query operator: " + entry.getKey());
+            }
+            if (!matched)
+                return false;
+        }
+        return true;
+    }
+
+    private interface ValuePredicate {
+        boolean test(BsonValue value);
+    }
+
+    /**
+     * Missing fields are null. An array matches if it matches as a whole or if one of its elements matches.
+     */
+    private static boolean matchesValue(BsonValue value, ValuePredicate predicate) {
+        BsonValue actual = value == null ? BsonNull.VALUE : value;
+        if (predicate.test(actual))
+            return true;
+        if (actual.isArray()) {
+            for (BsonValue item : actual.asArray())
+                if (predicate.test(item))
+                    return true;
+        }
+        return false;
+    }
+
+    private static boolean contains(BsonArray values, BsonValue value) {
+        for (BsonValue item : values)
+            if (equal(value, item))
+                return true;
+        return false;
+    }
+
+    private static boolean comparable(BsonValue left, BsonValue right) {
+        return typeOrder(left) == typeOrder(right);
+    }
+
+    static boolean equal(BsonValue left, BsonValue right) {
+        if (left.isNumber() && right.isNumber())
+            return compare(left, right) == 0;
+        return left.equals(right);
+    }
+
+    /**
+     * Order of the types in comparisons and sorts
+     */
+    private static int typeOrder(BsonValue value) {
+        switch (value.getBsonType()) {
+            case MIN_KEY:
+                return 0;
+            case NULL:
+            case UNDEFINED:
+                return 1;
+            case INT32:
+            case INT64:
+            case DOUBLE:
+            case DECIMAL128:
+                return 2;
+            case STRING:
+            case SYMBOL:
+                return 3;
+            case DOCUMENT:
+                return 4;
+            case ARRAY:
+                return 5;
+            case BINARY:
+                return 6;
+            case OBJECT_ID:
+                return 7;
+            case BOOLEAN:
+                return 8;
+            case DATE_TIME:
+                return 9;
+            case TIMESTAMP:
+                return 10;
+            case REGULAR_EXPRESSION:
+                return 11;
+            case MAX_KEY:
+                return 13;
+            default:
+                return 12;
+        }
+    }
+
+    static int compare(BsonValue left, BsonValue right) {
+        int order = Integer.compare(typeOrder(left), typeOrder(right));
+        if (order != 0)
+            return order;
+        switch (left.getBsonType()) {
+            case INT32:
+            case INT64:
+                if (right.getBsonType() == BsonType.INT32 || right.getBsonType() == BsonType.INT64)
+                    return Long.compare(left.asNumber().longValue(), right.asNumber().longValue());
+                return Double.compare(left.asNumber().doubleValue(), right.asNumber().doubleValue());
+            case DOUBLE:
+            case DECIMAL128:
+                return Double.compare(left.asNumber().doubleValue(), right.asNumber().doubleValue());
+            case STRING:
+                return left.asString().getValue().compareTo(right.asString().getValue());
+            case OBJECT_ID:
+                return left.asObjectId().getValue().compareTo(right.asObjectId().getValue());
+            case BOOLEAN:
+                return Boolean.compare(left.asBoolean().getValue(), right.asBoolean().getValue());
+            case DATE_TIME:
+                return Long.compare(left.asDateTime().getValue(), right.asDateTime().getValue());
+            case TIMESTAMP:
+                return left.asTimestamp().compareTo(right.asTimestamp());
+            case NULL:
+            case UNDEFINED:
+            case MIN_KEY:
+            case MAX_KEY:
+                return 0;
+            default:
+                return left.toString().compareTo(right.toString());
+        }
+    }
+
+    /**
+     * @return the value at a dotted path, null if missing
+     */
+    static BsonValue get(BsonDocument document, String path) {
+        BsonValue current = document;
+        for (String name : path.split("\\.")) {
+            if (current == null || !current.isDocument())
+                return null;
+            current = current.asDocument().get(name);
+        }
+        return current;
+    }
+
+    private static BsonDocument parent(BsonDocument document, String path, boolean create) {
+        String[] names = path.split("\\.");
+        BsonDocument current = document;
+        for (int i = 0; i < names.length - 1; i++) {
+            BsonValue child = current.get(names[i]);
+            if (child == null || !child.isDocument()) {
+                if (!create)
+                    return null;
+                child = new BsonDocument();
+                current.put(names[i], child);
+            }
+            current = child.asDocument();
+        }
+        return current;
+    }
+
+    private static String leaf(String path) {
+        return path.substring(path.lastIndexOf('.') + 1);
+    }
+
+    static Comparator<BsonDocument> comparator(BsonDocument sort) {
+        return (left, right) -> {
+            for (Map.Entry<String, BsonValue> entry : sort.entrySet()) {
+                BsonValue leftValue = get(left, entry.getKey());
+                BsonValue rightValue = get(right, entry.getKey());
+                int order = compare(leftValue == null ? BsonNull.VALUE : leftValue, rightValue == null ? BsonNull.VALUE : rightValue);
+                if (order != 0)
+                    return entry.getValue().asNumber().intValue() < 0 ? -order : order;
+            }
+            return 0;
+        };
+    }
+
+    static BsonDocument project(BsonDocument document, BsonDocument projection) {
+        boolean inclusion = false;
+        for (Map.Entry<String, BsonValue> entry : projection.entrySet()) {
+            if (!entry.getKey().equals("_id") && isTrue(entry.getValue()))
+                inclusion = true;
+        }
+        BsonValue id = projection.get("_id");
+        boolean keepId = id == null || isTrue(id);
+        BsonDocument result = new BsonDocument();
+        for (Map.Entry<String, BsonValue> entry : document.entrySet()) {
+            String name = entry.getKey();
+            boolean keep;
+            if (name.equals("_id"))
+                keep = keepId;
+            else if (inclusion)
+                keep = projection.containsKey(name) && isTrue(projection.get(name));
+            else
+                keep = !projection.containsKey(name);
+            if (keep)
+                result.put(name, entry.getValue());
+        }
+        return result;
+    }
+
+    private static boolean isTrue(BsonValue value) {
+        if (value.isBoolean())
+            return value.asBoolean().getValue();
+        if (value.isNumber())
+            return value.asNumber().doubleValue() != 0;
+        throw new UnsupportedOperationException("unsupported projection: " + value);
+    }
+
+    /**
+     * @return a copy of a document or an array, other values are immutable
+     */
+    private static BsonValue copy(BsonValue value) {
+        if (value.isDocument())
+            return value.asDocument().clone();
+        if (value.isArray())
+            return value.asArray().clone();
+        return value;
+    }
+
+    static boolean isUpdate(BsonDocument update) {
+        return !update.isEmpty() && update.getFirstKey().startsWith("$");
+    }
+
+    /**
+     * @return true if the document has been modified
+     */
+    static boolean update(BsonDocument document, BsonDocument update, boolean inserted) {
+        String before = document.toJson();
+        for (Map.Entry<String, BsonValue> operator : update.entrySet()) {
+            for (Map.Entry<String, BsonValue> field : operator.getValue().asDocument().entrySet()) {
+                String path = field.getKey();
+                BsonValue value = field.getValue();
+                switch (operator.getKey()) {
+                    case "$setOnInsert":
+                        if (!inserted)
+                            break;
+                        // falls through
+                    case "$set":
+                        parent(document, path, true).put(leaf(path), copy(value));
+                        break;
+                    case "$unset": {
+                        BsonDocument parent = parent(document, path, false);
+                        if (parent != null)
+                            parent.remove(leaf(path));
+                        break;
+                    }
+                    case "$inc": {
+                        BsonDocument parent = parent(document, path, true);
+                        parent.put(leaf(path), add(parent.get(leaf(path)), value));
+                        break;
+                    }
+                    case "$push": {
+                        BsonDocument parent = parent(document, path, true);
+                        BsonValue array = parent.get(leaf(path));
+                        if (array == null) {
+                            array = new BsonArray();
+                            parent.put(leaf(path), array);
+                        }
+                        array.asArray().add(copy(value));
+                        break;
+                    }
+                    default:
+                        throw new UnsupportedOperationException("unsupported update operator: " + operator.getKey());
+                }
+            }
+        }
+        return !before.equals(document.toJson());
+    }
+
+    private static BsonValue add(BsonValue value, BsonValue increment) {
+        if (value == null)
+            return increment;
+        if (value.isDouble() || increment.isDouble())
+            return new BsonDouble(value.asNumber().doubleValue() + increment.asNumber().doubleValue());
+        if (value.isInt64() || increment.isInt64())
+            return new BsonInt64(value.asNumber().longValue() + increment.asNumber().longValue());
+        long sum = (long) value.asInt32().getValue() + increment.asInt32().getValue();
+        return sum == (int) sum ? new BsonInt32((int) sum) : new BsonInt64(sum);
+    }
+
+    /**
+     * @return the document inserted by an upsert: the equality conditions of the filter
+     */
+    static BsonDocument upsertDocument(BsonDocument filter) {
+        BsonDocument result = new BsonDocument();
+        for (Map.Entry<String, BsonValue> entry : filter.entrySet()) {
+            String key = entry.getKey();
+            BsonValue condition = entry.getValue();
+            if (key.startsWith("$"))
+                continue;
+            if (!isOperatorDocument(condition))
+                parent(result, key, true).put(leaf(key), copy(condition));
+            else if (condition.asDocument().containsKey("$eq"))
+                parent(result, key, true).put(leaf(key), copy(condition.asDocument().get("$eq")));
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the {@code $match}, {@code $sort}, {@code $skip}, {@code $limit}, {@code $project} and {@code $count}
+     * stages of a pipeline
+     */
+    static List<BsonDocument> aggregate(List<BsonDocument> documents, List<BsonDocument> pipeline) {
+        List<BsonDocument> result = new ArrayList<>(documents);
+        for (BsonDocument stage : pipeline) {
+            String name = stage.getFirstKey();
+            BsonValue spec = stage.get(name);
+            List<BsonDocument> next = new ArrayList<>();
+            switch (name) {
+                case "$match":
+                    for (BsonDocument document : result)
+                        if (matches(document, spec.asDocument()))
+                            next.add(document);
+                    break;
+                case "$sort":
+                    next.addAll(result);
+                    next.sort(comparator(spec.asDocument()));
+                    break;
+                case "$skip":
+                    next.addAll(result.subList(Math.min(result.size(), spec.asNumber().intValue()), result.size()));
+                    break;
+                case "$limit":
+                    next.addAll(result.subList(0, Math.min(result.size(), spec.asNumber().intValue())));
+                    break;
+                case "$project":
+                    for (BsonDocument document : result)
+                        next.add(project(document, spec.asDocument()));
+                    break;
+                case "$count":
+                    if (!result.isEmpty())
+                        next.add(new BsonDocument(spec.asString().getValue(), new BsonInt32(result.size())));
+                    break;
+                default:
+                    throw new UnsupportedOperationException("unsupported aggregation stage: " + name);
+            }
+            result = next;
+        }
+        return result;
+    }
+}
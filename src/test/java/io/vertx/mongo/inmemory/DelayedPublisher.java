@@ -0,0 +1,146 @@
+package io.vertx.mongo.inmemory;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * Publisher of the results of an operation of an {@link InMemoryMongo}, behaving like a cursor: the operation runs in
+ * a first round trip once there is demand, then every batch after the first one is fetched in another round trip.
+ * Each round trip is delayed and may fail according to the options of the server.
+ * <p>Items are signaled on the threads of the server, like the driver signals them on its own threads.</p>
+ * @param <T> type of the items
+ */
+class DelayedPublisher<T> implements Publisher<T> {
+
+    private final InMemoryMongo server;
+    private final Callable<List<T>> operation;
+    private final int batchSize;
+
+    /**
+     * @param batchSize the size of the batches, the default batch size of the server if not positive
+     */
+    DelayedPublisher(InMemoryMongo server, Callable<List<T>> operation, int batchSize) {
+        this.server = Objects.requireNonNull(server, "server is null");
+        this.operation = Objects.requireNonNull(operation, "operation is null");
+        this.batchSize = batchSize > 0 ? batchSize : server.getOptions().getDefaultBatchSize();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber is null");
+        subscriber.onSubscribe(new Cursor(subscriber));
+    }
+
+    private class Cursor implements Subscription {
+
+        private final Subscriber<? super T> downstream;
+        private List<T> results;
+        private int position;
+        private int batchEnd;
+        private long requested;
+        private boolean fetching;
+        private boolean emitting;
+        private boolean done;
+
+        Cursor(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                synchronized (this) {
+                    if (done)
+                        return;
+                    done = true;
+                }
+                downstream.onError(new IllegalArgumentException("request must be positive"));
+                return;
+            }
+            synchronized (this) {
+                requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+            }
+            drain();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            done = true;
+        }
+
+        /**
+         * Signals the items of the current batch while there is demand, from a single thread at a time: requests made
+         * from {@code onNext} only add demand
+         */
+        private void drain() {
+            synchronized (this) {
+                if (emitting)
+                    return;
+                emitting = true;
+            }
+            while (true) {
+                T item;
+                synchronized (this) {
+                    if (done) {
+                        emitting = false;
+                        return;
+                    }
+                    if (results != null && position == results.size()) {
+                        done = true;
+                        emitting = false;
+                        item = null;
+                    } else if (results != null && position < batchEnd && requested > 0) {
+                        item = results.get(position++);
+                        requested--;
+                    } else {
+                        boolean fetch = requested > 0 && !fetching;
+                        fetching |= fetch;
+                        emitting = false;
+                        if (fetch)
+                            server.roundTrip(this::fetched);
+                        return;
+                    }
+                }
+                if (item == null) {
+                    downstream.onComplete();
+                    return;
+                }
+                downstream.onNext(item);
+            }
+        }
+
+        private void fetched(Throwable injected) {
+            Throwable failure = injected;
+            if (failure == null) {
+                synchronized (this) {
+                    if (results == null) {
+                        try {
+                            results = operation.call();
+                        } catch (Throwable t) {
+                            failure = t;
+                        }
+                    }
+                    if (failure == null) {
+                        batchEnd = Math.min(results.size(), position + batchSize);
+                        fetching = false;
+                    }
+                }
+            }
+            if (failure != null) {
+                synchronized (this) {
+                    if (done)
+                        return;
+                    done = true;
+                }
+                downstream.onError(failure);
+                return;
+            }
+            drain();
+        }
+    }
+}
@@ -0,0 +1,709 @@
+package io.vertx.mongo.inmemory;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoNamespace;
+import com.mongodb.MongoWriteException;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteInsert;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.DeleteManyModel;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.FindOneAndDeleteOptions;
+import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.client.result.InsertOneResult;
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.reactivestreams.client.AggregatePublisher;
+import com.mongodb.reactivestreams.client.ClientSession;
+import com.mongodb.reactivestreams.client.DistinctPublisher;
+import com.mongodb.reactivestreams.client.FindPublisher;
+import com.mongodb.reactivestreams.client.ListCollectionsPublisher;
+import com.mongodb.reactivestreams.client.ListDatabasesPublisher;
+import com.mongodb.reactivestreams.client.ListIndexesPublisher;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.Codec;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Driver client, databases, collections and publishers of an {@link InMemoryMongo}, implemented with dynamic proxies
+ * so that the methods of the driver interfaces that are not supported do not need to be written: they fail with an
+ * {@link UnsupportedOperationException}, like every method taking a {@link ClientSession}.
+ * <p>Builder methods of the publishers that are not supported (max time, comment, hint, collation...) are ignored.</p>
+ */
+final class DriverProxies {
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().isEncodingCollectibleDocument(true).build();
+    private static final BsonDocumentCodec BSON_DOCUMENT_CODEC = new BsonDocumentCodec();
+
+    private DriverProxies() {}
+
+    static MongoClient client(InMemoryMongo server, CodecRegistry registry) {
+        return proxy(MongoClient.class, new ClientHandler(server, registry));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(DriverProxies.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object[] arguments = args == null ? new Object[0] : args;
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == arguments[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return toString();
+                }
+            }
+            if (arguments.length > 0 && arguments[0] instanceof ClientSession)
+                throw unsupported(method);
+            return handle(proxy, method, arguments);
+        }
+
+        abstract Object handle(Object proxy, Method method, Object[] args) throws Exception;
+    }
+
+    private static class ClientHandler extends Handler {
+
+        private final InMemoryMongo server;
+        private final CodecRegistry registry;
+
+        ClientHandler(InMemoryMongo server, CodecRegistry registry) {
+            this.server = server;
+            this.registry = registry;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getDatabase":
+                    return proxy(MongoDatabase.class, new DatabaseHandler(server, registry, (String) args[0], ReadPreference.primary(), WriteConcern.ACKNOWLEDGED, ReadConcern.DEFAULT));
+                case "listDatabaseNames":
+                    return new DelayedPublisher<>(server, server::getDatabaseNames, 0);
+                case "listDatabases":
+                    return cursor(ListDatabasesPublisher.class, server, registry, resultClass(args, Document.class), cursor -> {
+                        List<BsonDocument> databases = new ArrayList<>();
+                        for (String name : server.getDatabaseNames())
+                            databases.add(new BsonDocument("name", new BsonString(name)).append("sizeOnDisk", new BsonInt64(0)).append("empty", BsonBoolean.FALSE));
+                        return databases;
+                    });
+                case "close":
+                    return null;
+                default:
+                    throw unsupported(method);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "InMemoryMongoClient";
+        }
+    }
+
+    private static class DatabaseHandler extends Handler {
+
+        private final InMemoryMongo server;
+        private final CodecRegistry registry;
+        private final String name;
+        private final ReadPreference readPreference;
+        private final WriteConcern writeConcern;
+        private final ReadConcern readConcern;
+
+        DatabaseHandler(InMemoryMongo server, CodecRegistry registry, String name, ReadPreference readPreference, WriteConcern writeConcern, ReadConcern readConcern) {
+            this.server = server;
+            this.registry = registry;
+            this.name = name;
+            this.readPreference = readPreference;
+            this.writeConcern = writeConcern;
+            this.readConcern = readConcern;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getName":
+                    return name;
+                case "getCodecRegistry":
+                    return registry;
+                case "getReadPreference":
+                    return readPreference;
+                case "getWriteConcern":
+                    return writeConcern;
+                case "getReadConcern":
+                    return readConcern;
+                case "withCodecRegistry":
+                    return proxy(MongoDatabase.class, new DatabaseHandler(server, (CodecRegistry) args[0], name, readPreference, writeConcern, readConcern));
+                case "withReadPreference":
+                    return proxy(MongoDatabase.class, new DatabaseHandler(server, registry, name, (ReadPreference) args[0], writeConcern, readConcern));
+                case "withWriteConcern":
+                    return proxy(MongoDatabase.class, new DatabaseHandler(server, registry, name, readPreference, (WriteConcern) args[0], readConcern));
+                case "withReadConcern":
+                    return proxy(MongoDatabase.class, new DatabaseHandler(server, registry, name, readPreference, writeConcern, (ReadConcern) args[0]));
+                case "getCollection":
+                    return proxy(MongoCollection.class, new CollectionHandler(server, registry, new MongoNamespace(name, (String) args[0]), resultClass(args, Document.class), readPreference, writeConcern, readConcern));
+                case "runCommand":
+                    return single(server, () -> decode(command(toDocument(args[0], registry)), resultClass(args, Document.class), registry));
+                case "drop":
+                    return empty(server, () -> server.dropDatabase(name));
+                case "listCollectionNames":
+                    return new DelayedPublisher<>(server, () -> server.getCollectionNames(name), 0);
+                case "listCollections":
+                    return cursor(ListCollectionsPublisher.class, server, registry, resultClass(args, Document.class), cursor -> {
+                        List<BsonDocument> collections = new ArrayList<>();
+                        for (String collectionName : server.getCollectionNames(name)) {
+                            BsonDocument collection = new BsonDocument("name", new BsonString(collectionName)).append("type", new BsonString("collection"));
+                            if (cursor.filter == null || BsonQuery.matches(collection, cursor.filter))
+                                collections.add(collection);
+                        }
+                        return collections;
+                    });
+                case "createCollection":
+                    return empty(server, () -> server.getCollection(name, (String) args[0]));
+                default:
+                    throw unsupported(method);
+            }
+        }
+
+        private BsonDocument command(BsonDocument command) {
+            String commandName = command.getFirstKey();
+            BsonDocument result = new BsonDocument("ok", new BsonDouble(1));
+            switch (commandName) {
+                case "ping":
+                    return result;
+                case "hello":
+                case "isMaster":
+                case "ismaster":
+                    return new BsonDocument("isWritablePrimary", BsonBoolean.TRUE).append("ismaster", BsonBoolean.TRUE)
+                            .append("maxWireVersion", new BsonInt32(9)).append("ok", new BsonDouble(1));
+                case "buildInfo":
+                case "buildinfo":
+                    return new BsonDocument("version", new BsonString("4.4.0")).append("ok", new BsonDouble(1));
+                default:
+                    throw new UnsupportedOperationException("unsupported command: " + commandName);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "InMemoryMongoDatabase{" + name + "}";
+        }
+    }
+
+    private static class CollectionHandler extends Handler {
+
+        private final InMemoryMongo server;
+        private final CodecRegistry registry;
+        private final MongoNamespace namespace;
+        private final Class<?> documentClass;
+        private final ReadPreference readPreference;
+        private final WriteConcern writeConcern;
+        private final ReadConcern readConcern;
+
+        CollectionHandler(InMemoryMongo server, CodecRegistry registry, MongoNamespace namespace, Class<?> documentClass, ReadPreference readPreference, WriteConcern writeConcern, ReadConcern readConcern) {
+            this.server = server;
+            this.registry = registry;
+            this.namespace = namespace;
+            this.documentClass = documentClass;
+            this.readPreference = readPreference;
+            this.writeConcern = writeConcern;
+            this.readConcern = readConcern;
+        }
+
+        private InMemoryCollection collection() {
+            return server.getCollection(namespace.getDatabaseName(), namespace.getCollectionName());
+        }
+
+        private MongoCollection<?> with(CodecRegistry registry, Class<?> documentClass, ReadPreference readPreference, WriteConcern writeConcern, ReadConcern readConcern) {
+            return proxy(MongoCollection.class, new CollectionHandler(server, registry, namespace, documentClass, readPreference, writeConcern, readConcern));
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getNamespace":
+                    return namespace;
+                case "getDocumentClass":
+                    return documentClass;
+                case "getCodecRegistry":
+                    return registry;
+                case "getReadPreference":
+                    return readPreference;
+                case "getWriteConcern":
+                    return writeConcern;
+                case "getReadConcern":
+                    return readConcern;
+                case "withDocumentClass":
+                    return with(registry, (Class<?>) args[0], readPreference, writeConcern, readConcern);
+                case "withCodecRegistry":
+                    return with((CodecRegistry) args[0], documentClass, readPreference, writeConcern, readConcern);
+                case "withReadPreference":
+                    return with(registry, documentClass, (ReadPreference) args[0], writeConcern, readConcern);
+                case "withWriteConcern":
+                    return with(registry, documentClass, readPreference, (WriteConcern) args[0], readConcern);
+                case "withReadConcern":
+                    return with(registry, documentClass, readPreference, writeConcern, (ReadConcern) args[0]);
+                case "estimatedDocumentCount":
+                    return single(server, () -> (long) collection().size());
+                case "countDocuments": {
+                    BsonDocument filter = args.length > 0 ? toDocument(args[0], registry) : null;
+                    CountOptions options = option(args, 1, CountOptions.class);
+                    return single(server, () -> collection().count(filter, options == null ? 0 : options.getSkip(), options == null ? 0 : options.getLimit()));
+                }
+                case "find": {
+                    Object filter = args.length > 0 && args[0] instanceof Bson ? args[0] : null;
+                    return cursor(FindPublisher.class, server, registry, resultClass(args, documentClass), cursor -> collection().find(cursor.filter, cursor.sort, cursor.projection, cursor.skip, cursor.limit))
+                            .filter(filter == null ? null : (Bson) filter);
+                }
+                case "aggregate": {
+                    List<BsonDocument> pipeline = toDocuments((List<?>) args[0], registry);
+                    return cursor(AggregatePublisher.class, server, registry, resultClass(args, documentClass), cursor -> BsonQuery.aggregate(collection().snapshot(), pipeline));
+                }
+                case "distinct": {
+                    String fieldName = (String) args[0];
+                    BsonDocument filter = args.length > 2 ? toDocument(args[1], registry) : null;
+                    return cursor(DistinctPublisher.class, server, registry, resultClass(args, documentClass), cursor -> distinct(fieldName, cursor.filter != null ? cursor.filter : filter));
+                }
+                case "insertOne": {
+                    BsonDocument document = encode(args[0], registry, true);
+                    return single(server, () -> InsertOneResult.acknowledged(collection().insert(document)));
+                }
+                case "insertMany": {
+                    InsertManyOptions options = option(args, 1, InsertManyOptions.class);
+                    List<WriteModel<BsonDocument>> requests = new ArrayList<>();
+                    for (Object document : (List<?>) args[0])
+                        requests.add(new InsertOneModel<>(encode(document, registry, true)));
+                    return single(server, () -> InsertManyResult.acknowledged(bulkWrite(requests, options == null || options.isOrdered()).insertedIds));
+                }
+                case "bulkWrite": {
+                    BulkWriteOptions options = option(args, 1, BulkWriteOptions.class);
+                    List<WriteModel<BsonDocument>> requests = new ArrayList<>();
+                    for (Object request : (List<?>) args[0])
+                        requests.add(toBsonModel((WriteModel<?>) request));
+                    return single(server, () -> bulkWrite(requests, options == null || options.isOrdered()).toResult());
+                }
+                case "deleteOne":
+                case "deleteMany": {
+                    BsonDocument filter = toDocument(args[0], registry);
+                    boolean multi = method.getName().equals("deleteMany");
+                    return single(server, () -> DeleteResult.acknowledged(collection().delete(filter, multi)));
+                }
+                case "replaceOne": {
+                    BsonDocument filter = toDocument(args[0], registry);
+                    BsonDocument replacement = encode(args[1], registry, false);
+                    ReplaceOptions options = option(args, 2, ReplaceOptions.class);
+                    return single(server, () -> collection().update(filter, replacement, false, options != null && options.isUpsert()));
+                }
+                case "updateOne":
+                case "updateMany": {
+                    BsonDocument filter = toDocument(args[0], registry);
+                    if (!(args[1] instanceof Bson))
+                        throw new UnsupportedOperationException("unsupported update pipeline");
+                    BsonDocument update = toDocument(args[1], registry);
+                    UpdateOptions options = option(args, 2, UpdateOptions.class);
+                    boolean multi = method.getName().equals("updateMany");
+                    return single(server, () -> collection().update(filter, update, multi, options != null && options.isUpsert()));
+                }
+                case "findOneAndDelete": {
+                    BsonDocument filter = toDocument(args[0], registry);
+                    FindOneAndDeleteOptions options = option(args, 1, FindOneAndDeleteOptions.class);
+                    BsonDocument sort = options == null ? null : toDocument(options.getSort(), registry);
+                    BsonDocument projection = options == null ? null : toDocument(options.getProjection(), registry);
+                    return single(server, () -> decode(collection().findOneAndDelete(filter, sort, projection), documentClass, registry));
+                }
+                case "findOneAndReplace": {
+                    BsonDocument filter = toDocument(args[0], registry);
+                    BsonDocument replacement = encode(args[1], registry, false);
+                    FindOneAndReplaceOptions options = option(args, 2, FindOneAndReplaceOptions.class);
+                    BsonDocument sort = options == null ? null : toDocument(options.getSort(), registry);
+                    BsonDocument projection = options == null ? null : toDocument(options.getProjection(), registry);
+                    boolean upsert = options != null && options.isUpsert();
+                    boolean returnAfter = options != null && options.getReturnDocument() == ReturnDocument.AFTER;
+                    return single(server, () -> decode(collection().findOneAndUpdate(filter, replacement, sort, projection, upsert, returnAfter), documentClass, registry));
+                }
+                case "findOneAndUpdate": {
+                    BsonDocument filter = toDocument(args[0], registry);
+                    if (!(args[1] instanceof Bson))
+                        throw new UnsupportedOperationException("unsupported update pipeline");
+                    BsonDocument update = toDocument(args[1], registry);
+                    FindOneAndUpdateOptions options = option(args, 2, FindOneAndUpdateOptions.class);
+                    BsonDocument sort = options == null ? null : toDocument(options.getSort(), registry);
+                    BsonDocument projection = options == null ? null : toDocument(options.getProjection(), registry);
+                    boolean upsert = options != null && options.isUpsert();
+                    boolean returnAfter = options != null && options.getReturnDocument() == ReturnDocument.AFTER;
+                    return single(server, () -> decode(collection().findOneAndUpdate(filter, update, sort, projection, upsert, returnAfter), documentClass, registry));
+                }
+                case "drop":
+                    return empty(server, () -> server.dropCollection(namespace.getDatabaseName(), namespace.getCollectionName()));
+                case "createIndex": {
+                    BsonDocument keys = toDocument(args[0], registry);
+                    IndexOptions options = option(args, 1, IndexOptions.class);
+                    return single(server, () -> collection().createIndex(keys, options == null ? null : options.getName()));
+                }
+                case "createIndexes": {
+                    List<IndexModel> indexes = new ArrayList<>();
+                    for (Object index : (List<?>) args[0])
+                        indexes.add((IndexModel) index);
+                    return new DelayedPublisher<>(server, () -> {
+                        List<String> names = new ArrayList<>();
+                        for (IndexModel index : indexes)
+                            names.add(collection().createIndex(toDocument(index.getKeys(), registry), index.getOptions().getName()));
+                        return names;
+                    }, 0);
+                }
+                case "listIndexes":
+                    return cursor(ListIndexesPublisher.class, server, registry, resultClass(args, Document.class), cursor -> collection().listIndexes());
+                case "dropIndex":
+                    if (args[0] instanceof String)
+                        return empty(server, () -> collection().dropIndex((String) args[0]));
+                    BsonDocument keys = toDocument(args[0], registry);
+                    return empty(server, () -> collection().dropIndex(keys));
+                case "dropIndexes":
+                    return empty(server, () -> collection().dropIndexes());
+                default:
+                    throw unsupported(method);
+            }
+        }
+
+        private List<BsonValue> distinct(String fieldName, BsonDocument filter) {
+            List<BsonValue> values = new ArrayList<>();
+            for (BsonDocument document : collection().find(filter, null, null, 0, 0)) {
+                BsonValue value = BsonQuery.get(document, fieldName);
+                if (value == null)
+                    continue;
+                for (BsonValue item : value.isArray() ? value.asArray().getValues() : Collections.singletonList(value)) {
+                    if (values.stream().noneMatch(other -> BsonQuery.equal(other, item)))
+                        values.add(item);
+                }
+            }
+            return values;
+        }
+
+        private WriteModel<BsonDocument> toBsonModel(WriteModel<?> request) {
+            if (request instanceof InsertOneModel)
+                return new InsertOneModel<>(encode(((InsertOneModel<?>) request).getDocument(), registry, true));
+            if (request instanceof ReplaceOneModel) {
+                ReplaceOneModel<?> model = (ReplaceOneModel<?>) request;
+                return new ReplaceOneModel<>(toDocument(model.getFilter(), registry), encode(model.getReplacement(), registry, false), model.getReplaceOptions());
+            }
+            if (request instanceof UpdateOneModel && ((UpdateOneModel<?>) request).getUpdate() != null) {
+                UpdateOneModel<?> model = (UpdateOneModel<?>) request;
+                return new UpdateOneModel<>(toDocument(model.getFilter(), registry), toDocument(model.getUpdate(), registry), model.getOptions());
+            }
+            if (request instanceof UpdateManyModel && ((UpdateManyModel<?>) request).getUpdate() != null) {
+                UpdateManyModel<?> model = (UpdateManyModel<?>) request;
+                return new UpdateManyModel<>(toDocument(model.getFilter(), registry), toDocument(model.getUpdate(), registry), model.getOptions());
+            }
+            if (request instanceof DeleteOneModel)
+                return new DeleteOneModel<>(toDocument(((DeleteOneModel<?>) request).getFilter(), registry));
+            if (request instanceof DeleteManyModel)
+                return new DeleteManyModel<>(toDocument(((DeleteManyModel<?>) request).getFilter(), registry));
+            throw new UnsupportedOperationException("unsupported write model: " + request);
+        }
+
+        /**
+         * Runs the writes one after the other: ordered writes stop at the first error
+         */
+        @SuppressWarnings("unchecked")
+        private BulkOutcome bulkWrite(List<WriteModel<BsonDocument>> requests, boolean ordered) {
+            InMemoryCollection collection = collection();
+            BulkOutcome outcome = new BulkOutcome();
+            List<BulkWriteError> errors = new ArrayList<>();
+            for (int index = 0; index < requests.size(); index++) {
+                WriteModel<BsonDocument> request = requests.get(index);
+                try {
+                    if (request instanceof InsertOneModel) {
+                        outcome.insertedIds.put(index, collection.insert(((InsertOneModel<BsonDocument>) request).getDocument()));
+                    } else if (request instanceof ReplaceOneModel) {
+                        ReplaceOneModel<BsonDocument> model = (ReplaceOneModel<BsonDocument>) request;
+                        outcome.add(index, collection.update(model.getFilter().toBsonDocument(BsonDocument.class, registry), model.getReplacement(), false, model.getReplaceOptions().isUpsert()));
+                    } else if (request instanceof UpdateOneModel) {
+                        UpdateOneModel<BsonDocument> model = (UpdateOneModel<BsonDocument>) request;
+                        outcome.add(index, collection.update(model.getFilter().toBsonDocument(BsonDocument.class, registry), model.getUpdate().toBsonDocument(BsonDocument.class, registry), false, model.getOptions().isUpsert()));
+                    } else if (request instanceof UpdateManyModel) {
+                        UpdateManyModel<BsonDocument> model = (UpdateManyModel<BsonDocument>) request;
+                        outcome.add(index, collection.update(model.getFilter().toBsonDocument(BsonDocument.class, registry), model.getUpdate().toBsonDocument(BsonDocument.class, registry), true, model.getOptions().isUpsert()));
+                    } else if (request instanceof DeleteOneModel) {
+                        outcome.deleted += collection.delete(((DeleteOneModel<BsonDocument>) request).getFilter().toBsonDocument(BsonDocument.class, registry), false);
+                    } else {
+                        outcome.deleted += collection.delete(((DeleteManyModel<BsonDocument>) request).getFilter().toBsonDocument(BsonDocument.class, registry), true);
+                    }
+                } catch (MongoWriteException e) {
+                    errors.add(new BulkWriteError(e.getError().getCode(), e.getError().getMessage(), e.getError().getDetails(), index));
+                    if (ordered)
+                        break;
+                }
+            }
+            if (!errors.isEmpty())
+                throw new MongoBulkWriteException(outcome.toResult(), errors, null, new ServerAddress(), Collections.emptySet());
+            return outcome;
+        }
+
+        @Override
+        public String toString() {
+            return "InMemoryMongoCollection{" + namespace + "}";
+        }
+    }
+
+    private static class BulkOutcome {
+
+        final Map<Integer, BsonValue> insertedIds = new HashMap<>();
+        final List<BulkWriteUpsert> upserts = new ArrayList<>();
+        int matched;
+        int modified;
+        int deleted;
+
+        void add(int index, UpdateResult result) {
+            matched += (int) result.getMatchedCount();
+            modified += (int) result.getModifiedCount();
+            if (result.getUpsertedId() != null)
+                upserts.add(new BulkWriteUpsert(index, result.getUpsertedId()));
+        }
+
+        BulkWriteResult toResult() {
+            List<BulkWriteInsert> inserts = new ArrayList<>(insertedIds.size());
+            for (Map.Entry<Integer, BsonValue> inserted : insertedIds.entrySet())
+                inserts.add(new BulkWriteInsert(inserted.getKey(), inserted.getValue()));
+            return BulkWriteResult.acknowledged(insertedIds.size(), matched, deleted, modified, upserts, inserts);
+        }
+    }
+
+    /**
+     * State of the builder methods of a publisher
+     */
+    private static class CursorState {
+
+        BsonDocument filter;
+        BsonDocument sort;
+        BsonDocument projection;
+        int skip;
+        int limit;
+        int batchSize;
+
+        CursorState copy() {
+            CursorState copy = new CursorState();
+            copy.filter = filter;
+            copy.sort = sort;
+            copy.projection = projection;
+            copy.skip = skip;
+            copy.limit = limit;
+            copy.batchSize = batchSize;
+            return copy;
+        }
+    }
+
+    private static <P> P cursor(Class<P> type, InMemoryMongo server, CodecRegistry registry, Class<?> resultClass, Function<CursorState, List<? extends BsonValue>> source) {
+        return proxy(type, new CursorHandler(server, registry, resultClass, source));
+    }
+
+    private static class CursorHandler extends Handler {
+
+        private final InMemoryMongo server;
+        private final CodecRegistry registry;
+        private final Class<?> resultClass;
+        private final Function<CursorState, List<? extends BsonValue>> source;
+        private final CursorState state = new CursorState();
+
+        CursorHandler(InMemoryMongo server, CodecRegistry registry, Class<?> resultClass, Function<CursorState, List<? extends BsonValue>> source) {
+            this.server = server;
+            this.registry = registry;
+            this.resultClass = resultClass;
+            this.source = source;
+        }
+
+        private List<Object> results(CursorState state, int max) {
+            List<Object> results = new ArrayList<>();
+            for (BsonValue value : source.apply(state)) {
+                if (results.size() == max)
+                    break;
+                results.add(decode(value, resultClass, registry));
+            }
+            return results;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object handle(Object proxy, Method method, Object[] args) {
+            CursorState current = state.copy();
+            switch (method.getName()) {
+                case "subscribe":
+                    new DelayedPublisher<>(server, () -> results(current, Integer.MAX_VALUE), current.batchSize).subscribe((Subscriber<Object>) args[0]);
+                    return null;
+                case "first":
+                    return new DelayedPublisher<>(server, () -> results(current, 1), 1);
+                case "filter":
+                    state.filter = toDocument(args[0], registry);
+                    return proxy;
+                case "sort":
+                    state.sort = toDocument(args[0], registry);
+                    return proxy;
+                case "projection":
+                    state.projection = toDocument(args[0], registry);
+                    return proxy;
+                case "skip":
+                    state.skip = (Integer) args[0];
+                    return proxy;
+                case "limit":
+                    state.limit = Math.abs((Integer) args[0]);
+                    return proxy;
+                case "batchSize":
+                    state.batchSize = (Integer) args[0];
+                    return proxy;
+                default:
+                    if (method.getReturnType().isInstance(proxy))
+                        return proxy;
+                    throw unsupported(method);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "InMemoryMongoCursor{" + resultClass.getSimpleName() + "}";
+        }
+    }
+
+    private static <T> Publisher<T> single(InMemoryMongo server, Callable<T> operation) {
+        return new DelayedPublisher<>(server, () -> {
+            T result = operation.call();
+            return result == null ? Collections.emptyList() : Collections.singletonList(result);
+        }, 1);
+    }
+
+    private static Publisher<Void> empty(InMemoryMongo server, Runnable operation) {
+        return new DelayedPublisher<>(server, () -> {
+            operation.run();
+            return Collections.emptyList();
+        }, 1);
+    }
+
+    private static UnsupportedOperationException unsupported(Method method) {
+        return new UnsupportedOperationException("not supported by the in-memory server: " + method);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <O> O option(Object[] args, int index, Class<O> type) {
+        return args.length > index && type.isInstance(args[index]) ? (O) args[index] : null;
+    }
+
+    /**
+     * @return the last argument if it is a class, the default class otherwise
+     */
+    private static Class<?> resultClass(Object[] args, Class<?> defaultClass) {
+        return args.length > 0 && args[args.length - 1] instanceof Class ? (Class<?>) args[args.length - 1] : defaultClass;
+    }
+
+    /**
+     * @return a mutable copy of the document, null if null
+     */
+    private static BsonDocument toDocument(Object bson, CodecRegistry registry) {
+        if (bson == null)
+            return null;
+        return copy(((Bson) bson).toBsonDocument(BsonDocument.class, registry));
+    }
+
+    private static List<BsonDocument> toDocuments(List<?> bsons, CodecRegistry registry) {
+        List<BsonDocument> result = new ArrayList<>();
+        for (Object bson : bsons)
+            result.add(toDocument(bson, registry));
+        return result;
+    }
+
+    // raw documents are read-only
+    private static BsonDocument copy(BsonDocument document) {
+        return BSON_DOCUMENT_CODEC.decode(new BsonDocumentReader(document), DECODER_CONTEXT);
+    }
+
+    /**
+"     * Encodes a document with the codec of its class
+     * @param generateId true to generate the {@code _id} of an inserted document if the codec can, like the driver
+     */
+    @SuppressWarnings("unchecked")
+    private static BsonDocument encode(Object document, CodecRegistry registry, boolean generateId) {
+        if (document instanceof BsonDocument)
+            return copy((BsonDocument) document);
+        Codec<Object> codec = (Codec<Object>) registry.get(document.getClass());
+        if (generateId && codec instanceof CollectibleCodec && !((CollectibleCodec<Object>) codec).documentHasId(document))
+            document = ((CollectibleCodec<Object>) codec).generateIdIfAbsentFromDocument(document);
+        BsonDocumentWriter writer = new BsonDocumentWriter(new BsonDocument());
+        codec.encode(writer, document, ENCODER_CONTEXT);
+        return writer.getDocument();
+    }
+
+    /**
+     * Decodes a document, or any value for {@code distinct}, with the codec of the class
+     */
+    private static Object decode(BsonValue value, Class<?> clazz, CodecRegistry registry) {
+        if (value == null)
+            return null;
+        if (clazz == BsonDocument.class)
+            return value.asDocument();
+        if (clazz == RawBsonDocument.class)
+            return new RawBsonDocument(value.asDocument(), BSON_DOCUMENT_CODEC);
+        if (clazz.isInstance(value))
+            return value;
+        Codec<?> codec = registry.get(clazz);
+        if (value.isDocument())
+            return codec.decode(new BsonDocumentReader(value.asDocument()), DECODER_CONTEXT);
+        BsonDocumentReader reader = new BsonDocumentReader(new BsonDocument("value", value));
+        reader.readStartDocument();
+        reader.readName();
+        return codec.decode(reader, DECODER_CONTEXT);
+    }
+}
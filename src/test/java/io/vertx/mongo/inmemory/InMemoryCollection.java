@@ -0,0 +1,285 @@
+package io.vertx.mongo.inmemory;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.MongoWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteError;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collection of an {@link InMemoryMongo}: documents by {@code _id}, in insertion order. Operations are atomic, and
+ * documents are copied in and out of the collection.
+ * <p>Only the uniqueness of {@code _id} is enforced: other indexes are only listed.</p>
+ */
+public class InMemoryCollection {
+
+    static final int DUPLICATE_KEY = 11000;
+    static final int IMMUTABLE_FIELD = 66;
+    static final int INDEX_NOT_FOUND = 27;
+
+    private final MongoNamespace namespace;
+    private final Map<BsonValue, BsonDocument> documents = new LinkedHashMap<>();
+    private final Map<String, BsonDocument> indexes = new LinkedHashMap<>();
+
+    InMemoryCollection(String databaseName, String collectionName) {
+        this.namespace = new MongoNamespace(databaseName, collectionName);
+        createIndex(new BsonDocument("_id", new BsonInt32(1)), "_id_");
+    }
+
+    public MongoNamespace getNamespace() {
+        return namespace;
+    }
+
+    public synchronized int size() {
+        return documents.size();
+    }
+
+    /**
+     * Removes all the documents, keeping the indexes
+     */
+    public synchronized void clear() {
+        documents.clear();
+    }
+
+    /**
+     * @param limit the maximum number of documents, 0 for no limit
+     * @return copies of the matching documents
+     */
+    public synchronized List<BsonDocument> find(BsonDocument filter, BsonDocument sort, BsonDocument projection, int skip, int limit) {
+        List<BsonDocument> matching = matching(filter, sort);
+        List<BsonDocument> result = new ArrayList<>();
+        for (int i = Math.min(skip, matching.size()); i < matching.size() && (limit <= 0 || result.size() < limit); i++)
+            result.add(projection == null ? matching.get(i).clone() : BsonQuery.project(matching.get(i), projection).clone());
+        return result;
+    }
+
+    /**
+     * @return copies of all the documents, for aggregations
+     */
+    synchronized List<BsonDocument> snapshot() {
+        List<BsonDocument> result = new ArrayList<>();
+        for (BsonDocument document : documents.values())
+            result.add(document.clone());
+        return result;
+    }
+
+    public synchronized long count(BsonDocument filter, int skip, int limit) {
+        long count = Math.max(0, matching(filter, null).size() - skip);
+        return limit <= 0 ? count : Math.min(count, limit);
+    }
+
+    /**
+     * @return the {@code _id} of the inserted document, generated if missing
+     */
+    public synchronized BsonValue insert(BsonDocument document) {
+        BsonDocument stored = withId(document.clone());
+        BsonValue id = stored.get("_id");
+        if (documents.containsKey(id))
+            throw duplicateKey(id);
+        documents.put(id, stored);
+        return id;
+    }
+
+    /**
+     * @param update an update document with update operators, or a replacement document
+     */
+    public synchronized UpdateResult update(BsonDocument filter, BsonDocument update, boolean multi, boolean upsert) {
+        boolean operators = BsonQuery.isUpdate(update);
+        List<BsonDocument> matching = matching(filter, null);
+        if (!multi && matching.size() > 1)
+            matching = matching.subList(0, 1);
+        if (matching.isEmpty()) {
+            if (!upsert)
+                return UpdateResult.acknowledged(0, 0L, null);
+            return UpdateResult.acknowledged(0, 0L, insert(upserted(filter, update)));
+        }
+        long modified = 0;
+        for (BsonDocument document : matching) {
+            if (operators ? apply(document, update) : replace(document, update))
+                modified++;
+        }
+        return UpdateResult.acknowledged(matching.size(), modified, null);
+    }
+
+    /**
+     * @return the number of deleted documents
+     */
+    public synchronized long delete(BsonDocument filter, boolean multi) {
+        long deleted = 0;
+        for (Iterator<BsonDocument> iterator = documents.values().iterator(); iterator.hasNext(); ) {
+            if (BsonQuery.matches(iterator.next(), filter)) {
+                iterator.remove();
+                deleted++;
+                if (!multi)
+                    break;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * @param update an update document with update operators, or a replacement document
+     * @param returnAfter true to return the document after the update
+     * @return a copy of the document before or after the update, null if none
+     */
+    public synchronized BsonDocument findOneAndUpdate(BsonDocument filter, BsonDocument update, BsonDocument sort, BsonDocument projection, boolean upsert, boolean returnAfter) {
+        List<BsonDocument> matching = matching(filter, sort);
+        BsonDocument result;
+        if (matching.isEmpty()) {
+            if (!upsert)
+                return null;
+            BsonValue id = insert(upserted(filter, update));
+            result = returnAfter ? documents.get(id) : null;
+        } else {
+            BsonDocument document = matching.get(0);
+            BsonDocument before = document.clone();
+            if (BsonQuery.isUpdate(update))
+                apply(document, update);
+            else
+                replace(document, update);
+            result = returnAfter ? document : before;
+        }
+        if (result == null)
+            return null;
+        return projection == null ? result.clone() : BsonQuery.project(result, projection).clone();
+    }
+
+    /**
+     * @return a copy of the deleted document, null if none
+     */
+    public synchronized BsonDocument findOneAndDelete(BsonDocument filter, BsonDocument sort, BsonDocument projection) {
+        List<BsonDocument> matching = matching(filter, sort);
+        if (matching.isEmpty())
+            return null;
+        BsonDocument document = documents.remove(matching.get(0).get("_id"));
+        return projection == null ? document : BsonQuery.project(document, projection);
+    }
+
+    /**
+     * @param name the name of the index, generated from the keys if null
+     * @return the name of the index
+     */
+    public synchronized String createIndex(BsonDocument keys, String name) {
+        if (name == null) {
+            StringBuilder builder = new StringBuilder();
+            for (Map.Entry<String, BsonValue> entry : keys.entrySet()) {
+                if (builder.length() > 0)
+                    builder.append('_');
+                BsonValue value = entry.getValue();
+                builder.append(entry.getKey()).append('_').append(value.isNumber() ? String.valueOf(value.asNumber().intValue()) : value.asString().getValue());
+            }
+            name = builder.toString();
+        }
+        indexes.putIfAbsent(name, new BsonDocument("v", new BsonInt32(2)).append("key", keys.clone()).append("name", new BsonString(name)));
+        return name;
+    }
+
+    public synchronized void dropIndex(String name) {
+        if (name.equals("_id_") || indexes.remove(name) == null)
+            throw new MongoWriteException(new WriteError(INDEX_NOT_FOUND, "index not found with name [" + name + "]", new BsonDocument()), new ServerAddress());
+    }
+
+    public synchronized void dropIndex(BsonDocument keys) {
+        for (BsonDocument index : indexes.values()) {
+            if (index.getDocument("key").equals(keys)) {
+                dropIndex(index.getString("name").getValue());
+                return;
+            }
+        }
+        throw new MongoWriteException(new WriteError(INDEX_NOT_FOUND, "can't find index with key: " + keys.toJson(), new BsonDocument()), new ServerAddress());
+    }
+
+    /**
+     * Drops all the indexes but the index of {@code _id}
+     */
+    public synchronized void dropIndexes() {
+        indexes.keySet().removeIf(name -> !name.equals("_id_"));
+    }
+
+    /**
+     * @return copies of the index descriptions
+     */
+    public synchronized List<BsonDocument> listIndexes() {
+        List<BsonDocument> result = new ArrayList<>();
+        for (BsonDocument index : indexes.values())
+            result.add(index.clone());
+        return result;
+    }
+
+    private List<BsonDocument> matching(BsonDocument filter, BsonDocument sort) {
+        List<BsonDocument> result = new ArrayList<>();
+        for (BsonDocument document : documents.values()) {
+            if (filter == null || BsonQuery.matches(document, filter))
+                result.add(document);
+        }
+        if (sort != null && !sort.isEmpty())
+            result.sort(BsonQuery.comparator(sort));
+        return result;
+    }
+
+    private boolean apply(BsonDocument document, BsonDocument update) {
+        BsonValue id = document.get("_id");
+        boolean modified = BsonQuery.update(document, update, false);
+        if (!id.equals(document.get("_id"))) {
+            document.put("_id", id);
+            throw immutableId();
+        }
+        return modified;
+    }
+
+    private boolean replace(BsonDocument document, BsonDocument replacement) {
+        BsonValue id = document.get("_id");
+        if (replacement.containsKey("_id") && !replacement.get("_id").equals(id))
+            throw immutableId();
+        if (document.equals(withId(replacement.clone(), id)))
+            return false;
+        document.clear();
+        document.putAll(withId(replacement.clone(), id));
+        return true;
+    }
+
+    private static BsonDocument upserted(BsonDocument filter, BsonDocument update) {
+        BsonDocument seed = BsonQuery.upsertDocument(filter);
+        if (BsonQuery.isUpdate(update)) {
+            BsonQuery.update(seed, update, true);
+            return seed;
+        }
+        BsonValue id = seed.get("_id");
+        return id == null || update.containsKey("_id") ? update.clone() : withId(update.clone(), id);
+    }
+
+    private static BsonDocument withId(BsonDocument document) {
+        BsonValue id = document.get("_id");
+        return withId(document, id == null ? new BsonObjectId() : id);
+    }
+
+    // _id is the first field, like in the server
+    private static BsonDocument withId(BsonDocument document, BsonValue id) {
+        BsonDocument result = new BsonDocument("_id", id);
+        for (Map.Entry<String, BsonValue> entry : document.entrySet()) {
+            if (!entry.getKey().equals("_id"))
+                result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    private MongoWriteException duplicateKey(BsonValue id) {
+        String message = "E11000 duplicate key error collection: " + namespace.getFullName() + " index: _id_ dup key: { _id: " + id + " }";
+        return new MongoWriteException(new WriteError(DUPLICATE_KEY, message, new BsonDocument()), new ServerAddress());
+    }
+
+    private static MongoWriteException immutableId() {
+        return new MongoWriteException(new WriteError(IMMUTABLE_FIELD, "Performing an update on the path '_id' would modify the immutable field '_id'", new BsonDocument()), new ServerAddress());
+    }
+}
@@ -0,0 +1,128 @@
+package io.vertx.mongo.inmemory;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * In-process stand-in of a MongoDB server, for tests and benchmarks without server. Its driver clients implement the
+ * publishers of the reactive streams driver on top of collections held in memory:
+ * <pre>
+ * InMemoryMongo server = new InMemoryMongo(new InMemoryMongoOptions().setLatency(1));
+ * MongoClient client = MongoClient.create(vertx, new ClientConfig().setDriverClientFactory(server.driverClientFactory()));
+ * </pre>
+ * <p>Supported: CRUD operations, bulk writes, finds with filter, sort, projection, skip, limit and batch size,
+ * counts, distinct, simple aggregations and index listings. Sessions, change streams, transactions and other commands
+ * fail with an {@link UnsupportedOperationException}. See {@link BsonQuery} for the supported operators.</p>
+ */
+public class InMemoryMongo implements AutoCloseable {
+
+    private static final AtomicInteger SERVER_COUNTER = new AtomicInteger();
+
+    private final InMemoryMongoOptions options;
+    private final Map<String, Map<String, InMemoryCollection>> databases = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private final AtomicLong roundTrips = new AtomicLong();
+
+    public InMemoryMongo() {
+        this(new InMemoryMongoOptions());
+    }
+
+    public InMemoryMongo(InMemoryMongoOptions options) {
+        this.options = Objects.requireNonNull(options, "options is null");
+        int server = SERVER_COUNTER.incrementAndGet();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(options.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "in-memory-mongo-" + server + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public InMemoryMongoOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * @return the number of round trips since the creation of the server, failed ones included
+     */
+    public long getRoundTrips() {
+        return roundTrips.get();
+    }
+
+    /**
+     * @return a factory of driver clients to pass to {@code ClientConfig.setDriverClientFactory}
+     */
+    public Function<MongoClientSettings, MongoClient> driverClientFactory() {
+        return this::createDriverClient;
+    }
+
+    /**
+     * @param settings the settings of the client: only its codec registry is used
+     * @return a driver client of this server
+     */
+    public MongoClient createDriverClient(MongoClientSettings settings) {
+        Objects.requireNonNull(settings, "settings is null");
+        return DriverProxies.client(this, settings.getCodecRegistry());
+    }
+
+    /**
+     * @return the collection, created if needed
+     */
+    public InMemoryCollection getCollection(String databaseName, String collectionName) {
+        return databases.computeIfAbsent(databaseName, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(collectionName, name -> new InMemoryCollection(databaseName, name));
+    }
+
+    List<String> getDatabaseNames() {
+        return new ArrayList<>(databases.keySet());
+    }
+
+    List<String> getCollectionNames(String databaseName) {
+        Map<String, InMemoryCollection> collections = databases.get(databaseName);
+        return collections == null ? new ArrayList<>() : new ArrayList<>(collections.keySet());
+    }
+
+    void dropCollection(String databaseName, String collectionName) {
+        Map<String, InMemoryCollection> collections = databases.get(databaseName);
+        if (collections != null)
+            collections.remove(collectionName);
+    }
+
+    void dropDatabase(String databaseName) {
+        databases.remove(databaseName);
+    }
+
+    /**
+     * Runs the continuation of a round trip after the latency of the server, with the injected failure if any
+     */
+    void roundTrip(Consumer<Throwable> continuation) {
+        roundTrips.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = options.getLatency() + (options.getLatencyJitter() == 0 ? 0 : random.nextLong(options.getLatencyJitter() + 1));
+        Throwable failure = options.getFailureRate() > 0 && random.nextDouble() < options.getFailureRate() ? options.getFailureFactory().get() : null;
+        Runnable task = () -> continuation.accept(failure);
+        if (delay == 0)
+            executor.execute(task);
+        else
+            executor.schedule(task, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,130 @@
+package io.vertx.mongo.inmemory;
+
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+
+import java.util.function.Supplier;
+
+/**
+ * Latency and failure injection of an {@link InMemoryMongo}.
+ */
+public class InMemoryMongoOptions {
+
+    public static final int DEFAULT_BATCH_SIZE = 101;
+    public static final int DEFAULT_THREADS = 4;
+
+    private long latency;
+    private long latencyJitter;
+    private double failureRate;
+    private Supplier<? extends Throwable> failureFactory = () -> new MongoSocketReadException("injected failure", new ServerAddress());
+    private int defaultBatchSize = DEFAULT_BATCH_SIZE;
+    private int threads = DEFAULT_THREADS;
+
+    /**
+     * @return the latency of each round trip (command, first batch or next batch of a cursor), in milliseconds
+     */
+    public long getLatency() {
+        return latency;
+    }
+
+    /**
+     * @param latency the latency of each round trip (command, first batch or next batch of a cursor), in milliseconds
+     * @return this
+     */
+    public InMemoryMongoOptions setLatency(long latency) {
+        if (latency < 0)
+            throw new IllegalArgumentException("latency must not be negative");
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * @return the maximum random latency added to each round trip, in milliseconds
+     */
+    public long getLatencyJitter() {
+        return latencyJitter;
+    }
+
+    /**
+     * @param latencyJitter the maximum random latency added to each round trip, in milliseconds
+     * @return this
+     */
+    public InMemoryMongoOptions setLatencyJitter(long latencyJitter) {
+        if (latencyJitter < 0)
+            throw new IllegalArgumentException("latencyJitter must not be negative");
+        this.latencyJitter = latencyJitter;
+        return this;
+    }
+
+    /**
+     * @return the probability of a round trip to fail, between 0 and 1
+     */
+    public double getFailureRate() {
+        return failureRate;
+    }
+
+    /**
+     * @param failureRate the probability of a round trip to fail, between 0 and 1
+     * @return this
+     */
+    public InMemoryMongoOptions setFailureRate(double failureRate) {
+        if (!(failureRate >= 0 && failureRate <= 1))
+            throw new IllegalArgumentException("failureRate must be in [0, 1]");
+        this.failureRate = failureRate;
+        return this;
+    }
+
+    /**
+     * @return the factory of the errors of the failed round trips
+     */
+    public Supplier<? extends Throwable> getFailureFactory() {
+        return failureFactory;
+    }
+
+    /**
+     * @param failureFactory the factory of the errors of the failed round trips, a network error by default
+     * @return this
+     */
+    public InMemoryMongoOptions setFailureFactory(Supplier<? extends Throwable> failureFactory) {
+        if (failureFactory == null)
+            throw new IllegalArgumentException("failureFactory must not be null");
+        this.failureFactory = failureFactory;
+        return this;
+    }
+
+    /**
+     * @return the size of the batches of the cursors without batch size
+     */
+    public int getDefaultBatchSize() {
+        return defaultBatchSize;
+    }
+
+    /**
+     * @param defaultBatchSize the size of the batches of the cursors without batch size
+     * @return this
+     */
+    public InMemoryMongoOptions setDefaultBatchSize(int defaultBatchSize) {
+        if (defaultBatchSize < 1)
+            throw new IllegalArgumentException("defaultBatchSize must be positive");
+        this.defaultBatchSize = defaultBatchSize;
+        return this;
+    }
+
+    /**
+     * @return the number of threads signaling the results, like the threads of the driver
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @param threads the number of threads signaling the results, like the threads of the driver
+     * @return this
+     */
+    public InMemoryMongoOptions setThreads(int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be positive");
+        this.threads = threads;
+        return this;
+    }
+}
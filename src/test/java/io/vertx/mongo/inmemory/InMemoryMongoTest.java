@@ -0,0 +1,127 @@
+package io.vertx.mongo.inmemory;
+
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.MongoWriteException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.client.ClientConfig;
+import io.vertx.mongo.client.FindOptions;
+import io.vertx.mongo.client.MongoClient;
+import io.vertx.mongo.client.MongoCollection;
+import io.vertx.test.core.VertxTestBase;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class InMemoryMongoTest extends VertxTestBase {
+
+    private InMemoryMongo server;
+    private MongoClient client;
+
+    private MongoCollection<JsonObject> collection(InMemoryMongoOptions options) {
+        server = new InMemoryMongo(options);
+        client = MongoClient.create(vertx, new ClientConfig().setDriverClientFactory(server.driverClientFactory()));
+        return client.getDatabase("test").getCollection("documents");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (client != null)
+            client.close();
+        if (server != null)
+            server.close();
+        super.tearDown();
+    }
+
+    // string ids are object ids for the default input mapper
+    private static String newId() {
+        return new ObjectId().toHexString();
+    }
+
+    @Test
+    public void testCrud() {
+        MongoCollection<JsonObject> collection = collection(new InMemoryMongoOptions());
+        String id = newId();
+        collection.insertOne(new JsonObject().put("_id", id).put("count", 1))
+                .compose(inserted -> collection.updateOne(new JsonObject().put("_id", id), new JsonObject().put("$inc", new JsonObject().put("count", 2))))
+                .compose(updated -> {
+                    assertEquals(1, updated.getModifiedCount());
+                    return collection.find(new JsonObject().put("count", new JsonObject().put("$gt", 2))).first();
+                })
+                .compose(found -> {
+                    assertEquals(new JsonObject().put("_id", id).put("count", 3), found);
+                    return collection.deleteOne(new JsonObject().put("_id", id));
+                })
+                .compose(deleted -> {
+                    assertEquals(1, deleted.getDeletedCount());
+                    return collection.countDocuments();
+                })
+                .onComplete(onSuccess(count -> {
+                    assertEquals(0, (long) count);
+                    assertEquals(0, server.getCollection("test", "documents").size());
+                    testComplete();
+                }));
+        await();
+    }
+
+    @Test
+    public void testBatches() {
+        MongoCollection<JsonObject> collection = collection(new InMemoryMongoOptions());
+        List<JsonObject> documents = new ArrayList<>();
+        for (int i = 0; i < 30; i++)
+            documents.add(new JsonObject().put("value", i));
+        collection.insertMany(documents).compose(inserted -> {
+            long before = server.getRoundTrips();
+            FindOptions options = new FindOptions().setSort(new JsonObject().put("value", -1)).setBatchSize(10);
+            return collection.find(new JsonObject().put("value", new JsonObject().put("$gte", 5)), options).all()
+                    .map(found -> {
+                        // a first batch and two next batches
+                        assertEquals(3, server.getRoundTrips() - before);
+                        return found;
+                    });
+        }).onComplete(onSuccess(found -> {
+            assertEquals(25, found.size());
+            assertEquals(29, (int) found.get(0).getInteger("value"));
+            assertEquals(5, (int) found.get(24).getInteger("value"));
+            testComplete();
+        }));
+        await();
+    }
+
+    @Test
+    public void testDuplicateKey() {
+        MongoCollection<JsonObject> collection = collection(new InMemoryMongoOptions());
+        String id = newId();
+        collection.insertOne(new JsonObject().put("_id", id))
+                .compose(inserted -> collection.insertOne(new JsonObject().put("_id", id)))
+                .onComplete(onFailure(error -> {
+                    assertTrue(error instanceof MongoWriteException);
+                    assertEquals(InMemoryCollection.DUPLICATE_KEY, ((MongoWriteException) error).getError().getCode());
+                    testComplete();
+                }));
+        await();
+    }
+
+    @Test
+    public void testLatency() {
+        MongoCollection<JsonObject> collection = collection(new InMemoryMongoOptions().setLatency(50));
+        long start = System.nanoTime();
+        collection.countDocuments().onComplete(onSuccess(count -> {
+            assertTrue(System.nanoTime() - start >= 50_000_000L);
+            testComplete();
+        }));
+        await();
+    }
+
+    @Test
+    public void testFailureInjection() {
+        MongoCollection<JsonObject> collection = collection(new InMemoryMongoOptions().setFailureRate(1));
+        collection.insertOne(new JsonObject().put("_id", newId())).onComplete(onFailure(error -> {
+            assertTrue(error instanceof MongoSocketReadException);
+            assertEquals(0, server.getCollection("test", "documents").size());
+            testComplete();
+        }));
+        await();
+    }
+}
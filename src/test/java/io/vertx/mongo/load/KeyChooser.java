@@ -0,0 +1,92 @@
+package io.vertx.mongo.load;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chooses the keys of the records read or updated, like the request distributions of YCSB. Keys are the numbers of
+ * the records, from 0: records loaded before the run, then records inserted during the run.
+ * <ul>
+ *     <li>uniform: any record of the initial records</li>
+ *     <li>zipfian: a few records of the initial records are popular, scattered over the key space</li>
+ *     <li>latest: the most recently inserted records are the most popular</li>
+ * </ul>
+ * Not thread-safe: each verticle has its own chooser.
+ */
+class KeyChooser {
+
+    private static final double THETA = 0.99;
+
+    private final Workload.Distribution distribution;
+    private final long recordCount;
+    private final AtomicLong insertSequence;
+    private final Random random;
+    private final double zeta2;
+    private long items;
+    private double zetan;
+    private double eta;
+
+    /**
+     * @param insertSequence the next key to insert, shared by the verticles
+     */
+    KeyChooser(Workload workload, AtomicLong insertSequence, Random random) {
+        this.distribution = workload.getDistribution();
+        this.recordCount = workload.getRecordCount();
+        this.insertSequence = insertSequence;
+        this.random = random;
+        this.zeta2 = zeta(0, 2, 0);
+        resize(recordCount);
+    }
+
+    long nextKey() {
+        switch (distribution) {
+            case UNIFORM:
+                return (long) (random.nextDouble() * recordCount);
+            case ZIPFIAN:
+                return Math.floorMod(fnvHash(nextZipfian(recordCount)), recordCount);
+            default:
+                long inserted = insertSequence.get();
+                return inserted - 1 - nextZipfian(inserted);
+        }
+    }
+
+    /**
+     * @return a key from 0 to the number of items excluded, 0 being the most popular one (Gray et al., Quickly
+     * generating billion-record synthetic databases)
+     */
+    private long nextZipfian(long itemCount) {
+        if (itemCount != items)
+            resize(itemCount);
+        double u = random.nextDouble();
+        double uz = u * zetan;
+        if (uz < 1)
+            return 0;
+        if (uz < 1 + Math.pow(0.5, THETA))
+            return 1;
+        return Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, 1 / (1 - THETA))));
+    }
+
+    // zeta is updated incrementally as records are inserted
+    private void resize(long itemCount) {
+        zetan = itemCount > items ? zeta(items, itemCount, zetan) : zeta(0, itemCount, 0);
+        items = itemCount;
+        eta = (1 - Math.pow(2.0 / items, 1 - THETA)) / (1 - zeta2 / zetan);
+    }
+
+    private static double zeta(long from, long to, double initial) {
+        double sum = initial;
+        for (long i = from; i < to; i++)
+            sum += 1 / Math.pow(i + 1, THETA);
+        return sum;
+    }
+
+    private static long fnvHash(long value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < 8; i++) {
+            hash ^= value & 0xFF;
+            hash *= 0x100000001B3L;
+            value >>>= 8;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,91 @@
+package io.vertx.mongo.load;
+
+/**
+ * Log-linear histogram of latencies in nanoseconds, in the spirit of HdrHistogram: every power of two is split in 64
+ * linear sub-buckets, so that percentiles are reported with a relative error below 1.6% at any magnitude, in a fixed
+ * footprint of about 30kB.
+ * <p>Not thread-safe: each verticle records into its own histograms, merged with {@link #add} at the end of the
+ * run.</p>
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_VALUES = 2 * SUB_BUCKETS;
+
+    private final long[] counts = new long[LINEAR_VALUES + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    private static int index(long value) {
+        if (value < LINEAR_VALUES)
+            return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift);
+        return LINEAR_VALUES + (shift - 1) * SUB_BUCKETS + subBucket - SUB_BUCKETS;
+    }
+
+    /**
+     * @return the highest value counted in the bucket
+     */
+    private static long highestValue(int index) {
+        if (index < LINEAR_VALUES)
+            return index;
+        int shift = (index - LINEAR_VALUES) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_VALUES) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[index(value)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++)
+            counts[i] += other.counts[i];
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    long getMax() {
+        return max;
+    }
+
+    double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the value below which the percentile of the recorded values fall, 0 if none
+     */
+    long getValueAtPercentile(double percentile) {
+        if (count == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulated = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulated += counts[i];
+            if (cumulated >= rank)
+                return Math.min(highestValue(i), max);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,104 @@
+package io.vertx.mongo.load;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    /**
+     * @return the highest value of the bucket of the value, which is not hidden by the max of the histogram
+     */
+    private static long bucket(long value) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        histogram.record(Long.MAX_VALUE);
+        return histogram.getValueAtPercentile(50);
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        // exact up to twice the number of sub-buckets
+        for (long value = 0; value < 128; value++)
+            assertEquals(value, bucket(value));
+        // then buckets of 2 values from 128 to 255, of 4 values from 256 to 511...
+        assertEquals(129, bucket(128));
+        assertEquals(129, bucket(129));
+        assertEquals(131, bucket(130));
+        assertEquals(255, bucket(254));
+        assertEquals(255, bucket(255));
+        assertEquals(259, bucket(256));
+        assertEquals(259, bucket(259));
+        assertEquals(263, bucket(260));
+        assertEquals(Long.MAX_VALUE, bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testRelativeError() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            long bucket = bucket(value);
+            assertTrue(value + " in " + bucket, bucket >= value);
+            assertTrue(value + " in " + bucket, bucket - value <= value / 64);
+        }
+        for (int shift = 0; shift < 63; shift++) {
+            long power = 1L << shift;
+            assertTrue(bucket(power) - power <= power / 64);
+            assertTrue(bucket(power - 1) - (power - 1) <= (power - 1) / 64);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 1 to 100000 microseconds
+        for (long micros = 100000; micros >= 1; micros--)
+            histogram.record(micros * 1000);
+        assertEquals(100000, histogram.getCount());
+        assertEquals(1000, histogram.getMin());
+        assertEquals(100000000, histogram.getMax());
+        assertEquals(50000500.0, histogram.getMean(), 0);
+        for (double percentile : new double[]{0.1, 1, 25, 50, 90, 99, 99.9, 99.99}) {
+            long exact = (long) Math.ceil(percentile * 1000) * 1000;
+            long value = histogram.getValueAtPercentile(percentile);
+            assertTrue(percentile + ": " + value, value >= exact && value - exact <= exact / 64);
+        }
+        assertEquals(100000000, histogram.getValueAtPercentile(100));
+        assertTrue(histogram.getValueAtPercentile(0) >= 1000 && histogram.getValueAtPercentile(0) <= 1015);
+    }
+
+    @Test
+    public void testEmptyAndNegative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMean(), 0);
+        // clock adjustments
+        histogram.record(-5);
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testAdd() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++)
+            (value % 2 == 0 ? first : second).record(value);
+        first.add(second);
+        assertEquals(100, first.getCount());
+        assertEquals(1, first.getMin());
+        assertEquals(100, first.getMax());
+        assertEquals(50.5, first.getMean(), 0);
+        assertEquals(50, first.getValueAtPercentile(50));
+        assertEquals(99, first.getValueAtPercentile(99));
+        // merging an empty histogram changes nothing
+        first.add(new LatencyHistogram());
+        assertEquals(1, first.getMin());
+        assertEquals(100, first.getCount());
+    }
+}
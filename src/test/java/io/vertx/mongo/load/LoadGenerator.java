@@ -0,0 +1,258 @@
+package io.vertx.mongo.load;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mongo.client.ClientConfig;
+import io.vertx.mongo.client.MongoClient;
+import io.vertx.mongo.client.MongoCollection;
+import io.vertx.mongo.inmemory.InMemoryMongo;
+import io.vertx.mongo.inmemory.InMemoryMongoOptions;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load generator running a YCSB-like workload through the client, with CRUD operations, streamed finds and bulk
+ * writes, and reporting latency percentiles, throughput and allocation rates.
+ * <p>Configured with system properties:</p>
+ * <ul>
+ *     <li>{@code target}: {@code memory} (default) for an {@link InMemoryMongo} in the JVM, or {@code server} for the
+ *     server of {@code connection_string} ({@code mongodb://localhost:27017} by default)</li>
+ *     <li>{@code latency}, {@code latencyJitter}, {@code failureRate}: round trips of the in-memory server</li>
+ *     <li>{@code workload}: {@code a} to {@code f} or {@code bulk}, see {@link Workload}, and
+ *     {@code workload.<property>} to override a property of the workload, for instance
+ *     {@code -Dworkload.recordCount=1000000}</li>
+ *     <li>{@code verticles} (8) over {@code eventLoops} (number of cores), each with at most {@code inFlight} (64)
+ *     operations in flight</li>
+ *     <li>{@code rate}: the target rate of the run in operations per second, 0 (default) to run as fast as
+ *     possible</li>
+ *     <li>{@code warmup} (10) and {@code duration} (30): in seconds, operations of the warm-up are not measured</li>
+ *     <li>{@code load}: false to skip the loading of the records, when they are already in the server</li>
+ * </ul>
+ * <p>Allocation rates are those of the whole JVM, load generator and in-memory server included: compare runs of the
+ * same configuration rather than absolute values.</p>
+ */
+public class LoadGenerator {
+
+    private static final String DATABASE = "vertx_mongo_benchmark";
+    private static final String COLLECTION = "load";
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    public static void main(String[] args) throws Exception {
+        String target = System.getProperty("target", "memory");
+        Workload workload = workload(System.getProperty("workload", "a"));
+        int verticles = Integer.getInteger("verticles", 8);
+        int eventLoops = Integer.getInteger("eventLoops", Runtime.getRuntime().availableProcessors());
+        int inFlight = Integer.getInteger("inFlight", 64);
+        double rate = Double.parseDouble(System.getProperty("rate", "0"));
+        long warmup = Long.getLong("warmup", 10);
+        long duration = Long.getLong("duration", 30);
+
+        InMemoryMongo server = null;
+        ClientConfig config = new ClientConfig();
+        if (target.equals("memory")) {
+            server = new InMemoryMongo(new InMemoryMongoOptions()
+                    .setLatency(Long.getLong("latency", 0))
+                    .setLatencyJitter(Long.getLong("latencyJitter", 0))
+                    .setFailureRate(Double.parseDouble(System.getProperty("failureRate", "0"))));
+            config.setDriverClientFactory(server.driverClientFactory());
+        } else if (target.equals("server")) {
+            config.setConnectionString(System.getProperty("connection_string", "mongodb://localhost:27017"));
+        } else {
+            throw new IllegalArgumentException("unknown target: " + target);
+        }
+
+        Vertx vertx = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(eventLoops));
+        MongoClient client = MongoClient.createShared(vertx, config, "load");
+        try {
+            MongoCollection<JsonObject> collection = client.getDatabase(DATABASE).getCollection(COLLECTION);
+            if (Boolean.parseBoolean(System.getProperty("load", "true")))
+                load(collection, workload);
+            System.out.printf("workload %s: %d verticles on %d event loops, %s, %d s warm-up, %d s run, target %s%n",
+                    workload, verticles, eventLoops, rate > 0 ? String.format("%.0f ops/s", rate) : "none", warmup, duration, target);
+
+            AtomicLong insertSequence = new AtomicLong(workload.getRecordCount());
+            LongAdder completed = new LongAdder();
+            long start = System.nanoTime();
+            long measureFrom = start + TimeUnit.SECONDS.toNanos(warmup);
+            long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(duration);
+            List<LoadVerticle> instances = Collections.synchronizedList(new ArrayList<>());
+            long reportTimer = vertx.setPeriodic(5000, new ProgressReporter(completed, start, measureFrom)::report);
+            vertx.deployVerticle(() -> {
+                LoadVerticle verticle = new LoadVerticle(config, DATABASE, COLLECTION, workload, insertSequence, completed,
+                        rate / verticles, inFlight, measureFrom, stopAt);
+                instances.add(verticle);
+                return verticle;
+            }, new DeploymentOptions().setInstances(verticles)).toCompletionStage().toCompletableFuture().get();
+
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, measureFrom - System.nanoTime()));
+            Allocations before = Allocations.now();
+            List<Future<Void>> finished = new ArrayList<>();
+            for (LoadVerticle verticle : instances)
+                finished.add(verticle.finished());
+            // CompositeFuture takes a list of raw futures
+            CompositeFuture.join(new ArrayList<>(finished)).toCompletionStage().toCompletableFuture().get();
+            Allocations after = Allocations.now();
+            long measuredNanos = Math.min(System.nanoTime(), stopAt) - measureFrom;
+            vertx.cancelTimer(reportTimer);
+
+            Map<Workload.Operation, LatencyHistogram> histograms = new EnumMap<>(Workload.Operation.class);
+            Map<Workload.Operation, Long> errors = new EnumMap<>(Workload.Operation.class);
+            for (LoadVerticle verticle : instances) {
+                verticle.getHistograms().forEach((operation, histogram) -> histograms.computeIfAbsent(operation, o -> new LatencyHistogram()).add(histogram));
+                verticle.getErrors().forEach((operation, count) -> errors.merge(operation, count, Long::sum));
+            }
+            report(histograms, errors, measuredNanos, before, after);
+        } finally {
+            client.close();
+            vertx.close().toCompletionStage().toCompletableFuture().get();
+            if (server != null)
+                server.close();
+        }
+    }
+
+    private static Workload workload(String name) {
+        JsonObject json = Workload.preset(name);
+        String prefix = "workload.";
+        for (String property : System.getProperties().stringPropertyNames()) {
+            if (!property.startsWith(prefix))
+                continue;
+            String value = System.getProperty(property);
+            try {
+                json.put(property.substring(prefix.length()), Double.parseDouble(value));
+            } catch (NumberFormatException e) {
+                json.put(property.substring(prefix.length()), value);
+            }
+        }
+        return new Workload(name, json);
+    }
+
+    /**
+     * Drops the collection and inserts the records of the workload, a batch at a time
+     */
+    private static void load(MongoCollection<JsonObject> collection, Workload workload) throws Exception {
+        long start = System.nanoTime();
+        collection.drop().toCompletionStage().toCompletableFuture().get();
+        Random random = new Random();
+        char[] chars = new char[workload.getFieldLength()];
+        for (long key = 0; key < workload.getRecordCount(); key += LOAD_BATCH_SIZE) {
+            List<JsonObject> documents = new ArrayList<>(LOAD_BATCH_SIZE);
+            for (long i = key; i < Math.min(key + LOAD_BATCH_SIZE, workload.getRecordCount()); i++) {
+                JsonObject document = new JsonObject().put("_id", i);
+                for (int field = 0; field < workload.getFieldCount(); field++) {
+                    for (int j = 0; j < chars.length; j++)
+                        chars[j] = (char) ('a' + random.nextInt(26));
+                    document.put("field" + field, new String(chars));
+                }
+                documents.add(document);
+            }
+            collection.insertMany(documents).toCompletionStage().toCompletableFuture().get();
+        }
+        System.out.printf("loaded %d records in %d ms%n", workload.getRecordCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static void report(Map<Workload.Operation, LatencyHistogram> histograms, Map<Workload.Operation, Long> errors,
+                               long measuredNanos, Allocations before, Allocations after) {
+        double seconds = measuredNanos / 1e9;
+        LatencyHistogram total = new LatencyHistogram();
+        long totalErrors = 0;
+        System.out.printf("%-18s %10s %8s %10s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "ops/s", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            LatencyHistogram histogram = histograms.get(operation);
+            long operationErrors = errors.getOrDefault(operation, 0L);
+            if (histogram.getCount() == 0 && operationErrors == 0)
+                continue;
+            line(operation.name().toLowerCase(), histogram, operationErrors, seconds);
+            total.add(histogram);
+            totalErrors += operationErrors;
+        }
+        line("total", total, totalErrors, seconds);
+        long operations = Math.max(1, total.getCount() + totalErrors);
+        long allocated = after.bytes - before.bytes;
+        System.out.printf("allocations: %.1f MB/s, %d bytes/op; gc: %d collections, %d ms%n",
+                allocated / seconds / (1 << 20), allocated / operations, after.collections - before.collections, after.collectionMillis - before.collectionMillis);
+    }
+
+    private static void line(String name, LatencyHistogram histogram, long errors, double seconds) {
+        System.out.printf("%-18s %10d %8d %10.0f %9.3f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                name, histogram.getCount(), errors, histogram.getCount() / seconds, histogram.getMean() / 1e6,
+                histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(90) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6, histogram.getValueAtPercentile(99.9) / 1e6, histogram.getMax() / 1e6);
+    }
+
+    /**
+     * Prints the throughput of the last interval
+     */
+    private static class ProgressReporter {
+
+        private final LongAdder completed;
+        private final long start;
+        private final long measureFrom;
+        private long lastCompleted;
+        private long lastTime;
+
+        ProgressReporter(LongAdder completed, long start, long measureFrom) {
+            this.completed = completed;
+            this.start = start;
+            this.measureFrom = measureFrom;
+            this.lastTime = start;
+        }
+
+        void report(long timerId) {
+            long now = System.nanoTime();
+            long count = completed.sum();
+            System.out.printf("%4d s%s: %.0f ops/s%n", TimeUnit.NANOSECONDS.toSeconds(now - start), now < measureFrom ? " (warm-up)" : "",
+                    (count - lastCompleted) / ((now - lastTime) / 1e9));
+            lastCompleted = count;
+            lastTime = now;
+        }
+    }
+
+    /**
+     * Bytes allocated by the live threads of the JVM, and garbage collections
+     */
+    private static class Allocations {
+
+        final long bytes;
+        final long collections;
+        final long collectionMillis;
+
+        private Allocations(long bytes, long collections, long collectionMillis) {
+            this.bytes = bytes;
+            this.collections = collections;
+            this.collectionMillis = collectionMillis;
+        }
+
+        static Allocations now() {
+            long bytes = 0;
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            // HotSpot extension: allocations of threads that died in between are not counted
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                for (long allocated : ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threads.getAllThreadIds()))
+                    bytes += Math.max(0, allocated);
+            }
+            long collections = 0;
+            long collectionMillis = 0;
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                collections += Math.max(0, collector.getCollectionCount());
+                collectionMillis += Math.max(0, collector.getCollectionTime());
+            }
+            return new Allocations(bytes, collections, collectionMillis);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package io.vertx.mongo.load;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.mongo.client.ClientConfig;
+import io.vertx.mongo.client.FindOptions;
+import io.vertx.mongo.client.MongoClient;
+import io.vertx.mongo.client.MongoCollection;
+import io.vertx.mongo.client.model.BulkWriteOptions;
+import io.vertx.mongo.client.model.UpdateOneModel;
+import io.vertx.mongo.client.model.WriteModel;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verticle running operations of a workload on its event loop, until the end of the run.
+ * <p>With a target rate, operations are scheduled at fixed intervals and their latencies are measured from their
+ * scheduled start rather than from their actual start: operations delayed because too many operations are in flight
+ * count as slow, instead of being omitted. Without target rate, the verticle keeps its maximum of operations in flight,
+ * starting an operation whenever one completes.</p>
+ */
+class LoadVerticle extends AbstractVerticle {
+
+    private final ClientConfig config;
+    private final String databaseName;
+    private final String collectionName;
+    private final Workload workload;
+    private final AtomicLong insertSequence;
+    private final LongAdder completed;
+    private final double rate;
+    private final int maxInFlight;
+    private final long measureFrom;
+    private final long stopAt;
+    private final Promise<Void> finished = Promise.promise();
+    private final Map<Workload.Operation, LatencyHistogram> histograms = new EnumMap<>(Workload.Operation.class);
+    private final Map<Workload.Operation, Long> errors = new EnumMap<>(Workload.Operation.class);
+    private final Random random = new Random();
+    private final String[] values = new String[1024];
+    private MongoClient client;
+    private MongoCollection<JsonObject> collection;
+    private KeyChooser keys;
+    private long startedAt;
+    private long timerId = -1;
+    private long issued;
+    private int inFlight;
+    private boolean issuing;
+    private boolean stopping;
+
+    /**
+     * @param rate the target rate of the verticle, in operations per second, 0 for none
+     * @param measureFrom the time from which operations are measured, after the warm-up, as of {@link System#nanoTime}
+     * @param stopAt the time after which no operation is started, as of {@link System#nanoTime}
+     */
+    LoadVerticle(ClientConfig config, String databaseName, String collectionName, Workload workload, AtomicLong insertSequence,
+                 LongAdder completed, double rate, int maxInFlight, long measureFrom, long stopAt) {
+        this.config = config;
+        this.databaseName = databaseName;
+        this.collectionName = collectionName;
+        this.workload = workload;
+        this.insertSequence = insertSequence;
+        this.completed = completed;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+        this.measureFrom = measureFrom;
+        this.stopAt = stopAt;
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            histograms.put(operation, new LatencyHistogram());
+            errors.put(operation, 0L);
+        }
+    }
+
+    /**
+     * @return completed once the last operation of the verticle has completed
+     */
+    Future<Void> finished() {
+        return finished.future();
+    }
+
+    /**
+     * @return the latencies of the measured operations, to read once {@link #finished} is completed
+     */
+    Map<Workload.Operation, LatencyHistogram> getHistograms() {
+        return histograms;
+    }
+
+    /**
+     * @return the failures of the measured operations, to read once {@link #finished} is completed
+     */
+    Map<Workload.Operation, Long> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public void start() {
+        // values are generated once, so that the allocations of the run are mostly the ones of the client
+        char[] chars = new char[workload.getFieldLength()];
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < chars.length; j++)
+                chars[j] = (char) ('a' + random.nextInt(26));
+            values[i] = new String(chars);
+        }
+        keys = new KeyChooser(workload, insertSequence, random);
+        client = MongoClient.createShared(vertx, config, "load");
+        collection = client.getDatabase(databaseName).getCollection(collectionName);
+        startedAt = System.nanoTime();
+        if (rate > 0)
+            timerId = vertx.setPeriodic(1, id -> issue());
+        issue();
+    }
+
+    @Override
+    public void stop() {
+        if (client != null)
+            client.close();
+    }
+
+    private void issue() {
+        if (issuing)
+            return;
+        issuing = true;
+        try {
+            long now = System.nanoTime();
+            while (!stopping && inFlight < maxInFlight) {
+                long scheduledAt = rate > 0 ? startedAt + (long) (issued * 1e9 / rate) : now;
+                if (scheduledAt > now)
+                    break;
+                if (scheduledAt >= stopAt) {
+                    stopping = true;
+                    break;
+                }
+                issued++;
+                inFlight++;
+                Workload.Operation operation = workload.nextOperation(random);
+                Future<?> future;
+                try {
+                    future = execute(operation);
+                } catch (RuntimeException e) {
+                    future = Future.failedFuture(e);
+                }
+                future.onComplete(ar -> completed(operation, scheduledAt, ar.succeeded()));
+            }
+            if (stopping && inFlight == 0) {
+                if (timerId != -1)
+                    vertx.cancelTimer(timerId);
+                finished.tryComplete();
+            }
+        } finally {
+            issuing = false;
+        }
+    }
+
+    private void completed(Workload.Operation operation, long scheduledAt, boolean succeeded) {
+        long latency = System.nanoTime() - scheduledAt;
+        inFlight--;
+        completed.increment();
+        if (scheduledAt >= measureFrom) {
+            if (succeeded)
+                histograms.get(operation).record(latency);
+            else
+                errors.merge(operation, 1L, Long::sum);
+        }
+        issue();
+    }
+
+    private Future<?> execute(Workload.Operation operation) {
+        switch (operation) {
+            case READ:
+                return read(keys.nextKey());
+            case UPDATE:
+                return update(keys.nextKey());
+            case INSERT:
+                return collection.insertOne(document(insertSequence.getAndIncrement()));
+            case SCAN:
+                return scan(keys.nextKey(), 1 + random.nextInt(workload.getMaxScanLength()));
+            case READ_MODIFY_WRITE: {
+                long key = keys.nextKey();
+                return read(key).compose(document -> update(key));
+            }
+            default:
+                return bulk();
+        }
+    }
+
+    private Future<JsonObject> read(long key) {
+        return collection.find(new JsonObject().put("_id", key)).first();
+    }
+
+    private Future<?> update(long key) {
+        return collection.updateOne(new JsonObject().put("_id", key), new JsonObject().put("$set", randomField()));
+    }
+
+    private Future<Long> scan(long key, int length) {
+        Promise<Long> promise = Promise.promise();
+        FindOptions options = new FindOptions().setSort(new JsonObject().put("_id", 1)).setLimit(length);
+        ReadStream<JsonObject> stream = collection.find(new JsonObject().put("_id", new JsonObject().put("$gte", key)), options)
+                .stream(workload.getScanBatchSize());
+        long[] count = new long[1];
+        stream.exceptionHandler(promise::tryFail)
+                .endHandler(v -> promise.tryComplete(count[0]))
+                .handler(document -> count[0]++);
+        return promise.future();
+    }
+
+    private Future<?> bulk() {
+        List<WriteModel<JsonObject>> requests = new ArrayList<>(workload.getBulkSize());
+        for (int i = 0; i < workload.getBulkSize(); i++)
+            requests.add(new UpdateOneModel<>(new JsonObject().put("_id", keys.nextKey()), new JsonObject().put("$set", randomField())));
+        return collection.bulkWrite(requests, new BulkWriteOptions().setOrdered(false));
+    }
+
+    private JsonObject randomField() {
+        return new JsonObject().put("field" + random.nextInt(workload.getFieldCount()), values[random.nextInt(values.length)]);
+    }
+
+    private JsonObject document(long key) {
+        JsonObject document = new JsonObject().put("_id", key);
+        for (int i = 0; i < workload.getFieldCount(); i++)
+            document.put("field" + i, values[random.nextInt(values.length)]);
+        return document;
+    }
+}
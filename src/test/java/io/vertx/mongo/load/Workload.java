@@ -0,0 +1,164 @@
+package io.vertx.mongo.load;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.Random;
+
+/**
+ * Mix of operations of a load, after the core workloads of YCSB:
+ * <ul>
+ *     <li>{@code a}: update heavy, 50% reads and 50% updates</li>
+ *     <li>{@code b}: read mostly, 95% reads and 5% updates</li>
+ *     <li>{@code c}: read only</li>
+ *     <li>{@code d}: read latest, 95% reads of recently inserted records and 5% inserts</li>
+ *     <li>{@code e}: short ranges, 95% scans and 5% inserts</li>
+ *     <li>{@code f}: read-modify-write, 50% reads and 50% read-modify-writes</li>
+ *     <li>{@code bulk}: 50% reads and 50% unordered bulk writes of updates</li>
+ * </ul>
+ * Any property of a preset can be overridden.
+ */
+class Workload {
+
+    enum Operation {
+        READ, UPDATE, INSERT, SCAN, READ_MODIFY_WRITE, BULK
+    }
+
+    enum Distribution {
+        UNIFORM, ZIPFIAN, LATEST
+    }
+
+    private final String name;
+    private final long recordCount;
+    private final double[] proportions = new double[Operation.values().length];
+    private final Distribution distribution;
+    private final int maxScanLength;
+    private final int scanBatchSize;
+    private final int bulkSize;
+    private final int fieldCount;
+    private final int fieldLength;
+
+    Workload(String name, JsonObject json) {
+        this.name = name;
+        this.recordCount = json.getLong("recordCount", 100_000L);
+        this.distribution = Distribution.valueOf(json.getString("distribution", "zipfian").toUpperCase());
+        this.maxScanLength = json.getInteger("maxScanLength", 100);
+        this.scanBatchSize = json.getInteger("scanBatchSize", 100);
+        this.bulkSize = json.getInteger("bulkSize", 100);
+        this.fieldCount = json.getInteger("fieldCount", 10);
+        this.fieldLength = json.getInteger("fieldLength", 100);
+        double total = 0;
+        for (Operation operation : Operation.values()) {
+            double proportion = json.getDouble(propertyName(operation), 0.0);
+            if (proportion < 0)
+                throw new IllegalArgumentException(propertyName(operation) + " must not be negative");
+            proportions[operation.ordinal()] = proportion;
+            total += proportion;
+        }
+        if (total <= 0)
+            throw new IllegalArgumentException("the workload has no operation");
+        for (int i = 0; i < proportions.length; i++)
+            proportions[i] /= total;
+        if (recordCount < 1 || maxScanLength < 1 || scanBatchSize < 1 || bulkSize < 1 || fieldCount < 1 || fieldLength < 1)
+            throw new IllegalArgumentException("recordCount, maxScanLength, scanBatchSize, bulkSize, fieldCount and fieldLength must be positive");
+    }
+
+    /**
+     * @return the name of the property of the proportion of the operation, for instance {@code readModifyWriteProportion}
+     */
+    static String propertyName(Operation operation) {
+        StringBuilder builder = new StringBuilder();
+        for (String word : operation.name().toLowerCase().split("_"))
+            builder.append(builder.length() == 0 ? word : Character.toUpperCase(word.charAt(0)) + word.substring(1));
+        return builder.append("Proportion").toString();
+    }
+
+    /**
+     * @return the properties of a preset, to override before creating the workload
+     */
+    static JsonObject preset(String name) {
+        switch (name) {
+            case "a":
+                return new JsonObject().put("readProportion", 0.5).put("updateProportion", 0.5);
+            case "b":
+                return new JsonObject().put("readProportion", 0.95).put("updateProportion", 0.05);
+            case "c":
+                return new JsonObject().put("readProportion", 1.0);
+            case "d":
+                return new JsonObject().put("readProportion", 0.95).put("insertProportion", 0.05).put("distribution", "latest");
+            case "e":
+                return new JsonObject().put("scanProportion", 0.95).put("insertProportion", 0.05);
+            case "f":
+                return new JsonObject().put("readProportion", 0.5).put("readModifyWriteProportion", 0.5);
+            case "bulk":
+                return new JsonObject().put("readProportion", 0.5).put("bulkProportion", 0.5);
+            default:
+                throw new IllegalArgumentException("unknown workload: " + name);
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of records loaded before the run
+     */
+    long getRecordCount() {
+        return recordCount;
+    }
+
+    Distribution getDistribution() {
+        return distribution;
+    }
+
+    int getMaxScanLength() {
+        return maxScanLength;
+    }
+
+    /**
+     * @return the batch size of the streams of the scans
+     */
+    int getScanBatchSize() {
+        return scanBatchSize;
+    }
+
+    /**
+     * @return the number of updates of a bulk write
+     */
+    int getBulkSize() {
+        return bulkSize;
+    }
+
+    int getFieldCount() {
+        return fieldCount;
+    }
+
+    int getFieldLength() {
+        return fieldLength;
+    }
+
+    Operation nextOperation(Random random) {
+        double value = random.nextDouble();
+        Operation[] operations = Operation.values();
+        for (int i = 0; i < operations.length - 1; i++) {
+            value -= proportions[i];
+            if (value < 0 && proportions[i] > 0)
+                return operations[i];
+        }
+        for (int i = operations.length - 1; i >= 0; i--) {
+            if (proportions[i] > 0)
+                return operations[i];
+        }
+        throw new IllegalStateException();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(name).append(" (");
+        for (Operation operation : Operation.values()) {
+            if (proportions[operation.ordinal()] > 0)
+                builder.append(operation.name().toLowerCase()).append(' ').append(Math.round(proportions[operation.ordinal()] * 100)).append("%, ");
+        }
+        return builder.append(distribution.name().toLowerCase()).append(", ").append(recordCount).append(" records)").toString();
+    }
+}
@@ -0,0 +1,243 @@
+package org.bfreuden.codecs;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles fixtures with the processor, then loads the generated codecs.
+ */
+public class ObjectCodecProcessorTest {
+
+    private static final String BEAN = "package fixtures;\n" +
+            "import io.vertx.mongo.codec.MongoCodec;\n" +
+            "import java.util.List;\n" +
+            "@MongoCodec\n" +
+            "public class Bean {\n" +
+            "  private String id;\n" +
+            "  private String name;\n" +
+            "  private int count;\n" +
+            "  private List<String> tags;\n" +
+            "  public String getId() { return id; }\n" +
+            "  public void setId(String id) { this.id = id; }\n" +
+            "  public String getName() { return name; }\n" +
+            "  public void setName(String name) { this.name = name; }\n" +
+            "  public int getCount() { return count; }\n" +
+            "  public void setCount(int count) { this.count = count; }\n" +
+            "  public List<String> getTags() { return tags; }\n" +
+            "  public void setTags(List<String> tags) { this.tags = tags; }\n" +
+            "}\n";
+
+    private static final String RECORD = "package fixtures;\n" +
+            "import io.vertx.mongo.codec.MongoCodec;\n" +
+            "@MongoCodec\n" +
+            "public record Point(String id, double x, double y) {}\n";
+
+    private static final String DATA_OBJECT = "package fixtures;\n" +
+            "import io.vertx.codegen.annotations.DataObject;\n" +
+            "import io.vertx.core.json.JsonObject;\n" +
+            "@DataObject\n" +
+            "public class Options {\n" +
+            "  private String name;\n" +
+            "  public Options() {}\n" +
+            "  public Options(JsonObject json) {}\n" +
+            "  public String getName() { return name; }\n" +
+            "  public Options setName(String name) { this.name = name; return this; }\n" +
+            "}\n";
+
+    // no public no-arg constructor
+    private static final String UNSUPPORTED_DATA_OBJECT = "package fixtures;\n" +
+            "import io.vertx.codegen.annotations.DataObject;\n" +
+            "import io.vertx.core.json.JsonObject;\n" +
+            "@DataObject\n" +
+            "public class Unsupported {\n" +
+            "  public Unsupported(JsonObject json) {}\n" +
+            "}\n";
+
+    private static final String UNSUPPORTED_MONGO_CODEC = "package fixtures;\n" +
+            "import io.vertx.mongo.codec.MongoCodec;\n" +
+            "@MongoCodec\n" +
+            "public class Unsupported {\n" +
+            "  public Unsupported(String name) {}\n" +
+            "}\n";
+
+    private static class Source extends SimpleJavaFileObject {
+
+        private final String code;
+
+        Source(String className, String code) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+    private final CodecRegistry registry = MongoClientSettings.getDefaultCodecRegistry();
+    private Path output;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+    private URLClassLoader loader;
+
+    @Before
+    public void setUp() throws IOException {
+        output = Files.createTempDirectory("codecs");
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (loader != null)
+            loader.close();
+        try (Stream<Path> files = Files.walk(output)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+                Files.delete(file);
+        }
+    }
+
+    private boolean compile(List<String> options, Source... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeTrue("a JDK is required", compiler != null);
+        List<String> arguments = new ArrayList<>(Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d", output.toString()));
+        arguments.addAll(options);
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, arguments, null, Arrays.asList(sources));
+        task.setProcessors(List.of(new ObjectCodecProcessor()));
+        return task.call();
+    }
+
+    private boolean compile(Source... sources) {
+        return compile(List.of(), sources);
+    }
+
+    private List<String> messages(Diagnostic.Kind kind) {
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == kind)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .collect(Collectors.toList());
+    }
+
+    private Class<?> load(String className) throws Exception {
+        if (loader == null)
+            loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader());
+        return loader.loadClass(className);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Codec<Object> codec(String className) throws Exception {
+        return (Codec<Object>) load(className).getConstructor(CodecRegistry.class).newInstance(registry);
+    }
+
+    private BsonDocument encode(Codec<Object> codec, Object value) {
+        BsonDocumentWriter writer = new BsonDocumentWriter(new BsonDocument());
+        codec.encode(writer, value, EncoderContext.builder().build());
+        return writer.getDocument();
+    }
+
+    private Object decode(Codec<Object> codec, BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    @Test
+    public void testBean() throws Exception {
+        assertTrue(messages(Diagnostic.Kind.ERROR).toString(), compile(new Source("fixtures.Bean", BEAN)));
+        Codec<Object> codec = codec("fixtures.BeanCodec");
+        ObjectId id = new ObjectId();
+        BsonDocument document = new BsonDocument("_id", new BsonObjectId(id))
+                .append("name", new BsonString("Ada"))
+                .append("count", new BsonInt32(3))
+                .append("tags", new BsonArray(List.of(new BsonString("a"), new BsonString("b"))));
+        Object bean = decode(codec, document);
+        assertEquals(id.toHexString(), bean.getClass().getMethod("getId").invoke(bean));
+        assertEquals(3, bean.getClass().getMethod("getCount").invoke(bean));
+        assertEquals(List.of("a", "b"), bean.getClass().getMethod("getTags").invoke(bean));
+        assertEquals(document, encode(codec, bean));
+        String services = Files.readString(output.resolve("META-INF/services/io.vertx.mongo.codec.ObjectCodecProvider"), StandardCharsets.UTF_8);
+        assertEquals("fixtures.BeanCodecProvider\n", services);
+    }
+
+    @Test
+    public void testRecord() throws Exception {
+        Assume.assumeTrue("records require Java 16", Runtime.version().feature() >= 16);
+        assertTrue(messages(Diagnostic.Kind.ERROR).toString(), compile(new Source("fixtures.Point", RECORD)));
+        Codec<Object> codec = codec("fixtures.PointCodec");
+        BsonDocument document = new BsonDocument("_id", new BsonString("p1"))
+                .append("x", new BsonDouble(1.5))
+                .append("y", new BsonDouble(-2));
+        Object point = decode(codec, document);
+        assertEquals("p1", point.getClass().getMethod("id").invoke(point));
+        assertEquals(1.5, point.getClass().getMethod("x").invoke(point));
+        assertEquals(document, encode(codec, point));
+    }
+
+    @Test
+    public void testDataObjectsAreIgnoredByDefault() throws Exception {
+        assertTrue(compile(new Source("fixtures.Options", DATA_OBJECT), new Source("fixtures.Unsupported", UNSUPPORTED_DATA_OBJECT)));
+        assertTrue(messages(Diagnostic.Kind.WARNING).toString(), messages(Diagnostic.Kind.WARNING).isEmpty());
+        assertFalse(Files.exists(output.resolve("fixtures/OptionsCodec.class")));
+        assertFalse(Files.exists(output.resolve("META-INF/services/io.vertx.mongo.codec.ObjectCodecProvider")));
+    }
+
+    @Test
+    public void testDataObjectsOptIn() throws Exception {
+        List<String> options = List.of("-A" + ObjectCodecProcessor.DATA_OBJECTS_OPTION + "=true");
+        assertTrue(messages(Diagnostic.Kind.ERROR).toString(),
+                compile(options, new Source("fixtures.Options", DATA_OBJECT), new Source("fixtures.Unsupported", UNSUPPORTED_DATA_OBJECT)));
+        List<String> warnings = messages(Diagnostic.Kind.WARNING);
+        assertEquals(warnings.toString(), 1, warnings.size());
+        assertTrue(warnings.get(0).contains("a public no-arg constructor is required"));
+        Codec<Object> codec = codec("fixtures.OptionsCodec");
+        Object value = load("fixtures.Options").getConstructor().newInstance();
+        value.getClass().getMethod("setName", String.class).invoke(value, "Ada");
+        assertEquals(new BsonString("Ada"), encode(codec, value).get("name"));
+        assertFalse(Files.exists(output.resolve("fixtures/UnsupportedCodec.class")));
+    }
+
+    @Test
+    public void testUnsupportedMongoCodec() {
+        assertFalse(compile(new Source("fixtures.Unsupported", UNSUPPORTED_MONGO_CODEC)));
+        List<String> errors = messages(Diagnostic.Kind.ERROR);
+        assertEquals(errors.toString(), 1, errors.size());
+        assertTrue(errors.get(0).contains("a public no-arg constructor is required"));
+    }
+}